@@ -25,6 +25,7 @@ import com.klaytn.caver.Caver;
 import com.klaytn.caver.crpyto.KlayCredentials;
 import com.klaytn.caver.methods.response.KlayLogs;
 import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.EventDecoder;
 import com.klaytn.caver.tx.SmartContract;
 import com.klaytn.caver.tx.manager.TransactionManager;
 import com.squareup.javapoet.*;
@@ -213,6 +214,17 @@ public class SolidityFunctionWrapper extends Generator {
         return eventName.toUpperCase() + "_EVENT";
     }
 
+    private FieldSpec createEventDecoderDefinition(String name) {
+        return FieldSpec.builder(EventDecoder.class, buildEventDecoderDefinitionName(name))
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T($N)", EventDecoder.class, buildEventDefinitionName(name))
+                .build();
+    }
+
+    private String buildEventDecoderDefinitionName(String eventName) {
+        return buildEventDefinitionName(eventName) + "_DECODER";
+    }
+
     private List<MethodSpec> buildFunctionDefinitions(
             String className,
             TypeSpec.Builder classBuilder,
@@ -813,7 +825,7 @@ public class SolidityFunctionWrapper extends Generator {
                 .returns(parameterizedTypeName);
 
         transactionMethodBuilder.addStatement("$T valueList = extractEventParametersWithLog("
-                + buildEventDefinitionName(functionName) + ", "
+                + buildEventDecoderDefinitionName(functionName) + ", "
                 + "transactionReceipt)", ParameterizedTypeName.get(List.class,
                 SmartContract.EventValuesWithLog.class))
                 .addStatement("$1T responses = new $1T(valueList.size())",
@@ -859,6 +871,7 @@ public class SolidityFunctionWrapper extends Generator {
         }
 
         classBuilder.addField(createEventDefinition(functionName, parameters));
+        classBuilder.addField(createEventDecoderDefinition(functionName));
 
         classBuilder.addType(buildEventResponseObject(responseClassName, indexedParameters,
                 nonIndexedParameters));
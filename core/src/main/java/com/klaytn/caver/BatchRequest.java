@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver;
+
+import com.klaytn.caver.protocol.Requests;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects several Klay requests and sends them as JSON-RPC batches.
+ *
+ * <pre>
+ * BatchResponse response = caver.batch()
+ *         .add(caver.klay().getBalance(address, DefaultBlockParameterName.LATEST), Quantity.class)
+ *         .add(caver.klay().getTransactionReceipt(transactionHash), KlayTransactionReceipt.class)
+ *         .send();
+ * </pre>
+ *
+ * <p>Batches larger than {@link #maxBatchSize(int)} are split into several round trips. When the
+ * underlying service is not a {@link com.klaytn.caver.protocol.BatchWeb3jService}, or when no service is given,
+ * requests are sent one by one.
+ */
+public class BatchRequest {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Web3jService web3jService;
+    private final List<Request<?, ? extends Response>> requests = new ArrayList<>();
+    private final List<Class<? extends Response>> responseTypes = new ArrayList<>();
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    /**
+     * Creates a batch whose requests are sent one by one, each through the service it was created with.
+     */
+    public BatchRequest() {
+        this(null);
+    }
+
+    public BatchRequest(Web3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    /**
+     * Adds a request to the batch. Its response class is the one of the Klay method that created it,
+     * e.g. {@link com.klaytn.caver.methods.response.Quantity} for {@link Klay#getBlockNumber()}.
+     *
+     * @param request      request to add
+     * @param responseType response class of {@code request}
+     * @param <T>          response type
+     * @return this batch
+     */
+    public <T extends Response> BatchRequest add(Request<?, T> request, Class<T> responseType) {
+        requests.add(request);
+        responseTypes.add(responseType);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests sent in one round trip.
+     *
+     * @param maxBatchSize maximum requests per batch
+     * @return this batch
+     */
+    public BatchRequest maxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    public List<Request<?, ? extends Response>> getRequests() {
+        return requests;
+    }
+
+    public BatchResponse send() throws IOException {
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += maxBatchSize) {
+            responses.addAll(sendChunk(from));
+        }
+        return new BatchResponse(requests, responses);
+    }
+
+    /**
+     * Sends every chunk of the batch concurrently.
+     *
+     * @return future completed once all responses have arrived
+     */
+    public CompletableFuture<BatchResponse> sendAsync() {
+        List<CompletableFuture<List<Response<?>>>> futures = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += maxBatchSize) {
+            int chunkFrom = from;
+            futures.add(Async.run(() -> sendChunk(chunkFrom)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<Response<?>> responses = new ArrayList<>(requests.size());
+                    for (CompletableFuture<List<Response<?>>> future : futures) {
+                        responses.addAll(future.join());
+                    }
+                    return new BatchResponse(requests, responses);
+                });
+    }
+
+    private List<Response<?>> sendChunk(int from) throws IOException {
+        int to = Math.min(from + maxBatchSize, requests.size());
+        if (web3jService == null) {
+            List<Response<?>> responses = new ArrayList<>(to - from);
+            for (Request<?, ? extends Response> request : requests.subList(from, to)) {
+                responses.add(request.send());
+            }
+            return responses;
+        }
+        return Requests.sendBatch(web3jService,
+                new ArrayList<>(requests.subList(from, to)), new ArrayList<>(responseTypes.subList(from, to)));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Responses of a {@link BatchRequest}, in the order the requests were added.
+ */
+public class BatchResponse {
+
+    private final List<Request<?, ? extends Response>> requests;
+    private final List<Response<?>> responses;
+    private final Map<Long, Response<?>> responsesById = new HashMap<>();
+
+    BatchResponse(List<Request<?, ? extends Response>> requests, List<Response<?>> responses) {
+        this.requests = Collections.unmodifiableList(requests);
+        this.responses = Collections.unmodifiableList(responses);
+        for (int i = 0; i < responses.size(); i++) {
+            responsesById.put(requests.get(i).getId(), responses.get(i));
+        }
+    }
+
+    public List<Request<?, ? extends Response>> getRequests() {
+        return requests;
+    }
+
+    public List<Response<?>> getResponses() {
+        return responses;
+    }
+
+    public Response<?> get(int index) {
+        return responses.get(index);
+    }
+
+    /**
+     * Returns the typed response of a request added to the batch.
+     *
+     * @param request request added to the batch
+     * @param <T>     response type, e.g. {@link com.klaytn.caver.methods.response.Quantity}
+     * @return response matched by request id, or null if the request was not part of the batch
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Response> T get(Request<?, T> request) {
+        return (T) responsesById.get(request.getId());
+    }
+
+    public int size() {
+        return responses.size();
+    }
+}
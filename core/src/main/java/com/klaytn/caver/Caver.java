@@ -16,8 +16,13 @@
 
 package com.klaytn.caver;
 
+import com.klaytn.caver.protocol.LoadBalancedService;
+import com.klaytn.caver.protocol.ReconnectingWebSocketService;
+import com.klaytn.caver.protocol.RequestInterceptor;
 import org.web3j.protocol.Web3jService;
 
+import java.util.List;
+
 /**
  * Core Caverj JSON-RPC API.
  */
@@ -47,6 +52,33 @@ public interface Caver {
         return new CaverImpl(url);
     }
 
+    /**
+     * Construct a new Caverj instance which spreads requests over the {@code urls} nodes.
+     *
+     * @param urls Klaytn urls
+     * @return new Caverj instance
+     * @see LoadBalancedService
+     */
+    static Caver build(List<String> urls) {
+        LoadBalancedService.Builder builder = new LoadBalancedService.Builder();
+        for (String url : urls) {
+            builder.addEndpoint(url);
+        }
+        return new CaverImpl(builder.build());
+    }
+
+    /**
+     * Construct a new Caverj instance which is connected to the {@code url} node over WebSocket, reconnecting
+     * when the connection is lost. This enables the klay_subscribe based notifications of {@link Klay}.
+     *
+     * @param url Klaytn WebSocket url, e.g. ws://localhost:8552
+     * @return new Caverj instance
+     * @see ReconnectingWebSocketService
+     */
+    static Caver buildWebSocket(String url) {
+        return new CaverImpl(new ReconnectingWebSocketService(url));
+    }
+
     /**
      * Construct a new Caverj instance which is connected to local node.
      *
@@ -59,4 +91,29 @@ public interface Caver {
     Klay klay();
 
     Net net();
+
+    /**
+     * Creates a batch sending several requests in one JSON-RPC round trip. Implementations that cannot send
+     * batches keep the default, whose batch sends each request on its own through the service that created it.
+     *
+     * @return new empty batch
+     */
+    default BatchRequest batch() {
+        return new BatchRequest();
+    }
+
+    /**
+     * Adds {@code interceptor} after the interceptors already registered. It sees every request made through
+     * {@link #klay()} and {@link #net()}; batches and subscriptions are not intercepted.
+     *
+     * @param interceptor interceptor to add
+     * @return this instance
+     */
+    Caver addInterceptor(RequestInterceptor interceptor);
+
+    /**
+     * @param interceptor interceptor to remove
+     * @return true if {@code interceptor} was registered
+     */
+    boolean removeInterceptor(RequestInterceptor interceptor);
 }
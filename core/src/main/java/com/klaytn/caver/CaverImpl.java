@@ -16,17 +16,19 @@
 
 package com.klaytn.caver;
 
+import com.klaytn.caver.protocol.HttpBatchService;
+import com.klaytn.caver.protocol.InterceptingService;
+import com.klaytn.caver.protocol.RequestInterceptor;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.admin.Admin;
 import org.web3j.protocol.admin.JsonRpc2_0Admin;
-import org.web3j.protocol.http.HttpService;
 
 /**
  * JSON-RPC 2.0 factory implementation.
  */
 public class CaverImpl implements Caver {
 
-    private Web3jService service;
+    private InterceptingService service;
     private Admin web3j;
     private Klay klay;
     private Net net;
@@ -36,11 +38,11 @@ public class CaverImpl implements Caver {
     }
 
     CaverImpl(String url) {
-        this(new HttpService(url));
+        this(new HttpBatchService(url));
     }
 
     CaverImpl(Web3jService web3jService) {
-        service = web3jService;
+        service = new InterceptingService(web3jService);
         web3j = new JsonRpc2_0Admin(service);
         klay = new JsonRpc2_0Klay(service, web3j);
         net = new JsonRpc2_0Net(service);
@@ -55,4 +57,20 @@ public class CaverImpl implements Caver {
     public Net net() {
         return net;
     }
+
+    @Override
+    public BatchRequest batch() {
+        return new BatchRequest(service);
+    }
+
+    @Override
+    public Caver addInterceptor(RequestInterceptor interceptor) {
+        service.addInterceptor(interceptor);
+        return this;
+    }
+
+    @Override
+    public boolean removeInterceptor(RequestInterceptor interceptor) {
+        return service.removeInterceptor(interceptor);
+    }
 }
@@ -21,6 +21,8 @@ import com.klaytn.caver.methods.request.KlayFilter;
 import com.klaytn.caver.methods.request.KlayLogFilter;
 import com.klaytn.caver.methods.response.Boolean;
 import com.klaytn.caver.methods.response.*;
+import com.klaytn.caver.rx.JsonRpc2_0Rx;
+import io.reactivex.Flowable;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.admin.Admin;
 import org.web3j.protocol.admin.methods.response.NewAccountIdentifier;
@@ -39,9 +41,10 @@ import java.util.concurrent.ScheduledExecutorService;
 public class JsonRpc2_0Klay implements Klay {
 
     public static final int DEFAULT_BLOCK_TIME = 1 * 1000;
+    public static final int DEFAULT_PREFETCH = 128;
 
     protected final Web3jService web3jService;
-    //private final JsonRpc2_0Rx web3jRx;
+    private final JsonRpc2_0Rx klayRx;
     private final long blockTime;
     private final ScheduledExecutorService scheduledExecutorService;
     private Admin web3j;
@@ -54,8 +57,15 @@ public class JsonRpc2_0Klay implements Klay {
             Web3jService web3jService, long pollingInterval,
             ScheduledExecutorService scheduledExecutorService,
             Admin web3j) {
+        this(web3jService, pollingInterval, scheduledExecutorService, DEFAULT_PREFETCH, web3j);
+    }
+
+    public JsonRpc2_0Klay(
+            Web3jService web3jService, long pollingInterval,
+            ScheduledExecutorService scheduledExecutorService,
+            int prefetch, Admin web3j) {
         this.web3jService = web3jService;
-        //this.web3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService);
+        this.klayRx = new JsonRpc2_0Rx(this, web3jService, scheduledExecutorService, pollingInterval, prefetch);
         this.blockTime = pollingInterval;
         this.scheduledExecutorService = scheduledExecutorService;
         this.web3j = web3j;
@@ -204,6 +214,34 @@ public class JsonRpc2_0Klay implements Klay {
                 BlockReceipts.class);
     }
 
+    @Override
+    public Request<?, KlayBlockView> getBlockViewByNumber(
+            DefaultBlockParameter defaultBlockParameter, boolean isFullTransaction) {
+        return new Request<>(
+                "klay_getBlockByNumber",
+                Arrays.asList(defaultBlockParameter, isFullTransaction),
+                web3jService,
+                KlayBlockView.class);
+    }
+
+    @Override
+    public Request<?, KlayBlockView> getBlockViewByHash(String blockHash, boolean isFullTransaction) {
+        return new Request<>(
+                "klay_getBlockByHash",
+                Arrays.asList(blockHash, isFullTransaction),
+                web3jService,
+                KlayBlockView.class);
+    }
+
+    @Override
+    public Request<?, BlockReceiptViews> getBlockReceiptViews(String blockHash) {
+        return new Request<>(
+                "klay_getBlockReceipts",
+                Arrays.asList(blockHash),
+                web3jService,
+                BlockReceiptViews.class);
+    }
+
     @Override
     public Request<?, Quantity> getTransactionCountByNumber(DefaultBlockParameter defaultBlockParameter) {
         return new Request<>(
@@ -393,6 +431,15 @@ public class JsonRpc2_0Klay implements Klay {
                 KlayTransactionReceipt.class);
     }
 
+    @Override
+    public Request<?, KlayTransactionReceiptView> getTransactionReceiptView(String transactionHash) {
+        return new Request<>(
+                "klay_getTransactionReceipt",
+                Arrays.asList(transactionHash),
+                web3jService,
+                KlayTransactionReceiptView.class);
+    }
+
     @Override
     public Request<?, KlayTransactionReceipt> getTransactionReceiptBySenderTxHash(String transactionHash) {
         return new Request<>(
@@ -574,6 +621,52 @@ public class JsonRpc2_0Klay implements Klay {
                 Boolean.class);
     }
 
+    @Override
+    public Flowable<String> blockHashFlowable() {
+        return klayRx.blockHashFlowable();
+    }
+
+    @Override
+    public Flowable<KlayBlock> blockFlowable(boolean fullTransactionObjects) {
+        return klayRx.blockFlowable(fullTransactionObjects);
+    }
+
+    @Override
+    public Flowable<KlayLogs.Log> logFlowable(KlayFilter filter) {
+        return klayRx.logFlowable(filter);
+    }
+
+    @Override
+    public Flowable<String> pendingTransactionHashFlowable() {
+        return klayRx.pendingTransactionHashFlowable();
+    }
+
+    @Override
+    public Flowable<KlayTransaction.Transaction> pendingTransactionFlowable() {
+        return klayRx.pendingTransactionFlowable();
+    }
+
+    @Override
+    public Flowable<KlayBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, boolean fullTransactionObjects) {
+        return klayRx.replayPastBlocksFlowable(startBlock, endBlock, fullTransactionObjects);
+    }
+
+    @Override
+    public Flowable<KlayBlock.Block> newHeadsNotifications() {
+        return klayRx.newHeadsNotifications();
+    }
+
+    @Override
+    public Flowable<KlayLogs.Log> logsNotifications(KlayFilter filter) {
+        return klayRx.logsNotifications(filter);
+    }
+
+    @Override
+    public Flowable<String> newPendingTransactionsNotifications() {
+        return klayRx.newPendingTransactionsNotifications();
+    }
+
     @Override
     public Request<?, Bytes> getSha3(String data) {
         return new Request<>(
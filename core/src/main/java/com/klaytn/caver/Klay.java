@@ -22,6 +22,7 @@ import com.klaytn.caver.methods.request.KlayLogFilter;
 import com.klaytn.caver.methods.response.Boolean;
 import com.klaytn.caver.methods.response.*;
 import com.klaytn.caver.tx.account.AccountKey;
+import io.reactivex.Flowable;
 import org.web3j.protocol.admin.methods.response.NewAccountIdentifier;
 import org.web3j.protocol.admin.methods.response.PersonalUnlockAccount;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -153,6 +154,38 @@ public interface Klay {
      */
     Request<?, BlockReceipts> getBlockReceipts(String blockHash);
 
+    /**
+     * Same as {@link #getBlockByNumber(DefaultBlockParameter, boolean)}, but the block is decoded lazily:
+     * fields are only decoded when read, so reading the header and the transaction hashes skips the
+     * transaction objects.
+     *
+     * @param defaultBlockParameter Integer block number, or the string "latest", "earliest" or "pending"
+     * @param isFullTransaction     If true it returns the full transaction objects, if false only the hashes
+     *                              of the transactions.
+     * @return KlayBlockView - A lazily decoded block object or null when no block was found
+     */
+    Request<?, KlayBlockView> getBlockViewByNumber(
+            DefaultBlockParameter defaultBlockParameter, boolean isFullTransaction);
+
+    /**
+     * Same as {@link #getBlockByHash(String, boolean)}, but the block is decoded lazily.
+     *
+     * @param blockHash         Hash of a block.
+     * @param isFullTransaction If true it returns the full transaction objects, if false only the hashes of
+     *                          the transactions.
+     * @return KlayBlockView - A lazily decoded block object or null when no block was found
+     */
+    Request<?, KlayBlockView> getBlockViewByHash(String blockHash, boolean isFullTransaction);
+
+    /**
+     * Same as {@link #getBlockReceipts(String)}, but each receipt is decoded lazily: reading the status and
+     * the logs skips the signatures.
+     *
+     * @param blockHash Block hash
+     * @return BlockReceiptViews - Lazily decoded receipts included in a block.
+     */
+    Request<?, BlockReceiptViews> getBlockReceiptViews(String blockHash);
+
     /**
      * Returns the number of transactions in a block matching the given block number.
      *
@@ -337,6 +370,15 @@ public interface Klay {
      */
     Request<?, KlayTransactionReceipt> getTransactionReceipt(String transactionHash);
 
+    /**
+     * Same as {@link #getTransactionReceipt(String)}, but the receipt is decoded lazily.
+     *
+     * @param transactionHash Hash of a transaction
+     * @return KlayTransactionReceiptView - A lazily decoded transaction receipt object, or null when no
+     * receipt was found
+     */
+    Request<?, KlayTransactionReceiptView> getTransactionReceiptView(String transactionHash);
+
     /**
      * Returns the receipt of a transaction by sender transaction hash.
      * NOTE: The receipt is not available for pending transactions. Please note that this API returns correct
@@ -517,6 +559,89 @@ public interface Klay {
 
     //===========================================================
 
+    /*Flowables*/
+
+    /**
+     * Emits the hash of every new block. All subscribers share one block filter, which is polled only
+     * while they have outstanding demand.
+     *
+     * @return Flowable of block hashes
+     */
+    Flowable<String> blockHashFlowable();
+
+    /**
+     * Emits every new block, fetched by the hash reported by {@link #blockHashFlowable()}.
+     *
+     * @param fullTransactionObjects If true it returns the full transaction objects, if false only the hashes
+     *                               of the transactions.
+     * @return Flowable of blocks
+     */
+    Flowable<KlayBlock> blockFlowable(boolean fullTransactionObjects);
+
+    /**
+     * Emits the logs matching the given filter as they occur. Subscribers of an identical filter share
+     * one filter on the node.
+     *
+     * @param filter The filter options
+     * @return Flowable of logs
+     */
+    Flowable<KlayLogs.Log> logFlowable(KlayFilter filter);
+
+    /**
+     * Emits the hash of every transaction entering the node's pending pool.
+     *
+     * @return Flowable of transaction hashes
+     */
+    Flowable<String> pendingTransactionHashFlowable();
+
+    /**
+     * Emits every transaction entering the node's pending pool.
+     *
+     * @return Flowable of transactions
+     */
+    Flowable<KlayTransaction.Transaction> pendingTransactionFlowable();
+
+    /**
+     * Emits the blocks in the given range in order, fetching ahead of the subscriber's demand.
+     *
+     * @param startBlock             The first block to emit
+     * @param endBlock               The last block to emit
+     * @param fullTransactionObjects If true it returns the full transaction objects, if false only the hashes
+     *                               of the transactions.
+     * @return Flowable of blocks
+     */
+    Flowable<KlayBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, boolean fullTransactionObjects);
+
+    /**
+     * Emits the header of every new block through a klay_subscribe newHeads subscription, which requires a
+     * WebSocket service such as {@link com.klaytn.caver.protocol.ReconnectingWebSocketService}. All
+     * subscribers share one subscription. It is made again after a connection loss, and the headers of the
+     * blocks produced meanwhile are emitted first.
+     *
+     * @return Flowable of block headers
+     */
+    Flowable<KlayBlock.Block> newHeadsNotifications();
+
+    /**
+     * Emits the logs matching the addresses and topics of the given filter through a klay_subscribe logs
+     * subscription. After a connection loss, the logs emitted meanwhile are fetched with klay_getLogs.
+     *
+     * @param filter The filter options, of which only the addresses and topics are used
+     * @return Flowable of logs
+     */
+    Flowable<KlayLogs.Log> logsNotifications(KlayFilter filter);
+
+    /**
+     * Emits the hash of every transaction entering the node's pending pool through a klay_subscribe
+     * newPendingTransactions subscription.
+     *
+     * @return Flowable of transaction hashes
+     */
+    Flowable<String> newPendingTransactionsNotifications();
+
+    //===========================================================
+
     /*Personal*/
     Request<?, NewAccountIdentifier> newAccount(String passphrase);
 
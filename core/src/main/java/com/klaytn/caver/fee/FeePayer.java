@@ -52,7 +52,8 @@ public class FeePayer {
         byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
         byte[] type = {txType.getType().get()};
         byte[] rawTx = BytesUtils.concat(type, encodedTransaction);
-        return new KlayRawTransaction(rawTx, feePayerSignatureData);
+        byte[] senderTransactionHash = txType.getSenderTransactionHash(txType.getSenderSignatureData());
+        return new KlayRawTransaction(rawTx, feePayerSignatureData, senderTransactionHash);
     }
 
     public KlaySignatureData getSignatureData(AbstractTxType txType) {
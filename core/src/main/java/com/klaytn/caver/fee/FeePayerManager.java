@@ -21,6 +21,7 @@
 package com.klaytn.caver.fee;
 
 import com.klaytn.caver.tx.exception.PlatformErrorException;
+import com.klaytn.caver.tx.manager.ConcurrentGetNonceProcessor;
 import com.klaytn.caver.tx.manager.ErrorHandler;
 import com.klaytn.caver.tx.manager.NoOpTransactionReceiptProcessor;
 import com.klaytn.caver.tx.manager.PollingTransactionReceiptProcessor;
@@ -36,6 +37,11 @@ import com.klaytn.caver.utils.ChainId;
 import org.web3j.protocol.exceptions.TransactionException;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class FeePayerManager {
 
@@ -43,34 +49,129 @@ public class FeePayerManager {
     private FeePayer signer;
     private TransactionReceiptProcessor transactionReceiptProcessor;
     private ErrorHandler errorHandler;
+    private Executor signExecutor;
 
     private FeePayerManager(Builder builder) {
         this.caver = builder.caver;
         this.signer = new FeePayer(builder.credentials, builder.chainId);
         this.transactionReceiptProcessor = builder.transactionReceiptProcessor;
         this.errorHandler = builder.errorHandler;
+        this.signExecutor = builder.signExecutor;
     }
 
     private AbstractTxType decode(String rawTransaction) {
         return FeePayerTransactionDecoder.decode(rawTransaction);
     }
 
+    /**
+     * Signs the sender-signed transaction as fee payer, sends it and waits for its receipt. The receipt
+     * processor starts tracking the locally computed hash before the transaction is sent. A send timeout keeps
+     * the hash watched since the transaction may have been sent; any other send failure is reported right away.
+     *
+     * @param rawTransaction sender-signed raw transaction
+     * @return transaction receipt, or null on failure
+     */
     public KlayTransactionReceipt.TransactionReceipt executeTransaction(
             String rawTransaction) {
 
         KlayTransactionReceipt.TransactionReceipt transactionReceipt = null;
+        KlayRawTransaction rawTx = sign(rawTransaction);
+        String transactionHash = rawTx.getTransactionHash();
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture =
+                transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+        IOException sendTimeout = null;
         try {
-            KlayRawTransaction rawTx = sign(rawTransaction);
-            String transactionHash = send(rawTx);
+            send(rawTx);
+        } catch (PlatformErrorException e) {
+            if (!ConcurrentGetNonceProcessor.isKnownTransaction(e.getMessage())) {
+                cancelTransactionReceipt(transactionHash, receiptFuture);
+                exception(e);
+                return null;
+            }
+            // already accepted by the node, e.g. on a resend: keep watching the locally computed hash
+        } catch (IOException e) {
+            if (!TransactionReceiptProcessor.isSendTimeout(e)) {
+                cancelTransactionReceipt(transactionHash, receiptFuture);
+                exception(e);
+                return null;
+            }
+            // maybe sent: keep watching the locally computed hash
+            sendTimeout = e;
+        }
 
-            transactionReceipt = transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
-        } catch (TransactionException | IOException | PlatformErrorException e) {
+        try {
+            transactionReceipt = TransactionReceiptProcessor.await(receiptFuture);
+        } catch (TransactionException | IOException e) {
+            if (sendTimeout != null) {
+                e.addSuppressed(sendTimeout);
+            }
             exception(e);
         }
 
         return transactionReceipt;
     }
 
+    /**
+     * Non-blocking variant of {@link #executeTransaction(String)}. Signing runs on the sign executor and
+     * the receipt is awaited through {@link TransactionReceiptProcessor#waitForTransactionReceiptAsync(String)},
+     * registered with the locally computed hash before the transaction is sent.
+     *
+     * @param rawTransaction sender-signed raw transaction
+     * @return future completed with the transaction receipt
+     */
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> executeTransactionAsync(
+            String rawTransaction) {
+        return CompletableFuture.supplyAsync(() -> sign(rawTransaction), signExecutor)
+                .thenCompose(this::sendAndWatchAsync)
+                .whenComplete((receipt, throwable) -> {
+                    if (throwable != null) {
+                        exception(toException(throwable));
+                    }
+                });
+    }
+
+    private CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendAndWatchAsync(KlayRawTransaction rawTx) {
+        String transactionHash = rawTx.getTransactionHash();
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture =
+                transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+
+        return caver.klay().sendSignedTransaction(rawTx.getValueAsString()).sendAsync()
+                .handle((response, throwable) -> {
+                    if (throwable == null) {
+                        if (response.hasError()
+                                && !ConcurrentGetNonceProcessor.isKnownTransaction(response.getError().getMessage())) {
+                            cancelTransactionReceipt(transactionHash, receiptFuture);
+                            throw new CompletionException(new PlatformErrorException(response.getError()));
+                        }
+                        // sent, or already known to the node: keep watching the hash
+                        return receiptFuture;
+                    }
+                    Throwable sendError = TransactionReceiptProcessor.unwrap(throwable);
+                    if (!TransactionReceiptProcessor.isSendTimeout(sendError)) {
+                        cancelTransactionReceipt(transactionHash, receiptFuture);
+                        throw new CompletionException(sendError);
+                    }
+                    // maybe sent: keep watching the hash
+                    return receiptFuture.whenComplete((receipt, receiptThrowable) -> {
+                        if (receiptThrowable != null) {
+                            TransactionReceiptProcessor.unwrap(receiptThrowable).addSuppressed(sendError);
+                        }
+                    });
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private void cancelTransactionReceipt(
+            String transactionHash, CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture) {
+        receiptFuture.cancel(false);
+        transactionReceiptProcessor.cancelTransactionReceipt(transactionHash);
+    }
+
+    private static Exception toException(Throwable throwable) {
+        Throwable cause = TransactionReceiptProcessor.unwrap(throwable);
+        return cause instanceof Exception ? (Exception) cause : new Exception(cause);
+    }
+
     public KlayRawTransaction sign(String rawTransaction) {
         AbstractTxType abstractTxType = decode(rawTransaction);
         return signer.sign(abstractTxType);
@@ -110,6 +211,7 @@ public class FeePayerManager {
         private int chainId = -1;
         private TransactionReceiptProcessor transactionReceiptProcessor;
         private ErrorHandler errorHandler;
+        private Executor signExecutor;
 
         public Builder(Caver caver, KlayCredentials credentials) {
             this.credentials = credentials;
@@ -131,10 +233,20 @@ public class FeePayerManager {
             return this;
         }
 
+        /**
+         * Executor running the signing stage of the async API. Defaults to the common fork-join pool.
+         */
+        public Builder setSignExecutor(Executor signExecutor) {
+            this.signExecutor = signExecutor;
+            return this;
+        }
+
         public FeePayerManager build() {
             if (this.chainId == -1) this.chainId = ChainId.BAOBAB_TESTNET;
             if (this.transactionReceiptProcessor == null)
                 this.transactionReceiptProcessor = new PollingTransactionReceiptProcessor(this.caver, 1000, 15);
+            if (this.signExecutor == null)
+                this.signExecutor = ForkJoinPool.commonPool();
 
             return new FeePayerManager(this);
         }
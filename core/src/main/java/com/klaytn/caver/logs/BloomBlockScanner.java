@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.logs;
+
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.BlockReceiptViews;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayBlockView;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayTransactionReceiptView;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import com.klaytn.caver.utils.LogsBloom;
+import io.reactivex.Flowable;
+import org.web3j.protocol.core.DefaultBlockParameter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Finds the logs matching a {@link LogsBloom.Query} in blocks, without node side filters.
+ *
+ * <pre>
+ * BloomBlockScanner scanner = new BloomBlockScanner(caver.klay(), LogsBloom.Query.from(filter));
+ * scanner.scan(from, to, log -&gt; index.add(log));
+ * </pre>
+ *
+ * <p>The logsBloom of each block is tested first, and receipts are only requested for the blocks that may
+ * hold a matching log. For a contract emitting in few blocks, nearly all receipt requests are skipped. The
+ * receipts are decoded lazily, so only their logs are read.
+ */
+public class BloomBlockScanner {
+
+    private final Klay klay;
+    private final LogsBloom.Query query;
+
+    private final AtomicLong scannedBlockCount = new AtomicLong();
+    private final AtomicLong receiptRequestCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    public BloomBlockScanner(Klay klay, LogsBloom.Query query) {
+        this.klay = klay;
+        this.query = query;
+    }
+
+    public BloomBlockScanner(Klay klay, KlayFilter filter) {
+        this(klay, LogsBloom.Query.from(filter));
+    }
+
+    /**
+     * Returns the matching logs of a block.
+     *
+     * @param block block, with or without its transactions
+     * @return matching logs in block order
+     * @throws IOException            if the receipts could not be requested
+     * @throws PlatformErrorException if the node refused the receipts request
+     */
+    public List<KlayLogs.Log> scan(KlayBlock.Block block) throws IOException, PlatformErrorException {
+        return scan(block.getHash(), block.getLogsBloom());
+    }
+
+    /**
+     * Returns the matching logs of a lazily decoded block.
+     *
+     * @param block block view
+     * @return matching logs in block order
+     * @throws IOException            if the receipts could not be requested
+     * @throws PlatformErrorException if the node refused the receipts request
+     */
+    public List<KlayLogs.Log> scan(KlayBlockView.BlockView block) throws IOException, PlatformErrorException {
+        return scan(block.getHash(), block.getLogsBloom());
+    }
+
+    /**
+     * Requests the blocks of a range, headers only, and passes their matching logs to {@code consumer} in
+     * block order.
+     *
+     * @param fromBlock first block
+     * @param toBlock   last block, inclusive
+     * @param consumer  consumer of the logs
+     * @return number of logs consumed
+     * @throws IOException            if a block or its receipts could not be requested, or a block is missing
+     * @throws PlatformErrorException if the node refused a request
+     */
+    public long scan(long fromBlock, long toBlock, Consumer<KlayLogs.Log> consumer)
+            throws IOException, PlatformErrorException {
+        long consumed = 0;
+        for (long number = fromBlock; number <= toBlock; number++) {
+            KlayBlockView response = klay.getBlockViewByNumber(
+                    DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), false).send();
+            if (response.hasError()) {
+                throw new PlatformErrorException(response.getError());
+            }
+            KlayBlockView.BlockView block = response.getBlockView()
+                    .orElseThrow(() -> new IOException("Block not found"));
+            for (KlayLogs.Log log : scan(block)) {
+                consumer.accept(log);
+                consumed++;
+            }
+        }
+        return consumed;
+    }
+
+    /**
+     * Maps a block stream, such as {@link Klay#blockFlowable(boolean)}, to its matching logs.
+     *
+     * @param blocks blocks
+     * @return matching logs in block order
+     */
+    public Flowable<KlayLogs.Log> logs(Flowable<KlayBlock> blocks) {
+        return blocks.concatMapIterable(block -> scan(block.getBlock()));
+    }
+
+    /**
+     * @return number of blocks whose bloom was tested
+     */
+    public long getScannedBlockCount() {
+        return scannedBlockCount.get();
+    }
+
+    /**
+     * @return number of blocks whose receipts were requested
+     */
+    public long getReceiptRequestCount() {
+        return receiptRequestCount.get();
+    }
+
+    /**
+     * @return number of blocks whose receipts were requested but held no matching log
+     */
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.get();
+    }
+
+    private List<KlayLogs.Log> scan(String blockHash, String logsBloom) throws IOException, PlatformErrorException {
+        scannedBlockCount.incrementAndGet();
+        if (!query.mayMatch(logsBloom)) {
+            return Collections.emptyList();
+        }
+
+        receiptRequestCount.incrementAndGet();
+        BlockReceiptViews response = klay.getBlockReceiptViews(blockHash).send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        List<KlayLogs.Log> logs = new ArrayList<>();
+        if (response.getResult() != null) {
+            for (KlayTransactionReceiptView.TransactionReceiptView receipt : response.getResult()) {
+                if (receipt.getLogs() == null) {
+                    continue;
+                }
+                for (KlayLogs.Log log : receipt.getLogs()) {
+                    if (query.matches(log)) {
+                        logs.add(log);
+                    }
+                }
+            }
+        }
+        if (logs.isEmpty()) {
+            falsePositiveCount.incrementAndGet();
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.logs;
+
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.tx.EventDecoderRegistry;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.utils.Numeric;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the chain head and releases blocks once they are buried under a number of confirmations.
+ *
+ * <pre>
+ * ConfirmedBlockStream stream = new ConfirmedBlockStream.Builder(caver.klay(), new ConfirmedBlockStream.Listener() {
+ *     public void onConfirmed(ConfirmedBlockStream.ConfirmedBlock block) {
+ *         block.getLogs().forEach(deposits::credit);
+ *     }
+ * }).setConfirmations(12).setLogFilter(new KlayFilter(null, null, depositAddress)).build();
+ * </pre>
+ *
+ * <p>The headers of the recent blocks are kept in a ring of fixed size. Every new block must name the
+ * newest header as its parent; when it does not, its ancestors are requested by hash until one is found in
+ * the ring, the replaced blocks are reported with {@link Listener#onRollback(KlayBlock.Block)}, newest
+ * first, and the new branch takes their place. A block is only released with
+ * {@link Listener#onConfirmed(ConfirmedBlock)} once {@code confirmations} blocks were built on it, so a
+ * rollback never concerns a released block unless the reorganization is deeper than the confirmations.
+ *
+ * <p>The logs of a released block are fetched when it is released, after testing its logsBloom, so
+ * replaced blocks cost no receipt request. Listeners run on the polling thread, one at a time.
+ */
+public class ConfirmedBlockStream implements Closeable {
+
+    public static final int DEFAULT_CONFIRMATIONS = 12;
+    public static final int DEFAULT_WINDOW_SIZE = 128;
+    public static final long DEFAULT_POLLING_INTERVAL = 1000;
+
+    private final Klay klay;
+    private final Listener listener;
+    private final int confirmations;
+    private final BloomBlockScanner scanner;
+    private final EventDecoderRegistry eventDecoderRegistry;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean isSchedulerOwned;
+    private final ScheduledFuture<?> polling;
+
+    // headers by number modulo the window size, from tip - size + 1 to tip
+    private final KlayBlock.Block[] window;
+    private int size;
+    private long tip;
+    private long releasedThrough = -1;
+    // block the window starts from when empty, -1 for the head
+    private long startBlock;
+    private boolean closed;
+
+    private ConfirmedBlockStream(Builder builder) {
+        this.klay = builder.klay;
+        this.listener = builder.listener;
+        this.confirmations = builder.confirmations;
+        this.scanner = builder.logFilter != null ? new BloomBlockScanner(klay, builder.logFilter) : null;
+        this.eventDecoderRegistry = builder.eventDecoderRegistry;
+        this.window = new KlayBlock.Block[builder.windowSize];
+        this.startBlock = builder.startBlock;
+        this.isSchedulerOwned = builder.scheduledExecutorService == null;
+        this.scheduledExecutorService = isSchedulerOwned
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "caver-block-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : builder.scheduledExecutorService;
+        this.polling = builder.pollingInterval > 0
+                ? scheduledExecutorService.scheduleWithFixedDelay(
+                        this::poll, 0, builder.pollingInterval, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Runs one polling round: follows the head up to the latest block, rolling back replaced blocks, and
+     * releases the blocks that reached the confirmation depth. Failures are reported to
+     * {@link Listener#onError(Throwable)} and the round is tried again on the next poll. Called by the
+     * scheduler, or directly when the polling interval is 0.
+     */
+    public synchronized void poll() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            long latest = blockNumber();
+            if (size == 0) {
+                KlayBlock.Block first = getBlockByNumber(startBlock >= 0 ? startBlock : latest);
+                if (first == null) {
+                    return;
+                }
+                push(first);
+                releasedThrough = tip - 1;
+                listener.onBlock(first);
+            }
+            // blocks are only dropped from the window once released, so that a rollback can reach them
+            while (size > 0 && tip < latest && (size < window.length || tip - size + 1 <= releasedThrough)) {
+                KlayBlock.Block block = getBlockByNumber(tip + 1);
+                if (block == null) {
+                    break;
+                }
+                follow(block);
+            }
+            release();
+        } catch (IOException | PlatformErrorException | RuntimeException e) {
+            listener.onError(e);
+        }
+    }
+
+    /**
+     * @return number of the newest block followed, -1 before the first poll
+     */
+    public synchronized long getHeadBlockNumber() {
+        return size > 0 ? tip : -1;
+    }
+
+    /**
+     * @return number of the newest released block, or of the block before the first followed one
+     */
+    public synchronized long getReleasedBlockNumber() {
+        return releasedThrough;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if (polling != null) {
+            polling.cancel(false);
+        }
+        if (isSchedulerOwned) {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    private void follow(KlayBlock.Block block) throws IOException, PlatformErrorException {
+        // the new block and the ancestors not in the window, newest first
+        List<KlayBlock.Block> branch = new ArrayList<>();
+        branch.add(block);
+        KlayBlock.Block oldest = block;
+        while (true) {
+            long parentNumber = number(oldest) - 1;
+            KlayBlock.Block known = get(parentNumber);
+            if (known != null && known.getHash().equalsIgnoreCase(oldest.getParentHash())) {
+                break;
+            }
+            if (known == null || parentNumber <= releasedThrough) {
+                restart(parentNumber);
+                return;
+            }
+            oldest = getBlockByHash(oldest.getParentHash());
+            branch.add(oldest);
+        }
+
+        long forkNumber = number(oldest);
+        while (size > 0 && tip >= forkNumber) {
+            KlayBlock.Block orphan = pop();
+            listener.onRollback(orphan);
+        }
+        for (int i = branch.size() - 1; i >= 0; i--) {
+            push(branch.get(i));
+            listener.onBlock(branch.get(i));
+        }
+    }
+
+    /**
+     * Handles a reorganization replacing released blocks, or deeper than the window: the unreleased blocks
+     * are rolled back and the stream starts again on the new chain after the last released block.
+     */
+    private void restart(long parentNumber) {
+        while (size > 0 && tip > releasedThrough) {
+            listener.onRollback(pop());
+        }
+        size = 0;
+        startBlock = releasedThrough + 1;
+        listener.onError(new IllegalStateException("Reorganization replaced block " + parentNumber
+                + ", which is released or older than the followed blocks"));
+    }
+
+    private void release() throws IOException, PlatformErrorException {
+        while (size > 0 && releasedThrough < tip - confirmations) {
+            KlayBlock.Block block = get(releasedThrough + 1);
+            List<KlayLogs.Log> logs = scanner != null ? scanner.scan(block) : Collections.emptyList();
+            List<EventDecoderRegistry.DecodedEvent> events = new ArrayList<>();
+            if (eventDecoderRegistry != null) {
+                for (KlayLogs.Log log : logs) {
+                    EventDecoderRegistry.DecodedEvent event = eventDecoderRegistry.decode(log);
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+            }
+            releasedThrough++;
+            listener.onConfirmed(new ConfirmedBlock(block, logs, events));
+        }
+    }
+
+    private KlayBlock.Block get(long number) {
+        if (size == 0 || number > tip || number <= tip - size) {
+            return null;
+        }
+        return window[index(number)];
+    }
+
+    private void push(KlayBlock.Block block) {
+        tip = number(block);
+        window[index(tip)] = block;
+        size = Math.min(size + 1, window.length);
+    }
+
+    private KlayBlock.Block pop() {
+        KlayBlock.Block block = window[index(tip)];
+        window[index(tip)] = null;
+        tip--;
+        size--;
+        return block;
+    }
+
+    private int index(long number) {
+        return (int) (number % window.length);
+    }
+
+    private long blockNumber() throws IOException, PlatformErrorException {
+        Quantity response = klay.getBlockNumber().send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        return response.getValue().longValue();
+    }
+
+    private KlayBlock.Block getBlockByNumber(long number) throws IOException, PlatformErrorException {
+        KlayBlock response = klay.getBlockByNumber(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), false).send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        return response.getBlock();
+    }
+
+    private KlayBlock.Block getBlockByHash(String hash) throws IOException, PlatformErrorException {
+        KlayBlock response = klay.getBlockByHash(hash, false).send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        if (response.getBlock() == null) {
+            throw new IOException("Block not found: " + hash);
+        }
+        return response.getBlock();
+    }
+
+    private static long number(KlayBlock.Block block) {
+        return Numeric.decodeQuantity(block.getNumber()).longValue();
+    }
+
+    /**
+     * Receives the events of a {@link ConfirmedBlockStream}.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a block becomes part of the followed chain, before it is confirmed.
+         */
+        default void onBlock(KlayBlock.Block block) {
+        }
+
+        /**
+         * Called when an unreleased block is replaced by a block of another branch.
+         */
+        default void onRollback(KlayBlock.Block block) {
+        }
+
+        /**
+         * Called in block order when a block reached the confirmation depth.
+         */
+        void onConfirmed(ConfirmedBlock block);
+
+        default void onError(Throwable throwable) {
+        }
+    }
+
+    /**
+     * Block released by a {@link ConfirmedBlockStream}, with its logs matching the log filter.
+     */
+    public static class ConfirmedBlock {
+
+        private final KlayBlock.Block block;
+        private final List<KlayLogs.Log> logs;
+        private final List<EventDecoderRegistry.DecodedEvent> events;
+
+        ConfirmedBlock(KlayBlock.Block block, List<KlayLogs.Log> logs,
+                       List<EventDecoderRegistry.DecodedEvent> events) {
+            this.block = block;
+            this.logs = Collections.unmodifiableList(logs);
+            this.events = Collections.unmodifiableList(events);
+        }
+
+        public KlayBlock.Block getBlock() {
+            return block;
+        }
+
+        public long getNumber() {
+            return number(block);
+        }
+
+        /**
+         * @return logs matching the log filter, empty without a log filter
+         */
+        public List<KlayLogs.Log> getLogs() {
+            return logs;
+        }
+
+        /**
+         * @return logs decoded by the event decoder registry, skipping logs of unregistered events
+         */
+        public List<EventDecoderRegistry.DecodedEvent> getEvents() {
+            return events;
+        }
+    }
+
+    public static class Builder {
+        private final Klay klay;
+        private final Listener listener;
+        private int confirmations = DEFAULT_CONFIRMATIONS;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private long startBlock = -1;
+        private KlayFilter logFilter;
+        private EventDecoderRegistry eventDecoderRegistry;
+        private long pollingInterval = DEFAULT_POLLING_INTERVAL;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        public Builder(Klay klay, Listener listener) {
+            this.klay = klay;
+            this.listener = listener;
+        }
+
+        /**
+         * Blocks built on a block before it is released. 0 releases blocks as soon as they are followed.
+         */
+        public Builder setConfirmations(int confirmations) {
+            this.confirmations = confirmations;
+            return this;
+        }
+
+        /**
+         * Headers kept to find the fork point of a reorganization. Must be greater than the confirmations.
+         */
+        public Builder setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * First block to follow. When unset, the stream starts at the head of the chain.
+         */
+        public Builder setStartBlock(long startBlock) {
+            this.startBlock = startBlock;
+            return this;
+        }
+
+        /**
+         * Addresses and topics of the logs fetched for released blocks. Without a filter, no log is fetched.
+         */
+        public Builder setLogFilter(KlayFilter logFilter) {
+            this.logFilter = logFilter;
+            return this;
+        }
+
+        /**
+         * Registry decoding the logs of released blocks into {@link ConfirmedBlock#getEvents()}.
+         */
+        public Builder setEventDecoderRegistry(EventDecoderRegistry eventDecoderRegistry) {
+            this.eventDecoderRegistry = eventDecoderRegistry;
+            return this;
+        }
+
+        /**
+         * Interval between two polls in milliseconds. 0 disables scheduled polling, leaving it to
+         * {@link ConfirmedBlockStream#poll()}.
+         */
+        public Builder setPollingInterval(long pollingInterval) {
+            this.pollingInterval = pollingInterval;
+            return this;
+        }
+
+        /**
+         * Scheduler running the polls. When unset, a daemon thread owned by the stream is used.
+         */
+        public Builder setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public ConfirmedBlockStream build() {
+            if (confirmations < 0) {
+                throw new IllegalArgumentException("confirmations must not be negative: " + confirmations);
+            }
+            if (windowSize <= confirmations) {
+                throw new IllegalArgumentException(
+                        "windowSize must be greater than the confirmations: " + windowSize);
+            }
+            if (pollingInterval < 0) {
+                throw new IllegalArgumentException("pollingInterval must not be negative: " + pollingInterval);
+            }
+            return new ConfirmedBlockStream(this);
+        }
+    }
+}
@@ -0,0 +1,574 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.logs;
+
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import com.klaytn.caver.utils.LogsBloom;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Shares node log filters between the subscriptions of a process.
+ *
+ * <pre>
+ * FilterManager filterManager = new FilterManager.Builder(caver.klay()).build();
+ * FilterManager.Subscription subscription = filterManager.subscribe(
+ *         new KlayFilter(null, null, tokenAddress).addSingleTopic(transferTopic),
+ *         log -&gt; handleTransfer(log));
+ * </pre>
+ *
+ * <p>A subscription joins a node filter which already covers it, or one it can be merged into: filters with
+ * the same topics are merged by joining their addresses, and filters with the same addresses by joining the
+ * alternatives of each topic position. A merged filter may return logs no subscription asked for, so each
+ * log is matched against every subscription of the filter before it is delivered.
+ *
+ * <p>Node filters are polled with klay_getFilterChanges once per new block. A filter the node has dropped,
+ * or whose conditions were widened by a merge, is installed again, and the blocks between its last poll and
+ * the new installation are fetched with klay_getLogs, so no log is lost. Logs of those blocks the new filter
+ * reports again are not delivered twice.
+ *
+ * <p>Listeners run on the polling thread, one at a time.
+ */
+public class FilterManager implements Closeable {
+
+    public static final long DEFAULT_POLLING_INTERVAL = 1000;
+
+    private final Klay klay;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean isSchedulerOwned;
+    private final ScheduledFuture<?> polling;
+
+    // serializes the polling rounds, which run without holding the lock of the manager
+    private final Object pollLock = new Object();
+
+    // guarded by this
+    private final List<Group> groups = new ArrayList<>();
+    private long head = -1;
+    private long reinstallCount;
+    private boolean closed;
+
+    private FilterManager(Builder builder) {
+        this.klay = builder.klay;
+        this.isSchedulerOwned = builder.scheduledExecutorService == null;
+        this.scheduledExecutorService = isSchedulerOwned
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "caver-filter-manager");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : builder.scheduledExecutorService;
+        this.polling = builder.pollingInterval > 0
+                ? scheduledExecutorService.scheduleWithFixedDelay(
+                        this::poll, builder.pollingInterval, builder.pollingInterval, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Subscribes to the logs matching {@code filter}. The block range of the filter is ignored: logs are
+     * delivered from the next poll on.
+     *
+     * @param filter   addresses and topics of the logs
+     * @param listener listener of the logs
+     * @return subscription
+     */
+    public Subscription subscribe(KlayFilter filter, Consumer<KlayLogs.Log> listener) {
+        return subscribe(filter, listener, null);
+    }
+
+    /**
+     * Same as {@link #subscribe(KlayFilter, Consumer)}, also reporting the failures of the node filter.
+     * Failures do not end the subscription: the filter is polled or installed again on the next block.
+     *
+     * @param filter        addresses and topics of the logs
+     * @param listener      listener of the logs
+     * @param errorListener listener of the failures, may be null
+     * @return subscription
+     */
+    public synchronized Subscription subscribe(
+            KlayFilter filter, Consumer<KlayLogs.Log> listener, Consumer<Throwable> errorListener) {
+        if (closed) {
+            throw new IllegalStateException("FilterManager is closed");
+        }
+        Subscription subscription = new Subscription(LogsBloom.Query.from(filter), listener, errorListener);
+        Group group = null;
+        for (Group candidate : groups) {
+            if (candidate.covers(subscription.query)) {
+                group = candidate;
+                break;
+            }
+        }
+        if (group == null) {
+            for (Group candidate : groups) {
+                if (candidate.merge(subscription.query)) {
+                    group = candidate;
+                    break;
+                }
+            }
+        }
+        if (group == null) {
+            group = new Group(subscription.query, head);
+            groups.add(group);
+        }
+        group.subscriptions.add(subscription);
+        subscription.group = group;
+        return subscription;
+    }
+
+    /**
+     * Runs one polling round: installs the filters of new subscriptions, and polls every filter when a new
+     * block arrived. Called by the scheduler, or directly when the polling interval is 0. The requests are
+     * made without holding the lock of the manager, so subscribing and cancelling never wait for the node.
+     */
+    public void poll() {
+        synchronized (pollLock) {
+            List<Group> polled;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                polled = new ArrayList<>(groups);
+            }
+
+            long latest;
+            try {
+                latest = blockNumber();
+            } catch (IOException | PlatformErrorException | RuntimeException e) {
+                for (Group group : polled) {
+                    fail(group, e);
+                }
+                return;
+            }
+            boolean isNewBlock;
+            synchronized (this) {
+                isNewBlock = latest > head;
+                head = Math.max(head, latest);
+            }
+
+            for (Group group : polled) {
+                BigInteger filterId;
+                boolean isInstalling;
+                synchronized (this) {
+                    if (group.isRemoved) {
+                        // cancelled during this round
+                        continue;
+                    }
+                    filterId = group.filterId;
+                    isInstalling = filterId == null || group.isWidened;
+                }
+                try {
+                    if (isInstalling) {
+                        install(group);
+                    } else if (isNewBlock) {
+                        pollChanges(group, filterId, latest);
+                    }
+                } catch (IOException | PlatformErrorException | RuntimeException e) {
+                    fail(group, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of node filters in use
+     */
+    public synchronized int getNodeFilterCount() {
+        return groups.size();
+    }
+
+    /**
+     * @return number of active subscriptions
+     */
+    public synchronized int getSubscriptionCount() {
+        int count = 0;
+        for (Group group : groups) {
+            count += group.subscriptions.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return number of filters installed again after the node dropped them
+     */
+    public synchronized long getReinstallCount() {
+        return reinstallCount;
+    }
+
+    /**
+     * Uninstalls the node filters. Subscriptions are cancelled and receive no more logs or errors.
+     */
+    @Override
+    public void close() {
+        List<BigInteger> filterIds = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Group group : groups) {
+                group.isRemoved = true;
+                for (Subscription subscription : group.subscriptions) {
+                    subscription.cancelled = true;
+                }
+                if (group.filterId != null) {
+                    filterIds.add(group.filterId);
+                    group.filterId = null;
+                }
+            }
+            groups.clear();
+        }
+        if (polling != null) {
+            polling.cancel(false);
+        }
+        filterIds.forEach(this::uninstall);
+        if (isSchedulerOwned) {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        BigInteger filterId;
+        synchronized (this) {
+            Group group = subscription.group;
+            if (!group.subscriptions.remove(subscription) || !group.subscriptions.isEmpty()) {
+                return;
+            }
+            groups.remove(group);
+            group.isRemoved = true;
+            filterId = group.filterId;
+            group.filterId = null;
+        }
+        if (filterId != null) {
+            uninstall(filterId);
+        }
+    }
+
+    private void install(Group group) throws IOException, PlatformErrorException {
+        BigInteger previousFilterId;
+        KlayFilter filter;
+        synchronized (this) {
+            previousFilterId = group.filterId;
+            group.filterId = null;
+            // a merge from now on widens the group again and is installed on the next poll
+            group.isWidened = false;
+            filter = group.toFilter();
+        }
+        if (previousFilterId != null) {
+            uninstall(previousFilterId);
+        }
+
+        Quantity response = klay.newFilter(filter).send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        BigInteger filterId = response.getValue();
+        try {
+            // blocks after this number are reported by the new filter
+            long installedAt = blockNumber();
+            if (group.polledThrough >= 0 && group.polledThrough < installedAt) {
+                new LogBackfill.Builder(klay, filter, group.polledThrough + 1, installedAt)
+                        .build()
+                        .run(log -> deliver(group, log));
+            }
+            group.polledThrough = Math.max(group.polledThrough, installedAt);
+            group.deliveredThrough = group.polledThrough;
+        } catch (IOException | PlatformErrorException | RuntimeException e) {
+            // install again on the next poll, so that the gap is fetched again
+            uninstall(filterId);
+            throw e;
+        }
+
+        boolean isKept;
+        synchronized (this) {
+            isKept = !group.isRemoved;
+            if (isKept) {
+                group.filterId = filterId;
+            }
+        }
+        if (!isKept) {
+            // the last subscription was cancelled, or the manager closed, while installing
+            uninstall(filterId);
+        }
+    }
+
+    private void pollChanges(Group group, BigInteger filterId, long latest)
+            throws IOException, PlatformErrorException {
+        KlayLogs changes = klay.getFilterChanges(filterId).send();
+        if (changes.hasError()) {
+            if (isFilterNotFound(changes.getError())) {
+                // the node drops filters that are not polled for a while
+                synchronized (this) {
+                    if (group.isRemoved) {
+                        // the last subscription was cancelled, or the manager closed, while polling
+                        return;
+                    }
+                    reinstallCount++;
+                    if (filterId.equals(group.filterId)) {
+                        group.filterId = null;
+                    }
+                }
+                install(group);
+                return;
+            }
+            throw new PlatformErrorException(changes.getError());
+        }
+
+        long polledThrough = latest;
+        if (changes.getLogs() != null) {
+            for (KlayLogs.LogResult logResult : changes.getLogs()) {
+                KlayLogs.Log log = (KlayLogs.Log) logResult.get();
+                if (log.getBlockNumberRaw() == null) {
+                    deliver(group, log);
+                    continue;
+                }
+                // the node reports the logs of a block all at once, possibly of a block newer than latest
+                long blockNumber = log.getBlockNumber().longValue();
+                polledThrough = Math.max(polledThrough, blockNumber);
+                if (blockNumber > group.deliveredThrough) {
+                    deliver(group, log);
+                }
+            }
+        }
+        group.polledThrough = polledThrough;
+    }
+
+    private void deliver(Group group, KlayLogs.Log log) {
+        for (Subscription subscription : subscriptions(group)) {
+            if (!subscription.cancelled && subscription.query.matches(log)) {
+                subscription.accept(log);
+            }
+        }
+    }
+
+    private void fail(Group group, Throwable throwable) {
+        for (Subscription subscription : subscriptions(group)) {
+            if (!subscription.cancelled) {
+                subscription.fail(throwable);
+            }
+        }
+    }
+
+    private synchronized List<Subscription> subscriptions(Group group) {
+        return new ArrayList<>(group.subscriptions);
+    }
+
+    private long blockNumber() throws IOException, PlatformErrorException {
+        Quantity response = klay.getBlockNumber().send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        return response.getValue().longValue();
+    }
+
+    private void uninstall(BigInteger filterId) {
+        try {
+            klay.uninstallFilter(filterId).send();
+        } catch (IOException | RuntimeException e) {
+            // the node drops the filter by itself once it is no longer polled
+        }
+    }
+
+    private static boolean isFilterNotFound(Response.Error error) {
+        return error.getMessage() != null && error.getMessage().contains("filter not found");
+    }
+
+    /**
+     * Subscription to the logs of a {@link FilterManager}.
+     */
+    public class Subscription {
+
+        private final LogsBloom.Query query;
+        private final Consumer<KlayLogs.Log> listener;
+        private final Consumer<Throwable> errorListener;
+        private Group group;
+        private volatile boolean cancelled;
+
+        private Subscription(
+                LogsBloom.Query query, Consumer<KlayLogs.Log> listener, Consumer<Throwable> errorListener) {
+            this.query = query;
+            this.listener = listener;
+            this.errorListener = errorListener;
+        }
+
+        public LogsBloom.Query getQuery() {
+            return query;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Stops the delivery of logs. The node filter is uninstalled when no other subscription uses it.
+         */
+        public void cancel() {
+            cancelled = true;
+            unsubscribe(this);
+        }
+
+        private void accept(KlayLogs.Log log) {
+            try {
+                listener.accept(log);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (errorListener != null) {
+                errorListener.accept(throwable);
+            }
+        }
+    }
+
+    /**
+     * Subscriptions sharing a node filter, whose conditions cover all of theirs.
+     */
+    private static class Group {
+
+        // guarded by the manager
+        private final Set<String> addresses;
+        private final List<Set<String>> topics = new ArrayList<>();
+        private final List<Subscription> subscriptions = new ArrayList<>();
+        private BigInteger filterId;
+        private boolean isWidened;
+        private boolean isRemoved;
+
+        // only accessed by the polling rounds
+        // last block whose logs were delivered, -1 before the first installation
+        private long polledThrough;
+        // logs up to this block were delivered by a backfill and are skipped in filter changes
+        private long deliveredThrough = -1;
+
+        Group(LogsBloom.Query query, long head) {
+            this.addresses = new HashSet<>(query.getAddresses());
+            for (Set<String> alternatives : query.getTopics()) {
+                topics.add(new HashSet<>(alternatives));
+            }
+            this.polledThrough = head;
+        }
+
+        boolean covers(LogsBloom.Query query) {
+            if (!addresses.isEmpty()
+                    && (query.getAddresses().isEmpty() || !addresses.containsAll(query.getAddresses()))) {
+                return false;
+            }
+            for (int i = 0; i < topics.size(); i++) {
+                if (topics.get(i).isEmpty()) {
+                    continue;
+                }
+                if (i >= query.getTopics().size()
+                        || query.getTopics().get(i).isEmpty()
+                        || !topics.get(i).containsAll(query.getTopics().get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean merge(LogsBloom.Query query) {
+            if (topics.equals(query.getTopics())) {
+                union(addresses, query.getAddresses());
+            } else if (addresses.equals(query.getAddresses()) && topics.size() == query.getTopics().size()) {
+                for (int i = 0; i < topics.size(); i++) {
+                    union(topics.get(i), query.getTopics().get(i));
+                }
+            } else {
+                return false;
+            }
+            // also when an installation is running, which may already have read the previous conditions
+            isWidened = true;
+            return true;
+        }
+
+        KlayFilter toFilter() {
+            KlayFilter filter = new KlayFilter(
+                    DefaultBlockParameterName.LATEST, DefaultBlockParameterName.LATEST,
+                    addresses.isEmpty() ? null : new ArrayList<>(addresses));
+            for (Set<String> alternatives : topics) {
+                if (alternatives.isEmpty()) {
+                    filter.addNullTopic();
+                } else if (alternatives.size() == 1) {
+                    filter.addSingleTopic(alternatives.iterator().next());
+                } else {
+                    filter.addOptionalTopics(alternatives.toArray(new String[0]));
+                }
+            }
+            return filter;
+        }
+
+        // an empty set stands for any value, so it absorbs the other one
+        private static void union(Set<String> values, Set<String> others) {
+            if (values.isEmpty() || others.isEmpty()) {
+                values.clear();
+            } else {
+                values.addAll(others);
+            }
+        }
+    }
+
+    public static class Builder {
+        private final Klay klay;
+        private long pollingInterval = DEFAULT_POLLING_INTERVAL;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        public Builder(Klay klay) {
+            this.klay = klay;
+        }
+
+        /**
+         * Interval between two block number checks in milliseconds; filters are only polled when the block
+         * number increased. 0 disables scheduled polling, leaving it to {@link FilterManager#poll()}.
+         */
+        public Builder setPollingInterval(long pollingInterval) {
+            this.pollingInterval = pollingInterval;
+            return this;
+        }
+
+        /**
+         * Scheduler running the polls. When unset, a daemon thread owned by the manager is used.
+         */
+        public Builder setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public FilterManager build() {
+            if (pollingInterval < 0) {
+                throw new IllegalArgumentException("pollingInterval must not be negative: " + pollingInterval);
+            }
+            return new FilterManager(this);
+        }
+    }
+}
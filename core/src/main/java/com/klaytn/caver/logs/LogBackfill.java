@@ -0,0 +1,353 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.logs;
+
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import org.web3j.protocol.core.DefaultBlockParameter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Fetches the logs of a large block range with concurrent klay_getLogs requests.
+ *
+ * <pre>
+ * KlayFilter filter = new KlayFilter(null, null, contractAddress).addSingleTopic(transferTopic);
+ * new LogBackfill.Builder(caver.klay(), filter, 0, 30_000_000)
+ *         .setCheckpoint(LogBackfill.fileCheckpoint(Paths.get("transfers.checkpoint")))
+ *         .build()
+ *         .run(log -&gt; index.add(log));
+ * </pre>
+ *
+ * <p>The range is cut into chunks, of which at most {@code maxInFlight} are requested at once. A chunk the
+ * node refuses because it holds too many results, or which times out, is split in halves, and later
+ * chunks start at the smaller size. Chunks with few logs make later chunks twice as large, so sparse
+ * regions are crossed in few requests.
+ *
+ * <p>Logs are handed to the consumer in block order on the thread calling {@link #run(Consumer)}. After the
+ * logs of a chunk are consumed, the next block to fetch is saved to the checkpoint; a backfill created with
+ * the same checkpoint resumes from there.
+ */
+public class LogBackfill {
+
+    public static final int DEFAULT_INITIAL_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 1;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 100_000;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    public static final int DEFAULT_TARGET_LOGS = 2000;
+
+    // errors of the node for a klay_getLogs range that is too large, other errors are not retried
+    private static final String[] OVERFLOW_MESSAGES = {"too many results", "query timeout"};
+
+    /**
+     * Completed chunks kept waiting for an earlier chunk, per request in flight.
+     */
+    private static final int WINDOW_PER_REQUEST = 4;
+
+    private final Klay klay;
+    private final KlayFilter filter;
+    private final long fromBlock;
+    private final long toBlock;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final int maxInFlight;
+    private final int targetLogs;
+    private final Checkpoint checkpoint;
+
+    private long chunkSize;
+
+    private LogBackfill(Builder builder) {
+        this.klay = builder.klay;
+        this.filter = builder.filter;
+        this.fromBlock = builder.fromBlock;
+        this.toBlock = builder.toBlock;
+        this.minChunkSize = builder.minChunkSize;
+        this.maxChunkSize = builder.maxChunkSize;
+        this.maxInFlight = builder.maxInFlight;
+        this.targetLogs = builder.targetLogs;
+        this.checkpoint = builder.checkpoint;
+        this.chunkSize = builder.initialChunkSize;
+    }
+
+    /**
+     * Fetches the range, or what remains of it according to the checkpoint, and passes its logs to
+     * {@code consumer} in block order.
+     *
+     * @param consumer consumer of the logs
+     * @return number of logs consumed
+     * @throws IOException            if a request failed for another reason than its size, or the checkpoint
+     *                                could not be saved
+     * @throws PlatformErrorException if the node refused a chunk of the minimum size
+     */
+    public long run(Consumer<KlayLogs.Log> consumer) throws IOException, PlatformErrorException {
+        long next = checkpoint != null ? Math.max(fromBlock, checkpoint.load()) : fromBlock;
+        TreeMap<Long, Chunk> pending = new TreeMap<>();
+        Deque<Chunk> retries = new ArrayDeque<>();
+        BlockingQueue<Chunk> completions = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        long consumed = 0;
+
+        while (true) {
+            while (inFlight < maxInFlight && !retries.isEmpty()) {
+                send(retries.poll(), completions);
+                inFlight++;
+            }
+            while (inFlight < maxInFlight && next <= toBlock && pending.size() < maxInFlight * WINDOW_PER_REQUEST) {
+                Chunk chunk = new Chunk(next, Math.min(toBlock, next + chunkSize - 1));
+                pending.put(chunk.from, chunk);
+                send(chunk, completions);
+                inFlight++;
+                next = chunk.to + 1;
+            }
+            if (pending.isEmpty()) {
+                return consumed;
+            }
+
+            Chunk completed = take(completions);
+            inFlight--;
+            if (completed.failure != null) {
+                if (!isOverflow(completed.failure) || completed.size() <= minChunkSize) {
+                    if (completed.failure instanceof PlatformErrorException) {
+                        throw (PlatformErrorException) completed.failure;
+                    }
+                    throw (IOException) completed.failure;
+                }
+                long half = Math.max(minChunkSize, completed.size() / 2);
+                chunkSize = Math.max(minChunkSize, Math.min(chunkSize, half));
+                Chunk first = new Chunk(completed.from, completed.from + half - 1);
+                Chunk second = new Chunk(first.to + 1, completed.to);
+                pending.put(first.from, first);
+                pending.put(second.from, second);
+                retries.add(first);
+                retries.add(second);
+                continue;
+            }
+            if (completed.logs.size() < targetLogs / 2 && completed.size() >= chunkSize) {
+                chunkSize = Math.min(maxChunkSize, chunkSize * 2);
+            }
+
+            while (!pending.isEmpty() && pending.firstEntry().getValue().logs != null) {
+                Chunk chunk = pending.pollFirstEntry().getValue();
+                for (KlayLogs.Log log : chunk.logs) {
+                    consumer.accept(log);
+                }
+                consumed += chunk.logs.size();
+                if (checkpoint != null) {
+                    checkpoint.save(chunk.to + 1);
+                }
+            }
+        }
+    }
+
+    private void send(Chunk chunk, BlockingQueue<Chunk> completions) {
+        KlayLogFilter logFilter = new KlayLogFilter(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(chunk.from)),
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(chunk.to)),
+                filter.getAddress(), null);
+        logFilter.getTopics().addAll(filter.getTopics());
+
+        klay.getLogs(logFilter).sendAsync().whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                chunk.failure = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            } else if (response.hasError()) {
+                chunk.failure = new PlatformErrorException(response.getError());
+            } else {
+                List<KlayLogs.Log> logs = new ArrayList<>(response.getLogs().size());
+                for (KlayLogs.LogResult logResult : response.getLogs()) {
+                    logs.add((KlayLogs.Log) logResult.get());
+                }
+                chunk.logs = logs;
+            }
+            completions.add(chunk);
+        });
+    }
+
+    private static Chunk take(BlockingQueue<Chunk> completions) throws InterruptedIOException {
+        try {
+            return completions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for logs");
+        }
+    }
+
+    /**
+     * Whether a chunk failed because of its size: the node timed out or refused the number of results.
+     */
+    private static boolean isOverflow(Exception failure) {
+        if (failure instanceof SocketTimeoutException) {
+            return true;
+        }
+        if (!(failure instanceof PlatformErrorException)) {
+            return false;
+        }
+        String message = failure.getMessage() == null ? "" : failure.getMessage().toLowerCase(Locale.ROOT);
+        for (String overflowMessage : OVERFLOW_MESSAGES) {
+            if (message.contains(overflowMessage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checkpoint saved to {@code file}, replaced atomically on every save.
+     */
+    public static Checkpoint fileCheckpoint(Path file) {
+        return new Checkpoint() {
+            @Override
+            public long load() throws IOException {
+                if (!Files.exists(file)) {
+                    return -1;
+                }
+                return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+            }
+
+            @Override
+            public void save(long nextBlock) throws IOException {
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temporary, Long.toString(nextBlock).getBytes(StandardCharsets.UTF_8));
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        };
+    }
+
+    /**
+     * Progress of a backfill: every block before the saved one has been fetched and consumed.
+     */
+    public interface Checkpoint {
+
+        /**
+         * @return next block to fetch, or -1 to start at the beginning of the range
+         */
+        long load() throws IOException;
+
+        void save(long nextBlock) throws IOException;
+    }
+
+    private static class Chunk {
+        private final long from;
+        private final long to;
+        // written before the chunk is queued as completed, read after taking it
+        private volatile List<KlayLogs.Log> logs;
+        private volatile Exception failure;
+
+        Chunk(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        long size() {
+            return to - from + 1;
+        }
+    }
+
+    public static class Builder {
+        private final Klay klay;
+        private final KlayFilter filter;
+        private final long fromBlock;
+        private final long toBlock;
+        private int initialChunkSize = DEFAULT_INITIAL_CHUNK_SIZE;
+        private int minChunkSize = DEFAULT_MIN_CHUNK_SIZE;
+        private int maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private int targetLogs = DEFAULT_TARGET_LOGS;
+        private Checkpoint checkpoint;
+
+        /**
+         * @param klay      klay to send the requests with
+         * @param filter    addresses and topics of the logs; its block range is ignored
+         * @param fromBlock first block of the range
+         * @param toBlock   last block of the range, included
+         */
+        public Builder(Klay klay, KlayFilter filter, long fromBlock, long toBlock) {
+            if (fromBlock < 0 || toBlock < fromBlock) {
+                throw new IllegalArgumentException("Invalid block range: " + fromBlock + " to " + toBlock);
+            }
+            this.klay = klay;
+            this.filter = filter;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        /**
+         * Blocks in the first chunks, and the least and most blocks chunks may have. Default to 1000, 1
+         * and 100,000.
+         */
+        public Builder setChunkSize(int initial, int min, int max) {
+            if (min < 1 || initial < min || max < initial) {
+                throw new IllegalArgumentException("Chunk sizes must satisfy 1 <= min <= initial <= max");
+            }
+            this.initialChunkSize = initial;
+            this.minChunkSize = min;
+            this.maxChunkSize = max;
+            return this;
+        }
+
+        /**
+         * Most klay_getLogs requests in flight. Defaults to 4.
+         */
+        public Builder setMaxInFlight(int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Logs per chunk aimed at: chunks returning less than half of it make the next chunks larger.
+         * Defaults to 2000.
+         */
+        public Builder setTargetLogs(int targetLogs) {
+            this.targetLogs = targetLogs;
+            return this;
+        }
+
+        public Builder setCheckpoint(Checkpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        public LogBackfill build() {
+            return new LogBackfill(this);
+        }
+    }
+}
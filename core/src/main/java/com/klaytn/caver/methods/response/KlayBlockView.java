@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A lazily decoded block object, or null when no block was found
+ */
+public class KlayBlockView extends Response<KlayBlockView.BlockView> {
+
+    public Optional<BlockView> getBlockView() {
+        return Optional.ofNullable(getResult());
+    }
+
+    /**
+     * Block whose fields are decoded on first access. Reading the header fields and the transaction hashes
+     * never builds the transaction objects or their signatures.
+     */
+    @JsonDeserialize(using = BlockViewDeserializer.class)
+    public static class BlockView extends LazyJsonObject {
+
+        BlockView(TokenBuffer tokens) {
+            super(tokens);
+        }
+
+        public String getNumber() {
+            return getText("number");
+        }
+
+        public String getHash() {
+            return getText("hash");
+        }
+
+        public String getParentHash() {
+            return getText("parentHash");
+        }
+
+        public String getLogsBloom() {
+            return getText("logsBloom");
+        }
+
+        public String getGasUsed() {
+            return getText("gasUsed");
+        }
+
+        public String getTimestamp() {
+            return getText("timestamp");
+        }
+
+        public String getTimestampFoS() {
+            return getText("timestampFoS");
+        }
+
+        public String getReward() {
+            return getText("reward");
+        }
+
+        /**
+         * @return hashes of the transactions, whether the block holds full transaction objects or only hashes
+         */
+        public List<String> getTransactionHashes() {
+            return getInnerTexts("transactions", "hash");
+        }
+
+        /**
+         * @return the decoded transactions, holding only their hash unless the block was requested with
+         * full transaction objects
+         */
+        public List<KlayTransaction.Transaction> getTransactions() {
+            return getField("transactions", TypeFactory.defaultInstance()
+                    .constructCollectionType(List.class, KlayTransaction.Transaction.class));
+        }
+
+        /**
+         * @return the fully decoded block
+         */
+        public KlayBlock.Block toBlock() {
+            return decode(KlayBlock.Block.class);
+        }
+    }
+
+    public static class BlockViewDeserializer extends JsonDeserializer<BlockView> {
+
+        @Override
+        public BlockView deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            return new BlockView(LazyJsonObject.capture(jsonParser, deserializationContext));
+        }
+    }
+}
@@ -132,6 +132,16 @@ public class KlayTransaction extends Response<KlayTransaction.Transaction> {
         public Transaction() {
         }
 
+        /**
+         * Used for blocks requested without full transaction objects, where the block only carries
+         * the 32-byte transaction hashes.
+         *
+         * @param hash Hash of the transaction
+         */
+        public Transaction(String hash) {
+            this.hash = hash;
+        }
+
         public Transaction(String blockHash, String blockNumber, String from, String gas, String gasPrice, String hash,
                            String input, String nonce, String senderTxHash, List<KlaySignatureData> signatures,
                            String to, String transactionIndex, String type, String typeInt, String value) {
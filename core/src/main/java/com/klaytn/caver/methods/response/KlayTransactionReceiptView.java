@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A lazily decoded transaction receipt, or null when no receipt was found
+ */
+public class KlayTransactionReceiptView extends Response<KlayTransactionReceiptView.TransactionReceiptView> {
+
+    public Optional<TransactionReceiptView> getTransactionReceiptView() {
+        return Optional.ofNullable(getResult());
+    }
+
+    /**
+     * Transaction receipt whose fields are decoded on first access. Reading the status or the logs never
+     * decodes the sender and fee payer signatures.
+     */
+    @JsonDeserialize(using = TransactionReceiptViewDeserializer.class)
+    public static class TransactionReceiptView extends LazyJsonObject {
+
+        TransactionReceiptView(TokenBuffer tokens) {
+            super(tokens);
+        }
+
+        public String getBlockHash() {
+            return getText("blockHash");
+        }
+
+        public String getBlockNumber() {
+            return getText("blockNumber");
+        }
+
+        public String getContractAddress() {
+            return getText("contractAddress");
+        }
+
+        public String getFrom() {
+            return getText("from");
+        }
+
+        public String getTo() {
+            return getText("to");
+        }
+
+        public String getGasUsed() {
+            return getText("gasUsed");
+        }
+
+        /**
+         * @return "0x1" for success, "0x0" for failure
+         */
+        public String getStatus() {
+            return getText("status");
+        }
+
+        public String getTransactionHash() {
+            return getText("transactionHash");
+        }
+
+        public String getTxError() {
+            return getText("txError");
+        }
+
+        public List<KlayLogs.Log> getLogs() {
+            return getField("logs", TypeFactory.defaultInstance()
+                    .constructCollectionType(List.class, KlayLogs.Log.class));
+        }
+
+        /**
+         * @return the fully decoded receipt
+         */
+        public KlayTransactionReceipt.TransactionReceipt toTransactionReceipt() {
+            return decode(KlayTransactionReceipt.TransactionReceipt.class);
+        }
+    }
+
+    public static class TransactionReceiptViewDeserializer extends JsonDeserializer<TransactionReceiptView> {
+
+        @Override
+        public TransactionReceiptView deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            return new TransactionReceiptView(LazyJsonObject.capture(jsonParser, deserializationContext));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.web3j.protocol.ObjectMapperFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON object kept in its tokenized form. Deserializing it only copies the tokens; a field is decoded
+ * when it is first read and then remembered, so fields that are never read, such as the transactions of
+ * a block whose header is all that is needed, cost neither the bean mapping nor the nested objects.
+ */
+public abstract class LazyJsonObject {
+
+    private static final Object NULL = new Object();
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final TokenBuffer tokens;
+    private final Map<String, Object> decodedFields = new HashMap<>();
+
+    protected LazyJsonObject(TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Copies the object the parser is positioned on.
+     */
+    protected static TokenBuffer capture(
+            JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(jsonParser, deserializationContext);
+        tokens.copyCurrentStructure(jsonParser);
+        return tokens;
+    }
+
+    /**
+     * @param fieldName name of a scalar field
+     * @return the text of the field, or null if it is absent or null
+     */
+    public String getText(String fieldName) {
+        return getField(fieldName, objectMapper.constructType(String.class));
+    }
+
+    /**
+     * @param fieldName name of a field
+     * @param type      type the field is decoded to
+     * @param <T>       field type
+     * @return the decoded field, or null if it is absent or null
+     * @throws UncheckedIOException if the field cannot be decoded to {@code type}
+     */
+    @SuppressWarnings("unchecked")
+    protected synchronized <T> T getField(String fieldName, JavaType type) {
+        Object value = decodedFields.get(fieldName);
+        if (value == null) {
+            try (JsonParser parser = seek(fieldName)) {
+                value = parser == null || parser.getCurrentToken() == JsonToken.VALUE_NULL
+                        ? NULL : objectMapper.readValue(parser, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            decodedFields.put(fieldName, value);
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * Reads one field of every object in an array field without decoding the objects. Elements that are
+     * plain strings, such as the transaction hashes of a block fetched without full transactions, are
+     * returned as they are.
+     *
+     * @param fieldName      name of an array field
+     * @param innerFieldName name of the field read from each object element
+     * @return the values in array order, or null if the field is absent or null
+     */
+    protected List<String> getInnerTexts(String fieldName, String innerFieldName) {
+        try (JsonParser parser = seek(fieldName)) {
+            if (parser == null || parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token != JsonToken.START_OBJECT) {
+                    values.add(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                    parser.skipChildren();
+                    continue;
+                }
+                String value = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    if (innerFieldName.equals(name) && parser.getCurrentToken() != JsonToken.VALUE_NULL) {
+                        value = parser.getValueAsString();
+                    }
+                    parser.skipChildren();
+                }
+                values.add(value);
+            }
+            return values;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param type type the whole object is decoded to
+     * @param <T>  object type
+     * @return the decoded object
+     * @throws UncheckedIOException if the object cannot be decoded to {@code type}
+     */
+    protected <T> T decode(Class<T> type) {
+        try (JsonParser parser = tokens.asParser()) {
+            parser.nextToken();
+            return objectMapper.readValue(parser, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a parser positioned on the value of the field, or null if the object has no such field
+     */
+    private JsonParser seek(String fieldName) throws IOException {
+        JsonParser parser = tokens.asParser();
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (fieldName.equals(name)) {
+                    return parser;
+                }
+                parser.skipChildren();
+            }
+        }
+        parser.close();
+        return null;
+    }
+}
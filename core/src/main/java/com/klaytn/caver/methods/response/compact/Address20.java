@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Immutable 20-byte account address held in primitive fields instead of a 42 character hex string.
+ * Instances are usually shared through an {@link AddressPool}.
+ */
+public final class Address20 {
+
+    public static final int LENGTH = 20;
+
+    private final long high;
+    private final long middle;
+    private final int low;
+
+    private Address20(long high, long middle, int low) {
+        this.high = high;
+        this.middle = middle;
+        this.low = low;
+    }
+
+    /**
+     * @param hex 20-byte hex string with or without 0x prefix, may be null
+     * @return the value, or null if {@code hex} is null
+     */
+    public static Address20 of(String hex) {
+        return hex == null ? null : of(Numeric.hexStringToByteArray(hex));
+    }
+
+    /**
+     * @param bytes 20 bytes, may be null
+     * @return the value, or null if {@code bytes} is null
+     */
+    public static Address20 of(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Expected " + LENGTH + " bytes but got " + bytes.length);
+        }
+        return new Address20(
+                CompactValues.readLong(bytes, 0),
+                CompactValues.readLong(bytes, 8),
+                (int) (CompactValues.readLong(bytes, 12) & 0xffffffffL));
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[LENGTH];
+        CompactValues.writeLong(bytes, 0, high);
+        CompactValues.writeLong(bytes, 8, middle);
+        for (int i = 0; i < 4; i++) {
+            bytes[16 + i] = (byte) (low >>> (24 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return 0x prefixed lower case hex string
+     */
+    @Override
+    public String toString() {
+        return Numeric.toHexString(toBytes());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Address20)) {
+            return false;
+        }
+        Address20 that = (Address20) o;
+        return high == that.high && middle == that.middle && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + low;
+    }
+}
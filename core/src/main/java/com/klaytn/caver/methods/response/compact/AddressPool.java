@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deduplicates {@link Address20} values so that an address appearing in many receipts, transactions and
+ * logs, such as a busy contract, is stored once. A pool holds at most {@code maxSize} addresses and starts
+ * over empty once it is full, so the default pool used by the compact deserializers stays bounded however
+ * many distinct addresses a long-running process sees.
+ */
+public class AddressPool {
+
+    public static final int DEFAULT_MAX_SIZE = 65_536;
+
+    private static final AddressPool DEFAULT = new AddressPool(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final ConcurrentMap<Address20, Address20> addresses = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a pool that is never emptied; drop it with the data it was used for.
+     */
+    public AddressPool() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize number of addresses after which the pool is emptied
+     */
+    public AddressPool(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the pool used by the compact deserializers, bounded to {@link #DEFAULT_MAX_SIZE} addresses
+     */
+    public static AddressPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param hex 20-byte hex string with or without 0x prefix, may be null
+     * @return the pooled address, or null if {@code hex} is null
+     */
+    public Address20 intern(String hex) {
+        return intern(Address20.of(hex));
+    }
+
+    /**
+     * @param address address, may be null
+     * @return the pooled instance equal to {@code address}, or null if {@code address} is null
+     */
+    public Address20 intern(Address20 address) {
+        if (address == null) {
+            return null;
+        }
+        Address20 pooled = addresses.get(address);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (addresses.size() >= maxSize) {
+            // addresses seen from now on are more likely to repeat than the oldest ones
+            addresses.clear();
+        }
+        pooled = addresses.putIfAbsent(address, address);
+        return pooled == null ? address : pooled;
+    }
+
+    public int size() {
+        return addresses.size();
+    }
+
+    public void clear() {
+        addresses.clear();
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayTransaction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact counterpart of {@link KlayBlock.Block}.
+ */
+@JsonDeserialize(using = CompactBlock.Deserializer.class)
+public class CompactBlock {
+
+    private static final CompactTransaction[] NO_TRANSACTIONS = new CompactTransaction[0];
+
+    private long number = CompactValues.ABSENT;
+    private Hash32 hash;
+    private Hash32 parentHash;
+    private byte[] nonce;
+    private byte[] logsBloom;
+    private Hash32 transactionsRoot;
+    private Hash32 stateRoot;
+    private Hash32 receiptsRoot;
+    private Address20 miner;
+    private BigInteger difficulty;
+    private BigInteger totalDifficulty;
+    private byte[] extraData;
+    private long size = CompactValues.ABSENT;
+    private long gasLimit = CompactValues.ABSENT;
+    private long gasUsed = CompactValues.ABSENT;
+    private long timestamp = CompactValues.ABSENT;
+    private int timestampFoS = (int) CompactValues.ABSENT;
+    private CompactTransaction[] transactions;
+    private byte[] governanceData;
+    private byte[] voteData;
+    private Address20 reward;
+
+    CompactBlock() {
+    }
+
+    public static CompactBlock from(KlayBlock.Block block, AddressPool addressPool) {
+        CompactBlock compactBlock = new CompactBlock();
+        compactBlock.number = CompactValues.toLong(block.getNumber());
+        compactBlock.hash = Hash32.of(block.getHash());
+        compactBlock.parentHash = Hash32.of(block.getParentHash());
+        compactBlock.nonce = CompactValues.toBytes(block.getNonce());
+        compactBlock.logsBloom = CompactValues.toBloom(block.getLogsBloom());
+        compactBlock.transactionsRoot = Hash32.of(block.getTransactionsRoot());
+        compactBlock.stateRoot = Hash32.of(block.getStateRoot());
+        compactBlock.receiptsRoot = Hash32.of(block.getReceiptsRoot());
+        compactBlock.miner = addressPool.intern(block.getMiner());
+        compactBlock.difficulty = CompactValues.toBigInteger(block.getDifficulty());
+        compactBlock.totalDifficulty = CompactValues.toBigInteger(block.getTotalDifficulty());
+        compactBlock.extraData = CompactValues.toBytes(block.getExtraData());
+        compactBlock.size = CompactValues.toLong(block.getSize());
+        compactBlock.gasLimit = CompactValues.toLong(block.getGasLimit());
+        compactBlock.gasUsed = CompactValues.toLong(block.getGasUsed());
+        compactBlock.timestamp = CompactValues.toLong(block.getTimestamp());
+        compactBlock.timestampFoS = CompactValues.toInt(block.getTimestampFoS());
+        if (block.getTransactions() != null) {
+            List<KlayTransaction.Transaction> blockTransactions = block.getTransactions();
+            compactBlock.transactions = blockTransactions.isEmpty()
+                    ? NO_TRANSACTIONS : new CompactTransaction[blockTransactions.size()];
+            for (int i = 0; i < compactBlock.transactions.length; i++) {
+                compactBlock.transactions[i] = CompactTransaction.from(blockTransactions.get(i), addressPool);
+            }
+        }
+        compactBlock.governanceData = CompactValues.toBytes(block.getGovernanceData());
+        compactBlock.voteData = CompactValues.toBytes(block.getVoteData());
+        compactBlock.reward = addressPool.intern(block.getReward());
+        return compactBlock;
+    }
+
+    public KlayBlock.Block toBlock() {
+        List<KlayTransaction.Transaction> transactionList = null;
+        if (transactions != null) {
+            transactionList = new ArrayList<>(transactions.length);
+            for (CompactTransaction transaction : transactions) {
+                transactionList.add(transaction.toTransaction());
+            }
+        }
+        return new KlayBlock.Block(
+                CompactValues.toQuantity(number),
+                hash == null ? null : hash.toString(),
+                parentHash == null ? null : parentHash.toString(),
+                CompactValues.toHex(nonce),
+                CompactValues.toHex(logsBloom),
+                transactionsRoot == null ? null : transactionsRoot.toString(),
+                stateRoot == null ? null : stateRoot.toString(),
+                receiptsRoot == null ? null : receiptsRoot.toString(),
+                miner == null ? null : miner.toString(),
+                CompactValues.toQuantity(difficulty),
+                CompactValues.toQuantity(totalDifficulty),
+                CompactValues.toHex(extraData),
+                CompactValues.toQuantity(size),
+                CompactValues.toQuantity(gasLimit),
+                CompactValues.toQuantity(gasUsed),
+                CompactValues.toQuantity(timestamp),
+                CompactValues.toQuantity(timestampFoS),
+                transactionList,
+                CompactValues.toHex(governanceData),
+                CompactValues.toHex(voteData),
+                reward == null ? null : reward.toString());
+    }
+
+    /**
+     * @return the block number, or -1 for a pending block
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    public Hash32 getHash() {
+        return hash;
+    }
+
+    public Hash32 getParentHash() {
+        return parentHash;
+    }
+
+    public byte[] getNonce() {
+        return CompactValues.copy(nonce);
+    }
+
+    public byte[] getLogsBloom() {
+        return CompactValues.copy(logsBloom);
+    }
+
+    public Hash32 getTransactionsRoot() {
+        return transactionsRoot;
+    }
+
+    public Hash32 getStateRoot() {
+        return stateRoot;
+    }
+
+    public Hash32 getReceiptsRoot() {
+        return receiptsRoot;
+    }
+
+    public Address20 getMiner() {
+        return miner;
+    }
+
+    public BigInteger getDifficulty() {
+        return difficulty;
+    }
+
+    public BigInteger getTotalDifficulty() {
+        return totalDifficulty;
+    }
+
+    public byte[] getExtraData() {
+        return CompactValues.copy(extraData);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getGasLimit() {
+        return gasLimit;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getTimestampFoS() {
+        return timestampFoS;
+    }
+
+    /**
+     * @return the transactions, holding only their hash unless the block was requested with full
+     * transaction objects
+     */
+    public List<CompactTransaction> getTransactions() {
+        if (transactions == null) {
+            return null;
+        }
+        List<CompactTransaction> transactionList = new ArrayList<>(transactions.length);
+        Collections.addAll(transactionList, transactions);
+        return Collections.unmodifiableList(transactionList);
+    }
+
+    public byte[] getGovernanceData() {
+        return CompactValues.copy(governanceData);
+    }
+
+    public byte[] getVoteData() {
+        return CompactValues.copy(voteData);
+    }
+
+    public Address20 getReward() {
+        return reward;
+    }
+
+    /**
+     * Reads a block object directly into a {@link CompactBlock}, interning addresses in
+     * {@link AddressPool#getDefault()}.
+     */
+    public static class Deserializer extends JsonDeserializer<CompactBlock> {
+
+        private final CompactTransaction.Deserializer transactionDeserializer = new CompactTransaction.Deserializer();
+
+        @Override
+        public CompactBlock deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            CompactBlock block = new CompactBlock();
+            AddressPool addressPool = AddressPool.getDefault();
+            for (JsonToken token = CompactValues.firstField(jsonParser);
+                 token == JsonToken.FIELD_NAME;
+                 token = jsonParser.nextToken()) {
+                String fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                switch (fieldName) {
+                    case "number":
+                        block.number = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "hash":
+                        block.hash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "parentHash":
+                        block.parentHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "nonce":
+                        block.nonce = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "logsBloom":
+                        block.logsBloom = CompactValues.toBloom(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionsRoot":
+                        block.transactionsRoot = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "stateRoot":
+                        block.stateRoot = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "receiptsRoot":
+                        block.receiptsRoot = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "miner":
+                        block.miner = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "difficulty":
+                        block.difficulty = CompactValues.toBigInteger(CompactValues.text(jsonParser));
+                        break;
+                    case "totalDifficulty":
+                        block.totalDifficulty = CompactValues.toBigInteger(CompactValues.text(jsonParser));
+                        break;
+                    case "extraData":
+                        block.extraData = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "size":
+                        block.size = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "gasLimit":
+                        block.gasLimit = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "gasUsed":
+                        block.gasUsed = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "timestamp":
+                        block.timestamp = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "timestampFoS":
+                        block.timestampFoS = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "transactions":
+                        block.transactions = readTransactions(jsonParser, deserializationContext);
+                        break;
+                    case "governanceData":
+                        block.governanceData = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "voteData":
+                        block.voteData = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "reward":
+                        block.reward = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                }
+            }
+            return block;
+        }
+
+        private CompactTransaction[] readTransactions(
+                JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.getCurrentToken() != JsonToken.START_ARRAY) {
+                jsonParser.skipChildren();
+                return null;
+            }
+            List<CompactTransaction> transactionList = new ArrayList<>();
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                transactionList.add(transactionDeserializer.deserialize(jsonParser, deserializationContext));
+            }
+            return transactionList.isEmpty() ? NO_TRANSACTIONS : transactionList.toArray(NO_TRANSACTIONS);
+        }
+    }
+}
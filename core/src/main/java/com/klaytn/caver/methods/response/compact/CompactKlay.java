@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+
+import java.util.Arrays;
+
+/**
+ * Klay requests whose results are decoded straight into the compact model, for applications keeping large
+ * amounts of chain data in memory. The requests go through the given service like those of
+ * {@link com.klaytn.caver.Klay}, so batching, caching and the other service decorators apply.
+ *
+ * <pre>
+ * CompactKlay compactKlay = new CompactKlay(new HttpService(url));
+ * CompactTransactionReceipt receipt = compactKlay.getTransactionReceipt(hash).send().getResult();
+ * </pre>
+ */
+public class CompactKlay {
+
+    private final Web3jService web3jService;
+
+    public CompactKlay(Web3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    public Request<?, CompactKlayBlock> getBlockByNumber(
+            DefaultBlockParameter defaultBlockParameter, boolean isFullTransaction) {
+        return new Request<>(
+                "klay_getBlockByNumber",
+                Arrays.asList(defaultBlockParameter, isFullTransaction),
+                web3jService,
+                CompactKlayBlock.class);
+    }
+
+    public Request<?, CompactKlayBlock> getBlockByHash(String blockHash, boolean isFullTransaction) {
+        return new Request<>(
+                "klay_getBlockByHash",
+                Arrays.asList(blockHash, isFullTransaction),
+                web3jService,
+                CompactKlayBlock.class);
+    }
+
+    public Request<?, CompactBlockReceipts> getBlockReceipts(String blockHash) {
+        return new Request<>(
+                "klay_getBlockReceipts",
+                Arrays.asList(blockHash),
+                web3jService,
+                CompactBlockReceipts.class);
+    }
+
+    public Request<?, CompactKlayTransaction> getTransactionByHash(String txHash) {
+        return new Request<>(
+                "klay_getTransactionByHash",
+                Arrays.asList(txHash),
+                web3jService,
+                CompactKlayTransaction.class);
+    }
+
+    public Request<?, CompactKlayTransactionReceipt> getTransactionReceipt(String transactionHash) {
+        return new Request<>(
+                "klay_getTransactionReceipt",
+                Arrays.asList(transactionHash),
+                web3jService,
+                CompactKlayTransactionReceipt.class);
+    }
+
+    public Request<?, CompactKlayLogs> getLogs(KlayLogFilter filter) {
+        return new Request<>(
+                "klay_getLogs",
+                Arrays.asList(filter),
+                web3jService,
+                CompactKlayLogs.class);
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import org.web3j.protocol.core.Response;
+
+import java.util.List;
+
+/**
+ * Compact counterpart of {@link com.klaytn.caver.methods.response.KlayLogs} returned by klay_getLogs and klay_getFilterLogs.
+ */
+public class CompactKlayLogs extends Response<List<CompactLog>> {
+}
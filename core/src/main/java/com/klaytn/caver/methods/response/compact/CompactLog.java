@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.klaytn.caver.methods.response.KlayLogs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact counterpart of {@link KlayLogs.Log}.
+ */
+@JsonDeserialize(using = CompactLog.Deserializer.class)
+public class CompactLog {
+
+    private int logIndex = (int) CompactValues.ABSENT;
+    private int transactionIndex = (int) CompactValues.ABSENT;
+    private Hash32 transactionHash;
+    private Hash32 blockHash;
+    private long blockNumber = CompactValues.ABSENT;
+    private Address20 address;
+    private byte[] data;
+    private Hash32[] topics;
+
+    CompactLog() {
+    }
+
+    public static CompactLog from(KlayLogs.Log log, AddressPool addressPool) {
+        CompactLog compactLog = new CompactLog();
+        compactLog.logIndex = CompactValues.toInt(log.getLogIndexRaw());
+        compactLog.transactionIndex = CompactValues.toInt(log.getTransactionIndexRaw());
+        compactLog.transactionHash = Hash32.of(log.getTransactionHash());
+        compactLog.blockHash = Hash32.of(log.getBlockHash());
+        compactLog.blockNumber = CompactValues.toLong(log.getBlockNumberRaw());
+        compactLog.address = addressPool.intern(log.getAddress());
+        compactLog.data = CompactValues.toBytes(log.getData());
+        if (log.getTopics() != null) {
+            compactLog.topics = new Hash32[log.getTopics().size()];
+            for (int i = 0; i < compactLog.topics.length; i++) {
+                compactLog.topics[i] = Hash32.of(log.getTopics().get(i));
+            }
+        }
+        return compactLog;
+    }
+
+    public KlayLogs.Log toLog() {
+        List<String> topicList = null;
+        if (topics != null) {
+            topicList = new ArrayList<>(topics.length);
+            for (Hash32 topic : topics) {
+                topicList.add(topic.toString());
+            }
+        }
+        return new KlayLogs.Log(
+                CompactValues.toQuantity(logIndex),
+                CompactValues.toQuantity(transactionIndex),
+                transactionHash == null ? null : transactionHash.toString(),
+                blockHash == null ? null : blockHash.toString(),
+                CompactValues.toQuantity(blockNumber),
+                address == null ? null : address.toString(),
+                CompactValues.toHex(data),
+                topicList);
+    }
+
+    /**
+     * @return the log index, or -1 for a pending log
+     */
+    public int getLogIndex() {
+        return logIndex;
+    }
+
+    /**
+     * @return the transaction index, or -1 for a pending log
+     */
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public Hash32 getTransactionHash() {
+        return transactionHash;
+    }
+
+    public Hash32 getBlockHash() {
+        return blockHash;
+    }
+
+    /**
+     * @return the block number, or -1 for a pending log
+     */
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public Address20 getAddress() {
+        return address;
+    }
+
+    public byte[] getData() {
+        return CompactValues.copy(data);
+    }
+
+    public List<Hash32> getTopics() {
+        if (topics == null) {
+            return null;
+        }
+        List<Hash32> topicList = new ArrayList<>(topics.length);
+        Collections.addAll(topicList, topics);
+        return Collections.unmodifiableList(topicList);
+    }
+
+    /**
+     * Reads a log object directly into a {@link CompactLog}, interning addresses in
+     * {@link AddressPool#getDefault()}.
+     */
+    public static class Deserializer extends JsonDeserializer<CompactLog> {
+
+        @Override
+        public CompactLog deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            CompactLog log = new CompactLog();
+            AddressPool addressPool = AddressPool.getDefault();
+            for (JsonToken token = CompactValues.firstField(jsonParser);
+                 token == JsonToken.FIELD_NAME;
+                 token = jsonParser.nextToken()) {
+                String fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                switch (fieldName) {
+                    case "logIndex":
+                        log.logIndex = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionIndex":
+                        log.transactionIndex = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionHash":
+                        log.transactionHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "blockHash":
+                        log.blockHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "blockNumber":
+                        log.blockNumber = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "address":
+                        log.address = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "data":
+                        log.data = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "topics":
+                        List<Hash32> topicList = CompactValues.readHashes(jsonParser);
+                        log.topics = topicList == null ? null : topicList.toArray(new Hash32[0]);
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                }
+            }
+            return log;
+        }
+    }
+}
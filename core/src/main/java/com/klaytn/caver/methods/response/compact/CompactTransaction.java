@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.klaytn.caver.crpyto.KlaySignatureData;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Compact counterpart of {@link KlayTransaction.Transaction}.
+ */
+@JsonDeserialize(using = CompactTransaction.Deserializer.class)
+public class CompactTransaction {
+
+    private Hash32 blockHash;
+    private long blockNumber = CompactValues.ABSENT;
+    private Address20 from;
+    private long gas = CompactValues.ABSENT;
+    private long gasPrice = CompactValues.ABSENT;
+    private Hash32 hash;
+    private byte[] input;
+    private long nonce = CompactValues.ABSENT;
+    private Hash32 senderTxHash;
+    private List<KlaySignatureData> signatures;
+    private Address20 to;
+    private int transactionIndex = (int) CompactValues.ABSENT;
+    private String type;
+    private int typeInt = (int) CompactValues.ABSENT;
+    private BigInteger value;
+
+    CompactTransaction() {
+    }
+
+    public static CompactTransaction from(KlayTransaction.Transaction transaction, AddressPool addressPool) {
+        CompactTransaction compactTransaction = new CompactTransaction();
+        compactTransaction.blockHash = Hash32.of(transaction.getBlockHash());
+        compactTransaction.blockNumber = CompactValues.toLong(transaction.getBlockNumber());
+        compactTransaction.from = addressPool.intern(transaction.getFrom());
+        compactTransaction.gas = CompactValues.toLong(transaction.getGas());
+        compactTransaction.gasPrice = CompactValues.toLong(transaction.getGasPrice());
+        compactTransaction.hash = Hash32.of(transaction.getHash());
+        compactTransaction.input = CompactValues.toBytes(transaction.getInput());
+        compactTransaction.nonce = CompactValues.toLong(transaction.getNonce());
+        compactTransaction.senderTxHash = Hash32.of(transaction.getSenderTxHash());
+        compactTransaction.signatures = transaction.getSignatures();
+        compactTransaction.to = addressPool.intern(transaction.getTo());
+        compactTransaction.transactionIndex = CompactValues.toInt(transaction.getTransactionIndex());
+        compactTransaction.type = CompactValues.toType(transaction.getType());
+        compactTransaction.typeInt = CompactValues.toInt(transaction.getTypeInt());
+        compactTransaction.value = CompactValues.toBigInteger(transaction.getValue());
+        return compactTransaction;
+    }
+
+    public KlayTransaction.Transaction toTransaction() {
+        return new KlayTransaction.Transaction(
+                blockHash == null ? null : blockHash.toString(),
+                CompactValues.toQuantity(blockNumber),
+                from == null ? null : from.toString(),
+                CompactValues.toQuantity(gas),
+                CompactValues.toQuantity(gasPrice),
+                hash == null ? null : hash.toString(),
+                CompactValues.toHex(input),
+                CompactValues.toQuantity(nonce),
+                senderTxHash == null ? null : senderTxHash.toString(),
+                signatures,
+                to == null ? null : to.toString(),
+                CompactValues.toQuantity(transactionIndex),
+                type,
+                typeInt == CompactValues.ABSENT ? null : String.valueOf(typeInt),
+                CompactValues.toQuantity(value));
+    }
+
+    public Hash32 getBlockHash() {
+        return blockHash;
+    }
+
+    /**
+     * @return the block number, or -1 for a pending transaction
+     */
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public Address20 getFrom() {
+        return from;
+    }
+
+    public long getGas() {
+        return gas;
+    }
+
+    public long getGasPrice() {
+        return gasPrice;
+    }
+
+    public Hash32 getHash() {
+        return hash;
+    }
+
+    public byte[] getInput() {
+        return CompactValues.copy(input);
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public Hash32 getSenderTxHash() {
+        return senderTxHash;
+    }
+
+    public List<KlaySignatureData> getSignatures() {
+        return signatures;
+    }
+
+    public Address20 getTo() {
+        return to;
+    }
+
+    /**
+     * @return the transaction index, or -1 for a pending transaction
+     */
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getTypeInt() {
+        return typeInt;
+    }
+
+    public BigInteger getValue() {
+        return value;
+    }
+
+    /**
+     * Reads a transaction object, or a bare transaction hash, directly into a {@link CompactTransaction},
+     * interning addresses in {@link AddressPool#getDefault()}.
+     */
+    public static class Deserializer extends JsonDeserializer<CompactTransaction> {
+
+        private final KlayTransactionReceipt.KlayTransactionReceiptDeserializer signatureDeserializer =
+                new KlayTransactionReceipt.KlayTransactionReceiptDeserializer();
+
+        @Override
+        public CompactTransaction deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            CompactTransaction transaction = new CompactTransaction();
+            if (jsonParser.getCurrentToken() == JsonToken.VALUE_STRING) {
+                transaction.hash = Hash32.of(jsonParser.getValueAsString());
+                return transaction;
+            }
+
+            AddressPool addressPool = AddressPool.getDefault();
+            for (JsonToken token = CompactValues.firstField(jsonParser);
+                 token == JsonToken.FIELD_NAME;
+                 token = jsonParser.nextToken()) {
+                String fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                switch (fieldName) {
+                    case "blockHash":
+                        transaction.blockHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "blockNumber":
+                        transaction.blockNumber = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "from":
+                        transaction.from = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "gas":
+                        transaction.gas = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "gasPrice":
+                        transaction.gasPrice = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "hash":
+                        transaction.hash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "input":
+                        transaction.input = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "nonce":
+                        transaction.nonce = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "senderTxHash":
+                        transaction.senderTxHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "signatures":
+                        transaction.signatures = jsonParser.getCurrentToken() == JsonToken.VALUE_NULL
+                                ? null : signatureDeserializer.deserialize(jsonParser, deserializationContext);
+                        break;
+                    case "to":
+                        transaction.to = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionIndex":
+                        transaction.transactionIndex = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "type":
+                        transaction.type = CompactValues.toType(CompactValues.text(jsonParser));
+                        break;
+                    case "typeInt":
+                        transaction.typeInt = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "value":
+                        transaction.value = CompactValues.toBigInteger(CompactValues.text(jsonParser));
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                }
+            }
+            return transaction;
+        }
+    }
+}
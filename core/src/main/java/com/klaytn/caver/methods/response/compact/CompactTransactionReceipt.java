@@ -0,0 +1,374 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.klaytn.caver.crpyto.KlaySignatureData;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact counterpart of {@link KlayTransactionReceipt.TransactionReceipt}. Hashes and addresses are held in
+ * fixed-width values, quantities in primitives and binary fields in byte arrays, and addresses are shared
+ * through an {@link AddressPool}, so a receipt takes a fraction of the heap of its JSON-RPC model.
+ */
+@JsonDeserialize(using = CompactTransactionReceipt.Deserializer.class)
+public class CompactTransactionReceipt {
+
+    private static final CompactLog[] NO_LOGS = new CompactLog[0];
+
+    private Hash32 blockHash;
+    private long blockNumber = CompactValues.ABSENT;
+    private Address20 contractAddress;
+    private Address20 feePayer;
+    private List<KlaySignatureData> feePayerSignatures;
+    private int feeRatio = (int) CompactValues.ABSENT;
+    private Address20 from;
+    private long gas = CompactValues.ABSENT;
+    private long gasPrice = CompactValues.ABSENT;
+    private long gasUsed = CompactValues.ABSENT;
+    private byte[] input;
+    private CompactLog[] logs;
+    private byte[] logsBloom;
+    private long nonce = CompactValues.ABSENT;
+    private Hash32 senderTxHash;
+    private List<KlaySignatureData> signatures;
+    private int status = (int) CompactValues.ABSENT;
+    private Address20 to;
+    private int transactionIndex = (int) CompactValues.ABSENT;
+    private Hash32 transactionHash;
+    private int txError = (int) CompactValues.ABSENT;
+    private String type;
+    private int typeInt = (int) CompactValues.ABSENT;
+    private BigInteger value;
+
+    CompactTransactionReceipt() {
+    }
+
+    public static CompactTransactionReceipt from(
+            KlayTransactionReceipt.TransactionReceipt receipt, AddressPool addressPool) {
+        CompactTransactionReceipt compactReceipt = new CompactTransactionReceipt();
+        compactReceipt.blockHash = Hash32.of(receipt.getBlockHash());
+        compactReceipt.blockNumber = CompactValues.toLong(receipt.getBlockNumber());
+        compactReceipt.contractAddress = addressPool.intern(receipt.getContractAddress());
+        compactReceipt.feePayer = addressPool.intern(receipt.getFeePayer());
+        compactReceipt.feePayerSignatures = receipt.getFeePayerSignatures();
+        compactReceipt.feeRatio = CompactValues.toInt(receipt.getFeeRatio());
+        compactReceipt.from = addressPool.intern(receipt.getFrom());
+        compactReceipt.gas = CompactValues.toLong(receipt.getGas());
+        compactReceipt.gasPrice = CompactValues.toLong(receipt.getGasPrice());
+        compactReceipt.gasUsed = CompactValues.toLong(receipt.getGasUsed());
+        compactReceipt.input = CompactValues.toBytes(receipt.getInput());
+        if (receipt.getLogs() != null) {
+            compactReceipt.logs = receipt.getLogs().isEmpty() ? NO_LOGS : new CompactLog[receipt.getLogs().size()];
+            for (int i = 0; i < compactReceipt.logs.length; i++) {
+                compactReceipt.logs[i] = CompactLog.from(receipt.getLogs().get(i), addressPool);
+            }
+        }
+        compactReceipt.logsBloom = CompactValues.toBloom(receipt.getLogsBloom());
+        compactReceipt.nonce = CompactValues.toLong(receipt.getNonce());
+        compactReceipt.senderTxHash = Hash32.of(receipt.getSenderTxHash());
+        compactReceipt.signatures = receipt.getSignatures();
+        compactReceipt.status = CompactValues.toInt(receipt.getStatus());
+        compactReceipt.to = addressPool.intern(receipt.getTo());
+        compactReceipt.transactionIndex = CompactValues.toInt(receipt.getTransactionIndex());
+        compactReceipt.transactionHash = Hash32.of(receipt.getTransactionHash());
+        compactReceipt.txError = CompactValues.toInt(receipt.getTxError());
+        compactReceipt.type = CompactValues.toType(receipt.getType());
+        compactReceipt.typeInt = CompactValues.toInt(receipt.getTypeInt());
+        compactReceipt.value = CompactValues.toBigInteger(receipt.getValue());
+        return compactReceipt;
+    }
+
+    public KlayTransactionReceipt.TransactionReceipt toTransactionReceipt() {
+        List<KlayLogs.Log> logList = null;
+        if (logs != null) {
+            logList = new ArrayList<>(logs.length);
+            for (CompactLog log : logs) {
+                logList.add(log.toLog());
+            }
+        }
+        return new KlayTransactionReceipt.TransactionReceipt(
+                blockHash == null ? null : blockHash.toString(),
+                CompactValues.toQuantity(blockNumber),
+                contractAddress == null ? null : contractAddress.toString(),
+                feePayer == null ? null : feePayer.toString(),
+                feePayerSignatures,
+                CompactValues.toQuantity(feeRatio),
+                from == null ? null : from.toString(),
+                CompactValues.toQuantity(gas),
+                CompactValues.toQuantity(gasPrice),
+                CompactValues.toQuantity(gasUsed),
+                CompactValues.toHex(input),
+                logList,
+                CompactValues.toHex(logsBloom),
+                CompactValues.toQuantity(nonce),
+                senderTxHash == null ? null : senderTxHash.toString(),
+                signatures,
+                CompactValues.toQuantity(status),
+                to == null ? null : to.toString(),
+                CompactValues.toQuantity(transactionIndex),
+                transactionHash == null ? null : transactionHash.toString(),
+                CompactValues.toQuantity(txError),
+                type,
+                typeInt == CompactValues.ABSENT ? null : String.valueOf(typeInt),
+                CompactValues.toQuantity(value));
+    }
+
+    public Hash32 getBlockHash() {
+        return blockHash;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public Address20 getContractAddress() {
+        return contractAddress;
+    }
+
+    public Address20 getFeePayer() {
+        return feePayer;
+    }
+
+    public List<KlaySignatureData> getFeePayerSignatures() {
+        return feePayerSignatures;
+    }
+
+    /**
+     * @return the fee ratio, or -1 if the transaction is not a partial fee delegation
+     */
+    public int getFeeRatio() {
+        return feeRatio;
+    }
+
+    public Address20 getFrom() {
+        return from;
+    }
+
+    public long getGas() {
+        return gas;
+    }
+
+    public long getGasPrice() {
+        return gasPrice;
+    }
+
+    public long getGasUsed() {
+        return gasUsed;
+    }
+
+    public byte[] getInput() {
+        return CompactValues.copy(input);
+    }
+
+    public List<CompactLog> getLogs() {
+        if (logs == null) {
+            return null;
+        }
+        List<CompactLog> logList = new ArrayList<>(logs.length);
+        Collections.addAll(logList, logs);
+        return Collections.unmodifiableList(logList);
+    }
+
+    public byte[] getLogsBloom() {
+        return CompactValues.copy(logsBloom);
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public Hash32 getSenderTxHash() {
+        return senderTxHash;
+    }
+
+    public List<KlaySignatureData> getSignatures() {
+        return signatures;
+    }
+
+    /**
+     * @return 1 for success, 0 for failure
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public Address20 getTo() {
+        return to;
+    }
+
+    public int getTransactionIndex() {
+        return transactionIndex;
+    }
+
+    public Hash32 getTransactionHash() {
+        return transactionHash;
+    }
+
+    /**
+     * @return the error code of a failed transaction, or -1 if there is none
+     */
+    public int getTxError() {
+        return txError;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getTypeInt() {
+        return typeInt;
+    }
+
+    public BigInteger getValue() {
+        return value;
+    }
+
+    /**
+     * Reads a receipt object directly into a {@link CompactTransactionReceipt}, interning addresses in
+     * {@link AddressPool#getDefault()}.
+     */
+    public static class Deserializer extends JsonDeserializer<CompactTransactionReceipt> {
+
+        private final KlayTransactionReceipt.KlayTransactionReceiptDeserializer signatureDeserializer =
+                new KlayTransactionReceipt.KlayTransactionReceiptDeserializer();
+        private final CompactLog.Deserializer logDeserializer = new CompactLog.Deserializer();
+
+        @Override
+        public CompactTransactionReceipt deserialize(
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext) throws IOException {
+            CompactTransactionReceipt receipt = new CompactTransactionReceipt();
+            AddressPool addressPool = AddressPool.getDefault();
+            for (JsonToken token = CompactValues.firstField(jsonParser);
+                 token == JsonToken.FIELD_NAME;
+                 token = jsonParser.nextToken()) {
+                String fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                switch (fieldName) {
+                    case "blockHash":
+                        receipt.blockHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "blockNumber":
+                        receipt.blockNumber = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "contractAddress":
+                        receipt.contractAddress = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "feePayer":
+                        receipt.feePayer = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "feePayerSignatures":
+                        receipt.feePayerSignatures = readSignatures(jsonParser, deserializationContext);
+                        break;
+                    case "feeRatio":
+                        receipt.feeRatio = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "from":
+                        receipt.from = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "gas":
+                        receipt.gas = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "gasPrice":
+                        receipt.gasPrice = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "gasUsed":
+                        receipt.gasUsed = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "input":
+                        receipt.input = CompactValues.toBytes(CompactValues.text(jsonParser));
+                        break;
+                    case "logs":
+                        receipt.logs = readLogs(jsonParser, deserializationContext);
+                        break;
+                    case "logsBloom":
+                        receipt.logsBloom = CompactValues.toBloom(CompactValues.text(jsonParser));
+                        break;
+                    case "nonce":
+                        receipt.nonce = CompactValues.toLong(CompactValues.text(jsonParser));
+                        break;
+                    case "senderTxHash":
+                        receipt.senderTxHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "signatures":
+                        receipt.signatures = readSignatures(jsonParser, deserializationContext);
+                        break;
+                    case "status":
+                        receipt.status = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "to":
+                        receipt.to = addressPool.intern(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionIndex":
+                        receipt.transactionIndex = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "transactionHash":
+                        receipt.transactionHash = Hash32.of(CompactValues.text(jsonParser));
+                        break;
+                    case "txError":
+                        receipt.txError = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "type":
+                        receipt.type = CompactValues.toType(CompactValues.text(jsonParser));
+                        break;
+                    case "typeInt":
+                        receipt.typeInt = CompactValues.toInt(CompactValues.text(jsonParser));
+                        break;
+                    case "value":
+                        receipt.value = CompactValues.toBigInteger(CompactValues.text(jsonParser));
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                }
+            }
+            return receipt;
+        }
+
+        private List<KlaySignatureData> readSignatures(
+                JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.getCurrentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return signatureDeserializer.deserialize(jsonParser, deserializationContext);
+        }
+
+        private CompactLog[] readLogs(
+                JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            if (jsonParser.getCurrentToken() != JsonToken.START_ARRAY) {
+                jsonParser.skipChildren();
+                return null;
+            }
+            List<CompactLog> logList = new ArrayList<>();
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                logList.add(logDeserializer.deserialize(jsonParser, deserializationContext));
+            }
+            return logList.isEmpty() ? NO_LOGS : logList.toArray(NO_LOGS);
+        }
+    }
+}
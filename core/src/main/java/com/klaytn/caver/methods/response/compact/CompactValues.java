@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conversions between the hex strings of the JSON-RPC model and the primitive fields of the compact model.
+ * Absent quantities are stored as {@link #ABSENT}.
+ */
+final class CompactValues {
+
+    static final long ABSENT = -1;
+
+    private static final int BLOOM_LENGTH = 256;
+    private static final byte[] EMPTY_BLOOM = new byte[BLOOM_LENGTH];
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private CompactValues() {
+    }
+
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    static long toLong(String quantity) {
+        if (quantity == null) {
+            return ABSENT;
+        }
+        if (Numeric.containsHexPrefix(quantity)) {
+            return Long.parseLong(quantity.substring(2), 16);
+        }
+        return Long.parseLong(quantity);
+    }
+
+    static String toQuantity(long value) {
+        return value == ABSENT ? null : "0x" + Long.toHexString(value);
+    }
+
+    static int toInt(String quantity) {
+        return Math.toIntExact(toLong(quantity));
+    }
+
+    static String toQuantity(int value) {
+        return toQuantity((long) value);
+    }
+
+    static BigInteger toBigInteger(String quantity) {
+        if (quantity == null) {
+            return null;
+        }
+        BigInteger value = Numeric.decodeQuantity(quantity);
+        return value.signum() == 0 ? BigInteger.ZERO : value;
+    }
+
+    static String toQuantity(BigInteger value) {
+        return value == null ? null : Numeric.toHexStringWithPrefix(value);
+    }
+
+    static byte[] toBytes(String hex) {
+        if (hex == null) {
+            return null;
+        }
+        byte[] bytes = Numeric.hexStringToByteArray(hex);
+        return bytes.length == 0 ? EMPTY_BYTES : bytes;
+    }
+
+    static String toHex(byte[] bytes) {
+        return bytes == null ? null : Numeric.toHexString(bytes);
+    }
+
+    /**
+     * Most blocks and receipts have an empty logs bloom, which then shares one array.
+     */
+    static byte[] toBloom(String hex) {
+        byte[] bloom = toBytes(hex);
+        return bloom != null && Arrays.equals(bloom, EMPTY_BLOOM) ? EMPTY_BLOOM : bloom;
+    }
+
+    static byte[] copy(byte[] bytes) {
+        return bytes == null || bytes.length == 0 ? bytes : bytes.clone();
+    }
+
+    /**
+     * Transaction type names come from a small fixed set.
+     */
+    static String toType(String type) {
+        return type == null ? null : type.intern();
+    }
+
+    static String text(JsonParser parser) throws IOException {
+        return parser.getCurrentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    /**
+     * @return the token of the first field of the object the deserializer was called on
+     */
+    static JsonToken firstField(JsonParser parser) throws IOException {
+        return parser.getCurrentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.getCurrentToken();
+    }
+
+    static List<Hash32> readHashes(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<Hash32> hashes = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            hashes.add(Hash32.of(text(parser)));
+        }
+        return hashes;
+    }
+}
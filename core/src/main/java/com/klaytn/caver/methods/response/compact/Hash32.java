@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.methods.response.compact;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Immutable 32-byte value such as a block or transaction hash, held in four longs instead of a
+ * 66 character hex string.
+ */
+public final class Hash32 {
+
+    public static final int LENGTH = 32;
+
+    private final long word0;
+    private final long word1;
+    private final long word2;
+    private final long word3;
+
+    private Hash32(long word0, long word1, long word2, long word3) {
+        this.word0 = word0;
+        this.word1 = word1;
+        this.word2 = word2;
+        this.word3 = word3;
+    }
+
+    /**
+     * @param hex 32-byte hex string with or without 0x prefix, may be null
+     * @return the value, or null if {@code hex} is null
+     */
+    public static Hash32 of(String hex) {
+        return hex == null ? null : of(Numeric.hexStringToByteArray(hex));
+    }
+
+    /**
+     * @param bytes 32 bytes, may be null
+     * @return the value, or null if {@code bytes} is null
+     */
+    public static Hash32 of(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Expected " + LENGTH + " bytes but got " + bytes.length);
+        }
+        return new Hash32(
+                CompactValues.readLong(bytes, 0),
+                CompactValues.readLong(bytes, 8),
+                CompactValues.readLong(bytes, 16),
+                CompactValues.readLong(bytes, 24));
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[LENGTH];
+        CompactValues.writeLong(bytes, 0, word0);
+        CompactValues.writeLong(bytes, 8, word1);
+        CompactValues.writeLong(bytes, 16, word2);
+        CompactValues.writeLong(bytes, 24, word3);
+        return bytes;
+    }
+
+    /**
+     * @return 0x prefixed lower case hex string
+     */
+    @Override
+    public String toString() {
+        return Numeric.toHexString(toBytes());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Hash32)) {
+            return false;
+        }
+        Hash32 that = (Hash32) o;
+        return word0 == that.word0 && word1 == that.word1 && word2 == that.word2 && word3 == that.word3;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(word0) * 31 + Long.hashCode(word3);
+    }
+}
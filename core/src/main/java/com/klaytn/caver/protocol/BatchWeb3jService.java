@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A {@link Web3jService} able to send several JSON-RPC requests in one round trip.
+ */
+public interface BatchWeb3jService extends Web3jService {
+
+    /**
+     * Sends {@code requests} as a single JSON-RPC batch.
+     *
+     * @param requests      requests to send
+     * @param responseTypes response class of each request, in the order of {@code requests}
+     * @return responses in the order of {@code requests}
+     * @throws IOException if the batch could not be sent or a response is missing
+     */
+    List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException;
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.methods.response.compact.CompactKlayTransaction;
+import io.reactivex.Flowable;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Web3jService} decorator caching the responses that can never change for their request.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new CachingService.Builder(new HttpBatchService(url, true))
+ *         .setMaxWeight(256 * 1024 * 1024)
+ *         .build());
+ * </pre>
+ *
+ * <p>Only immutable results are cached: blocks, receipts and mined transactions looked up by hash,
+ * blocks and account state read at a block number, and the chain ID. Requests using "latest" or
+ * "pending", errors, empty results and transactions not yet mined always go to the node. Klaytn blocks
+ * are final once created, so a cached block never has to be invalidated.
+ *
+ * <p>Entries are kept in a least recently used store bounded both by entry count and by weight.
+ * When the wrapped service includes raw responses, the JSON text is cached and weighs its size in
+ * bytes; it can then be stored off-heap, and every hit deserializes a fresh response. Otherwise the
+ * response object is cached and every hit gets a copy of it, whose result is shared between callers
+ * and must not be modified. Either way, a hit carries the id of the request it answers.
+ */
+public class CachingService implements BatchWeb3jService {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_MAX_WEIGHT = 64 * 1024 * 1024;
+
+    /**
+     * Weight given to a cached response object, whose real size is unknown.
+     */
+    static final int OBJECT_WEIGHT = 1024;
+
+    private static final Set<String> HASH_METHODS = new HashSet<>(Arrays.asList(
+            "klay_getBlockByHash", "klay_getBlockReceipts", "klay_getBlockWithConsensusInfoByHash",
+            "klay_getBlockTransactionCountByHash", "klay_getTransactionByBlockHashAndIndex",
+            "klay_getTransactionReceipt", "klay_getTransactionReceiptBySenderTxHash"));
+    private static final Set<String> TRANSACTION_METHODS = new HashSet<>(Arrays.asList(
+            "klay_getTransactionByHash", "klay_getTransactionBySenderTxHash"));
+    private static final Set<String> BLOCK_NUMBER_METHODS = new HashSet<>(Arrays.asList(
+            "klay_getBlockByNumber", "klay_getBlockWithConsensusInfoByNumber",
+            "klay_getBlockTransactionCountByNumber", "klay_getTransactionByBlockNumberAndIndex",
+            "klay_getBalance", "klay_getCode", "klay_getStorageAt", "klay_getTransactionCount",
+            "klay_getAccount", "klay_getAccountKey", "klay_accountCreated", "klay_isContractAccount",
+            "klay_call", "klay_estimateComputationCost", "klay_getCommittee", "klay_getCommitteeSize",
+            "klay_getCouncil", "klay_getCouncilSize", "klay_gasPriceAt"));
+    private static final Set<String> CONSTANT_METHODS = new HashSet<>(Arrays.asList(
+            "klay_chainID"));
+
+    private final Web3jService web3jService;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final boolean isOffHeap;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    // guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private CachingService(Builder builder) {
+        this.web3jService = builder.web3jService;
+        this.maxEntries = builder.maxEntries;
+        this.maxWeight = builder.maxWeight;
+        this.isOffHeap = builder.isOffHeap;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = getKey(request, responseType);
+        if (key == null) {
+            return web3jService.send(request, responseType);
+        }
+
+        T cached = read(key, request, responseType);
+        if (cached != null) {
+            return cached;
+        }
+        T response = web3jService.send(request, responseType);
+        store(key, request, response);
+        return response;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String key = getKey(request, responseType);
+        if (key == null) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        T cached;
+        try {
+            cached = read(key, request, responseType);
+        } catch (IOException e) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return web3jService.sendAsync(request, responseType).thenApply(response -> {
+            store(key, request, response);
+            return response;
+        });
+    }
+
+    /**
+     * Answers the cached requests of the batch from the cache and sends the others as one batch.
+     */
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        Response<?>[] responses = new Response<?>[requests.size()];
+        String[] keys = new String[requests.size()];
+        List<Request<?, ? extends Response>> misses = new ArrayList<>();
+        List<Class<? extends Response>> missResponseTypes = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Request<?, ? extends Response> request = requests.get(i);
+            keys[i] = getKey(request, responseTypes.get(i));
+            if (keys[i] != null) {
+                responses[i] = read(keys[i], request, responseTypes.get(i));
+            }
+            if (responses[i] == null) {
+                misses.add(request);
+                missResponseTypes.add(responseTypes.get(i));
+                missIndexes.add(i);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<Response<?>> missResponses = Requests.sendBatch(web3jService, misses, missResponseTypes);
+            for (int i = 0; i < missIndexes.size(); i++) {
+                int index = missIndexes.get(i);
+                responses[index] = missResponses.get(i);
+                if (keys[index] != null) {
+                    store(keys[index], requests.get(index), responses[index]);
+                }
+            }
+        }
+        return Arrays.asList(responses);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        invalidateAll();
+        web3jService.close();
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    public CacheMetrics getMetrics() {
+        synchronized (entries) {
+            return new CacheMetrics(hitCount.get(), missCount.get(), evictionCount.get(), entries.size(), weight);
+        }
+    }
+
+    private <T extends Response> T read(String key, Request<?, ?> request, Class<T> responseType)
+            throws IOException {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        T response = entry.read(objectMapper, responseType);
+        // the cached reply was made for another request
+        response.setId(request.getId());
+        return response;
+    }
+
+    private void store(String key, Request<?, ?> request, Response<?> response) {
+        if (!isImmutable(request, response)) {
+            return;
+        }
+
+        Entry entry = createEntry(response);
+        if (entry.weight > maxWeight) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entry.weight;
+
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((weight > maxWeight || entries.size() > maxEntries) && iterator.hasNext()) {
+                weight -= iterator.next().weight;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private Entry createEntry(Response<?> response) {
+        String rawResponse = response.getRawResponse();
+        if (rawResponse == null) {
+            return new ObjectEntry(response);
+        }
+        byte[] json = rawResponse.getBytes(StandardCharsets.UTF_8);
+        if (!isOffHeap) {
+            return new HeapEntry(json);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length);
+        buffer.put(json).flip();
+        return new DirectEntry(buffer);
+    }
+
+    /**
+     * Returns the cache key of a request, or null when its response may change over time.
+     */
+    private String getKey(Request<?, ?> request, Class<?> responseType) {
+        String method = request.getMethod();
+        List<?> params = request.getParams();
+        boolean isCacheable = HASH_METHODS.contains(method)
+                || TRANSACTION_METHODS.contains(method)
+                || CONSTANT_METHODS.contains(method)
+                || (BLOCK_NUMBER_METHODS.contains(method) && isAtBlockNumber(params));
+        if (!isCacheable) {
+            return null;
+        }
+
+        try {
+            // the same call may be decoded to several response types, e.g. KlayBlock and CompactKlayBlock
+            return method + objectMapper.writeValueAsString(params) + responseType.getName();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Every block parameter of the request must be an explicit number: "latest" and "pending" move.
+     */
+    private static boolean isAtBlockNumber(List<?> params) {
+        boolean hasBlockNumber = false;
+        for (Object param : params) {
+            if (param instanceof DefaultBlockParameter) {
+                if (!(param instanceof DefaultBlockParameterNumber)) {
+                    return false;
+                }
+                hasBlockNumber = true;
+            }
+        }
+        return hasBlockNumber;
+    }
+
+    private static boolean isImmutable(Request<?, ?> request, Response<?> response) {
+        if (response == null || response.hasError() || response.getResult() == null) {
+            return false;
+        }
+        if (TRANSACTION_METHODS.contains(request.getMethod())) {
+            // a pending transaction gains its block fields once mined
+            if (response instanceof KlayTransaction) {
+                return ((KlayTransaction) response).getResult().getBlockHash() != null;
+            }
+            if (response instanceof CompactKlayTransaction) {
+                return ((CompactKlayTransaction) response).getResult().getBlockHash() != null;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private abstract static class Entry {
+        final long weight;
+
+        Entry(long weight) {
+            this.weight = weight;
+        }
+
+        abstract <T extends Response> T read(ObjectMapper objectMapper, Class<T> responseType) throws IOException;
+    }
+
+    private static class ObjectEntry extends Entry {
+        private final Response<?> response;
+
+        ObjectEntry(Response<?> response) {
+            super(OBJECT_WEIGHT);
+            this.response = response;
+        }
+
+        @Override
+        <T extends Response> T read(ObjectMapper objectMapper, Class<T> responseType) throws IOException {
+            return Requests.copyResponse(response, response.getId(), responseType);
+        }
+    }
+
+    private static class HeapEntry extends Entry {
+        private final byte[] json;
+
+        HeapEntry(byte[] json) {
+            super(json.length);
+            this.json = json;
+        }
+
+        @Override
+        <T extends Response> T read(ObjectMapper objectMapper, Class<T> responseType) throws IOException {
+            return objectMapper.readValue(json, responseType);
+        }
+    }
+
+    /**
+     * Serialized response kept outside of the Java heap. The buffer is released by the garbage
+     * collector once the entry is evicted.
+     */
+    private static class DirectEntry extends Entry {
+        private final ByteBuffer json;
+
+        DirectEntry(ByteBuffer json) {
+            super(json.capacity());
+            this.json = json;
+        }
+
+        @Override
+        <T extends Response> T read(ObjectMapper objectMapper, Class<T> responseType) throws IOException {
+            return objectMapper.readValue(new ByteBufferBackedInputStream(json.duplicate()), responseType);
+        }
+    }
+
+    /**
+     * Snapshot of the cache statistics.
+     */
+    public static class CacheMetrics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int entryCount;
+        private final long weight;
+
+        CacheMetrics(long hitCount, long missCount, long evictionCount, int entryCount, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.weight = weight;
+        }
+
+        /**
+         * @return cacheable requests answered from the cache
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return cacheable requests sent to the node
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        /**
+         * @return total weight of the cached entries, in bytes for serialized responses
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+
+    public static class Builder {
+        private final Web3jService web3jService;
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private long maxWeight = DEFAULT_MAX_WEIGHT;
+        private boolean isOffHeap;
+
+        /**
+         * @param web3jService service to cache; a service including raw responses, such as
+         *                     {@code new HttpBatchService(url, true)}, lets the cache store JSON
+         */
+        public Builder(Web3jService web3jService) {
+            this.web3jService = web3jService;
+        }
+
+        public Builder setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Maximum total weight of the cache, in bytes of serialized JSON.
+         */
+        public Builder setMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        /**
+         * Stores serialized responses in direct buffers outside of the Java heap.
+         */
+        public Builder setOffHeap(boolean isOffHeap) {
+            this.isOffHeap = isOffHeap;
+            return this;
+        }
+
+        public CachingService build() {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+            }
+            if (maxWeight < 1) {
+                throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+            }
+            return new CachingService(this);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP transport with the connection handling of OkHttp exposed for high request rates.
+ *
+ * <pre>
+ * CaverHttpTransport transport = new CaverHttpTransport.Builder("https://api.cypress.klaytn.net:8651")
+ *         .setMaxRequestsPerHost(128)
+ *         .setMaxIdleConnections(128)
+ *         .setReadTimeout("klay_getLogs", 120_000)
+ *         .build();
+ * Caver caver = Caver.build(transport);
+ * </pre>
+ *
+ * <p>Unlike {@link org.web3j.protocol.http.HttpService}, which runs every asynchronous request as a blocking
+ * call on a thread of its own, {@link #sendAsync(Request, Class)} queues requests on the OkHttp dispatcher.
+ * The dispatcher limits, by default 5 requests per host in OkHttp, are therefore what bounds concurrency,
+ * and are raised here. Cancelling the future of an asynchronous request cancels its HTTP call.
+ *
+ * <p>Responses are always requested gzip compressed. HTTP/2 is negotiated on TLS connections to nodes that
+ * support it. Requests larger than a threshold can also be sent compressed, for nodes or proxies which
+ * accept a gzip Content-Encoding.
+ *
+ * <p>{@link #getMetrics()} separates the time requests wait for the dispatcher from the time until the
+ * response headers arrive, to tell client side queueing from node or network latency.
+ */
+public class CaverHttpTransport extends HttpBatchService {
+
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 64;
+    public static final long DEFAULT_KEEP_ALIVE = 5 * 60 * 1000;
+    public static final long DEFAULT_CONNECT_TIMEOUT = 10_000;
+    public static final long DEFAULT_READ_TIMEOUT = 30_000;
+    public static final long DEFAULT_WRITE_TIMEOUT = 30_000;
+
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
+    private static final int GZIP_DISABLED = -1;
+
+    private final String url;
+    private final OkHttpClient httpClient;
+    private final Map<String, OkHttpClient> httpClientsByMethod;
+    private final boolean includeRawResponses;
+    private final int gzipThreshold;
+    private final Metrics metrics;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private CaverHttpTransport(Builder builder, OkHttpClient httpClient, Metrics metrics) {
+        super(builder.url, httpClient, builder.includeRawResponses);
+        this.url = builder.url;
+        this.httpClient = httpClient;
+        this.includeRawResponses = builder.includeRawResponses;
+        this.gzipThreshold = builder.gzipThreshold;
+        this.metrics = metrics;
+
+        Map<Long, OkHttpClient> httpClientsByTimeout = new HashMap<>();
+        Map<String, OkHttpClient> httpClientsByMethod = new HashMap<>();
+        for (Map.Entry<String, Long> entry : builder.readTimeoutByMethod.entrySet()) {
+            // derived clients share the connection pool and the dispatcher
+            httpClientsByMethod.put(entry.getKey(), httpClientsByTimeout.computeIfAbsent(entry.getValue(),
+                    timeout -> httpClient.newBuilder().readTimeout(timeout, TimeUnit.MILLISECONDS).build()));
+        }
+        this.httpClientsByMethod = Collections.unmodifiableMap(httpClientsByMethod);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        okhttp3.Request httpRequest = buildRequest(objectMapper.writeValueAsString(request));
+        return read(getHttpClient(request.getMethod()).newCall(httpRequest).execute(), responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        okhttp3.Request httpRequest;
+        try {
+            httpRequest = buildRequest(objectMapper.writeValueAsString(request));
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        Call call = getHttpClient(request.getMethod()).newCall(httpRequest);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                try {
+                    result.complete(read(response, responseType));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Used for batches and streamed responses, with the default timeouts.
+     */
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        okhttp3.Response response = httpClient.newCall(buildRequest(payload)).execute();
+        ResponseBody body = response.body();
+        if (!response.isSuccessful()) {
+            throw invalidResponse(response);
+        }
+        return body == null ? null : body.byteStream();
+    }
+
+    /**
+     * Stops the dispatcher threads and closes the idle connections.
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return asynchronous requests waiting for the dispatcher limits
+     */
+    public int getQueuedRequestCount() {
+        return httpClient.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * @return requests being sent or waiting for their response
+     */
+    public int getRunningRequestCount() {
+        return httpClient.dispatcher().runningCallsCount();
+    }
+
+    private OkHttpClient getHttpClient(String method) {
+        return httpClientsByMethod.getOrDefault(method, httpClient);
+    }
+
+    private okhttp3.Request buildRequest(String payload) throws IOException {
+        byte[] content = payload.getBytes(StandardCharsets.UTF_8);
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder()
+                .url(url)
+                .headers(Headers.of(getHeaders()))
+                .tag(new Submission());
+        if (gzipThreshold != GZIP_DISABLED && content.length >= gzipThreshold) {
+            content = gzip(content);
+            builder.header("Content-Encoding", "gzip");
+        }
+        return builder.post(RequestBody.create(JSON_MEDIA_TYPE, content)).build();
+    }
+
+    private <T extends Response> T read(okhttp3.Response response, Class<T> responseType) throws IOException {
+        if (!response.isSuccessful()) {
+            throw invalidResponse(response);
+        }
+        try (ResponseBody body = response.body()) {
+            if (body == null) {
+                return null;
+            }
+            if (!includeRawResponses) {
+                return objectMapper.readValue(body.byteStream(), responseType);
+            }
+            String json = body.string();
+            T result = objectMapper.readValue(json, responseType);
+            result.setRawResponse(json);
+            return result;
+        }
+    }
+
+    private static ClientConnectionException invalidResponse(okhttp3.Response response) throws IOException {
+        try (ResponseBody body = response.body()) {
+            String text = body == null ? "N/A" : body.string();
+            return new ClientConnectionException("Invalid response received: " + response.code() + "; " + text);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Tag of the requests built by this transport, holding the time they were handed to OkHttp.
+     */
+    private static class Submission {
+        private final long submittedAt = System.nanoTime();
+    }
+
+    /**
+     * Time spent by requests waiting for the dispatcher, and then on the wire until the response headers
+     * arrived. Reading the response body is not included in either.
+     */
+    public static class Metrics {
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong queueWaitNanos = new AtomicLong();
+        private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+        private final AtomicLong wireTimeNanos = new AtomicLong();
+
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        public double getAverageQueueWaitMillis() {
+            return average(queueWaitNanos);
+        }
+
+        public double getMaxQueueWaitMillis() {
+            return maxQueueWaitNanos.get() / 1_000_000.0;
+        }
+
+        public double getAverageWireTimeMillis() {
+            return average(wireTimeNanos);
+        }
+
+        private double average(AtomicLong totalNanos) {
+            long count = requestCount.get();
+            return count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count;
+        }
+
+        Interceptor interceptor() {
+            return chain -> {
+                long startedAt = System.nanoTime();
+                Object tag = chain.request().tag();
+                try {
+                    return chain.proceed(chain.request());
+                } finally {
+                    if (tag instanceof Submission) {
+                        long queueWait = startedAt - ((Submission) tag).submittedAt;
+                        queueWaitNanos.addAndGet(queueWait);
+                        maxQueueWaitNanos.accumulateAndGet(queueWait, Math::max);
+                        wireTimeNanos.addAndGet(System.nanoTime() - startedAt);
+                        requestCount.incrementAndGet();
+                    }
+                }
+            };
+        }
+    }
+
+    public static class Builder {
+        private final String url;
+        private boolean includeRawResponses;
+        private int maxRequests = DEFAULT_MAX_REQUESTS;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private long keepAlive = DEFAULT_KEEP_ALIVE;
+        private boolean http2 = true;
+        private int gzipThreshold = GZIP_DISABLED;
+        private long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private long readTimeout = DEFAULT_READ_TIMEOUT;
+        private long writeTimeout = DEFAULT_WRITE_TIMEOUT;
+        private final Map<String, Long> readTimeoutByMethod = new HashMap<>();
+
+        public Builder(String url) {
+            this.url = url;
+        }
+
+        public Builder setIncludeRawResponses(boolean includeRawResponses) {
+            this.includeRawResponses = includeRawResponses;
+            return this;
+        }
+
+        /**
+         * Most asynchronous requests running at once over all hosts. Defaults to 256.
+         */
+        public Builder setMaxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Most asynchronous requests running at once to the node; further requests wait in the dispatcher
+         * queue. Defaults to 64.
+         */
+        public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Connections kept open between requests. Defaults to 64.
+         */
+        public Builder setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Time in milliseconds an idle connection is kept open. Defaults to 5 minutes.
+         */
+        public Builder setKeepAlive(long keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Whether HTTP/2 may be negotiated on TLS connections. Defaults to true; plain http always uses
+         * HTTP/1.1.
+         */
+        public Builder setHttp2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Sends request bodies of at least {@code threshold} bytes gzip compressed. Only enable it for nodes
+         * or proxies accepting compressed requests. Disabled by default.
+         */
+        public Builder setGzipRequests(int threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+            }
+            this.gzipThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Connect, read and write timeouts in milliseconds. Default to 10, 30 and 30 seconds.
+         */
+        public Builder setTimeouts(long connectTimeout, long readTimeout, long writeTimeout) {
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+            this.writeTimeout = writeTimeout;
+            return this;
+        }
+
+        /**
+         * Read timeout in milliseconds for the requests of {@code method}, e.g. a long one for klay_getLogs
+         * and a short one for klay_blockNumber.
+         */
+        public Builder setReadTimeout(String method, long readTimeout) {
+            readTimeoutByMethod.put(method, readTimeout);
+            return this;
+        }
+
+        public CaverHttpTransport build() {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+            Metrics metrics = new Metrics();
+            OkHttpClient httpClient = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive, TimeUnit.MILLISECONDS))
+                    .protocols(http2
+                            ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                            : Collections.singletonList(Protocol.HTTP_1_1))
+                    .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                    .writeTimeout(writeTimeout, TimeUnit.MILLISECONDS)
+                    .addInterceptor(metrics.interceptor())
+                    .build();
+            return new CaverHttpTransport(this, httpClient, metrics);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Web3jService} decorator sending identical concurrent requests only once ("single flight").
+ *
+ * <pre>
+ * Caver caver = Caver.build(new CoalescingService.Builder(new HttpBatchService(url))
+ *         .setTtl("klay_blockNumber", 200)
+ *         .build());
+ * </pre>
+ *
+ * <p>A request with the same method and parameters as one already in flight does not reach the node;
+ * it waits for the request in flight and gets a copy of its response carrying its own request id. The
+ * result inside is shared and must be treated as read-only. With a TTL, a completed response also answers
+ * identical requests for that long, which keeps the load of polling "latest" queries flat
+ * however many threads poll. Error responses and failures are never kept.
+ *
+ * <p>Requests that change node state or consume it, such as sending transactions and installing or
+ * polling filters, are always sent.
+ */
+public class CoalescingService implements BatchWeb3jService {
+
+    private static final Set<String> EXCLUDED_METHODS = new HashSet<>(Arrays.asList(
+            "klay_sendRawTransaction", "klay_sendTransaction", "klay_signTransaction", "klay_sign",
+            "klay_newFilter", "klay_newBlockFilter", "klay_newPendingTransactionFilter",
+            "klay_getFilterChanges", "klay_uninstallFilter"));
+
+    /**
+     * Requests between two sweeps of expired entries.
+     */
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final Web3jService web3jService;
+    private final long defaultTtlNanos;
+    private final Map<String, Long> ttlNanosByMethod;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong upstreamRequestCount = new AtomicLong();
+    private final AtomicLong coalescedRequestCount = new AtomicLong();
+
+    private CoalescingService(Builder builder) {
+        this.web3jService = builder.web3jService;
+        this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(builder.defaultTtl);
+        this.ttlNanosByMethod = new HashMap<>();
+        for (Map.Entry<String, Long> entry : builder.ttlByMethod.entrySet()) {
+            ttlNanosByMethod.put(entry.getKey(), TimeUnit.MILLISECONDS.toNanos(entry.getValue()));
+        }
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = getKey(request, responseType);
+        if (key == null) {
+            return web3jService.send(request, responseType);
+        }
+
+        Flight created = new Flight();
+        Flight flight = join(key, created);
+        if (flight != created) {
+            return Requests.copyResponse(await(flight), request.getId(), responseType);
+        }
+
+        try {
+            T response = web3jService.send(request, responseType);
+            complete(key, request, flight, response, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            complete(key, request, flight, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String key = getKey(request, responseType);
+        if (key == null) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        Flight created = new Flight();
+        Flight flight = join(key, created);
+        if (flight != created) {
+            return flight.future.thenApply(response -> {
+                try {
+                    return Requests.copyResponse(response, request.getId(), responseType);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+        try {
+            web3jService.sendAsync(request, responseType).whenComplete((response, throwable) ->
+                    complete(key, request, flight, response, throwable));
+        } catch (RuntimeException e) {
+            // a service failing before it returns a future must not leave the flight pending
+            complete(key, request, flight, null, e);
+        }
+        return flight.future.thenApply(responseType::cast);
+    }
+
+    /**
+     * Batches are passed through without coalescing.
+     */
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        return Requests.sendBatch(web3jService, requests, responseTypes);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    /**
+     * @return requests actually sent to the wrapped service
+     */
+    public long getUpstreamRequestCount() {
+        return upstreamRequestCount.get();
+    }
+
+    /**
+     * @return requests answered by an identical request in flight or within its TTL
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequestCount.get();
+    }
+
+    /**
+     * Returns the live flight for {@code key}, or registers {@code created} when there is none.
+     */
+    private Flight join(String key, Flight created) {
+        if ((upstreamRequestCount.get() + coalescedRequestCount.get()) % PURGE_INTERVAL == 0) {
+            purgeExpired();
+        }
+
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null && !flight.isExpired()) {
+                coalescedRequestCount.incrementAndGet();
+                return flight;
+            }
+
+            boolean isRegistered = flight == null
+                    ? flights.putIfAbsent(key, created) == null
+                    : flights.replace(key, flight, created);
+            if (isRegistered) {
+                upstreamRequestCount.incrementAndGet();
+                return created;
+            }
+        }
+    }
+
+    private void complete(String key, Request<?, ?> request, Flight flight, Response<?> response, Throwable throwable) {
+        long ttlNanos = ttlNanosByMethod.getOrDefault(request.getMethod(), defaultTtlNanos);
+        if (throwable != null || response.hasError() || ttlNanos <= 0) {
+            flights.remove(key, flight);
+            flight.expiresAt = System.nanoTime();
+        } else {
+            flight.expiresAt = System.nanoTime() + ttlNanos;
+        }
+
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            flight.future.completeExceptionally(throwable.getCause());
+        } else if (throwable != null) {
+            flight.future.completeExceptionally(throwable);
+        } else {
+            flight.future.complete(response);
+        }
+    }
+
+    private static Response<?> await(Flight flight) throws IOException {
+        try {
+            return flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void purgeExpired() {
+        flights.entrySet().removeIf(entry -> entry.getValue().isExpired());
+    }
+
+    private String getKey(Request<?, ?> request, Class<?> responseType) {
+        String method = request.getMethod();
+        if (EXCLUDED_METHODS.contains(method) || method.startsWith("personal_")) {
+            return null;
+        }
+        try {
+            return method + objectMapper.writeValueAsString(request.getParams()) + responseType.getName();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static class Flight {
+        private final CompletableFuture<Response<?>> future = new CompletableFuture<>();
+        // written before the future completes, so it is visible to whoever sees it done
+        private volatile long expiresAt;
+
+        boolean isExpired() {
+            return future.isDone() && System.nanoTime() - expiresAt >= 0;
+        }
+    }
+
+    public static class Builder {
+        private final Web3jService web3jService;
+        private long defaultTtl;
+        private final Map<String, Long> ttlByMethod = new HashMap<>();
+
+        public Builder(Web3jService web3jService) {
+            this.web3jService = web3jService;
+        }
+
+        /**
+         * Time in milliseconds a response keeps answering identical requests after it arrived.
+         * Defaults to 0: only requests in flight are shared.
+         */
+        public Builder setTtl(long ttl) {
+            this.defaultTtl = ttl;
+            return this;
+        }
+
+        /**
+         * TTL in milliseconds for the requests of {@code method}, overriding {@link #setTtl(long)}.
+         */
+        public Builder setTtl(String method, long ttl) {
+            ttlByMethod.put(method, ttl);
+            return this;
+        }
+
+        public CoalescingService build() {
+            return new CoalescingService(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import org.web3j.protocol.Web3jService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One node of a {@link LoadBalancedService}, with the health statistics used to route requests to it.
+ * Latency and error rate are exponentially weighted moving averages (EWMA), so recent requests weigh
+ * more than old ones.
+ */
+public class Endpoint {
+
+    private static final long UNKNOWN = -1;
+
+    private final String name;
+    private final Web3jService web3jService;
+    private final double alpha;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    // guarded by this
+    private double latencyMillis = UNKNOWN;
+    private double errorRate;
+    private int consecutiveErrors;
+
+    private volatile long blockNumber = UNKNOWN;
+    private volatile boolean healthy = true;
+
+    Endpoint(String name, Web3jService web3jService, double alpha) {
+        this.name = name;
+        this.web3jService = web3jService;
+        this.alpha = alpha;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Web3jService getWeb3jService() {
+        return web3jService;
+    }
+
+    /**
+     * @return average latency in milliseconds, or -1 if no request has completed yet
+     */
+    public synchronized double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @return average share of failed requests, between 0 and 1
+     */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    public synchronized int getConsecutiveErrors() {
+        return consecutiveErrors;
+    }
+
+    /**
+     * @return block height reported by the last health check, or -1 if unknown
+     */
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * @return false while the endpoint is out of rotation
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    long start() {
+        inFlightRequests.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    synchronized void recordSuccess(long startNanos) {
+        inFlightRequests.decrementAndGet();
+        double elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        latencyMillis = latencyMillis == UNKNOWN ? elapsedMillis : alpha * elapsedMillis + (1 - alpha) * latencyMillis;
+        errorRate = (1 - alpha) * errorRate;
+        consecutiveErrors = 0;
+    }
+
+    synchronized void recordFailure() {
+        inFlightRequests.decrementAndGet();
+        errorRate = alpha + (1 - alpha) * errorRate;
+        consecutiveErrors++;
+    }
+
+    /**
+     * Ends a request whose answer is no longer needed, without counting it as a success or a failure.
+     */
+    void recordCancellation() {
+        inFlightRequests.decrementAndGet();
+    }
+
+    void setBlockNumber(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    /**
+     * Routing cost of a read: the average latency scaled by the requests already waiting on the endpoint.
+     * Endpoints without a measured latency cost nothing so that they get measured.
+     */
+    synchronized double getScore() {
+        double latency = latencyMillis == UNKNOWN ? 0 : latencyMillis;
+        return latency * (1 + inFlightRequests.get());
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{name=" + name
+                + ", healthy=" + healthy
+                + ", latencyMillis=" + getLatencyMillis()
+                + ", errorRate=" + getErrorRate()
+                + ", blockNumber=" + blockNumber + "}";
+    }
+}
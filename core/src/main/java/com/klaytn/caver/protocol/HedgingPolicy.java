@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Policy for hedged reads of a {@link LoadBalancedService}: when a read has not been answered after the
+ * given percentile of the recent latencies of its method, a duplicate is sent to the next best endpoint.
+ * The first answer wins and the other request is cancelled.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new LoadBalancedService.Builder()
+ *         .addEndpoint("https://node-a:8651")
+ *         .addEndpoint("https://node-b:8651")
+ *         .setHedgingPolicy(new HedgingPolicy.Builder().setPercentile(95).setMaxExtraLoad(0.05).build())
+ *         .build());
+ * </pre>
+ *
+ * <p>Duplicates are paid from a budget which earns {@code maxExtraLoad} of a hedge per hedgeable request,
+ * so hedging never adds more than that share of requests, even while every node is slow.
+ */
+public class HedgingPolicy {
+
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final double DEFAULT_MAX_EXTRA_LOAD = 0.05;
+    public static final long DEFAULT_MIN_DELAY = 10;
+    public static final long DEFAULT_MAX_DELAY = 1000;
+
+    private static final Set<String> DEFAULT_METHODS = new HashSet<>(Arrays.asList(
+            "klay_call", "klay_getBalance", "klay_getTransactionReceipt"));
+
+    /**
+     * Hedges the budget may save up, so that a short burst of slow responses can all be hedged.
+     */
+    private static final double MAX_BUDGET = 10;
+
+    private final Set<String> methods;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double maxExtraLoad;
+    private final Map<String, LatencyWindow> latencyByMethod = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private double budget;
+
+    private final AtomicLong hedgeableRequestCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+    private final AtomicLong skippedHedgeCount = new AtomicLong();
+
+    private HedgingPolicy(Builder builder) {
+        this.methods = Collections.unmodifiableSet(new HashSet<>(builder.methods));
+        this.percentile = builder.percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(builder.minDelay);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxDelay);
+        this.maxExtraLoad = builder.maxExtraLoad;
+    }
+
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return reads which could have been hedged
+     */
+    public long getHedgeableRequestCount() {
+        return hedgeableRequestCount.get();
+    }
+
+    /**
+     * @return duplicates sent
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * @return duplicates answering before the original request
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * @return duplicates not sent because the extra load budget was spent
+     */
+    public long getSkippedHedgeCount() {
+        return skippedHedgeCount.get();
+    }
+
+    /**
+     * @return current delay before a read of {@code method} is hedged, in milliseconds
+     */
+    public long getDelay(String method) {
+        return TimeUnit.NANOSECONDS.toMillis(getDelayNanos(method));
+    }
+
+    boolean isHedged(String method) {
+        return methods.contains(method);
+    }
+
+    long getDelayNanos(String method) {
+        LatencyWindow window = latencyByMethod.get(method);
+        long delayNanos = window == null ? LatencyWindow.UNKNOWN : window.getPercentileNanos();
+        if (delayNanos == LatencyWindow.UNKNOWN) {
+            return maxDelayNanos;
+        }
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, delayNanos));
+    }
+
+    synchronized void onRequest() {
+        hedgeableRequestCount.incrementAndGet();
+        budget = Math.min(MAX_BUDGET, budget + maxExtraLoad);
+    }
+
+    /**
+     * Takes one hedge from the budget.
+     *
+     * @return false when the budget is spent
+     */
+    synchronized boolean tryHedge() {
+        if (budget < 1) {
+            skippedHedgeCount.incrementAndGet();
+            return false;
+        }
+        budget -= 1;
+        hedgeCount.incrementAndGet();
+        return true;
+    }
+
+    void recordHedgeWin() {
+        hedgeWinCount.incrementAndGet();
+    }
+
+    void recordLatency(String method, long latencyNanos) {
+        latencyByMethod.computeIfAbsent(method, key -> new LatencyWindow(percentile)).add(latencyNanos);
+    }
+
+    /**
+     * Latencies of the last {@link #SIZE} requests of a method. The percentile is computed again every
+     * {@link #REFRESH_INTERVAL} samples rather than on every request.
+     */
+    private static class LatencyWindow {
+        static final long UNKNOWN = -1;
+        private static final int SIZE = 512;
+        private static final int MIN_SAMPLES = 20;
+        private static final int REFRESH_INTERVAL = 32;
+
+        private final double percentile;
+        private final long[] samples = new long[SIZE];
+
+        // guarded by this
+        private int count;
+        private int next;
+        private long percentileNanos = UNKNOWN;
+
+        LatencyWindow(double percentile) {
+            this.percentile = percentile;
+        }
+
+        synchronized void add(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % SIZE;
+            count = Math.min(SIZE, count + 1);
+            if (count >= MIN_SAMPLES && (percentileNanos == UNKNOWN || next % REFRESH_INTERVAL == 0)) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                percentileNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+            }
+        }
+
+        synchronized long getPercentileNanos() {
+            return percentileNanos;
+        }
+    }
+
+    public static class Builder {
+        private final Set<String> methods = new HashSet<>(DEFAULT_METHODS);
+        private double percentile = DEFAULT_PERCENTILE;
+        private long minDelay = DEFAULT_MIN_DELAY;
+        private long maxDelay = DEFAULT_MAX_DELAY;
+        private double maxExtraLoad = DEFAULT_MAX_EXTRA_LOAD;
+
+        /**
+         * Methods whose reads are hedged, replacing the default klay_call, klay_getBalance and
+         * klay_getTransactionReceipt. Writes and requests pinned to one endpoint are never hedged.
+         */
+        public Builder setMethods(String... methods) {
+            this.methods.clear();
+            this.methods.addAll(Arrays.asList(methods));
+            return this;
+        }
+
+        /**
+         * Percentile of the recent latencies of a method after which its reads are hedged. Defaults to 95.
+         */
+        public Builder setPercentile(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Bounds of the hedging delay in milliseconds. The maximum is also used until enough latencies of
+         * a method were measured. Default to 10 and 1000.
+         */
+        public Builder setDelayBounds(long minDelay, long maxDelay) {
+            if (minDelay < 0 || maxDelay < minDelay) {
+                throw new IllegalArgumentException("Delay bounds must satisfy 0 <= min <= max");
+            }
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Most duplicates per hedgeable read, e.g. 0.05 for at most 5% extra requests. Defaults to 0.05.
+         */
+        public Builder setMaxExtraLoad(double maxExtraLoad) {
+            if (maxExtraLoad < 0 || maxExtraLoad > 1) {
+                throw new IllegalArgumentException("Max extra load must be in [0, 1]: " + maxExtraLoad);
+            }
+            this.maxExtraLoad = maxExtraLoad;
+            return this;
+        }
+
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
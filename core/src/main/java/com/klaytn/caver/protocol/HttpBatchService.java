@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * {@link HttpService} that can also post several requests as one JSON-RPC batch and hand out undecoded
+ * responses for {@link StreamingKlay}.
+ */
+public class HttpBatchService extends HttpService implements BatchWeb3jService, StreamingWeb3jService {
+
+    private final ObjectMapper batchObjectMapper = ObjectMapperFactory.getObjectMapper();
+
+    public HttpBatchService(String url) {
+        super(url);
+    }
+
+    public HttpBatchService(String url, boolean includeRawResponses) {
+        super(url, includeRawResponses);
+    }
+
+    public HttpBatchService(String url, OkHttpClient httpClient) {
+        super(url, httpClient);
+    }
+
+    public HttpBatchService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
+        super(url, httpClient, includeRawResponses);
+    }
+
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        String payload = batchObjectMapper.writeValueAsString(requests);
+        try (InputStream result = performIO(payload)) {
+            if (result == null) {
+                throw new IOException("Empty batch response");
+            }
+            return Requests.readBatchResponse(
+                    batchObjectMapper, batchObjectMapper.readTree(result), requests, responseTypes);
+        }
+    }
+
+    @Override
+    public InputStream sendStreaming(Request<?, ?> request) throws IOException {
+        InputStream result = performIO(batchObjectMapper.writeValueAsString(request));
+        if (result == null) {
+            throw new IOException("Empty response");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import io.reactivex.Flowable;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link Web3jService} decorator running each request through an ordered list of
+ * {@link RequestInterceptor}s. The first interceptor added sees the request first and the response last.
+ *
+ * <p>While no interceptor is registered, requests go straight to the wrapped service, without allocating
+ * anything. Batches and subscriptions are always passed through.
+ */
+public class InterceptingService implements BatchWeb3jService {
+
+    private static final RequestInterceptor[] NO_INTERCEPTORS = new RequestInterceptor[0];
+
+    private final Web3jService web3jService;
+    // copied on write, so that requests read it without locking
+    private volatile RequestInterceptor[] interceptors = NO_INTERCEPTORS;
+
+    public InterceptingService(Web3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    public synchronized void addInterceptor(RequestInterceptor interceptor) {
+        RequestInterceptor[] added = Arrays.copyOf(interceptors, interceptors.length + 1);
+        added[interceptors.length] = interceptor;
+        interceptors = added;
+    }
+
+    public synchronized boolean removeInterceptor(RequestInterceptor interceptor) {
+        List<RequestInterceptor> remaining = new ArrayList<>(Arrays.asList(interceptors));
+        boolean isRemoved = remaining.remove(interceptor);
+        interceptors = remaining.toArray(NO_INTERCEPTORS);
+        return isRemoved;
+    }
+
+    public Web3jService getWeb3jService() {
+        return web3jService;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        RequestInterceptor[] interceptors = this.interceptors;
+        if (interceptors.length == 0) {
+            return web3jService.send(request, responseType);
+        }
+        return responseType.cast(await(new RealChain(interceptors, 0, request, responseType, false).proceed()));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        RequestInterceptor[] interceptors = this.interceptors;
+        if (interceptors.length == 0) {
+            return web3jService.sendAsync(request, responseType);
+        }
+        return new RealChain(interceptors, 0, request, responseType, true).proceed().thenApply(responseType::cast);
+    }
+
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        return Requests.sendBatch(web3jService, requests, responseTypes);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    private static Response<?> await(CompletableFuture<Response<?>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an intercepted request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static CompletableFuture<Response<?>> failed(Throwable throwable) {
+        CompletableFuture<Response<?>> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Chain positioned before the interceptor at {@code index}. It holds no state changed by
+     * {@link #proceed()}, so interceptors may proceed more than once.
+     */
+    private class RealChain implements RequestInterceptor.Chain {
+        private final RequestInterceptor[] interceptors;
+        private final int index;
+        private final Request<?, ?> request;
+        private final Class<? extends Response> responseType;
+        private final boolean isAsync;
+
+        RealChain(RequestInterceptor[] interceptors, int index, Request<?, ?> request,
+                  Class<? extends Response> responseType, boolean isAsync) {
+            this.interceptors = interceptors;
+            this.index = index;
+            this.request = request;
+            this.responseType = responseType;
+            this.isAsync = isAsync;
+        }
+
+        @Override
+        public Request<?, ?> getRequest() {
+            return request;
+        }
+
+        @Override
+        public Class<? extends Response> getResponseType() {
+            return responseType;
+        }
+
+        @Override
+        public CompletableFuture<Response<?>> proceed() {
+            if (index == interceptors.length) {
+                return send();
+            }
+
+            RealChain next = new RealChain(interceptors, index + 1, request, responseType, isAsync);
+            try {
+                CompletableFuture<Response<?>> response = interceptors[index].intercept(next);
+                if (response == null) {
+                    return failed(new NullPointerException(
+                            interceptors[index].getClass().getName() + " returned no response"));
+                }
+                return response;
+            } catch (RuntimeException e) {
+                return failed(e);
+            }
+        }
+
+        private CompletableFuture<Response<?>> send() {
+            if (isAsync) {
+                return web3jService.sendAsync(request, responseType).thenApply(response -> (Response<?>) response);
+            }
+            try {
+                return CompletableFuture.completedFuture(web3jService.send(request, responseType));
+            } catch (IOException | RuntimeException e) {
+                return failed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,671 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.klaytn.caver.methods.request.KlayTransaction;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.utils.KlayTransactionUtils;
+import io.reactivex.Flowable;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Web3jService} spreading requests over a pool of Klaytn nodes.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new LoadBalancedService.Builder()
+ *         .addEndpoint("https://node-a:8651")
+ *         .addEndpoint("https://node-b:8651")
+ *         .build());
+ * </pre>
+ *
+ * <p>Every endpoint is health-checked with klay_blockNumber. Endpoints that fail repeatedly, whose
+ * error rate is too high or whose block height lags behind the best endpoint are taken out of rotation
+ * until their health checks recover. Reads go to the healthy endpoint with the lowest latency and fail
+ * over to the next one on I/O errors. Transactions, signing and pending nonce queries of a sender always
+ * go to the same endpoint, chosen by rendezvous hashing, so that its nonces stay ordered; they only move
+ * when that endpoint leaves the rotation. Filter requests are pinned the same way since filters only
+ * exist on the node that installed them.
+ *
+ * <p>With a {@link HedgingPolicy}, slow reads of the configured methods are additionally sent to the
+ * second best endpoint and answered by whichever endpoint responds first.
+ */
+public class LoadBalancedService implements BatchWeb3jService {
+
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 5000;
+    public static final long DEFAULT_MAX_BLOCK_LAG = 5;
+    public static final int DEFAULT_MAX_CONSECUTIVE_ERRORS = 3;
+    public static final double DEFAULT_MAX_ERROR_RATE = 0.5;
+    public static final double DEFAULT_EWMA_ALPHA = 0.2;
+    public static final int DEFAULT_MAX_ATTEMPTS = 2;
+
+    private static final Set<String> WRITE_METHODS = new HashSet<>(Arrays.asList(
+            "klay_sendRawTransaction", "klay_sendTransaction", "klay_signTransaction", "klay_sign"));
+    private static final Set<String> FILTER_METHODS = new HashSet<>(Arrays.asList(
+            "klay_newFilter", "klay_newBlockFilter", "klay_newPendingTransactionFilter",
+            "klay_getFilterChanges", "klay_getFilterLogs", "klay_uninstallFilter"));
+    private static final String FILTER_AFFINITY_KEY = "filters";
+    private static final String PERSONAL_AFFINITY_KEY = "personal";
+
+    private final List<Endpoint> endpoints;
+    private final long maxBlockLag;
+    private final int maxConsecutiveErrors;
+    private final double maxErrorRate;
+    private final int maxAttempts;
+    private final HedgingPolicy hedgingPolicy;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean isSchedulerOwned;
+    private final ScheduledFuture<?> healthCheck;
+
+    private LoadBalancedService(Builder builder) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < builder.names.size(); i++) {
+            endpoints.add(new Endpoint(builder.names.get(i), builder.services.get(i), builder.ewmaAlpha));
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.maxBlockLag = builder.maxBlockLag;
+        this.maxConsecutiveErrors = builder.maxConsecutiveErrors;
+        this.maxErrorRate = builder.maxErrorRate;
+        this.maxAttempts = builder.maxAttempts;
+        this.hedgingPolicy = builder.hedgingPolicy;
+        this.isSchedulerOwned = builder.scheduledExecutorService == null;
+        this.scheduledExecutorService = isSchedulerOwned
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "caver-health-check");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : builder.scheduledExecutorService;
+        this.healthCheck = builder.healthCheckInterval > 0
+                ? scheduledExecutorService.scheduleWithFixedDelay(
+                        this::runHealthCheck, 0, builder.healthCheckInterval, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    private void runHealthCheck() {
+        try {
+            checkHealth().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // endpoint failures are already recorded, the next check runs as scheduled
+        }
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @return the hedging policy, with its statistics, or null when reads are not hedged
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Queries the block height of every endpoint and updates which endpoints are in rotation.
+     * It runs periodically; calling it directly forces an immediate check.
+     *
+     * @return future completed once every endpoint has answered or failed
+     */
+    public CompletableFuture<Void> checkHealth() {
+        List<CompletableFuture<Void>> checks = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            checks.add(checkHealth(endpoint));
+        }
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]))
+                .thenRun(this::updateRotation);
+    }
+
+    private CompletableFuture<Void> checkHealth(Endpoint endpoint) {
+        Web3jService web3jService = endpoint.getWeb3jService();
+        Request<?, Quantity> request = new Request<>(
+                "klay_blockNumber", Collections.<String>emptyList(), web3jService, Quantity.class);
+
+        long start = endpoint.start();
+        CompletableFuture<Quantity> response;
+        try {
+            response = web3jService.sendAsync(request, Quantity.class);
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        return response.handle((blockNumber, throwable) -> {
+            if (throwable != null || blockNumber.hasError()) {
+                endpoint.recordFailure();
+            } else {
+                endpoint.recordSuccess(start);
+                endpoint.setBlockNumber(blockNumber.getValue().longValue());
+            }
+            return null;
+        });
+    }
+
+    private void updateRotation() {
+        long bestBlockNumber = -1;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.getConsecutiveErrors() == 0) {
+                bestBlockNumber = Math.max(bestBlockNumber, endpoint.getBlockNumber());
+            }
+        }
+        for (Endpoint endpoint : endpoints) {
+            boolean isLagging = endpoint.getBlockNumber() >= 0 && bestBlockNumber - endpoint.getBlockNumber() > maxBlockLag;
+            endpoint.setHealthy(!isLagging && !isFailing(endpoint));
+        }
+    }
+
+    private boolean isFailing(Endpoint endpoint) {
+        return endpoint.getConsecutiveErrors() >= maxConsecutiveErrors || endpoint.getErrorRate() > maxErrorRate;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        List<Endpoint> candidates = route(request);
+        if (isHedged(request, candidates)) {
+            return await(new HedgedRequest<>(request, responseType, candidates).start());
+        }
+
+        int attempts = getAttempts(request, candidates);
+        IOException failure = null;
+        for (int i = 0; i < attempts; i++) {
+            Endpoint endpoint = candidates.get(i);
+            long start = endpoint.start();
+            try {
+                T response = endpoint.getWeb3jService().send(request, responseType);
+                endpoint.recordSuccess(start);
+                return response;
+            } catch (IOException e) {
+                recordFailure(endpoint);
+                failure = e;
+            } catch (RuntimeException e) {
+                recordFailure(endpoint);
+                throw e;
+            }
+        }
+        throw failure;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        List<Endpoint> candidates = route(request);
+        if (isHedged(request, candidates)) {
+            return new HedgedRequest<>(request, responseType, candidates).start();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        sendAsync(request, responseType, candidates, 0, getAttempts(request, candidates), result);
+        return result;
+    }
+
+    private <T extends Response> void sendAsync(
+            Request request, Class<T> responseType, List<Endpoint> candidates, int index, int attempts,
+            CompletableFuture<T> result) {
+        Endpoint endpoint = candidates.get(index);
+        long start = endpoint.start();
+        CompletableFuture<T> attempt;
+        try {
+            attempt = endpoint.getWeb3jService().sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            // handled like a failed attempt, so that the in-flight count is released
+            attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(e);
+        }
+        attempt.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                endpoint.recordSuccess(start);
+                result.complete(response);
+                return;
+            }
+
+            recordFailure(endpoint);
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            if (cause instanceof IOException && index + 1 < attempts) {
+                sendAsync(request, responseType, candidates, index + 1, attempts, result);
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private boolean isHedged(Request<?, ?> request, List<Endpoint> candidates) {
+        return hedgingPolicy != null
+                && hedgingPolicy.isHedged(request.getMethod())
+                && getAffinityKey(request) == null
+                && candidates.size() > 1
+                && candidates.get(1).isHealthy();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a hedged request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Read sent to the best endpoint and, if it is not answered within the hedging delay and the budget
+     * allows it, to the second best one. The first answer completes the result and the other attempt is
+     * cancelled; its request still reaches the node but the answer is dropped. An I/O error fails over to
+     * the next endpoint right away, without waiting for the delay or taking from the budget.
+     */
+    private class HedgedRequest<T extends Response> {
+        private final Request<?, ?> request;
+        private final Class<T> responseType;
+        private final List<Endpoint> candidates;
+        private final int maxAttemptCount;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        // guarded by this
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>();
+        private int reservedAttempts;
+        private int failedAttempts;
+        private ScheduledFuture<?> timer;
+
+        HedgedRequest(Request<?, ?> request, Class<T> responseType, List<Endpoint> candidates) {
+            this.request = request;
+            this.responseType = responseType;
+            this.candidates = candidates;
+            this.maxAttemptCount = Math.min(maxAttempts, candidates.size());
+        }
+
+        CompletableFuture<T> start() {
+            hedgingPolicy.onRequest();
+            synchronized (this) {
+                reservedAttempts = 1;
+            }
+            send(0);
+            long delayNanos = hedgingPolicy.getDelayNanos(request.getMethod());
+            synchronized (this) {
+                if (!result.isDone()) {
+                    timer = scheduledExecutorService.schedule(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            result.whenComplete((response, throwable) -> cancelAttempts());
+            return result;
+        }
+
+        private void hedge() {
+            int index;
+            synchronized (this) {
+                // a failover may have taken the second endpoint since the timer was set
+                if (result.isDone() || reservedAttempts != 1 || reservedAttempts >= maxAttemptCount
+                        || !hedgingPolicy.tryHedge()) {
+                    return;
+                }
+                index = reservedAttempts++;
+            }
+            send(index);
+        }
+
+        /**
+         * Sends the attempt whose {@code index} was reserved by the caller.
+         */
+        private void send(int index) {
+            Endpoint endpoint = candidates.get(index);
+            long start = endpoint.start();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = endpoint.getWeb3jService().sendAsync(request, responseType);
+            } catch (RuntimeException e) {
+                attempt = new CompletableFuture<>();
+                attempt.completeExceptionally(e);
+            }
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+            if (result.isDone()) {
+                // answered while this attempt was being sent, after the others were cancelled
+                attempt.cancel(false);
+            }
+            attempt.whenComplete((response, throwable) -> complete(index, endpoint, start, response, throwable));
+        }
+
+        private void complete(int index, Endpoint endpoint, long start, T response, Throwable throwable) {
+            if (throwable == null) {
+                endpoint.recordSuccess(start);
+                hedgingPolicy.recordLatency(request.getMethod(), System.nanoTime() - start);
+                if (result.complete(response) && index > 0) {
+                    hedgingPolicy.recordHedgeWin();
+                }
+                return;
+            }
+            if (throwable instanceof CancellationException) {
+                endpoint.recordCancellation();
+                return;
+            }
+
+            recordFailure(endpoint);
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            int failoverIndex = -1;
+            boolean isLastAttempt;
+            synchronized (this) {
+                failedAttempts++;
+                isLastAttempt = reservedAttempts == failedAttempts;
+                if (cause instanceof IOException && !result.isDone() && isLastAttempt
+                        && reservedAttempts < maxAttemptCount) {
+                    failoverIndex = reservedAttempts++;
+                }
+            }
+            if (failoverIndex >= 0) {
+                send(failoverIndex);
+            } else if (isLastAttempt) {
+                result.completeExceptionally(cause);
+            }
+        }
+
+        private void cancelAttempts() {
+            List<CompletableFuture<T>> sent;
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                sent = new ArrayList<>(attempts);
+            }
+            for (CompletableFuture<T> attempt : sent) {
+                attempt.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Sends the whole batch to one endpoint. A batch containing a write is routed like its first write.
+     */
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        Request<?, ? extends Response> routingRequest = requests.get(0);
+        for (Request<?, ? extends Response> request : requests) {
+            if (WRITE_METHODS.contains(request.getMethod())) {
+                routingRequest = request;
+                break;
+            }
+        }
+
+        List<Endpoint> candidates = route(routingRequest);
+        int attempts = getAttempts(routingRequest, candidates);
+        IOException failure = null;
+        for (int i = 0; i < attempts; i++) {
+            Endpoint endpoint = candidates.get(i);
+            long start = endpoint.start();
+            try {
+                List<Response<?>> responses = Requests.sendBatch(
+                        endpoint.getWeb3jService(), requests, responseTypes);
+                endpoint.recordSuccess(start);
+                return responses;
+            } catch (IOException e) {
+                recordFailure(endpoint);
+                failure = e;
+            } catch (RuntimeException e) {
+                recordFailure(endpoint);
+                throw e;
+            }
+        }
+        throw failure;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return route(request).get(0).getWeb3jService().subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+        }
+        if (isSchedulerOwned) {
+            scheduledExecutorService.shutdownNow();
+        }
+
+        IOException failure = null;
+        for (Endpoint endpoint : endpoints) {
+            try {
+                endpoint.getWeb3jService().close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void recordFailure(Endpoint endpoint) {
+        endpoint.recordFailure();
+        if (isFailing(endpoint)) {
+            endpoint.setHealthy(false);
+        }
+    }
+
+    /**
+     * Orders the endpoints a request may be sent to, best first. Endpoints out of rotation come last
+     * and are only used when no healthy endpoint is left.
+     */
+    List<Endpoint> route(Request<?, ?> request) {
+        String affinityKey = getAffinityKey(request);
+        List<Endpoint> candidates = new ArrayList<>(endpoints);
+        Comparator<Endpoint> comparator;
+        if (affinityKey != null) {
+            comparator = Comparator.comparingLong((Endpoint endpoint) -> weight(affinityKey, endpoint)).reversed();
+        } else {
+            comparator = Comparator.comparingDouble(Endpoint::getScore);
+        }
+        candidates.sort(Comparator.comparing((Endpoint endpoint) -> !endpoint.isHealthy()).thenComparing(comparator));
+        return candidates;
+    }
+
+    private int getAttempts(Request<?, ?> request, List<Endpoint> candidates) {
+        // a failed write may still have reached the node, it is not replayed elsewhere
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            return 1;
+        }
+        return Math.min(maxAttempts, candidates.size());
+    }
+
+    /**
+     * Returns the key pinning a request to one endpoint, or null for reads that may go anywhere.
+     */
+    static String getAffinityKey(Request<?, ?> request) {
+        String method = request.getMethod();
+        if (FILTER_METHODS.contains(method)) {
+            return FILTER_AFFINITY_KEY;
+        }
+        if (method.startsWith("personal_")) {
+            return PERSONAL_AFFINITY_KEY;
+        }
+
+        List<?> params = request.getParams();
+        if (params == null || params.isEmpty()) {
+            return null;
+        }
+        Object param = params.get(0);
+        switch (method) {
+            case "klay_sendRawTransaction":
+                return getSender((String) param);
+            case "klay_sendTransaction":
+            case "klay_signTransaction":
+                return param instanceof KlayTransaction ? normalize(((KlayTransaction) param).getFrom()) : null;
+            case "klay_sign":
+            case "klay_getTransactionCount":
+                // pending nonces are only consistent with the node receiving the sender's transactions
+                return param instanceof String ? normalize((String) param) : null;
+            default:
+                return null;
+        }
+    }
+
+    private static String getSender(String rawTransaction) {
+        try {
+            return normalize(KlayTransactionUtils.getSender(rawTransaction));
+        } catch (SignatureException | RuntimeException e) {
+            // undecodable transactions are still pinned, only not per sender
+            return rawTransaction;
+        }
+    }
+
+    private static String normalize(String address) {
+        return address == null ? null : address.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rendezvous hashing weight: each key goes to the endpoint with the highest weight, so removing an
+     * endpoint only moves the keys it owned.
+     */
+    private static long weight(String affinityKey, Endpoint endpoint) {
+        long hash = affinityKey.hashCode() * 0x9E3779B97F4A7C15L + endpoint.getName().hashCode();
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    public static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<Web3jService> services = new ArrayList<>();
+        private long healthCheckInterval = DEFAULT_HEALTH_CHECK_INTERVAL;
+        private long maxBlockLag = DEFAULT_MAX_BLOCK_LAG;
+        private int maxConsecutiveErrors = DEFAULT_MAX_CONSECUTIVE_ERRORS;
+        private double maxErrorRate = DEFAULT_MAX_ERROR_RATE;
+        private double ewmaAlpha = DEFAULT_EWMA_ALPHA;
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private HedgingPolicy hedgingPolicy;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        public Builder addEndpoint(String url) {
+            return addEndpoint(url, new HttpBatchService(url));
+        }
+
+        /**
+         * @param name         name identifying the endpoint; it also decides which senders it owns
+         * @param web3jService service connected to the node
+         */
+        public Builder addEndpoint(String name, Web3jService web3jService) {
+            names.add(name);
+            services.add(web3jService);
+            return this;
+        }
+
+        /**
+         * Interval between two health checks in milliseconds. 0 disables periodic checks.
+         */
+        public Builder setHealthCheckInterval(long healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+            return this;
+        }
+
+        /**
+         * Blocks an endpoint may lag behind the highest endpoint before leaving the rotation.
+         */
+        public Builder setMaxBlockLag(long maxBlockLag) {
+            this.maxBlockLag = maxBlockLag;
+            return this;
+        }
+
+        public Builder setMaxConsecutiveErrors(int maxConsecutiveErrors) {
+            this.maxConsecutiveErrors = maxConsecutiveErrors;
+            return this;
+        }
+
+        public Builder setMaxErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        /**
+         * Weight of the newest sample in the latency and error rate averages, between 0 and 1.
+         */
+        public Builder setEwmaAlpha(double ewmaAlpha) {
+            this.ewmaAlpha = ewmaAlpha;
+            return this;
+        }
+
+        /**
+         * Endpoints a read is tried on before its I/O error is reported.
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Hedges slow reads according to {@code hedgingPolicy}. Reads are not hedged by default.
+         */
+        public Builder setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Scheduler running the health checks and the hedging timers. When unset, a daemon thread owned by
+         * the service is used.
+         */
+        public Builder setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public LoadBalancedService build() {
+            if (names.isEmpty()) {
+                throw new IllegalArgumentException("At least one endpoint is required");
+            }
+            if (ewmaAlpha <= 0 || ewmaAlpha > 1) {
+                throw new IllegalArgumentException("ewmaAlpha must be in (0, 1]: " + ewmaAlpha);
+            }
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+            }
+            return new LoadBalancedService(this);
+        }
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import io.reactivex.Flowable;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link Web3jService} decorator keeping request traffic within what the node accepts.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new RateLimitedService.Builder(new HttpBatchService(url))
+ *         .setRateLimit(100)
+ *         .setRateLimit("klay_getLogs", 5)
+ *         .setConcurrencyLimit(10, 100)
+ *         .build());
+ * </pre>
+ *
+ * <p>Two mechanisms apply to every request:
+ * <ul>
+ *   <li>Token buckets, one for all requests and one per configured method, enforce the quotas of the
+ *   node provider. A request waits until both buckets have a token; short bursts up to the bucket
+ *   capacity pass without waiting.</li>
+ *   <li>An adaptive limit on requests in flight, adjusted by additive increase and multiplicative
+ *   decrease (AIMD). The limit grows by about one each time a full limit of requests completed in
+ *   time, and shrinks by the backoff ratio when a request fails with an I/O error, is refused with an
+ *   overload error, or takes longer than the latency tolerance times the recent minimum latency of its
+ *   method. Requests over the limit wait for a slot instead of piling up on the node.</li>
+ * </ul>
+ *
+ * <p>{@link #send(Request, Class)} waits on the calling thread. {@link #sendAsync(Request, Class)} never
+ * blocks a thread: a request waiting for a token is delayed on a scheduler, and a request waiting for a
+ * slot is sent when an earlier request completes. A batch takes one token per request and one slot.
+ * Subscriptions are passed through.
+ */
+public class RateLimitedService implements BatchWeb3jService {
+
+    /**
+     * JSON-RPC error code of nodes refusing a request over their quota.
+     */
+    private static final int LIMIT_EXCEEDED = -32005;
+
+    /**
+     * Messages of overload errors sent with other codes. A bare "limit" would also match errors about
+     * the request itself, e.g. an exceeded gas limit, which say nothing about the node's load.
+     */
+    private static final String[] OVERLOAD_MESSAGES = {"rate limit", "limit exceeded", "too many requests"};
+
+    /**
+     * Latency key of batches, which take about as long as their slowest request.
+     */
+    private static final String BATCH = "batch";
+
+    private final Web3jService web3jService;
+    private final TokenBucket globalBucket;
+    private final Map<String, TokenBucket> bucketsByMethod;
+    private final ConcurrencyLimit concurrencyLimit;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean isSchedulerOwned;
+
+    private final AtomicLong delayedRequestCount = new AtomicLong();
+    // asynchronous requests waiting for a token, failed on close since their scheduled task may never run
+    private final Set<CompletableFuture<?>> tokenWaiters = ConcurrentHashMap.newKeySet();
+
+    private RateLimitedService(Builder builder) {
+        this.web3jService = builder.web3jService;
+        this.globalBucket = builder.globalBucket;
+        this.bucketsByMethod = new HashMap<>(builder.bucketsByMethod);
+        this.concurrencyLimit = new ConcurrencyLimit(builder);
+        this.isSchedulerOwned = builder.scheduledExecutorService == null;
+        this.scheduledExecutorService = isSchedulerOwned
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "caver-rate-limit");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : builder.scheduledExecutorService;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        acquireTokens(request.getMethod(), 1);
+        long startedAt = concurrencyLimit.acquire();
+        boolean isOverloaded = true;
+        try {
+            T response = web3jService.send(request, responseType);
+            isOverloaded = isOverloaded(response);
+            return response;
+        } finally {
+            release(request.getMethod(), startedAt, isOverloaded);
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        LongConsumer send = startedAt -> sendAsync(request, responseType, startedAt, result);
+        long waitNanos = reserveTokens(request.getMethod(), 1);
+        if (waitNanos <= 0) {
+            concurrencyLimit.acquireAsync(send, result);
+            return result;
+        }
+
+        tokenWaiters.add(result);
+        try {
+            scheduledExecutorService.schedule(() -> {
+                if (tokenWaiters.remove(result)) {
+                    concurrencyLimit.acquireAsync(send, result);
+                }
+            }, waitNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            tokenWaiters.remove(result);
+            result.completeExceptionally(closedException());
+        }
+        return result;
+    }
+
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Request<?, ?> request : requests) {
+            counts.merge(request.getMethod(), 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            acquireTokens(entry.getKey(), entry.getValue());
+        }
+
+        long startedAt = concurrencyLimit.acquire();
+        boolean isOverloaded = true;
+        try {
+            List<Response<?>> responses = Requests.sendBatch(web3jService, requests, responseTypes);
+            isOverloaded = false;
+            for (Response<?> response : responses) {
+                isOverloaded |= isOverloaded(response);
+            }
+            return responses;
+        } finally {
+            release(BATCH, startedAt, isOverloaded);
+        }
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    /**
+     * Fails the requests still waiting for a token or a slot, and closes the wrapped service.
+     */
+    @Override
+    public void close() throws IOException {
+        // first, so that a token waiter leaving the set before it is drained fails when acquiring its slot
+        concurrencyLimit.close();
+        for (CompletableFuture<?> result : tokenWaiters) {
+            if (tokenWaiters.remove(result)) {
+                result.completeExceptionally(closedException());
+            }
+        }
+        if (isSchedulerOwned) {
+            scheduledExecutorService.shutdownNow();
+        }
+        web3jService.close();
+    }
+
+    /**
+     * @return current limit of requests in flight
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    public int getInFlightRequestCount() {
+        return concurrencyLimit.getInFlight();
+    }
+
+    /**
+     * @return requests which waited for a token or a slot before being sent
+     */
+    public long getDelayedRequestCount() {
+        return delayedRequestCount.get() + concurrencyLimit.delayedCount.get();
+    }
+
+    /**
+     * Sends a request holding a slot and releases the slot once its response arrives.
+     */
+    private <T extends Response> void sendAsync(
+            Request request, Class<T> responseType, long startedAt, CompletableFuture<T> result) {
+        CompletableFuture<T> response;
+        try {
+            response = web3jService.sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            release(request.getMethod(), startedAt, true);
+            result.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete((value, throwable) -> {
+            release(request.getMethod(), startedAt, throwable != null || isOverloaded(value));
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                result.completeExceptionally(throwable.getCause());
+            } else if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Releases a slot and sends the asynchronous requests that were waiting for it.
+     */
+    private void release(String method, long startedAt, boolean isOverloaded) {
+        for (LongConsumer waiter : concurrencyLimit.release(method, startedAt, isOverloaded)) {
+            try {
+                // not on this thread, which may be completing another request
+                scheduledExecutorService.execute(() -> waiter.accept(System.nanoTime()));
+            } catch (RejectedExecutionException e) {
+                waiter.accept(System.nanoTime());
+            }
+        }
+    }
+
+    private void acquireTokens(String method, int tokens) throws IOException {
+        long waitNanos = reserveTokens(method, tokens);
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + method);
+        }
+    }
+
+    /**
+     * Takes {@code tokens} from the buckets of {@code method} and returns the nanoseconds to wait for them.
+     */
+    private long reserveTokens(String method, int tokens) {
+        long now = System.nanoTime();
+        long waitNanos = 0;
+        if (globalBucket != null) {
+            waitNanos = globalBucket.reserve(tokens, now);
+        }
+        TokenBucket bucket = bucketsByMethod.get(method);
+        if (bucket != null) {
+            waitNanos = Math.max(waitNanos, bucket.reserve(tokens, now));
+        }
+        if (waitNanos > 0) {
+            delayedRequestCount.incrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    private static IOException closedException() {
+        return new IOException("Rate limited service is closed");
+    }
+
+    private static boolean isOverloaded(Response<?> response) {
+        if (response == null || !response.hasError()) {
+            return false;
+        }
+        Response.Error error = response.getError();
+        if (error.getCode() == LIMIT_EXCEEDED) {
+            return true;
+        }
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        for (String overloadMessage : OVERLOAD_MESSAGES) {
+            if (message.contains(overloadMessage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Token bucket which lets its token count go negative: a request taking the last tokens is told how
+     * long to wait for them, so waiting requests are served in arrival order without polling.
+     */
+    static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+
+        // guarded by this
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(double tokensPerSecond, double capacity) {
+            if (tokensPerSecond <= 0 || capacity < 1) {
+                throw new IllegalArgumentException("Rate and capacity must be positive");
+            }
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.updatedAt = System.nanoTime();
+        }
+
+        /**
+         * Takes {@code count} tokens and returns the nanoseconds until they are actually available.
+         */
+        synchronized long reserve(int count, long now) {
+            if (now - updatedAt > 0) {
+                tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+                updatedAt = now;
+            }
+            tokens -= count;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+    }
+
+    private static class ConcurrencyLimit {
+        /**
+         * Completed requests after which the minimum latency is measured again, so the baseline follows
+         * lasting changes of the node or the network.
+         */
+        private static final int LATENCY_WINDOW = 256;
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double latencyTolerance;
+        private final AtomicLong delayedCount = new AtomicLong();
+
+        // guarded by this
+        private double limit;
+        private int inFlight;
+        private final Map<String, MinLatency> minLatencyByMethod = new HashMap<>();
+        private final Queue<Waiter> waiters = new ArrayDeque<>();
+        private long decreasedAt;
+        private boolean closed;
+
+        ConcurrencyLimit(Builder builder) {
+            this.minLimit = builder.minConcurrencyLimit;
+            this.maxLimit = builder.maxConcurrencyLimit;
+            this.backoffRatio = builder.backoffRatio;
+            this.latencyTolerance = builder.latencyTolerance;
+            this.limit = builder.initialConcurrencyLimit;
+            this.decreasedAt = System.nanoTime();
+        }
+
+        /**
+         * Waits for a free slot.
+         *
+         * @return start time of the request, to pass to {@link #release(String, long, boolean)}
+         */
+        synchronized long acquire() throws IOException {
+            if (inFlight >= (int) limit) {
+                delayedCount.incrementAndGet();
+            }
+            while (inFlight >= (int) limit || closed) {
+                if (closed) {
+                    throw closedException();
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a request slot");
+                }
+            }
+            inFlight++;
+            return System.nanoTime();
+        }
+
+        /**
+         * Takes a free slot without waiting for it: {@code onAcquired} is called with the start time of the
+         * request right away if a slot is free, otherwise when {@link #release(String, long, boolean)}
+         * hands one over. {@code result} is failed instead once the limit is closed.
+         */
+        void acquireAsync(LongConsumer onAcquired, CompletableFuture<?> result) {
+            boolean isClosed;
+            synchronized (this) {
+                isClosed = closed;
+                if (!isClosed) {
+                    if (inFlight >= (int) limit) {
+                        delayedCount.incrementAndGet();
+                        waiters.add(new Waiter(onAcquired, result));
+                        return;
+                    }
+                    inFlight++;
+                }
+            }
+            if (isClosed) {
+                result.completeExceptionally(closedException());
+            } else {
+                onAcquired.accept(System.nanoTime());
+            }
+        }
+
+        /**
+         * Fails the asynchronous waiters and wakes up the blocked ones, which then fail too.
+         */
+        void close() {
+            List<Waiter> failed;
+            synchronized (this) {
+                closed = true;
+                failed = new ArrayList<>(waiters);
+                waiters.clear();
+                notifyAll();
+            }
+            for (Waiter waiter : failed) {
+                waiter.result.completeExceptionally(closedException());
+            }
+        }
+
+        /**
+         * Adjusts the limit to the outcome of a request. Latency is compared per method, since a
+         * klay_getLogs call is expected to take longer than a klay_blockNumber call.
+         *
+         * @return asynchronous waiters which were given a slot and must be called
+         */
+        synchronized List<LongConsumer> release(String method, long startedAt, boolean isOverloaded) {
+            long now = System.nanoTime();
+            long latencyNanos = now - startedAt;
+            int wasInFlight = inFlight--;
+
+            MinLatency minLatency = minLatencyByMethod.computeIfAbsent(method, key -> new MinLatency());
+            if (!isOverloaded) {
+                minLatency.add(latencyNanos);
+            }
+
+            boolean isCongested = isOverloaded || latencyNanos > latencyTolerance * minLatency.nanos;
+            if (isCongested) {
+                // requests sent before the last decrease saw the old limit; reacting to each of them
+                // would collapse the limit on a single burst of failures
+                if (startedAt - decreasedAt > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    decreasedAt = now;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                // only grow while the limit is actually used, otherwise an idle client ends at the maximum
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+
+            List<LongConsumer> acquired = Collections.emptyList();
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                if (acquired.isEmpty()) {
+                    acquired = new ArrayList<>();
+                }
+                inFlight++;
+                acquired.add(waiters.poll().onAcquired);
+            }
+            notifyAll();
+            return acquired;
+        }
+
+        private static class Waiter {
+            private final LongConsumer onAcquired;
+            private final CompletableFuture<?> result;
+
+            Waiter(LongConsumer onAcquired, CompletableFuture<?> result) {
+                this.onAcquired = onAcquired;
+                this.result = result;
+            }
+        }
+
+        private static class MinLatency {
+            private long nanos = Long.MAX_VALUE;
+            private long windowNanos = Long.MAX_VALUE;
+            private int windowSamples;
+
+            void add(long latencyNanos) {
+                nanos = Math.min(nanos, latencyNanos);
+                windowNanos = Math.min(windowNanos, latencyNanos);
+                if (++windowSamples >= LATENCY_WINDOW) {
+                    nanos = windowNanos;
+                    windowNanos = Long.MAX_VALUE;
+                    windowSamples = 0;
+                }
+            }
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+    }
+
+    public static class Builder {
+        private final Web3jService web3jService;
+        private TokenBucket globalBucket;
+        private final Map<String, TokenBucket> bucketsByMethod = new HashMap<>();
+        private int initialConcurrencyLimit = 20;
+        private int minConcurrencyLimit = 1;
+        private int maxConcurrencyLimit = 200;
+        private double backoffRatio = 0.9;
+        private double latencyTolerance = 2.0;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        public Builder(Web3jService web3jService) {
+            this.web3jService = web3jService;
+        }
+
+        /**
+         * Limits all requests to {@code requestsPerSecond}, with bursts of up to one second of requests.
+         */
+        public Builder setRateLimit(double requestsPerSecond) {
+            return setRateLimit(requestsPerSecond, Math.max(1, requestsPerSecond));
+        }
+
+        public Builder setRateLimit(double requestsPerSecond, double burst) {
+            this.globalBucket = new TokenBucket(requestsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * Limits the requests of {@code method} to {@code requestsPerSecond}, in addition to the global
+         * limit, with bursts of up to one second of requests.
+         */
+        public Builder setRateLimit(String method, double requestsPerSecond) {
+            return setRateLimit(method, requestsPerSecond, Math.max(1, requestsPerSecond));
+        }
+
+        public Builder setRateLimit(String method, double requestsPerSecond, double burst) {
+            bucketsByMethod.put(method, new TokenBucket(requestsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * Limit of requests in flight at start, and the most it may grow to. Defaults to 20 and 200.
+         */
+        public Builder setConcurrencyLimit(int initial, int max) {
+            if (initial < minConcurrencyLimit || max < initial) {
+                throw new IllegalArgumentException("Concurrency limits must satisfy min <= initial <= max");
+            }
+            this.initialConcurrencyLimit = initial;
+            this.maxConcurrencyLimit = max;
+            return this;
+        }
+
+        /**
+         * The least the limit of requests in flight may shrink to. Defaults to 1.
+         */
+        public Builder setMinConcurrencyLimit(int min) {
+            if (min < 1 || min > initialConcurrencyLimit) {
+                throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial");
+            }
+            this.minConcurrencyLimit = min;
+            return this;
+        }
+
+        /**
+         * Factor applied to the limit of requests in flight on congestion. Defaults to 0.9.
+         */
+        public Builder setBackoffRatio(double backoffRatio) {
+            if (backoffRatio <= 0 || backoffRatio >= 1) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Latency, as a multiple of the recent minimum latency, above which a request counts as a sign of
+         * congestion. Defaults to 2.
+         */
+        public Builder setLatencyTolerance(double latencyTolerance) {
+            if (latencyTolerance < 1) {
+                throw new IllegalArgumentException("Latency tolerance must be at least 1");
+            }
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        /**
+         * Scheduler delaying the asynchronous requests over the rate limit. When unset, a daemon thread owned
+         * by the service is used.
+         */
+        public Builder setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public RateLimitedService build() {
+            return new RateLimitedService(this);
+        }
+    }
+}
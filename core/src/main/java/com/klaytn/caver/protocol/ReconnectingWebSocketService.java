@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import io.reactivex.Flowable;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * WebSocket {@link Web3jService} that reconnects on demand.
+ *
+ * <p>A lost connection is dropped and closed, which fails every subscription made over it with an
+ * IOException. The next request or subscription opens a new connection. Subscribers that resubscribe on
+ * error, like the klay_subscribe flowables of {@link com.klaytn.caver.Klay}, therefore recover from a lost
+ * connection by themselves. Failures of a single request, such as a timeout or an error reply to
+ * klay_subscribe, leave the connection and the other subscriptions over it untouched.
+ */
+public class ReconnectingWebSocketService implements Web3jService {
+
+    // messages of the IOExceptions raised by org.web3j.protocol.websocket.WebSocketService
+    private static final String CONNECTION_CLOSED_MESSAGE = "Connection was closed";
+    private static final String SUBSCRIPTION_ERROR_MESSAGE = "Subscription request failed";
+
+    private final Callable<? extends Web3jService> connector;
+
+    // guarded by this
+    private Web3jService connection;
+    private boolean closed;
+
+    /**
+     * @param url WebSocket url of the node, e.g. ws://localhost:8552
+     */
+    public ReconnectingWebSocketService(String url) {
+        this(url, false);
+    }
+
+    /**
+     * @param url                 WebSocket url of the node, e.g. ws://localhost:8552
+     * @param includeRawResponses whether responses carry their JSON text
+     */
+    public ReconnectingWebSocketService(String url, boolean includeRawResponses) {
+        this(() -> {
+            WebSocketService webSocketService = new WebSocketService(url, includeRawResponses);
+            webSocketService.connect();
+            return webSocketService;
+        });
+    }
+
+    /**
+     * @param connector opens a new connected service, called whenever there is no usable connection
+     */
+    public ReconnectingWebSocketService(Callable<? extends Web3jService> connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        Web3jService current = connection();
+        try {
+            return current.send(request, responseType);
+        } catch (IOException | RuntimeException e) {
+            invalidateIfLost(current, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        Web3jService current;
+        try {
+            current = connection();
+        } catch (IOException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = current.sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            // a closed socket refuses to send synchronously
+            invalidateIfLost(current, e);
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IOException(e));
+            return failed;
+        }
+        return result.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                invalidateIfLost(current, throwable);
+            }
+        });
+    }
+
+    /**
+     * Subscribes over the current connection. The returned flowable fails with an IOException when the
+     * connection is lost; subscribing to it again subscribes over a new connection.
+     */
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return Flowable.defer(() -> {
+            Web3jService current = connection();
+            return current.subscribe(request, unsubscribeMethod, responseType)
+                    .doOnError(throwable -> invalidateIfLost(current, throwable));
+        });
+    }
+
+    /**
+     * Closes the current connection. No new connection is opened afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        Web3jService current;
+        synchronized (this) {
+            closed = true;
+            current = connection;
+            connection = null;
+        }
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private synchronized Web3jService connection() throws IOException {
+        if (closed) {
+            throw new IOException("WebSocket service is closed");
+        }
+        if (connection == null) {
+            try {
+                connection = connector.call();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Could not connect", e);
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Returns whether {@code throwable} reports a JSON-RPC error reply to a klay_subscribe request.
+     * Subscribing again would get the same reply, so the error is final.
+     */
+    public static boolean isSubscriptionError(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException && cause.getMessage() != null
+                    && cause.getMessage().startsWith(SUBSCRIPTION_ERROR_MESSAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether {@code throwable} reports the loss of the connection itself rather than the failure
+     * of one request, e.g. a request timeout.
+     */
+    private static boolean isConnectionLost(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebsocketNotConnectedException || cause instanceof SocketException) {
+                return true;
+            }
+            if (cause instanceof IOException && CONNECTION_CLOSED_MESSAGE.equals(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidateIfLost(Web3jService current, Throwable throwable) {
+        if (isConnectionLost(throwable)) {
+            invalidate(current);
+        }
+    }
+
+    private void invalidate(Web3jService failed) {
+        synchronized (this) {
+            if (connection != failed) {
+                return;
+            }
+            connection = null;
+        }
+        try {
+            failed.close();
+        } catch (IOException | RuntimeException e) {
+            // the connection is gone either way
+        }
+    }
+}
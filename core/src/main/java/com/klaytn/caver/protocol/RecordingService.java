@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link Web3jService} decorator appending every request and its response to a gzip compressed file,
+ * for {@link ReplayService} to serve them later without a node.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new RecordingService(new HttpBatchService(url, true), Paths.get("traffic.json.gz")));
+ * </pre>
+ *
+ * <p>Each exchange is one JSON object holding the time it started in milliseconds since the epoch, its
+ * duration in microseconds, the request, and either the response or the message of the I/O error it
+ * failed with. Responses are recorded exactly when the wrapped service includes raw responses; otherwise
+ * they are serialized again from the response object, which does not reproduce every response type.
+ *
+ * <p>Records are flushed one by one, so the file stays readable if the process dies. Recording to an
+ * existing file appends to it. A record that cannot be written, e.g. on a full disk, is dropped and counted
+ * by {@link #getRecordingErrorCount()}; the request itself is answered as usual. Requests of a batch are
+ * recorded one by one with the duration of the batch. Subscriptions are passed through without being
+ * recorded.
+ */
+public class RecordingService implements BatchWeb3jService {
+
+    private final Web3jService web3jService;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    // guarded by this
+    private final Writer writer;
+    private final AtomicLong recordingErrorCount = new AtomicLong();
+
+    /**
+     * @param web3jService service to record, ideally including raw responses
+     * @param file         file the exchanges are appended to
+     * @throws IOException if {@code file} cannot be opened
+     */
+    public RecordingService(Web3jService web3jService, Path file) throws IOException {
+        this.web3jService = web3jService;
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file.toFile(), true), true), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            T response = web3jService.send(request, responseType);
+            record(request, timestamp, start, response, null);
+            return response;
+        } catch (IOException e) {
+            record(request, timestamp, start, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        return web3jService.sendAsync(request, responseType).whenComplete((response, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            if (throwable == null || cause instanceof IOException) {
+                record(request, timestamp, start, response, cause);
+            }
+        });
+    }
+
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        List<Response<?>> responses;
+        try {
+            responses = Requests.sendBatch(web3jService, requests, responseTypes);
+        } catch (IOException e) {
+            for (Request<?, ?> request : requests) {
+                record(request, timestamp, start, null, e);
+            }
+            throw e;
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            record(requests.get(i), timestamp, start, responses.get(i), null);
+        }
+        return responses;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    /**
+     * @return exchanges that could not be written to the file
+     */
+    public long getRecordingErrorCount() {
+        return recordingErrorCount.get();
+    }
+
+    /**
+     * Closes the wrapped service and completes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            web3jService.close();
+        } finally {
+            synchronized (this) {
+                writer.close();
+            }
+        }
+    }
+
+    private void record(Request<?, ?> request, long timestamp, long start, Response<?> response, Throwable failure) {
+        try {
+            write(request, timestamp, start, response, failure);
+        } catch (IOException | RuntimeException e) {
+            // the recording is incomplete, but the traffic it records must not fail because of it
+            recordingErrorCount.incrementAndGet();
+        }
+    }
+
+    private void write(Request<?, ?> request, long timestamp, long start, Response<?> response, Throwable failure)
+            throws IOException {
+        long duration = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        StringBuilder record = new StringBuilder(256)
+                .append("{\"timestamp\":").append(timestamp)
+                .append(",\"duration\":").append(duration)
+                .append(",\"request\":").append(objectMapper.writeValueAsString(request));
+        if (failure != null) {
+            String message = String.valueOf(failure.getMessage());
+            record.append(",\"failure\":").append(objectMapper.writeValueAsString(message));
+        } else {
+            String rawResponse = response.getRawResponse();
+            record.append(",\"response\":")
+                    .append(rawResponse != null ? rawResponse.trim() : objectMapper.writeValueAsString(response));
+        }
+        record.append("}\n");
+
+        synchronized (this) {
+            writer.write(record.toString());
+            writer.flush();
+        }
+    }
+}
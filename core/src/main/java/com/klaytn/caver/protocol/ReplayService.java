@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.reactivex.Flowable;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link Web3jService} answering requests from a file written by {@link RecordingService}, without a node.
+ *
+ * <pre>
+ * Caver caver = Caver.build(new ReplayService(Paths.get("traffic.json.gz"), 1.0));
+ * </pre>
+ *
+ * <p>A request is answered by the recorded exchanges with the same method and parameters, in the order
+ * they were recorded; once they are used up, the last one is repeated. The answers therefore only depend
+ * on the order of identical requests, not on timing. Recorded I/O errors are thrown again. A request
+ * that was never recorded fails with an {@link IOException}. A file cut short, e.g. by a process that died
+ * while recording, is read up to its last complete record.
+ *
+ * <p>With a speed of 1 every answer takes as long as it took when it was recorded, with 2 half as long,
+ * and with 0 it is returned at once.
+ */
+public class ReplayService implements BatchWeb3jService {
+
+    private final double speed;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    // guarded by this
+    private final Map<String, Exchanges> exchangesByRequest = new HashMap<>();
+
+    /**
+     * Creates a service answering as fast as possible.
+     */
+    public ReplayService(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * @param file  file written by {@link RecordingService}
+     * @param speed factor applied to the recorded response times, or 0 to answer at once
+     * @throws IOException if {@code file} cannot be read
+     */
+    public ReplayService(Path file, double speed) throws IOException {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must not be negative: " + speed);
+        }
+        this.speed = speed;
+        try (InputStream input = new GZIPInputStream(new FileInputStream(file.toFile()))) {
+            MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(input);
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                JsonNode request = record.get("request");
+                exchangesByRequest.computeIfAbsent(getKey(request.get("method").asText(), request.get("params")),
+                        key -> new Exchanges()).add(new Exchange(record));
+            }
+        } catch (EOFException | JsonEOFException e) {
+            // the gzip trailer or the end of the last record is missing: keep the records read so far
+        }
+    }
+
+    /**
+     * @return number of distinct requests recorded
+     */
+    public synchronized int getRecordedRequestCount() {
+        return exchangesByRequest.size();
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        Exchange exchange = next(request);
+        if (speed > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep((long) (exchange.duration / speed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying " + request.getMethod());
+            }
+        }
+        return exchange.toResponse(request, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        if (speed > 0) {
+            return Async.run(() -> send(request, responseType));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(send(request, responseType));
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Response<?>> sendBatch(
+            List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+            throws IOException {
+        List<Exchange> exchanges = new ArrayList<>(requests.size());
+        long duration = 0;
+        for (Request<?, ?> request : requests) {
+            Exchange exchange = next(request);
+            exchanges.add(exchange);
+            duration = Math.max(duration, exchange.duration);
+        }
+        if (speed > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep((long) (duration / speed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying a batch");
+            }
+        }
+
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(exchanges.get(i).toResponse(requests.get(i), responseTypes.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Subscriptions are not recorded.
+     */
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return Flowable.error(new UnsupportedOperationException("Subscriptions cannot be replayed"));
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private synchronized Exchange next(Request<?, ?> request) throws IOException {
+        Exchanges exchanges = exchangesByRequest.get(
+                getKey(request.getMethod(), objectMapper.valueToTree(request.getParams())));
+        if (exchanges == null) {
+            throw new IOException("No recorded response for " + request.getMethod() + " "
+                    + objectMapper.writeValueAsString(request.getParams()));
+        }
+        return exchanges.next();
+    }
+
+    private static String getKey(String method, JsonNode params) {
+        return method + params;
+    }
+
+    private static class Exchanges {
+        private final List<Exchange> recorded = new ArrayList<>();
+        private int next;
+
+        void add(Exchange exchange) {
+            recorded.add(exchange);
+        }
+
+        Exchange next() {
+            Exchange exchange = recorded.get(next);
+            if (next < recorded.size() - 1) {
+                next++;
+            }
+            return exchange;
+        }
+    }
+
+    private class Exchange {
+        /**
+         * Recorded response time in microseconds.
+         */
+        private final long duration;
+        private final ObjectNode response;
+        private final String failure;
+
+        Exchange(JsonNode record) {
+            this.duration = record.path("duration").asLong();
+            JsonNode response = record.get("response");
+            this.response = response instanceof ObjectNode ? (ObjectNode) response : null;
+            this.failure = record.path("failure").asText("No recorded response");
+        }
+
+        <T extends Response> T toResponse(Request<?, ?> request, Class<T> responseType) throws IOException {
+            if (response == null) {
+                throw new IOException(failure);
+            }
+            ObjectNode answer = response.deepCopy();
+            answer.put("id", request.getId());
+            String json = objectMapper.writeValueAsString(answer);
+            T result = objectMapper.readValue(json, responseType);
+            result.setRawResponse(json);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.protocol;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Middleware seeing every request of a {@link com.klaytn.caver.Caver} instance before it is sent, and its
+ * response or failure afterwards. Registered with {@link com.klaytn.caver.Caver#addInterceptor}.
+ *
+ * <pre>
+ * caver.addInterceptor(chain -&gt; {
+ *     long start = System.nanoTime();
+ *     return chain.proceed().whenComplete((response, throwable) -&gt;
+ *             metrics.record(chain.getMethod(), System.nanoTime() - start, throwable));
+ * });
+ * </pre>
+ *
+ * <p>An interceptor may return its own response without calling {@link Chain#proceed()}, e.g. on a cache
+ * hit, or call it several times to retry. Failures such as {@link java.io.IOException} are reported by
+ * completing the future exceptionally. For synchronous calls the chain ends with a blocking send on the
+ * calling thread, so the future returned by {@link Chain#proceed()} is already completed.
+ */
+@FunctionalInterface
+public interface RequestInterceptor {
+
+    CompletableFuture<Response<?>> intercept(Chain chain);
+
+    interface Chain {
+
+        Request<?, ?> getRequest();
+
+        /**
+         * @return the response class the caller expects; a response returned without proceeding must
+         * be an instance of it
+         */
+        Class<? extends Response> getResponseType();
+
+        default String getMethod() {
+            return getRequest().getMethod();
+        }
+
+        default List<?> getParams() {
+            return getRequest().getParams();
+        }
+
+        /**
+         * Passes the request to the next interceptor, or sends it when this is the last one.
+         */
+        CompletableFuture<Response<?>> proceed();
+    }
+}
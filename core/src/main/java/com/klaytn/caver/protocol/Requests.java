@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for working with web3j {@link Request} objects outside of a {@link org.web3j.protocol.Web3jService}.
+ */
+public final class Requests {
+
+    private Requests() {
+    }
+
+    /**
+     * Sends {@code requests} as one batch when {@code web3jService} supports it, or one by one otherwise.
+     *
+     * @param web3jService  service to send through
+     * @param requests      requests to send
+     * @param responseTypes response class of each request, in the order of {@code requests}
+     * @return responses in the order of {@code requests}
+     * @throws IOException if a request could not be sent
+     */
+    public static List<Response<?>> sendBatch(
+            Web3jService web3jService, List<Request<?, ? extends Response>> requests,
+            List<Class<? extends Response>> responseTypes) throws IOException {
+        if (web3jService instanceof BatchWeb3jService) {
+            return ((BatchWeb3jService) web3jService).sendBatch(requests, responseTypes);
+        }
+
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(web3jService.send(requests.get(i), responseTypes.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Copies a response for another request: the copy carries the id {@code id}, and shares the result
+     * of {@code response}, which must be treated as read-only.
+     *
+     * @param response     response to copy
+     * @param id           id of the request answered by the copy
+     * @param responseType response class of that request
+     * @param <T>          response type
+     * @return copy of {@code response}
+     * @throws IOException if the response class cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Response> T copyResponse(
+            Response<?> response, long id, Class<T> responseType) throws IOException {
+        Response copy;
+        try {
+            copy = response.getClass().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IOException("Cannot copy " + response.getClass().getName(), e);
+        }
+        copy.setId(id);
+        copy.setJsonrpc(response.getJsonrpc());
+        copy.setResult(response.getResult());
+        copy.setError(response.getError());
+        copy.setRawResponse(response.getRawResponse());
+        return responseType.cast(copy);
+    }
+
+    /**
+     * Matches the elements of a JSON-RPC batch reply to {@code requests} by id and deserializes each
+     * one into the request's response type.
+     *
+     * @param objectMapper  object mapper used to build the responses
+     * @param reply         JSON array returned by the node
+     * @param requests      requests of the batch
+     * @param responseTypes response class of each request, in the order of {@code requests}
+     * @return responses in the order of {@code requests}
+     * @throws IOException if the reply is not an array or a response is missing
+     */
+    public static List<Response<?>> readBatchResponse(
+            ObjectMapper objectMapper, JsonNode reply, List<Request<?, ? extends Response>> requests,
+            List<Class<? extends Response>> responseTypes) throws IOException {
+        if (reply == null || !reply.isArray()) {
+            throw new IOException("Invalid batch response: " + reply);
+        }
+
+        Map<Long, JsonNode> nodesById = new HashMap<>();
+        for (JsonNode node : reply) {
+            JsonNode id = node.get("id");
+            if (id != null && id.canConvertToLong()) {
+                nodesById.put(id.asLong(), node);
+            }
+        }
+
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Request<?, ? extends Response> request = requests.get(i);
+            JsonNode node = nodesById.get(request.getId());
+            if (node == null) {
+                throw new IOException("No response in batch for request id " + request.getId()
+                        + " (" + request.getMethod() + ")");
+            }
+            responses.add(objectMapper.treeToValue(node, responseTypes.get(i)));
+        }
+        return responses;
+    }
+}
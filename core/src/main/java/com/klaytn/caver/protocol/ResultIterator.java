@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator decoding the elements of a JSON-RPC array result one at a time. Only the element returned by
+ * {@link #next()} is held in memory. The underlying response is released when the last element has been
+ * read or when the iterator is closed, so an iterator that is not exhausted must be closed.
+ *
+ * @param <T> element type
+ */
+public class ResultIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final Class<T> elementType;
+    private final boolean ownsParser;
+    private boolean hasNext;
+
+    /**
+     * @param parser      parser positioned on the START_ARRAY token of the result, or on a VALUE_NULL token
+     * @param elementType type each element is decoded to
+     * @param ownsParser  whether the parser is closed with the iterator, false when the array is nested
+     *                    in a result that is still being read
+     */
+    ResultIterator(JsonParser parser, Class<T> elementType, boolean ownsParser) throws IOException {
+        this.parser = parser;
+        this.elementType = elementType;
+        this.ownsParser = ownsParser;
+        this.hasNext = parser.getCurrentToken() == JsonToken.START_ARRAY && advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * @throws UncheckedIOException if the response could not be read or decoded
+     */
+    @Override
+    public T next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T element = parser.readValueAs(elementType);
+            hasNext = advance();
+            return element;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        hasNext = false;
+        if (!ownsParser) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // nothing left to read
+        }
+    }
+
+    private boolean advance() throws IOException {
+        if (parser.nextToken() != JsonToken.END_ARRAY) {
+            return true;
+        }
+        close();
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.BlockReceipts;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Sends the Klay requests whose results can grow to tens of megabytes and decodes them incrementally.
+ * Instead of materializing the whole result, each log, transaction or receipt is handed to a consumer, or
+ * returned by a {@link ResultIterator}, as soon as it has been parsed, so memory use is bounded by a single
+ * element rather than by the size of the response.
+ *
+ * <pre>
+ * StreamingKlay streamingKlay = new StreamingKlay(new HttpBatchService(url));
+ * streamingKlay.getLogs(filter, log -&gt; index(log));
+ * </pre>
+ */
+public class StreamingKlay {
+
+    private final StreamingWeb3jService web3jService;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    public StreamingKlay(StreamingWeb3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+
+    /**
+     * Streaming variant of {@link com.klaytn.caver.Klay#getLogs(KlayLogFilter)}.
+     *
+     * @param filter   The filter options
+     * @param consumer receives each log in order
+     * @throws IOException            if the request failed or the response could not be decoded
+     * @throws PlatformErrorException if the node answered with an error
+     */
+    public void getLogs(KlayLogFilter filter, Consumer<KlayLogs.Log> consumer)
+            throws IOException, PlatformErrorException {
+        try (ResultIterator<KlayLogs.Log> logs = getLogs(filter)) {
+            forEachRemaining(logs, consumer);
+        }
+    }
+
+    /**
+     * Streaming variant of {@link com.klaytn.caver.Klay#getLogs(KlayLogFilter)}.
+     *
+     * @param filter The filter options
+     * @return iterator over the logs, which must be closed unless it is exhausted
+     * @throws IOException            if the request failed
+     * @throws PlatformErrorException if the node answered with an error
+     */
+    public ResultIterator<KlayLogs.Log> getLogs(KlayLogFilter filter) throws IOException, PlatformErrorException {
+        return new ResultIterator<>(
+                openResult(new Request<>("klay_getLogs", Arrays.asList(filter), web3jService, KlayLogs.class)),
+                KlayLogs.Log.class, true);
+    }
+
+    /**
+     * Streaming variant of {@link com.klaytn.caver.Klay#getBlockReceipts(String)}.
+     *
+     * @param blockHash Hash of a block
+     * @param consumer  receives each receipt in order
+     * @throws IOException            if the request failed or the response could not be decoded
+     * @throws PlatformErrorException if the node answered with an error
+     */
+    public void getBlockReceipts(String blockHash, Consumer<KlayTransactionReceipt.TransactionReceipt> consumer)
+            throws IOException, PlatformErrorException {
+        try (ResultIterator<KlayTransactionReceipt.TransactionReceipt> receipts = getBlockReceipts(blockHash)) {
+            forEachRemaining(receipts, consumer);
+        }
+    }
+
+    /**
+     * Streaming variant of {@link com.klaytn.caver.Klay#getBlockReceipts(String)}.
+     *
+     * @param blockHash Hash of a block
+     * @return iterator over the receipts, which must be closed unless it is exhausted
+     * @throws IOException            if the request failed
+     * @throws PlatformErrorException if the node answered with an error
+     */
+    public ResultIterator<KlayTransactionReceipt.TransactionReceipt> getBlockReceipts(String blockHash)
+            throws IOException, PlatformErrorException {
+        return new ResultIterator<>(
+                openResult(new Request<>(
+                        "klay_getBlockReceipts", Arrays.asList(blockHash), web3jService, BlockReceipts.class)),
+                KlayTransactionReceipt.TransactionReceipt.class, true);
+    }
+
+    /**
+     * Streaming variant of {@link com.klaytn.caver.Klay#getBlockByNumber(DefaultBlockParameter, boolean)}.
+     * The transactions are handed to {@code consumer} as they are parsed and are not kept in the returned
+     * block, whose transaction list is empty.
+     *
+     * @param defaultBlockParameter Integer block number, or the string "latest", "earliest" or "pending"
+     * @param isFullTransaction     If true the consumer receives full transaction objects, if false
+     *                              transactions holding only their hash.
+     * @param consumer              receives each transaction in order
+     * @return the block header, or null when the block does not exist
+     * @throws IOException            if the request failed or the response could not be decoded
+     * @throws PlatformErrorException if the node answered with an error
+     */
+    public KlayBlock.Block getBlockByNumber(
+            DefaultBlockParameter defaultBlockParameter, boolean isFullTransaction,
+            Consumer<KlayTransaction.Transaction> consumer) throws IOException, PlatformErrorException {
+        try (JsonParser parser = openResult(new Request<>(
+                "klay_getBlockByNumber", Arrays.asList(defaultBlockParameter, isFullTransaction),
+                web3jService, KlayBlock.class))) {
+            if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            ObjectNode header = objectMapper.createObjectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("transactions".equals(fieldName) && value == JsonToken.START_ARRAY) {
+                    try (ResultIterator<KlayTransaction.Transaction> transactions =
+                                 new ResultIterator<>(parser, KlayTransaction.Transaction.class, false)) {
+                        forEachRemaining(transactions, consumer);
+                    }
+                } else {
+                    header.set(fieldName, parser.readValueAsTree());
+                }
+            }
+            header.putArray("transactions");
+            return objectMapper.treeToValue(header, KlayBlock.Block.class);
+        }
+    }
+
+    /**
+     * Sends the request and reads the response envelope up to its result.
+     *
+     * @return parser positioned on the first token of the result
+     */
+    private JsonParser openResult(Request<?, ?> request) throws IOException, PlatformErrorException {
+        JsonParser parser = objectMapper.getFactory().createParser(web3jService.sendStreaming(request));
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid JSON-RPC response for " + request.getMethod());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if ("result".equals(fieldName)) {
+                    return parser;
+                } else if ("error".equals(fieldName)) {
+                    throw new PlatformErrorException(parser.readValueAs(Response.Error.class));
+                }
+                parser.skipChildren();
+            }
+            throw new IOException("JSON-RPC response for " + request.getMethod() + " has no result");
+        } catch (IOException | PlatformErrorException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    private static <T> void forEachRemaining(ResultIterator<T> iterator, Consumer<T> consumer) throws IOException {
+        try {
+            iterator.forEachRemaining(consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
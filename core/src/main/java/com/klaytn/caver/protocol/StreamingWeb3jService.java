@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.protocol;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link Web3jService} that can hand out the undecoded JSON-RPC response, so that large results can be
+ * parsed incrementally by {@link StreamingKlay}.
+ */
+public interface StreamingWeb3jService extends Web3jService {
+
+    /**
+     * Sends a request and returns the JSON-RPC response body as it arrives. The caller owns the stream and
+     * must close it.
+     *
+     * @param request request to send
+     * @return JSON-RPC response body
+     * @throws IOException if the request could not be sent
+     */
+    InputStream sendStreaming(Request<?, ?> request) throws IOException;
+}
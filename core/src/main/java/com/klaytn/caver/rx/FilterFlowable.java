@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rx;
+
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import org.web3j.protocol.core.Request;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Polls a node filter with klay_getFilterChanges and emits its results while honoring backpressure:
+ * the filter is only polled when the subscriber has requested more items than are already waiting.
+ * Unrequested changes stay on the node, so at most one poll result is held locally.
+ *
+ * @param <T> element type
+ */
+final class FilterFlowable<T> {
+
+    private final Klay klay;
+    private final Supplier<Request<?, Quantity>> installRequest;
+    private final FlowableEmitter<T> emitter;
+    private final Queue<T> pending = new ArrayDeque<>();
+    // guarded by this: the uninstall task may run while a poll is still installing the filter
+    private BigInteger filterId;
+
+    private FilterFlowable(Klay klay, Supplier<Request<?, Quantity>> installRequest, FlowableEmitter<T> emitter) {
+        this.klay = klay;
+        this.installRequest = installRequest;
+        this.emitter = emitter;
+    }
+
+    /**
+     * @param klay                     klay used to poll and uninstall the filter
+     * @param installRequest           creates the request installing the filter, called again when the
+     *                                 node has dropped the filter
+     * @param scheduledExecutorService scheduler running the polls
+     * @param pollingInterval          delay between two polls in milliseconds
+     * @param <T>                      element type
+     * @return cold flowable installing its own filter for every subscriber
+     */
+    static <T> Flowable<T> create(
+            Klay klay, Supplier<Request<?, Quantity>> installRequest,
+            ScheduledExecutorService scheduledExecutorService, long pollingInterval) {
+        return Flowable.create(emitter -> {
+            FilterFlowable<T> filterFlowable = new FilterFlowable<>(klay, installRequest, emitter);
+            ScheduledFuture<?> polling = scheduledExecutorService.scheduleWithFixedDelay(
+                    filterFlowable::poll, 0, pollingInterval, TimeUnit.MILLISECONDS);
+            emitter.setCancellable(() -> {
+                polling.cancel(false);
+                scheduledExecutorService.execute(filterFlowable::uninstall);
+            });
+        }, BackpressureStrategy.ERROR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void poll() {
+        if (emitter.isCancelled()) {
+            return;
+        }
+
+        try {
+            drain();
+            if (!pending.isEmpty() || emitter.requested() == 0) {
+                return;
+            }
+
+            if (filterId == null) {
+                filterId = install();
+            }
+            KlayLogs changes = klay.getFilterChanges(filterId).send();
+            if (changes.hasError()) {
+                if (isFilterNotFound(changes.getError())) {
+                    // the node drops filters that are not polled for a while, install it again
+                    filterId = null;
+                    return;
+                }
+                emitter.onError(new PlatformErrorException(changes.getError()));
+                return;
+            }
+
+            if (changes.getLogs() != null) {
+                for (KlayLogs.LogResult logResult : changes.getLogs()) {
+                    pending.add((T) logResult.get());
+                }
+            }
+            drain();
+        } catch (IOException | PlatformErrorException | RuntimeException e) {
+            emitter.onError(e);
+        }
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && emitter.requested() > 0 && !emitter.isCancelled()) {
+            emitter.onNext(pending.poll());
+        }
+    }
+
+    private BigInteger install() throws IOException, PlatformErrorException {
+        Quantity response = installRequest.get().send();
+        if (response.hasError()) {
+            throw new PlatformErrorException(response.getError());
+        }
+        return response.getValue();
+    }
+
+    private synchronized void uninstall() {
+        if (filterId == null) {
+            return;
+        }
+        try {
+            klay.uninstallFilter(filterId).send();
+        } catch (IOException | RuntimeException e) {
+            // the node drops the filter by itself once it is no longer polled
+        }
+    }
+
+    private static boolean isFilterNotFound(org.web3j.protocol.core.Response.Error error) {
+        return error.getMessage() != null && error.getMessage().contains("filter not found");
+    }
+}
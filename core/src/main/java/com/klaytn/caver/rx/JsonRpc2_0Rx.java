@@ -0,0 +1,329 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.rx;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayLogNotification;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayNewHeadsNotification;
+import com.klaytn.caver.methods.response.KlayPendingTransactionNotification;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.protocol.ReconnectingWebSocketService;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Reactive streams over Klay filters and blocks.
+ *
+ * <p>Filter based streams share one poller per filter: every subscriber of an identical stream is served
+ * by the same node filter, which is installed for the first subscriber and uninstalled after the last one
+ * leaves. Each shared stream buffers at most {@code prefetch} elements for its slowest subscriber;
+ * once that buffer is full, polling stops until the subscribers catch up, so nothing is dropped and
+ * nothing is buffered without bound.
+ *
+ * <p>Notification streams use klay_subscribe and need a service supporting subscriptions, such as
+ * {@link com.klaytn.caver.protocol.ReconnectingWebSocketService}. Their subscribers also share one
+ * upstream subscription. When the subscription fails with an IOException, for instance because the
+ * connection dropped, it is made again with a growing delay, and what was missed in between is fetched
+ * so that no block header or log is skipped.
+ */
+public class JsonRpc2_0Rx {
+
+    static final long RESUBSCRIBE_DELAY = 500;
+    static final long MAX_RESUBSCRIBE_DELAY = 30_000;
+
+    private static final long UNSET = -1;
+
+    private final Klay klay;
+    private final Web3jService web3jService;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Scheduler scheduler;
+    private final long pollingInterval;
+    private final int prefetch;
+    private final ConcurrentMap<String, Flowable<?>> sharedFlowables = new ConcurrentHashMap<>();
+
+    /**
+     * @param klay                     klay used to send the requests
+     * @param web3jService             service used for klay_subscribe
+     * @param scheduledExecutorService scheduler running the filter polls and block fetches
+     * @param pollingInterval          delay between two filter polls in milliseconds
+     * @param prefetch                 elements buffered per shared stream and blocks fetched ahead on replay
+     */
+    public JsonRpc2_0Rx(
+            Klay klay, Web3jService web3jService, ScheduledExecutorService scheduledExecutorService,
+            long pollingInterval, int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.klay = klay;
+        this.web3jService = web3jService;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.scheduler = Schedulers.from(scheduledExecutorService);
+        this.pollingInterval = pollingInterval;
+        this.prefetch = prefetch;
+    }
+
+    public Flowable<String> blockHashFlowable() {
+        return share("blockHash", () -> FilterFlowable.create(
+                klay, klay::newBlockFilter, scheduledExecutorService, pollingInterval));
+    }
+
+    public Flowable<String> pendingTransactionHashFlowable() {
+        return share("pendingTransactionHash", () -> FilterFlowable.create(
+                klay, klay::newPendingTransactionFilter, scheduledExecutorService, pollingInterval));
+    }
+
+    public Flowable<KlayLogs.Log> logFlowable(KlayFilter filter) {
+        String key;
+        try {
+            key = "log" + ObjectMapperFactory.getObjectMapper().writeValueAsString(filter);
+        } catch (JsonProcessingException e) {
+            return FilterFlowable.create(klay, () -> klay.newFilter(filter), scheduledExecutorService, pollingInterval);
+        }
+        return share(key, () -> FilterFlowable.create(
+                klay, () -> klay.newFilter(filter), scheduledExecutorService, pollingInterval));
+    }
+
+    public Flowable<KlayBlock> blockFlowable(boolean fullTransactionObjects) {
+        return share("block" + fullTransactionObjects, () -> blockHashFlowable()
+                .concatMap(blockHash -> klay.getBlockByHash(blockHash, fullTransactionObjects).flowable()));
+    }
+
+    /**
+     * Pending transactions are looked up by hash; those already gone from the pool are skipped.
+     */
+    public Flowable<KlayTransaction.Transaction> pendingTransactionFlowable() {
+        return share("pendingTransaction", () -> pendingTransactionHashFlowable()
+                .concatMap(transactionHash -> klay.getTransactionByHash(transactionHash).flowable())
+                .filter(transaction -> transaction.getTransaction().isPresent())
+                .map(transaction -> transaction.getTransaction().get()));
+    }
+
+    /**
+     * Emits the blocks from {@code startBlock} to {@code endBlock} in order. Up to {@code prefetch} blocks
+     * are fetched concurrently ahead of the subscriber's demand.
+     */
+    public Flowable<KlayBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, boolean fullTransactionObjects) {
+        return Flowable.defer(() -> {
+            long start = getBlockNumber(startBlock).longValueExact();
+            long end = getBlockNumber(endBlock).longValueExact();
+            if (end < start) {
+                return Flowable.empty();
+            }
+            return Flowable.rangeLong(start, end - start + 1)
+                    .concatMapEager(blockNumber -> klay.getBlockByNumber(
+                            DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)), fullTransactionObjects)
+                            .flowable()
+                            .subscribeOn(scheduler), prefetch, 1);
+        });
+    }
+
+    /**
+     * Emits new block headers from a klay_subscribe newHeads subscription. After a resubscription, the
+     * headers of the blocks produced meanwhile are fetched and emitted first, so block numbers never skip.
+     */
+    public Flowable<KlayBlock.Block> newHeadsNotifications() {
+        return share("newHeads", () -> {
+            AtomicLong lastBlockNumber = new AtomicLong(UNSET);
+            return resubscribing(subscribe(KlayNewHeadsNotification.class, "newHeads")
+                    .observeOn(scheduler)
+                    .concatMap(notification -> withMissedHeads(notification.getParams().getResult(), lastBlockNumber)));
+        });
+    }
+
+    /**
+     * Emits the logs matching {@code filter} from a klay_subscribe logs subscription; only the addresses and
+     * topics of the filter are used. After a resubscription, the logs emitted meanwhile are fetched with
+     * klay_getLogs and emitted first.
+     */
+    public Flowable<KlayLogs.Log> logsNotifications(KlayFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (filter.getAddress() != null) {
+            params.put("address", filter.getAddress());
+        }
+        if (!filter.getTopics().isEmpty()) {
+            params.put("topics", filter.getTopics());
+        }
+
+        String key;
+        try {
+            key = "logsNotifications" + ObjectMapperFactory.getObjectMapper().writeValueAsString(params);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid filter", e);
+        }
+        return share(key, () -> {
+            AtomicReference<long[]> lastPosition = new AtomicReference<>();
+            return resubscribing(Flowable.defer(() -> {
+                Flowable<KlayLogs.Log> live = subscribe(KlayLogNotification.class, "logs", params)
+                        .map(notification -> notification.getParams().getResult());
+                long[] position = lastPosition.get();
+                if (position == null) {
+                    return live;
+                }
+                // the live subscription is made while the missed logs are being fetched
+                return Flowable.concatArrayEager(getLogsSince(filter, position[0]), live);
+            }).observeOn(scheduler).filter(log -> advance(lastPosition, log)));
+        });
+    }
+
+    /**
+     * Emits the hash of every transaction entering the node's pending pool from a klay_subscribe
+     * newPendingTransactions subscription. Transactions received while resubscribing are not recovered.
+     */
+    public Flowable<String> newPendingTransactionsNotifications() {
+        return share("newPendingTransactions", () -> resubscribing(
+                subscribe(KlayPendingTransactionNotification.class, "newPendingTransactions"))
+                .observeOn(scheduler)
+                .map(notification -> notification.getParams().getResult()));
+    }
+
+    private <T extends Notification<?>> Flowable<T> subscribe(Class<T> notificationType, Object... params) {
+        return Flowable.defer(() -> web3jService.subscribe(
+                new Request<>("klay_subscribe", Arrays.asList(params), web3jService, EthSubscribe.class),
+                "klay_unsubscribe",
+                notificationType));
+    }
+
+    /**
+     * Subscribes again when the subscription fails with an IOException, waiting longer after each
+     * consecutive failure. An error reply to klay_subscribe, e.g. for an unsupported subscription type,
+     * is passed on since it would be repeated.
+     */
+    private <T> Flowable<T> resubscribing(Flowable<T> source) {
+        AtomicInteger failures = new AtomicInteger();
+        return source
+                .doOnNext(ignored -> failures.set(0))
+                .retryWhen(errors -> errors.flatMap(throwable -> {
+                    if (!(throwable instanceof IOException)
+                            || ReconnectingWebSocketService.isSubscriptionError(throwable)) {
+                        return Flowable.error(throwable);
+                    }
+                    long delay = Math.min(RESUBSCRIBE_DELAY << Math.min(failures.getAndIncrement(), 16),
+                            MAX_RESUBSCRIBE_DELAY);
+                    return Flowable.timer(delay, TimeUnit.MILLISECONDS, scheduler);
+                }));
+    }
+
+    private Flowable<KlayBlock.Block> withMissedHeads(KlayBlock.Block head, AtomicLong lastBlockNumber) {
+        long blockNumber = Numeric.decodeQuantity(head.getNumber()).longValueExact();
+        long last = lastBlockNumber.get();
+        if (last != UNSET && blockNumber <= last) {
+            // already emitted before the subscription was made again
+            return Flowable.empty();
+        }
+        lastBlockNumber.set(blockNumber);
+        if (last == UNSET || blockNumber == last + 1) {
+            return Flowable.just(head);
+        }
+        return Flowable.rangeLong(last + 1, blockNumber - last - 1)
+                .concatMap(missed -> klay.getBlockByNumber(
+                        DefaultBlockParameter.valueOf(BigInteger.valueOf(missed)), false).flowable())
+                .map(response -> {
+                    if (response.hasError()) {
+                        throw new PlatformErrorException(response.getError());
+                    }
+                    return response.getBlock();
+                })
+                .concatWith(Flowable.just(head));
+    }
+
+    private Flowable<KlayLogs.Log> getLogsSince(KlayFilter filter, long blockNumber) {
+        KlayLogFilter logFilter = new KlayLogFilter(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)), DefaultBlockParameterName.LATEST,
+                filter.getAddress(), null);
+        logFilter.getTopics().addAll(filter.getTopics());
+        return klay.getLogs(logFilter).flowable()
+                .subscribeOn(scheduler)
+                .flatMapIterable(response -> {
+                    if (response.hasError()) {
+                        throw new PlatformErrorException(response.getError());
+                    }
+                    List<KlayLogs.Log> logs = new ArrayList<>();
+                    for (KlayLogs.LogResult logResult : response.getLogs()) {
+                        logs.add((KlayLogs.Log) logResult.get());
+                    }
+                    return logs;
+                });
+    }
+
+    /**
+     * Records the position of {@code log} and tells whether it comes after every log emitted so far.
+     */
+    private static boolean advance(AtomicReference<long[]> lastPosition, KlayLogs.Log log) {
+        if (log.getBlockNumberRaw() == null || log.getLogIndexRaw() == null) {
+            return true;
+        }
+        long[] position = {log.getBlockNumber().longValueExact(), log.getLogIndex().longValueExact()};
+        long[] last = lastPosition.get();
+        if (last != null && (position[0] < last[0] || (position[0] == last[0] && position[1] <= last[1]))) {
+            return false;
+        }
+        lastPosition.set(position);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Flowable<T> share(String key, Supplier<Flowable<T>> source) {
+        return (Flowable<T>) sharedFlowables.computeIfAbsent(key, ignored -> source.get()
+                // once every subscriber has left, the next one gets a fresh filter
+                .doFinally(() -> sharedFlowables.remove(key))
+                .publish(prefetch)
+                .refCount());
+    }
+
+    private BigInteger getBlockNumber(DefaultBlockParameter blockParameter) throws IOException {
+        if (blockParameter instanceof DefaultBlockParameterNumber) {
+            return ((DefaultBlockParameterNumber) blockParameter).getBlockNumber();
+        }
+        if (blockParameter == DefaultBlockParameterName.EARLIEST) {
+            return BigInteger.ZERO;
+        }
+        return klay.getBlockNumber().send().getValue();
+    }
+}
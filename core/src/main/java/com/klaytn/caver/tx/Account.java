@@ -28,6 +28,8 @@ import com.klaytn.caver.tx.manager.TransactionManager;
 import com.klaytn.caver.tx.model.AccountUpdateTransaction;
 import org.web3j.protocol.core.RemoteCall;
 
+import java.util.concurrent.CompletableFuture;
+
 public class Account extends ManagedTransaction {
 
     private Account(Caver caver, TransactionManager transactionManager) {
@@ -38,6 +40,10 @@ public class Account extends ManagedTransaction {
         return new RemoteCall<>(() -> send(transaction));
     }
 
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendUpdateTransactionAsync(AccountUpdateTransaction transaction) {
+        return sendAsync(transaction);
+    }
+
     public static Account create(Caver caver, TransactionManager transactionManager) {
         return new Account(caver, transactionManager);
     }
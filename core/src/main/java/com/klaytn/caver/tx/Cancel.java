@@ -28,6 +28,8 @@ import com.klaytn.caver.tx.manager.TransactionManager;
 import com.klaytn.caver.tx.model.CancelTransaction;
 import org.web3j.protocol.core.RemoteCall;
 
+import java.util.concurrent.CompletableFuture;
+
 public class Cancel extends ManagedTransaction {
 
     private Cancel(Caver caver, TransactionManager transactionManager) {
@@ -38,6 +40,10 @@ public class Cancel extends ManagedTransaction {
         return new RemoteCall<>(() -> send(transaction));
     }
 
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendCancelTransactionAsync(CancelTransaction transaction) {
+        return sendAsync(transaction);
+    }
+
     public static Cancel create(Caver caver, TransactionManager transactionManager) {
         return new Cancel(caver, transactionManager);
     }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.tx;
+
+import com.klaytn.caver.methods.response.KlayLogs;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Int;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Uint;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.utils.Numeric;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoder of the logs of one {@link Event}, prepared once so that decoding a log needs neither hashing nor
+ * reflection.
+ *
+ * <p>The event signature hash (topic0) is computed when the decoder is created. For every parameter the
+ * decoder resolves its class and constructor up front and then reads the ABI words of the log directly.
+ * Addresses, booleans, integers, fixed size byte arrays, strings and dynamic byte arrays are supported;
+ * an event with an array parameter falls back to {@link FunctionReturnDecoder} for its data. Generated
+ * contract wrappers hold one decoder per event.
+ */
+public class EventDecoder {
+
+    private static final int WORD_LENGTH = 64;
+    private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+
+    private final Event event;
+    private final String topic0;
+    private final List<ParameterDecoder> indexedDecoders;
+    // null when the data is decoded by FunctionReturnDecoder
+    private final List<ParameterDecoder> nonIndexedDecoders;
+
+    public EventDecoder(Event event) {
+        this.event = event;
+        this.topic0 = EventEncoder.encode(event);
+
+        List<ParameterDecoder> indexedDecoders = new ArrayList<>();
+        for (TypeReference<Type> parameter : event.getIndexedParameters()) {
+            ParameterDecoder decoder = createDecoder(parameter);
+            // dynamic values are indexed by their hash
+            indexedDecoders.add(decoder == null || decoder.isDynamic() ? EventDecoder::decodeHash : decoder);
+        }
+        this.indexedDecoders = indexedDecoders;
+
+        List<ParameterDecoder> nonIndexedDecoders = new ArrayList<>();
+        for (TypeReference<Type> parameter : event.getNonIndexedParameters()) {
+            ParameterDecoder decoder = createDecoder(parameter);
+            if (decoder == null) {
+                nonIndexedDecoders = null;
+                break;
+            }
+            nonIndexedDecoders.add(decoder);
+        }
+        this.nonIndexedDecoders = nonIndexedDecoders;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * @return hash of the event signature, the first topic of its logs
+     */
+    public String getTopic0() {
+        return topic0;
+    }
+
+    /**
+     * @param log log to decode
+     * @return the values of the event, or null if {@code log} was not emitted by this event. Events with the
+     *         same signature but different indexed parameters, like the Transfer events of ERC-20 and ERC-721,
+     *         share topic0 and are told apart by the number of topics and the length of the data.
+     */
+    public EventValues decode(KlayLogs.Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.isEmpty() || !topics.get(0).equals(topic0)) {
+            return null;
+        }
+        return decodeMatching(log);
+    }
+
+    /**
+     * Decodes a log whose topic0 is already known to match.
+     *
+     * @return the values of the event, or null if the topics or the data of {@code log} do not fit its layout
+     */
+    EventValues decodeMatching(KlayLogs.Log log) {
+        List<String> topics = log.getTopics();
+        String data = log.getData() == null ? "" : Numeric.cleanHexPrefix(log.getData());
+        if (topics.size() != indexedDecoders.size() + 1 || !hasDataLength(data)) {
+            return null;
+        }
+
+        try {
+            List<Type> indexedValues = new ArrayList<>(indexedDecoders.size());
+            for (int i = 0; i < indexedDecoders.size(); i++) {
+                indexedValues.add(indexedDecoders.get(i).decode(Numeric.cleanHexPrefix(topics.get(i + 1)), 0));
+            }
+
+            List<Type> nonIndexedValues;
+            if (nonIndexedDecoders == null) {
+                nonIndexedValues = FunctionReturnDecoder.decode(data, event.getNonIndexedParameters());
+            } else {
+                nonIndexedValues = new ArrayList<>(nonIndexedDecoders.size());
+                for (int i = 0; i < nonIndexedDecoders.size(); i++) {
+                    nonIndexedValues.add(nonIndexedDecoders.get(i).decode(data, i * WORD_LENGTH));
+                }
+            }
+            return new EventValues(indexedValues, nonIndexedValues);
+        } catch (IndexOutOfBoundsException | ArithmeticException | NumberFormatException e) {
+            // a dynamic value pointing outside of the data
+            return null;
+        }
+    }
+
+    /**
+     * Static values take exactly one word each; dynamic values add their content after the head words.
+     */
+    private boolean hasDataLength(String data) {
+        int headLength = event.getNonIndexedParameters().size() * WORD_LENGTH;
+        if (data.length() % WORD_LENGTH != 0) {
+            return false;
+        }
+        if (nonIndexedDecoders == null) {
+            return data.length() >= headLength;
+        }
+        for (ParameterDecoder decoder : nonIndexedDecoders) {
+            if (decoder.isDynamic()) {
+                return data.length() >= headLength;
+            }
+        }
+        return data.length() == headLength;
+    }
+
+    /**
+     * @return decoder of {@code parameter}, or null if its type is not supported
+     */
+    private static ParameterDecoder createDecoder(TypeReference<Type> parameter) {
+        Class<?> type;
+        try {
+            type = parameter.getClassType();
+        } catch (ClassNotFoundException | RuntimeException e) {
+            return null;
+        }
+
+        if (type == Address.class) {
+            return (data, offset) -> new Address(word(data, offset));
+        }
+        if (type == Bool.class) {
+            return (data, offset) -> new Bool(word(data, offset).equals(BigInteger.ONE));
+        }
+        if (type == Utf8String.class) {
+            return dynamic((data, offset) ->
+                    new Utf8String(new String(dynamicBytes(data, offset), StandardCharsets.UTF_8)));
+        }
+        if (type == DynamicBytes.class) {
+            return dynamic((data, offset) -> new DynamicBytes(dynamicBytes(data, offset)));
+        }
+        if (NumericType.class.isAssignableFrom(type)) {
+            MethodHandle constructor = findConstructor(type, BigInteger.class);
+            if (constructor == null) {
+                return null;
+            }
+            boolean isSigned = Int.class.isAssignableFrom(type);
+            if (!isSigned && !Uint.class.isAssignableFrom(type)) {
+                return null;
+            }
+            return (data, offset) -> {
+                BigInteger value = word(data, offset);
+                if (isSigned && value.testBit(255)) {
+                    value = value.subtract(TWO_256);
+                }
+                return construct(constructor, value);
+            };
+        }
+        if (Bytes.class.isAssignableFrom(type) && type.getSimpleName().matches("Bytes\\d+")) {
+            MethodHandle constructor = findConstructor(type, byte[].class);
+            if (constructor == null) {
+                return null;
+            }
+            int length = Integer.parseInt(type.getSimpleName().substring("Bytes".length()));
+            return (data, offset) -> {
+                byte[] value = new byte[length];
+                System.arraycopy(Numeric.hexStringToByteArray(data.substring(offset, offset + WORD_LENGTH)), 0,
+                        value, 0, length);
+                return construct(constructor, value);
+            };
+        }
+        return null;
+    }
+
+    private static MethodHandle findConstructor(Class<?> type, Class<?> parameterType) {
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class, parameterType));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Type construct(MethodHandle constructor, Object value) {
+        try {
+            return (Type) constructor.invoke(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Type decodeHash(String topic, int offset) {
+        return new Bytes32(Numeric.hexStringToByteArray(topic.substring(offset, offset + WORD_LENGTH)));
+    }
+
+    private static BigInteger word(String data, int offset) {
+        return new BigInteger(data.substring(offset, offset + WORD_LENGTH), 16);
+    }
+
+    /**
+     * Reads a dynamic value, whose head word holds the byte offset of its length word.
+     */
+    private static byte[] dynamicBytes(String data, int offset) {
+        int start = word(data, offset).intValueExact() * 2;
+        int length = word(data, start).intValueExact();
+        int from = start + WORD_LENGTH;
+        return Numeric.hexStringToByteArray(data.substring(from, from + length * 2));
+    }
+
+    private static ParameterDecoder dynamic(ParameterDecoder decoder) {
+        return new ParameterDecoder() {
+            @Override
+            public Type decode(String data, int offset) {
+                return decoder.decode(data, offset);
+            }
+
+            @Override
+            public boolean isDynamic() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Decodes the value whose head word starts at {@code offset} hex characters into {@code data}.
+     */
+    private interface ParameterDecoder {
+
+        Type decode(String data, int offset);
+
+        default boolean isDynamic() {
+            return false;
+        }
+    }
+}
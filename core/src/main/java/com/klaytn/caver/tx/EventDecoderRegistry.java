@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.tx;
+
+import com.klaytn.caver.methods.response.KlayLogs;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.datatypes.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes logs of many kinds of events, looking up the {@link EventDecoder} of each log by its topic0. Events
+ * sharing a signature but not their indexed parameters, such as the Transfer events of ERC-20 and ERC-721,
+ * can be registered together; each log is decoded by the one matching its topics and data.
+ *
+ * <pre>
+ * EventDecoderRegistry registry = new EventDecoderRegistry()
+ *         .register(MyToken.TRANSFER_EVENT)
+ *         .register(MyToken.APPROVAL_EVENT);
+ * for (KlayLogs.Log log : logs) {
+ *     EventDecoderRegistry.DecodedEvent decoded = registry.decode(log);
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>Registering is thread safe and decoding never locks, so one registry can be shared by all the
+ * threads decoding logs.
+ */
+public class EventDecoderRegistry {
+
+    // the lists are never modified once published
+    private final Map<String, List<EventDecoder>> decodersByTopic0 = new ConcurrentHashMap<>();
+
+    public EventDecoderRegistry register(Event event) {
+        return register(new EventDecoder(event));
+    }
+
+    /**
+     * Registers {@code decoder}, replacing the decoder of an event with the same signature and the same
+     * number of indexed parameters: their logs could not be told apart.
+     */
+    public EventDecoderRegistry register(EventDecoder decoder) {
+        int indexedCount = decoder.getEvent().getIndexedParameters().size();
+        decodersByTopic0.compute(decoder.getTopic0(), (topic0, registered) -> {
+            List<EventDecoder> decoders = new ArrayList<>();
+            if (registered != null) {
+                for (EventDecoder other : registered) {
+                    if (other.getEvent().getIndexedParameters().size() != indexedCount) {
+                        decoders.add(other);
+                    }
+                }
+            }
+            decoders.add(decoder);
+            return Collections.unmodifiableList(decoders);
+        });
+        return this;
+    }
+
+    /**
+     * @param topic0 lower case hash of an event signature, as found in logs
+     * @return the decoder registered last for {@code topic0}, or null if none is registered
+     */
+    public EventDecoder getDecoder(String topic0) {
+        List<EventDecoder> decoders = decodersByTopic0.get(topic0);
+        return decoders == null ? null : decoders.get(decoders.size() - 1);
+    }
+
+    /**
+     * @param log log to decode
+     * @return the event and values of {@code log}, or null if no registered decoder matches it
+     */
+    public DecodedEvent decode(KlayLogs.Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.isEmpty()) {
+            return null;
+        }
+        List<EventDecoder> decoders = decodersByTopic0.get(topics.get(0));
+        if (decoders == null) {
+            return null;
+        }
+        for (EventDecoder decoder : decoders) {
+            EventValues eventValues = decoder.decodeMatching(log);
+            if (eventValues != null) {
+                return new DecodedEvent(decoder.getEvent(), eventValues, log);
+            }
+        }
+        return null;
+    }
+
+    public static class DecodedEvent {
+        private final Event event;
+        private final EventValues eventValues;
+        private final KlayLogs.Log log;
+
+        DecodedEvent(Event event, EventValues eventValues, KlayLogs.Log log) {
+            this.event = event;
+            this.eventValues = eventValues;
+            this.log = log;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public EventValues getEventValues() {
+            return eventValues;
+        }
+
+        public KlayLogs.Log getLog() {
+            return log;
+        }
+    }
+}
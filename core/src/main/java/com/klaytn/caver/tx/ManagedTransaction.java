@@ -27,6 +27,7 @@ import com.klaytn.caver.utils.Convert;
 import com.klaytn.caver.tx.model.TransactionTransformer;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Generic transaction manager.
@@ -49,5 +50,11 @@ public abstract class ManagedTransaction {
 
         return transactionManager.executeTransaction(transactionTransformer);
     }
+
+    protected CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendAsync(
+            TransactionTransformer transactionTransformer) {
+
+        return transactionManager.executeTransactionAsync(transactionTransformer);
+    }
 }
 
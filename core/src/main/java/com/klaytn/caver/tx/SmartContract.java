@@ -50,6 +50,7 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 
@@ -132,6 +133,14 @@ public class SmartContract extends ManagedTransaction {
         return new RemoteCall<>(() -> send(transaction));
     }
 
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendDeployTransactionAsync(SmartContractDeployTransaction transaction) {
+        return sendAsync(transaction);
+    }
+
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendExecutionTransactionAsync(SmartContractExecutionTransaction transaction) {
+        return sendAsync(transaction);
+    }
+
     /**
      * @deprecated  <p>In caver-java 1.0.0, we provided static methods to send transactions for `ValueTransfer`, `Account`, `Cancel`, and `SmartContract` classes. The static methods will be removed.</p>
      *              <p>This deprecated method can be used only for Baobab Testnet.</p>
@@ -368,6 +377,25 @@ public class SmartContract extends ManagedTransaction {
             String data, BigInteger pebValue, String funcName)
             throws TransactionException {
 
+        KlayTransactionReceipt.TransactionReceipt receipt = send(createTransactionTransformer(data, pebValue, funcName));
+        return receipt;
+    }
+
+    CompletableFuture<KlayTransactionReceipt.TransactionReceipt> executeTransactionAsync(
+            String data, BigInteger pebValue, String funcName) {
+        return sendAsync(createTransactionTransformer(data, pebValue, funcName));
+    }
+
+    protected CompletableFuture<KlayTransactionReceipt.TransactionReceipt> executeTransactionAsync(Function function) {
+        return executeTransactionAsync(function, BigInteger.ZERO);
+    }
+
+    protected CompletableFuture<KlayTransactionReceipt.TransactionReceipt> executeTransactionAsync(
+            Function function, BigInteger weiValue) {
+        return executeTransactionAsync(FunctionEncoder.encode(function), weiValue, function.getName());
+    }
+
+    private TransactionTransformer createTransactionTransformer(String data, BigInteger pebValue, String funcName) {
         TransactionTransformer transactionTransformer;
         if (FUNC_DEPLOY.equals(funcName)) {
             transactionTransformer = SmartContractDeployTransaction.create(
@@ -386,9 +414,7 @@ public class SmartContract extends ManagedTransaction {
                     gasProvider.getGasLimit(funcName)
             );
         }
-
-        KlayTransactionReceipt.TransactionReceipt receipt = send(transactionTransformer);
-        return receipt;
+        return transactionTransformer;
     }
 
     protected <T extends Type> RemoteCall<T> executeRemoteCallSingleValueReturn(Function function) {
@@ -540,6 +566,14 @@ public class SmartContract extends ManagedTransaction {
         return new EventValues(indexedValues, nonIndexedValues);
     }
 
+    /**
+     * Same as {@link #staticExtractEventParameters(Event, KlayLogs.Log)}, with the event signature hash and
+     * parameter types prepared once in {@code eventDecoder}.
+     */
+    public static EventValues staticExtractEventParameters(EventDecoder eventDecoder, KlayLogs.Log log) {
+        return eventDecoder.decode(log);
+    }
+
     protected EventValues extractEventParameters(Event event, KlayLogs.Log log) {
         return staticExtractEventParameters(event, log);
     }
@@ -565,6 +599,20 @@ public class SmartContract extends ManagedTransaction {
                 .collect(Collectors.toList());
     }
 
+    protected SmartContract.EventValuesWithLog extractEventParametersWithLog(
+            EventDecoder eventDecoder, KlayLogs.Log log) {
+        final EventValues eventValues = eventDecoder.decode(log);
+        return (eventValues == null) ? null : new SmartContract.EventValuesWithLog(eventValues, log);
+    }
+
+    protected List<SmartContract.EventValuesWithLog> extractEventParametersWithLog(
+            EventDecoder eventDecoder, KlayTransactionReceipt.TransactionReceipt transactionReceipt) {
+        return transactionReceipt.getLogs().stream()
+                .map(log -> extractEventParametersWithLog(eventDecoder, log))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Subclasses should implement this method to return pre-existing addresses for deployed
      * contracts.
@@ -32,6 +32,7 @@ import org.web3j.utils.Numeric;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 public class ValueTransfer extends ManagedTransaction {
 
@@ -45,6 +46,13 @@ public class ValueTransfer extends ManagedTransaction {
             String fromAddress, String toAddress, BigDecimal value, Convert.Unit unit,
             BigInteger gasLimit) {
 
+        return send(createTransaction(fromAddress, toAddress, value, unit, gasLimit));
+    }
+
+    private ValueTransferTransaction createTransaction(
+            String fromAddress, String toAddress, BigDecimal value, Convert.Unit unit,
+            BigInteger gasLimit) {
+
         BigDecimal klayValue = Convert.toPeb(value, unit);
         if (!Numeric.isIntegerValue(klayValue)) {
             throw new UnsupportedOperationException(
@@ -52,10 +60,8 @@ public class ValueTransfer extends ManagedTransaction {
                             + " = " + klayValue + " Peb");
         }
 
-        ValueTransferTransaction transaction = ValueTransferTransaction.create(
+        return ValueTransferTransaction.create(
                 fromAddress, toAddress, klayValue.toBigIntegerExact(), gasLimit);
-
-        return send(transaction);
     }
 
     public RemoteCall<KlayTransactionReceipt.TransactionReceipt> sendFunds(
@@ -67,6 +73,15 @@ public class ValueTransfer extends ManagedTransaction {
         return new RemoteCall<>(() -> send(transaction));
     }
 
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendFundsAsync(
+            String fromAddress, String toAddress, BigDecimal value, Convert.Unit unit, BigInteger gasLimit) {
+        return sendAsync(createTransaction(fromAddress, toAddress, value, unit, gasLimit));
+    }
+
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendFundsAsync(ValueTransferTransaction transaction) {
+        return sendAsync(transaction);
+    }
+
     public static ValueTransfer create(Caver caver, TransactionManager transactionManager) {
         return new ValueTransfer(caver, transactionManager);
     }
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.tx.manager;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.methods.response.BlockReceipts;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.methods.response.Quantity;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.schedulers.Schedulers;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receipt processor driven by new blocks instead of per-transaction polling.
+ *
+ * <p>Every tick it reads the block height and, for each block it has not seen yet, checks the block's
+ * transaction hashes against the set of pending transactions. Receipts are fetched once per matching
+ * block through klay_getBlockReceipts, so the RPC cost grows with the number of blocks rather than the
+ * number of pending transactions. Transactions that are still pending after {@code fallbackBlocks}
+ * blocks are looked up directly with klay_getTransactionReceipt, and fail after {@code blockAttempts}
+ * blocks.
+ *
+ * <p>Instead of a fixed polling frequency, the ticks can follow a stream of new blocks, such as
+ * {@code caver.klay().newHeadsNotifications()} over a WebSocket connection, so that receipts are picked up
+ * as soon as their block is announced.
+ */
+public class BlockTransactionReceiptProcessor extends TransactionReceiptProcessor {
+
+    public static final long DEFAULT_POLLING_FREQUENCY = 1000;
+    public static final int DEFAULT_FALLBACK_BLOCKS = 5;
+    public static final int DEFAULT_BLOCK_ATTEMPTS = 15;
+
+    /**
+     * Blocks below the current height scanned when tracking (re)starts, covering transactions that
+     * were mined between being sent and being registered here.
+     */
+    private static final int CATCH_UP_BLOCKS = 2;
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final Caver caver;
+    private final int fallbackBlocks;
+    private final int blockAttempts;
+    private final ConcurrentMap<String, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
+    private final Disposable trigger;
+    // set once the processor stops for good; later registrations fail right away with it
+    private volatile Throwable terminalCause;
+
+    // only accessed from the polling task, which never runs concurrently with itself
+    private long lastProcessedBlock = UNSET;
+    private int failedTicks;
+
+    public BlockTransactionReceiptProcessor(Caver caver) {
+        this(caver, DEFAULT_POLLING_FREQUENCY, DEFAULT_FALLBACK_BLOCKS, DEFAULT_BLOCK_ATTEMPTS, null);
+    }
+
+    /**
+     * @param caver                    caver instance used to query blocks and receipts
+     * @param pollingFrequency         interval between two block height checks in milliseconds
+     * @param fallbackBlocks           blocks to wait before looking a transaction up directly
+     * @param blockAttempts            blocks to wait before failing a transaction
+     * @param scheduledExecutorService scheduler running the polling task, or null to use a shared
+     *                                 default scheduler
+     */
+    public BlockTransactionReceiptProcessor(
+            Caver caver, long pollingFrequency, int fallbackBlocks, int blockAttempts,
+            ScheduledExecutorService scheduledExecutorService) {
+        super(caver);
+        this.caver = caver;
+        this.fallbackBlocks = fallbackBlocks;
+        this.blockAttempts = blockAttempts;
+
+        ScheduledExecutorService scheduler = scheduledExecutorService != null
+                ? scheduledExecutorService : defaultScheduler();
+        ScheduledFuture<?> scheduledFuture = scheduler.scheduleAtFixedRate(
+                this::processNewBlocks, pollingFrequency, pollingFrequency, TimeUnit.MILLISECONDS);
+        this.trigger = Disposables.fromFuture(scheduledFuture);
+    }
+
+    /**
+     * @param caver                    caver instance used to query blocks and receipts
+     * @param newBlocks                stream emitting when a new block is available, e.g.
+     *                                 {@code caver.klay().newHeadsNotifications()}
+     * @param fallbackBlocks           blocks to wait before looking a transaction up directly
+     * @param blockAttempts            blocks to wait before failing a transaction
+     * @param scheduledExecutorService scheduler processing the blocks, or null to use a shared default
+     *                                 scheduler
+     */
+    public BlockTransactionReceiptProcessor(
+            Caver caver, Flowable<?> newBlocks, int fallbackBlocks, int blockAttempts,
+            ScheduledExecutorService scheduledExecutorService) {
+        super(caver);
+        this.caver = caver;
+        this.fallbackBlocks = fallbackBlocks;
+        this.blockAttempts = blockAttempts;
+
+        ScheduledExecutorService scheduler = scheduledExecutorService != null
+                ? scheduledExecutorService : defaultScheduler();
+        // blocks announced while a tick runs collapse into one more tick, which catches up on all of them
+        this.trigger = newBlocks
+                .onBackpressureLatest()
+                .observeOn(Schedulers.from(scheduler), false, 1)
+                .subscribe(ignored -> processNewBlocks(), this::terminate,
+                        () -> terminate(new TransactionException("Stream of new blocks completed")));
+    }
+
+    @Override
+    public KlayTransactionReceipt.TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        return await(waitForTransactionReceiptAsync(transactionHash));
+    }
+
+    @Override
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        Throwable cause = terminalCause;
+        if (cause == null) {
+            PendingTransaction pendingTransaction =
+                    pendingTransactions.computeIfAbsent(normalize(transactionHash), PendingTransaction::new);
+            cause = terminalCause;
+            if (cause == null) {
+                return pendingTransaction.future;
+            }
+            // terminated while registering: the final failAll may have missed this transaction
+            pendingTransactions.remove(pendingTransaction.transactionHash, pendingTransaction);
+            pendingTransaction.future.completeExceptionally(cause);
+            return pendingTransaction.future;
+        }
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> result = new CompletableFuture<>();
+        result.completeExceptionally(cause);
+        return result;
+    }
+
+    /**
+     * Drops a pending hash and cancels the future returned for it.
+     */
+    @Override
+    public void cancelTransactionReceipt(String transactionHash) {
+        PendingTransaction pendingTransaction = pendingTransactions.remove(normalize(transactionHash));
+        if (pendingTransaction != null) {
+            pendingTransaction.future.cancel(false);
+        }
+    }
+
+    /**
+     * Returns the number of transactions waiting for a receipt.
+     *
+     * @return number of pending transactions
+     */
+    public int getPendingTransactionCount() {
+        return pendingTransactions.size();
+    }
+
+    /**
+     * Stops processing new blocks. Transactions still pending are failed, and so are the ones registered
+     * afterwards.
+     */
+    public void shutdown() {
+        terminate(new TransactionException("Receipt processor was shut down"));
+    }
+
+    /**
+     * Stops the processor for good, on shutdown or when the stream of new blocks terminates.
+     */
+    private void terminate(Throwable cause) {
+        synchronized (this) {
+            if (terminalCause == null) {
+                terminalCause = cause;
+            }
+        }
+        // null when the stream of new blocks terminates before the constructor returns, which needs no disposal
+        if (trigger != null) {
+            trigger.dispose();
+        }
+        failAll(terminalCause);
+    }
+
+    private void processNewBlocks() {
+        if (pendingTransactions.isEmpty()) {
+            lastProcessedBlock = UNSET;
+            return;
+        }
+
+        try {
+            long head = getBlockNumber();
+            if (lastProcessedBlock == UNSET) {
+                lastProcessedBlock = Math.max(head - CATCH_UP_BLOCKS, 0) - 1;
+            }
+
+            while (lastProcessedBlock < head && !pendingTransactions.isEmpty()) {
+                if (!processBlock(lastProcessedBlock + 1)) {
+                    break;
+                }
+                lastProcessedBlock++;
+            }
+
+            processLongPendingTransactions(head);
+            failedTicks = 0;
+        } catch (IOException | TransactionException | RuntimeException e) {
+            // transient node errors are retried on the next tick, persistent ones fail the pending set
+            if (++failedTicks >= blockAttempts) {
+                failedTicks = 0;
+                failAll(e);
+            }
+        }
+    }
+
+    private boolean processBlock(long blockNumber) throws IOException, TransactionException {
+        KlayBlock response = caver.klay()
+                .getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)), false)
+                .send();
+        if (response.hasError()) {
+            throw new TransactionException("Error processing request: " + response.getError().getMessage());
+        }
+
+        KlayBlock.Block block = response.getBlock();
+        if (block == null) {
+            return false;
+        }
+        if (!containsPendingTransaction(block.getTransactions())) {
+            return true;
+        }
+
+        BlockReceipts blockReceipts = caver.klay().getBlockReceipts(block.getHash()).send();
+        if (blockReceipts.hasError()) {
+            throw new TransactionException("Error processing request: " + blockReceipts.getError().getMessage());
+        }
+        for (KlayTransactionReceipt.TransactionReceipt receipt : blockReceipts.getResult()) {
+            PendingTransaction pendingTransaction = pendingTransactions.remove(normalize(receipt.getTransactionHash()));
+            if (pendingTransaction != null) {
+                pendingTransaction.future.complete(receipt);
+            }
+        }
+        return true;
+    }
+
+    private boolean containsPendingTransaction(List<KlayTransaction.Transaction> transactions) {
+        if (transactions == null) {
+            return false;
+        }
+        for (KlayTransaction.Transaction transaction : transactions) {
+            if (transaction.getHash() != null && pendingTransactions.containsKey(normalize(transaction.getHash()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void processLongPendingTransactions(long head) throws IOException, TransactionException {
+        for (PendingTransaction pendingTransaction : pendingTransactions.values()) {
+            if (pendingTransaction.startBlock == UNSET) {
+                pendingTransaction.startBlock = head;
+            }
+
+            long waitedBlocks = head - pendingTransaction.startBlock;
+            if (waitedBlocks < fallbackBlocks) {
+                continue;
+            }
+
+            Optional<KlayTransactionReceipt.TransactionReceipt> receipt =
+                    sendTransactionReceiptRequest(pendingTransaction.transactionHash);
+            if (receipt.isPresent()) {
+                pendingTransactions.remove(pendingTransaction.transactionHash, pendingTransaction);
+                pendingTransaction.future.complete(receipt.get());
+            } else if (waitedBlocks >= blockAttempts) {
+                pendingTransactions.remove(pendingTransaction.transactionHash, pendingTransaction);
+                pendingTransaction.future.completeExceptionally(new TransactionException(
+                        "Transaction receipt was not generated after " + waitedBlocks
+                                + " blocks for transaction: " + pendingTransaction.transactionHash,
+                        pendingTransaction.transactionHash));
+            }
+        }
+    }
+
+    private long getBlockNumber() throws IOException, TransactionException {
+        Quantity blockNumber = caver.klay().getBlockNumber().send();
+        if (blockNumber.hasError()) {
+            throw new TransactionException("Error processing request: " + blockNumber.getError().getMessage());
+        }
+        return blockNumber.getValue().longValue();
+    }
+
+    private void failAll(Throwable e) {
+        Iterator<Map.Entry<String, PendingTransaction>> iterator = pendingTransactions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            PendingTransaction pendingTransaction = iterator.next().getValue();
+            iterator.remove();
+            pendingTransaction.future.completeExceptionally(e);
+        }
+    }
+
+    private static String normalize(String transactionHash) {
+        return transactionHash.toLowerCase(Locale.ROOT);
+    }
+
+    private static class PendingTransaction {
+        private final String transactionHash;
+        private final CompletableFuture<KlayTransactionReceipt.TransactionReceipt> future = new CompletableFuture<>();
+        private long startBlock = UNSET;
+
+        PendingTransaction(String transactionHash) {
+            this.transactionHash = transactionHash;
+        }
+    }
+}
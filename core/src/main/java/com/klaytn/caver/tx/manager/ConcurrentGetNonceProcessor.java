@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.tx.manager;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.crpyto.KlayCredentials;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Nonce allocator that keeps one counter per sender address.
+ *
+ * <p>Each sender is seeded lazily from klay_getTransactionCount(PENDING) the first time it is used.
+ * Senders are locked independently, so allocating for one address never waits on another.
+ * Nonces returned through {@link #reclaimNonce(String, BigInteger)} are handed out again before
+ * new ones, and {@link #resetNonce(String)} drops the sender's state so the next allocation is
+ * re-seeded from the node.
+ */
+public class ConcurrentGetNonceProcessor extends GetNonceProcessor {
+
+    private final ConcurrentMap<String, AccountNonce> accountNonces = new ConcurrentHashMap<>();
+
+    public ConcurrentGetNonceProcessor(Caver caver) {
+        super(caver);
+    }
+
+    @Override
+    public BigInteger getNonce(KlayCredentials credentials) throws IOException {
+        String address = normalize(credentials.getAddress());
+        while (true) {
+            AccountNonce accountNonce = accountNonces.computeIfAbsent(address, key -> new AccountNonce());
+            synchronized (accountNonce) {
+                if (accountNonces.get(address) != accountNonce) {
+                    // the sender was reset while we were waiting for the lock
+                    continue;
+                }
+                if (accountNonce.next == null) {
+                    accountNonce.next = super.getNonce(credentials);
+                }
+                return accountNonce.allocate();
+            }
+        }
+    }
+
+    @Override
+    public void reclaimNonce(String address, BigInteger nonce) {
+        AccountNonce accountNonce = accountNonces.get(normalize(address));
+        if (accountNonce == null || nonce == null) {
+            return;
+        }
+        synchronized (accountNonce) {
+            accountNonce.reclaim(nonce);
+        }
+    }
+
+    @Override
+    public void resetNonce(String address) {
+        accountNonces.remove(normalize(address));
+    }
+
+    /**
+     * Returns true if the node error means the sender's nonce is out of sync with the node,
+     * e.g. "nonce too low".
+     *
+     * @param message error message returned by the node
+     * @return true if the sender should be re-seeded
+     */
+    public static boolean isNonceError(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lowerCase = message.toLowerCase(Locale.ROOT);
+        return lowerCase.contains("nonce too low")
+                || lowerCase.contains("same nonce");
+    }
+
+    /**
+     * Returns true if the node error means it already holds the very same transaction, as after a resend.
+     * The transaction was accepted, so its nonce stays used and its receipt will arrive.
+     *
+     * @param message error message returned by the node
+     * @return true if the transaction is known to the node
+     */
+    public static boolean isKnownTransaction(String message) {
+        return message != null && message.toLowerCase(Locale.ROOT).contains("known transaction");
+    }
+
+    private static String normalize(String address) {
+        return address.toLowerCase(Locale.ROOT);
+    }
+
+    private static class AccountNonce {
+        private BigInteger next;
+        private final TreeSet<BigInteger> reclaimed = new TreeSet<>();
+
+        BigInteger allocate() {
+            if (!reclaimed.isEmpty()) {
+                return reclaimed.pollFirst();
+            }
+            BigInteger nonce = next;
+            next = next.add(BigInteger.ONE);
+            return nonce;
+        }
+
+        void reclaim(BigInteger nonce) {
+            if (next == null || nonce.compareTo(next) >= 0) {
+                return;
+            }
+            if (nonce.add(BigInteger.ONE).equals(next)) {
+                next = nonce;
+                // fold reclaimed nonces that now sit right below the counter back into it
+                while (!reclaimed.isEmpty() && reclaimed.last().add(BigInteger.ONE).equals(next)) {
+                    next = reclaimed.pollLast();
+                }
+            } else {
+                reclaimed.add(nonce);
+            }
+        }
+    }
+}
@@ -17,26 +17,16 @@
 package com.klaytn.caver.tx.manager;
 
 import com.klaytn.caver.Caver;
-import com.klaytn.caver.crpyto.KlayCredentials;
 
-import java.io.IOException;
-import java.math.BigInteger;
-
-public class FastGetNonceProcessor extends GetNonceProcessor {
-
-    private volatile BigInteger nonce = BigInteger.valueOf(-1);
+/**
+ * @deprecated  <p>This processor used to share a single nonce counter across every sender.
+ *              It now keeps a counter per sender address.</p>
+ *              Use {@link ConcurrentGetNonceProcessor} instead.
+ */
+@Deprecated
+public class FastGetNonceProcessor extends ConcurrentGetNonceProcessor {
 
     public FastGetNonceProcessor(Caver caver) {
         super(caver);
     }
-
-    @Override
-    public synchronized BigInteger getNonce(KlayCredentials credentials) throws IOException {
-        if (nonce.signum() == -1) {
-            nonce = super.getNonce(credentials);
-        } else {
-            nonce = nonce.add(BigInteger.ONE);
-        }
-        return nonce;
-    }
 }
@@ -37,4 +37,23 @@ public class GetNonceProcessor {
 
         return quantity.getValue();
     }
+
+    /**
+     * Called when a nonce handed out by {@link #getNonce(KlayCredentials)} was not consumed because
+     * signing failed or the node rejected the transaction. The default processor keeps no state.
+     *
+     * @param address sender address
+     * @param nonce   nonce that was not used
+     */
+    public void reclaimNonce(String address, BigInteger nonce) {
+    }
+
+    /**
+     * Called when the local view of a sender's nonce can no longer be trusted, e.g. the node reported
+     * "nonce too low" or the send outcome is unknown. The default processor keeps no state.
+     *
+     * @param address sender address
+     */
+    public void resetNonce(String address) {
+    }
 }
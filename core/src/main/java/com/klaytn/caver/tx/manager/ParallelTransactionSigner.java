@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.tx.manager;
+
+import com.klaytn.caver.tx.exception.UnsupportedTxTypeException;
+import com.klaytn.caver.tx.model.KlayRawTransaction;
+import com.klaytn.caver.tx.model.TransactionTransformer;
+import com.klaytn.caver.wallet.exception.CredentialNotFoundException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signs batches of transactions on a bounded pool of worker threads.
+ *
+ * <p>Nonces are allocated on the calling thread, in the order the transformers are given, through the
+ * {@link TransactionManager}'s {@link GetNonceProcessor}. Only the ECDSA work is spread across the
+ * workers, so the nonce order of every sender is preserved no matter which worker finishes first.
+ */
+public class ParallelTransactionSigner {
+
+    private final TransactionManager transactionManager;
+    private final ExecutorService executorService;
+    private final List<WorkerMetrics> workerMetrics = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<WorkerMetrics> currentWorkerMetrics = new ThreadLocal<>();
+
+    public ParallelTransactionSigner(TransactionManager transactionManager) {
+        this(transactionManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param transactionManager transaction manager holding the credentials and nonce processor
+     * @param workers            number of signing threads
+     */
+    public ParallelTransactionSigner(TransactionManager transactionManager, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive: " + workers);
+        }
+        this.transactionManager = transactionManager;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "caver-signer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Signs {@code transactionTransformers} and waits for the result.
+     *
+     * @param transactionTransformers transactions to sign
+     * @param isFeeDelegated          true to build the fee delegated variant of each transaction
+     * @return signed transactions, ordered by nonce within each sender
+     * @throws IOException                if a nonce could not be fetched or signing failed
+     * @throws CredentialNotFoundException if a sender is not in the wallet
+     */
+    public List<KlayRawTransaction> sign(
+            List<? extends TransactionTransformer> transactionTransformers, boolean isFeeDelegated)
+            throws IOException, CredentialNotFoundException {
+        try {
+            return signAsync(transactionTransformers, isFeeDelegated).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = TransactionReceiptProcessor.unwrap(e.getCause());
+            if (cause instanceof CredentialNotFoundException) {
+                throw (CredentialNotFoundException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Allocates nonces for {@code transactionTransformers} and signs them on the worker pool.
+     * If any transaction fails, the nonces allocated for the batch are reclaimed and the future
+     * completes exceptionally.
+     *
+     * @param transactionTransformers transactions to sign
+     * @param isFeeDelegated          true to build the fee delegated variant of each transaction
+     * @return future completed with the signed transactions, ordered by nonce within each sender
+     */
+    public CompletableFuture<List<KlayRawTransaction>> signAsync(
+            List<? extends TransactionTransformer> transactionTransformers, boolean isFeeDelegated) {
+        List<TransactionTransformer> allocated = new ArrayList<>();
+        Map<String, BigInteger> lastNonces = new HashMap<>();
+        try {
+            for (TransactionTransformer transactionTransformer : transactionTransformers) {
+                if (transactionTransformer.getNonce() == null) {
+                    String sender = transactionTransformer.getFrom().toLowerCase(Locale.ROOT);
+                    BigInteger nonce = transactionManager.allocateNonce(transactionTransformer.getFrom());
+                    BigInteger lastNonce = lastNonces.get(sender);
+                    if (lastNonce != null && nonce.compareTo(lastNonce) <= 0) {
+                        // a stateless processor returns the node's pending count for every call
+                        nonce = lastNonce.add(BigInteger.ONE);
+                    }
+                    lastNonces.put(sender, nonce);
+                    transactionTransformer.nonce(nonce);
+                    allocated.add(transactionTransformer);
+                }
+            }
+        } catch (CredentialNotFoundException | IOException e) {
+            reclaim(allocated);
+            CompletableFuture<List<KlayRawTransaction>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        List<CompletableFuture<KlayRawTransaction>> futures = new ArrayList<>(transactionTransformers.size());
+        for (TransactionTransformer transactionTransformer : transactionTransformers) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> signOnWorker(transactionTransformer, isFeeDelegated), executorService));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((ignored, throwable) -> {
+                    if (throwable != null) {
+                        reclaim(allocated);
+                        throw new CompletionException(TransactionReceiptProcessor.unwrap(throwable));
+                    }
+                    return orderByNonce(transactionTransformers, futures);
+                });
+    }
+
+    /**
+     * @return signing metrics of every worker thread started so far
+     */
+    public List<WorkerMetrics> getWorkerMetrics() {
+        return Collections.unmodifiableList(workerMetrics);
+    }
+
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    private KlayRawTransaction signOnWorker(TransactionTransformer transactionTransformer, boolean isFeeDelegated) {
+        WorkerMetrics metrics = currentWorkerMetrics.get();
+        if (metrics == null) {
+            metrics = new WorkerMetrics(Thread.currentThread().getName());
+            currentWorkerMetrics.set(metrics);
+            workerMetrics.add(metrics);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return transactionManager.signTransaction(transactionTransformer, isFeeDelegated);
+        } catch (UnsupportedTxTypeException | CredentialNotFoundException | IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            metrics.record(System.nanoTime() - start);
+        }
+    }
+
+    private void reclaim(List<TransactionTransformer> allocated) {
+        // give nonces back from the highest down so that the allocator can rewind its counter
+        for (int i = allocated.size() - 1; i >= 0; i--) {
+            TransactionTransformer transactionTransformer = allocated.get(i);
+            transactionManager.reclaimNonce(transactionTransformer.getFrom(), transactionTransformer.getNonce());
+            transactionTransformer.nonce(null);
+        }
+    }
+
+    private static List<KlayRawTransaction> orderByNonce(
+            List<? extends TransactionTransformer> transactionTransformers,
+            List<CompletableFuture<KlayRawTransaction>> futures) {
+        Map<String, List<Integer>> positionsBySender = new LinkedHashMap<>();
+        for (int i = 0; i < transactionTransformers.size(); i++) {
+            String sender = transactionTransformers.get(i).getFrom().toLowerCase(Locale.ROOT);
+            positionsBySender.computeIfAbsent(sender, key -> new ArrayList<>()).add(i);
+        }
+
+        // keep the interleaving of senders, but within a sender hand the slots out by ascending nonce
+        KlayRawTransaction[] ordered = new KlayRawTransaction[futures.size()];
+        for (List<Integer> positions : positionsBySender.values()) {
+            List<Integer> byNonce = new ArrayList<>(positions);
+            byNonce.sort(Comparator.comparing(i -> (BigInteger) transactionTransformers.get(i).getNonce()));
+            for (int i = 0; i < positions.size(); i++) {
+                ordered[positions.get(i)] = futures.get(byNonce.get(i)).join();
+            }
+        }
+
+        List<KlayRawTransaction> result = new ArrayList<>(ordered.length);
+        Collections.addAll(result, ordered);
+        return result;
+    }
+
+    /**
+     * Signing throughput of one worker thread.
+     */
+    public static class WorkerMetrics {
+        private final String workerName;
+        private final AtomicLong signedCount = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        WorkerMetrics(String workerName) {
+            this.workerName = workerName;
+        }
+
+        void record(long elapsedNanos) {
+            signedCount.incrementAndGet();
+            busyNanos.addAndGet(elapsedNanos);
+        }
+
+        public String getWorkerName() {
+            return workerName;
+        }
+
+        public long getSignedCount() {
+            return signedCount.get();
+        }
+
+        public long getBusyNanos() {
+            return busyNanos.get();
+        }
+
+        /**
+         * @return transactions signed per second of busy time
+         */
+        public double getThroughput() {
+            long nanos = busyNanos.get();
+            return nanos == 0 ? 0 : signedCount.get() * 1_000_000_000d / nanos;
+        }
+    }
+}
@@ -26,16 +26,34 @@ import org.web3j.protocol.exceptions.TransactionException;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class PollingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
     private final long sleepDuration;
     private final int attempts;
+    private final ScheduledExecutorService scheduledExecutorService;
 
     public PollingTransactionReceiptProcessor(Caver caver, long sleepDuration, int attempts) {
+        this(caver, sleepDuration, attempts, null);
+    }
+
+    /**
+     * @param caver                    caver instance used to query receipts
+     * @param sleepDuration            delay between two receipt queries in milliseconds
+     * @param attempts                 number of retries after the first query
+     * @param scheduledExecutorService scheduler driving {@link #waitForTransactionReceiptAsync(String)},
+     *                                 or null to use a shared default scheduler
+     */
+    public PollingTransactionReceiptProcessor(
+            Caver caver, long sleepDuration, int attempts, ScheduledExecutorService scheduledExecutorService) {
         super(caver);
         this.sleepDuration = sleepDuration;
         this.attempts = attempts;
+        this.scheduledExecutorService = scheduledExecutorService;
     }
 
     @Override
@@ -45,6 +63,58 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
         return getTransactionReceipt(transactionHash, sleepDuration, attempts);
     }
 
+    /**
+     * Polls for the receipt without blocking: every query is scheduled on the scheduler instead of
+     * sleeping, so no thread is held while the transaction is pending. The first query is made one
+     * interval after the call, since the hash is usually registered before its transaction is sent.
+     * Cancelling the returned future stops the polling.
+     */
+    @Override
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> result = new CompletableFuture<>();
+        schedulePoll(transactionHash, 0, result);
+        return result;
+    }
+
+    private void schedulePoll(
+            String transactionHash, int attempt,
+            CompletableFuture<KlayTransactionReceipt.TransactionReceipt> result) {
+        try {
+            getScheduledExecutorService().schedule(
+                    () -> pollTransactionReceipt(transactionHash, attempt, result),
+                    sleepDuration, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new TransactionException(e));
+        }
+    }
+
+    private void pollTransactionReceipt(
+            String transactionHash, int attempt,
+            CompletableFuture<KlayTransactionReceipt.TransactionReceipt> result) {
+        if (result.isDone()) {
+            // cancelled by the caller
+            return;
+        }
+        sendTransactionReceiptRequestAsync(transactionHash).whenComplete((receiptOptional, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(unwrap(throwable));
+            } else if (receiptOptional.isPresent()) {
+                result.complete(receiptOptional.get());
+            } else if (attempt >= attempts) {
+                result.completeExceptionally(new TransactionException("Transaction receipt was not generated after "
+                        + ((sleepDuration * attempts) / 1000
+                        + " seconds for transaction: " + transactionHash), transactionHash));
+            } else {
+                schedulePoll(transactionHash, attempt + 1, result);
+            }
+        });
+    }
+
+    private ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService != null ? scheduledExecutorService : defaultScheduler();
+    }
+
     private KlayTransactionReceipt.TransactionReceipt getTransactionReceipt(
             String transactionHash, long sleepDuration, int attempts)
             throws IOException, TransactionException {
@@ -20,6 +20,7 @@
 
 package com.klaytn.caver.tx.manager;
 
+import com.klaytn.caver.BatchRequest;
 import com.klaytn.caver.Caver;
 import com.klaytn.caver.methods.response.Callback;
 import com.klaytn.caver.methods.response.EmptyTransactionReceipt;
@@ -28,28 +29,60 @@ import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.utils.Async;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class QueuingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
     public static final int DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH = 15;
     public static final long DEFAULT_POLLING_FREQUENCY = 1000;
+    public static final int DEFAULT_BATCH_SIZE = BatchRequest.DEFAULT_MAX_BATCH_SIZE;
 
+    private final Caver caver;
     private final int pollingAttemptsPerTxHash;
+    private final long pollingFrequency;
+    private final int batchSize;
 
     private final ScheduledExecutorService scheduledExecutorService;
     private final Callback<KlayTransactionReceipt.TransactionReceipt> callback;
-    private final BlockingQueue<QueuingTransactionReceiptProcessor.RequestWrapper> pendingTransactions;
+    private final ConcurrentMap<String, QueuingTransactionReceiptProcessor.RequestWrapper> pendingTransactions;
+
+    private final AtomicBoolean tickInProgress = new AtomicBoolean();
+    private final AtomicLong skippedTicks = new AtomicLong();
+    private volatile long lastTickStart;
+    private volatile TickMetrics lastTickMetrics;
+    private volatile Consumer<TickMetrics> tickListener;
 
     public QueuingTransactionReceiptProcessor(
             Caver caver, Callback callback,
             int pollingAttemptsPerTxHash, long pollingFrequency) {
+        this(caver, callback, pollingAttemptsPerTxHash, pollingFrequency, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param caver                    caver instance used to query receipts
+     * @param callback                 receives receipts and failures
+     * @param pollingAttemptsPerTxHash number of ticks a transaction hash is polled before it fails
+     * @param pollingFrequency         interval between two ticks in milliseconds
+     * @param batchSize                number of receipt requests sent in one JSON-RPC batch
+     */
+    public QueuingTransactionReceiptProcessor(
+            Caver caver, Callback callback,
+            int pollingAttemptsPerTxHash, long pollingFrequency, int batchSize) {
         super(caver);
+        this.caver = caver;
         this.scheduledExecutorService = Async.defaultExecutorService();
         this.callback = callback;
-        this.pendingTransactions = new LinkedBlockingQueue<>();
+        this.pendingTransactions = new ConcurrentHashMap<>();
         this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
+        this.pollingFrequency = pollingFrequency;
+        this.batchSize = batchSize;
 
         scheduledExecutorService.scheduleAtFixedRate(
                 this::sendTransactionReceiptRequests,
@@ -64,52 +97,212 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
     @Override
     public KlayTransactionReceipt.TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException {
-        pendingTransactions.add(new QueuingTransactionReceiptProcessor.RequestWrapper(transactionHash));
+        pendingTransactions.putIfAbsent(transactionHash, new QueuingTransactionReceiptProcessor.RequestWrapper(transactionHash));
 
         return new EmptyTransactionReceipt(transactionHash);
     }
 
+    @Override
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        pendingTransactions.putIfAbsent(transactionHash, new QueuingTransactionReceiptProcessor.RequestWrapper(transactionHash));
+
+        return CompletableFuture.completedFuture(new EmptyTransactionReceipt(transactionHash));
+    }
+
+    /**
+     * Registers a listener notified with the metrics of every completed tick.
+     *
+     * @param tickListener listener, or null to remove it
+     */
+    public void setTickListener(Consumer<TickMetrics> tickListener) {
+        this.tickListener = tickListener;
+    }
+
+    /**
+     * Drops a pending hash without notifying the callback.
+     */
+    @Override
+    public void cancelTransactionReceipt(String transactionHash) {
+        pendingTransactions.remove(transactionHash);
+    }
+
+    /**
+     * @return metrics of the last completed tick, or null if no tick has completed yet
+     */
+    public TickMetrics getLastTickMetrics() {
+        return lastTickMetrics;
+    }
+
+    /**
+     * @return number of ticks skipped because the previous tick was still running
+     */
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+    public int getPendingTransactionCount() {
+        return pendingTransactions.size();
+    }
+
+    /**
+     * Polls every pending hash as a few concurrent JSON-RPC batches. A tick that fires while the
+     * previous one is still waiting for its batches is skipped instead of piling up.
+     */
     private void sendTransactionReceiptRequests() {
-        for (QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper : pendingTransactions) {
-            try {
-                String transactionHash = requestWrapper.getTransactionHash();
-                Optional<KlayTransactionReceipt.TransactionReceipt> transactionReceipt =
-                        sendTransactionReceiptRequest(transactionHash);
-                if (transactionReceipt.isPresent()) {
-                    callback.accept(transactionReceipt.get());
-                    pendingTransactions.remove(requestWrapper);
-                } else {
-                    if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
-                        throw new TransactionException(
-                                "No transaction receipt for txHash: " + transactionHash
-                                        + "received after " + pollingAttemptsPerTxHash
-                                        + " attempts", transactionHash);
-                    } else {
-                        requestWrapper.incrementCount();
+        if (pendingTransactions.isEmpty()) {
+            return;
+        }
+        if (!tickInProgress.compareAndSet(false, true)) {
+            skippedTicks.incrementAndGet();
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long lag = lastTickStart == 0 ? 0 : Math.max(0, start - lastTickStart - pollingFrequency);
+        lastTickStart = start;
+
+        List<QueuingTransactionReceiptProcessor.RequestWrapper> requestWrappers = new ArrayList<>(pendingTransactions.values());
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < requestWrappers.size(); from += batchSize) {
+            batches.add(sendBatch(requestWrappers.subList(from, Math.min(from + batchSize, requestWrappers.size()))));
+        }
+
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, throwable) -> {
+                    TickMetrics tickMetrics = new TickMetrics(
+                            requestWrappers.size(), batches.size(), System.currentTimeMillis() - start, lag);
+                    lastTickMetrics = tickMetrics;
+                    tickInProgress.set(false);
+
+                    Consumer<TickMetrics> listener = tickListener;
+                    if (listener != null) {
+                        listener.accept(tickMetrics);
                     }
+                });
+    }
+
+    private CompletableFuture<Void> sendBatch(List<QueuingTransactionReceiptProcessor.RequestWrapper> requestWrappers) {
+        BatchRequest batchRequest = caver.batch().maxBatchSize(requestWrappers.size());
+        for (QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper : requestWrappers) {
+            batchRequest.add(caver.klay().getTransactionReceipt(requestWrapper.getTransactionHash()),
+                    KlayTransactionReceipt.class);
+        }
+
+        return batchRequest.sendAsync().handle((batchResponse, throwable) -> {
+            for (int i = 0; i < requestWrappers.size(); i++) {
+                QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper = requestWrappers.get(i);
+                if (throwable != null) {
+                    // a failed round trip counts as one more attempt for each hash of the batch
+                    handleMissingReceipt(requestWrapper, unwrap(throwable));
+                } else {
+                    handleResponse(requestWrapper, (KlayTransactionReceipt) batchResponse.get(i));
                 }
-            } catch (IOException | TransactionException e) {
-                pendingTransactions.remove(requestWrapper);
-                callback.exception(e);
             }
+            return null;
+        });
+    }
+
+    private void handleResponse(
+            QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper, KlayTransactionReceipt response) {
+        String transactionHash = requestWrapper.getTransactionHash();
+        if (response.hasError()) {
+            fail(requestWrapper, new TransactionException("Error processing request: "
+                    + response.getError().getMessage()));
+            return;
+        }
+
+        Optional<KlayTransactionReceipt.TransactionReceipt> transactionReceipt = response.getTransactionReceipt();
+        if (transactionReceipt.isPresent()) {
+            if (pendingTransactions.remove(transactionHash, requestWrapper)) {
+                callback.accept(transactionReceipt.get());
+            }
+        } else {
+            handleMissingReceipt(requestWrapper, null);
+        }
+    }
+
+    private void handleMissingReceipt(QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper, Throwable cause) {
+        String transactionHash = requestWrapper.getTransactionHash();
+        if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
+            if (cause instanceof Exception) {
+                fail(requestWrapper, (Exception) cause);
+            } else {
+                fail(requestWrapper, new TransactionException(
+                        "No transaction receipt for txHash: " + transactionHash
+                                + " received after " + pollingAttemptsPerTxHash
+                                + " attempts", transactionHash));
+            }
+        } else {
+            requestWrapper.incrementCount();
+        }
+    }
+
+    private void fail(QueuingTransactionReceiptProcessor.RequestWrapper requestWrapper, Exception e) {
+        if (pendingTransactions.remove(requestWrapper.getTransactionHash(), requestWrapper)) {
+            callback.exception(e);
+        }
+    }
+
+    /**
+     * Metrics of one polling tick.
+     */
+    public static class TickMetrics {
+        private final int pendingTransactionCount;
+        private final int batchCount;
+        private final long durationMillis;
+        private final long lagMillis;
+
+        TickMetrics(int pendingTransactionCount, int batchCount, long durationMillis, long lagMillis) {
+            this.pendingTransactionCount = pendingTransactionCount;
+            this.batchCount = batchCount;
+            this.durationMillis = durationMillis;
+            this.lagMillis = lagMillis;
+        }
+
+        /**
+         * @return number of transaction hashes polled in the tick
+         */
+        public int getPendingTransactionCount() {
+            return pendingTransactionCount;
+        }
+
+        /**
+         * @return number of JSON-RPC batches sent in the tick
+         */
+        public int getBatchCount() {
+            return batchCount;
+        }
+
+        /**
+         * @return time from the start of the tick until its last batch completed
+         */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * @return how late the tick started compared to the polling frequency
+         */
+        public long getLagMillis() {
+            return lagMillis;
         }
     }
 
     /**
-     * Java doesn't provide a concurrent linked hash set, so we use a simple wrapper to store
-     * details of the number of requests we've made against this specific transaction hash. This
-     * is so we can preserve submission order as we interate over the outstanding transactions.
+     * Details of the number of requests we've made against a specific transaction hash. Pending
+     * transactions are keyed by hash, so completed and timed-out hashes leave in O(1).
      *
      * <p>Note - the equals/hashcode methods only operate on the transactionHash field. This is
      * intentional.
      */
     private static class RequestWrapper {
         private final String transactionHash;
-        private int count;
+        private final AtomicInteger count;
 
         RequestWrapper(String transactionHash) {
             this.transactionHash = transactionHash;
-            this.count = 0;
+            this.count = new AtomicInteger();
         }
 
         String getTransactionHash() {
@@ -117,11 +310,11 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
         }
 
         int getCount() {
-            return count;
+            return count.get();
         }
 
         void incrementCount() {
-            this.count += 1;
+            count.incrementAndGet();
         }
 
         @Override
@@ -32,9 +32,16 @@ import com.klaytn.caver.tx.model.KlayRawTransaction;
 import com.klaytn.caver.utils.ChainId;
 import com.klaytn.caver.wallet.WalletManager;
 import com.klaytn.caver.wallet.exception.CredentialNotFoundException;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.exceptions.TransactionException;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class TransactionManager {
 
@@ -44,6 +51,8 @@ public class TransactionManager {
     private TransactionReceiptProcessor transactionReceiptProcessor;
     private ErrorHandler errorHandler;
     private GetNonceProcessor getNonceProcessor;
+    private Executor signExecutor;
+    private Executor sendExecutor;
 
     private TransactionManager(Builder builder) {
         this.caver = builder.caver;
@@ -52,21 +61,150 @@ public class TransactionManager {
         this.transactionReceiptProcessor = builder.transactionReceiptProcessor;
         this.errorHandler = builder.errorHandler;
         this.getNonceProcessor = builder.getNonceProcessor;
+        this.signExecutor = builder.signExecutor;
+        this.sendExecutor = builder.sendExecutor;
     }
 
+    /**
+     * Signs, sends and waits for the receipt of a transaction. The transaction hash is computed locally,
+     * so the receipt processor starts tracking it before the transaction is sent. If the send times out,
+     * the transaction may still have reached the node, so the hash keeps being watched and the timeout is
+     * attached to a later receipt failure. Any other send failure is reported right away.
+     *
+     * @param transactionTransformer transaction to execute
+     * @return transaction receipt, or null on failure
+     */
     public KlayTransactionReceipt.TransactionReceipt executeTransaction(
             TransactionTransformer transactionTransformer) {
         KlayTransactionReceipt.TransactionReceipt receipt = null;
+        boolean isNonceAllocated = transactionTransformer.getNonce() == null;
         KlayRawTransaction rawTx = sign(transactionTransformer);
+        if (rawTx == null) {
+            return null;
+        }
+
+        String transactionHash = rawTx.getTransactionHash();
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture =
+                transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+        IOException sendTimeout = null;
+        try {
+            receiptFuture = watch(transactionHash, send(rawTx), receiptFuture);
+        } catch (PlatformErrorException e) {
+            if (!ConcurrentGetNonceProcessor.isKnownTransaction(e.getMessage())) {
+                cancelTransactionReceipt(transactionHash, receiptFuture);
+                if (isNonceAllocated) {
+                    releaseNonce(transactionTransformer, e);
+                }
+                exception(e);
+                return null;
+            }
+            // already accepted by the node, e.g. on a resend: keep watching the locally computed hash
+        } catch (IOException e) {
+            if (!TransactionReceiptProcessor.isSendTimeout(e)) {
+                cancelTransactionReceipt(transactionHash, receiptFuture);
+                if (isNonceAllocated) {
+                    releaseNonce(transactionTransformer, e);
+                }
+                exception(e);
+                return null;
+            }
+            // maybe sent: keep watching the locally computed hash
+            sendTimeout = e;
+        }
+
         try {
-            String transactionHash = send(rawTx);
-            receipt = transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
-        } catch (TransactionException | PlatformErrorException | IOException e) {
+            receipt = TransactionReceiptProcessor.await(receiptFuture);
+        } catch (TransactionException | IOException e) {
+            if (sendTimeout != null) {
+                e.addSuppressed(sendTimeout);
+                if (isNonceAllocated) {
+                    getNonceProcessor.resetNonce(transactionTransformer.getFrom());
+                }
+            }
             exception(e);
         }
         return receipt;
     }
 
+    /**
+     * Non-blocking variant of {@link #executeTransaction(TransactionTransformer)}. Signing runs on the
+     * sign executor, sending on the send executor and the receipt is awaited through
+     * {@link TransactionReceiptProcessor#waitForTransactionReceiptAsync(String)}, registered with the
+     * locally computed hash before the transaction is sent.
+     * Failures are reported to the {@link ErrorHandler} and complete the returned future exceptionally.
+     *
+     * @param transactionTransformer transaction to execute
+     * @return future completed with the transaction receipt
+     */
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> executeTransactionAsync(
+            TransactionTransformer transactionTransformer) {
+        boolean isNonceAllocated = transactionTransformer.getNonce() == null;
+        return signAsync(transactionTransformer, false)
+                .thenCompose(rawTx -> sendAndWatchAsync(rawTx, transactionTransformer, isNonceAllocated))
+                .whenComplete((receipt, throwable) -> {
+                    if (throwable != null) {
+                        exception(toException(throwable));
+                    }
+                });
+    }
+
+    private CompletableFuture<KlayTransactionReceipt.TransactionReceipt> sendAndWatchAsync(
+            KlayRawTransaction rawTx, TransactionTransformer transactionTransformer, boolean isNonceAllocated) {
+        String transactionHash = rawTx.getTransactionHash();
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture =
+                transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+
+        return sendAsync(rawTx).handle((sentTransactionHash, throwable) -> {
+            if (throwable == null) {
+                return watch(transactionHash, sentTransactionHash, receiptFuture);
+            }
+
+            Exception e = toException(throwable);
+            if (e instanceof PlatformErrorException && ConcurrentGetNonceProcessor.isKnownTransaction(e.getMessage())) {
+                // already accepted by the node, e.g. on a resend: keep watching the locally computed hash
+                return receiptFuture;
+            }
+            if (!TransactionReceiptProcessor.isSendTimeout(e)) {
+                cancelTransactionReceipt(transactionHash, receiptFuture);
+                if (isNonceAllocated) {
+                    releaseNonce(transactionTransformer, e);
+                }
+                CompletableFuture<KlayTransactionReceipt.TransactionReceipt> result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+                return result;
+            }
+
+            // maybe sent: keep watching the locally computed hash
+            return receiptFuture.whenComplete((receipt, receiptThrowable) -> {
+                if (receiptThrowable != null) {
+                    TransactionReceiptProcessor.unwrap(receiptThrowable).addSuppressed(e);
+                    if (isNonceAllocated) {
+                        getNonceProcessor.resetNonce(transactionTransformer.getFrom());
+                    }
+                }
+            });
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Keeps the receipt tracking registered before the send, unless the node reported a different hash.
+     */
+    private CompletableFuture<KlayTransactionReceipt.TransactionReceipt> watch(
+            String transactionHash, String sentTransactionHash,
+            CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture) {
+        if (sentTransactionHash == null || sentTransactionHash.equalsIgnoreCase(transactionHash)) {
+            return receiptFuture;
+        }
+        cancelTransactionReceipt(transactionHash, receiptFuture);
+        return transactionReceiptProcessor.waitForTransactionReceiptAsync(sentTransactionHash);
+    }
+
+    private void cancelTransactionReceipt(
+            String transactionHash, CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receiptFuture) {
+        receiptFuture.cancel(false);
+        transactionReceiptProcessor.cancelTransactionReceipt(transactionHash);
+    }
+
     public KlayRawTransaction sign(TransactionTransformer transactionTransformer) {
         return sign(transactionTransformer, false);
     }
@@ -74,19 +212,63 @@ public class TransactionManager {
     public KlayRawTransaction sign(TransactionTransformer transactionTransformer, boolean isFeeDelegated) {
         KlayRawTransaction result = null;
         try {
-            KlayCredentials credentials = walletManager.findByAddress(transactionTransformer.getFrom());
-
-            if (transactionTransformer.getNonce() == null) {
-                transactionTransformer.nonce(getNonceProcessor.getNonce(credentials));
-            }
-
-            result = transactionTransformer.build(isFeeDelegated).sign(credentials, this.chainId);
+            result = signTransaction(transactionTransformer, isFeeDelegated);
         } catch (UnsupportedTxTypeException | CredentialNotFoundException | IOException | EmptyNonceException e) {
             exception(e);
         }
         return result;
     }
 
+    public CompletableFuture<KlayRawTransaction> signAsync(
+            TransactionTransformer transactionTransformer, boolean isFeeDelegated) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return signTransaction(transactionTransformer, isFeeDelegated);
+            } catch (UnsupportedTxTypeException | CredentialNotFoundException | IOException | EmptyNonceException e) {
+                throw new CompletionException(e);
+            }
+        }, signExecutor);
+    }
+
+    KlayRawTransaction signTransaction(TransactionTransformer transactionTransformer, boolean isFeeDelegated)
+            throws UnsupportedTxTypeException, CredentialNotFoundException, IOException, EmptyNonceException {
+        KlayCredentials credentials = walletManager.findByAddress(transactionTransformer.getFrom());
+
+        if (transactionTransformer.getNonce() != null) {
+            return transactionTransformer.build(isFeeDelegated).sign(credentials, this.chainId);
+        }
+
+        transactionTransformer.nonce(getNonceProcessor.getNonce(credentials));
+        try {
+            return transactionTransformer.build(isFeeDelegated).sign(credentials, this.chainId);
+        } catch (UnsupportedTxTypeException | RuntimeException e) {
+            getNonceProcessor.reclaimNonce(transactionTransformer.getFrom(), transactionTransformer.getNonce());
+            transactionTransformer.nonce(null);
+            throw e;
+        }
+    }
+
+    BigInteger allocateNonce(String from) throws CredentialNotFoundException, IOException {
+        return getNonceProcessor.getNonce(walletManager.findByAddress(from));
+    }
+
+    void reclaimNonce(String from, BigInteger nonce) {
+        getNonceProcessor.reclaimNonce(from, nonce);
+    }
+
+    /**
+     * Gives a nonce allocated by the {@link GetNonceProcessor} back after a rejected send. A plain rejection
+     * frees the nonce for reuse; nonce errors, where the node state is unknown, re-seed the sender instead.
+     */
+    private void releaseNonce(TransactionTransformer transactionTransformer, Exception e) {
+        if (e instanceof PlatformErrorException && !ConcurrentGetNonceProcessor.isNonceError(e.getMessage())) {
+            getNonceProcessor.reclaimNonce(transactionTransformer.getFrom(), transactionTransformer.getNonce());
+        } else {
+            getNonceProcessor.resetNonce(transactionTransformer.getFrom());
+        }
+        transactionTransformer.nonce(null);
+    }
+
     public String send(KlayRawTransaction klayRawTransaction) throws IOException, PlatformErrorException {
         Bytes32 transactionHash = caver.klay().sendSignedTransaction(klayRawTransaction.getValueAsString()).send();
         if (transactionHash.hasError()) {
@@ -96,6 +278,30 @@ public class TransactionManager {
         return transactionHash.getResult();
     }
 
+    public CompletableFuture<String> sendAsync(KlayRawTransaction klayRawTransaction) {
+        Request<?, Bytes32> request = caver.klay().sendSignedTransaction(klayRawTransaction.getValueAsString());
+
+        CompletableFuture<Bytes32> response;
+        if (sendExecutor == null) {
+            response = request.sendAsync();
+        } else {
+            response = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return request.send();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, sendExecutor);
+        }
+
+        return response.thenApply(transactionHash -> {
+            if (transactionHash.hasError()) {
+                throw new CompletionException(new PlatformErrorException(transactionHash.getError()));
+            }
+            return transactionHash.getResult();
+        });
+    }
+
     public String getDefaultAddress() {
         KlayCredentials credentials = null;
         try {
@@ -111,6 +317,11 @@ public class TransactionManager {
             errorHandler.exception(e);
     }
 
+    private static Exception toException(Throwable throwable) {
+        Throwable cause = TransactionReceiptProcessor.unwrap(throwable);
+        return cause instanceof Exception ? (Exception) cause : new Exception(cause);
+    }
+
     public static class Builder {
         private Caver caver;
         private WalletManager walletManager;
@@ -118,6 +329,8 @@ public class TransactionManager {
         private GetNonceProcessor getNonceProcessor;
         private TransactionReceiptProcessor transactionReceiptProcessor;
         private ErrorHandler errorHandler;
+        private Executor signExecutor;
+        private Executor sendExecutor;
 
         public Builder(Caver caver, WalletManager walletManager) {
             this.caver = caver;
@@ -151,6 +364,23 @@ public class TransactionManager {
             return this;
         }
 
+        /**
+         * Executor running the signing stage of the async API. Defaults to the common fork-join pool.
+         */
+        public Builder setSignExecutor(Executor signExecutor) {
+            this.signExecutor = signExecutor;
+            return this;
+        }
+
+        /**
+         * Executor running the send stage of the async API. When unset, the request is sent with
+         * web3j's own async executor.
+         */
+        public Builder setSendExecutor(Executor sendExecutor) {
+            this.sendExecutor = sendExecutor;
+            return this;
+        }
+
         public TransactionManager build() {
             if (this.chainId == -1)
                 this.chainId = ChainId.BAOBAB_TESTNET;
@@ -158,6 +388,8 @@ public class TransactionManager {
                 this.getNonceProcessor = new GetNonceProcessor(this.caver);
             if (this.transactionReceiptProcessor == null)
                 this.transactionReceiptProcessor = new PollingTransactionReceiptProcessor(this.caver, 1000, 15);
+            if (this.signExecutor == null)
+                this.signExecutor = ForkJoinPool.commonPool();
 
             return new TransactionManager(this);
         }
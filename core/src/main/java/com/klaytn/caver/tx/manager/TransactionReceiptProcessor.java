@@ -24,8 +24,16 @@ import com.klaytn.caver.Caver;
 import com.klaytn.caver.methods.response.KlayTransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 
+import org.web3j.utils.Async;
+
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 
 public abstract class TransactionReceiptProcessor {
 
@@ -38,6 +46,29 @@ public abstract class TransactionReceiptProcessor {
     public abstract KlayTransactionReceipt.TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException;
 
+    /**
+     * Asynchronous variant of {@link #waitForTransactionReceipt(String)}. The default implementation
+     * runs the blocking variant on the web3j async executor; processors that can wait without
+     * parking a thread override this.
+     *
+     * @param transactionHash transaction hash
+     * @return future completed with the receipt, or exceptionally with a {@link TransactionException}
+     */
+    public CompletableFuture<KlayTransactionReceipt.TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return Async.run(() -> waitForTransactionReceipt(transactionHash));
+    }
+
+    /**
+     * Stops tracking a transaction hash that was registered before its transaction was sent, once the
+     * node has definitely rejected the transaction. The default implementation does nothing; processors
+     * that keep pending hashes override it.
+     *
+     * @param transactionHash transaction hash
+     */
+    public void cancelTransactionReceipt(String transactionHash) {
+    }
+
     Optional<KlayTransactionReceipt.TransactionReceipt> sendTransactionReceiptRequest(String transactionHash)
             throws IOException, TransactionException {
         KlayTransactionReceipt transactionReceipt = caver.klay().getTransactionReceipt(transactionHash).send();
@@ -48,4 +79,73 @@ public abstract class TransactionReceiptProcessor {
 
         return transactionReceipt.getTransactionReceipt();
     }
+
+    CompletableFuture<Optional<KlayTransactionReceipt.TransactionReceipt>> sendTransactionReceiptRequestAsync(
+            String transactionHash) {
+        return caver.klay().getTransactionReceipt(transactionHash).sendAsync()
+                .thenApply(transactionReceipt -> {
+                    if (transactionReceipt.hasError()) {
+                        throw new CompletionException(new TransactionException("Error processing request: "
+                                + transactionReceipt.getError().getMessage()));
+                    }
+                    return transactionReceipt.getTransactionReceipt();
+                });
+    }
+
+    /**
+     * Blocks until a receipt future completes, rethrowing its failure as the checked exceptions of
+     * {@link #waitForTransactionReceipt(String)}.
+     */
+    public static KlayTransactionReceipt.TransactionReceipt await(
+            CompletableFuture<KlayTransactionReceipt.TransactionReceipt> future)
+            throws IOException, TransactionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (CancellationException e) {
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e.getCause());
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof TransactionException) {
+                throw (TransactionException) cause;
+            }
+            throw new TransactionException(cause);
+        }
+    }
+
+    /**
+     * Returns the cause of a {@link CompletionException}, or the throwable itself.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * Tells whether a send failed with a timeout, after which the transaction may still have reached the node.
+     * Other failures, such as a refused connection, mean the transaction was not sent.
+     */
+    public static boolean isSendTimeout(Throwable throwable) {
+        return unwrap(throwable) instanceof InterruptedIOException;
+    }
+
+    /**
+     * Shared scheduler for processors that were not given one. It is created on first use, which includes
+     * the blocking {@link TransactionManager#executeTransaction}, since that waits for the receipt through
+     * {@link #waitForTransactionReceiptAsync(String)} registered before the transaction is sent.
+     */
+    static ScheduledExecutorService defaultScheduler() {
+        return DefaultSchedulerHolder.INSTANCE;
+    }
+
+    private static class DefaultSchedulerHolder {
+        private static final ScheduledExecutorService INSTANCE = Async.defaultExecutorService();
+    }
 }
@@ -17,15 +17,27 @@
 package com.klaytn.caver.tx.model;
 
 import com.klaytn.caver.crpyto.KlaySignatureData;
+import org.web3j.crypto.Hash;
 import org.web3j.utils.Numeric;
 
 public class KlayRawTransaction {
     private byte[] value;
     private KlaySignatureData signatureData;
+    private byte[] senderTransactionHash;
 
     public KlayRawTransaction(byte[] value, KlaySignatureData signatureData) {
+        this(value, signatureData, null);
+    }
+
+    /**
+     * @param value                 signed raw transaction
+     * @param signatureData         signature data of the last signer
+     * @param senderTransactionHash SenderTxHash of a fee delegated transaction, or null when it equals the TxHash
+     */
+    public KlayRawTransaction(byte[] value, KlaySignatureData signatureData, byte[] senderTransactionHash) {
         this.value = value;
         this.signatureData = signatureData;
+        this.senderTransactionHash = senderTransactionHash;
     }
 
     public byte[] getValue() {
@@ -39,4 +51,28 @@ public class KlayRawTransaction {
     public String getValueAsString() {
         return Numeric.toHexString(value);
     }
+
+    /**
+     * Computes the transaction hash (TxHash) the network will assign to this transaction,
+     * which is keccak256 of the raw transaction. It is known before the transaction is sent.
+     *
+     * @return transaction hash
+     */
+    public String getTransactionHash() {
+        return Numeric.toHexString(Hash.sha3(value));
+    }
+
+    /**
+     * Returns the hash of the transaction as signed by the sender (SenderTxHash). For fee delegated
+     * transactions it excludes the fee payer address and signatures, so it stays the same whoever pays
+     * the fee. For other transactions it equals {@link #getTransactionHash()}.
+     *
+     * @return sender transaction hash
+     */
+    public String getSenderTransactionHash() {
+        if (senderTransactionHash == null) {
+            return getTransactionHash();
+        }
+        return Numeric.toHexString(senderTransactionHash);
+    }
 }
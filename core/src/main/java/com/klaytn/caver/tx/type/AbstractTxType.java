@@ -22,6 +22,7 @@ import com.klaytn.caver.tx.exception.EmptyNonceException;
 import com.klaytn.caver.utils.BytesUtils;
 import com.klaytn.caver.utils.KlaySignatureDataUtils;
 import com.klaytn.caver.tx.model.KlayRawTransaction;
+import org.web3j.crypto.Hash;
 import org.web3j.crypto.Sign;
 import org.web3j.rlp.RlpEncoder;
 import org.web3j.rlp.RlpList;
@@ -183,7 +184,9 @@ public abstract class AbstractTxType implements TxType {
         KlaySignatureData signatureData = getSignatureData(credentials, chainId);
         List<RlpType> rlpTypeList = new ArrayList<>(rlpValues());
         rlpTypeList.add(new RlpList(signatureData.toRlpList()));
+        byte[] senderTransactionHash = null;
         if( this instanceof TxTypeFeeDelegate ) {
+            senderTransactionHash = getSenderTransactionHash(signatureData);
             rlpTypeList.add(RlpString.create("0"));
             rlpTypeList.add(new RlpList(KlaySignatureData.createKlaySignatureDataFromChainId(1).toRlpList()));
         }
@@ -192,6 +195,21 @@ public abstract class AbstractTxType implements TxType {
         byte[] type = {getType().get()};
         byte[] rawTx = BytesUtils.concat(type, encodedTransaction);
 
-        return new KlayRawTransaction(rawTx, signatureData);
+        return new KlayRawTransaction(rawTx, signatureData, senderTransactionHash);
+    }
+
+    /**
+     * hash of the transaction signed by the sender only(SenderTxHash)
+     * It is used by fee delegated transactions and does not depend on the fee payer.
+     *
+     * @param senderSignatureData signature data of the sender
+     * @return byte[] keccak256 of the type and rlp encoded fields with the sender signature
+     */
+    public byte[] getSenderTransactionHash(KlaySignatureData senderSignatureData) {
+        List<RlpType> rlpTypeList = new ArrayList<>(rlpValues());
+        rlpTypeList.add(new RlpList(senderSignatureData.toRlpList()));
+        byte[] encodedTransaction = RlpEncoder.encode(new RlpList(rlpTypeList));
+        byte[] type = {getType().get()};
+        return Hash.sha3(BytesUtils.concat(type, encodedTransaction));
     }
 }
@@ -17,8 +17,15 @@
 package com.klaytn.caver.utils;
 
 import com.klaytn.caver.tx.type.TxType;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.rlp.RlpDecoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
 import org.web3j.utils.Numeric;
 
+import java.security.SignatureException;
 import java.util.Arrays;
 
 public class KlayTransactionUtils {
@@ -34,4 +41,45 @@ public class KlayTransactionUtils {
     public static byte[] getRawTransactionNoType(byte[] rawTransaction) {
         return Arrays.copyOfRange(rawTransaction, 1, rawTransaction.length);
     }
+
+    /**
+     * Reads the sender address of a signed raw transaction. Klaytn transaction types carry the sender
+     * in their rlp fields; for legacy transactions it is recovered from the signature.
+     *
+     * @param rawTransaction signed raw transaction
+     * @return sender address
+     * @throws SignatureException if the sender of a legacy transaction cannot be recovered
+     */
+    public static String getSender(String rawTransaction) throws SignatureException {
+        byte[] rawTransactionBytes = Numeric.hexStringToByteArray(rawTransaction);
+        TxType.Type type = getType(rawTransactionBytes);
+        if (type == TxType.Type.LEGACY) {
+            RawTransaction transaction = TransactionDecoder.decode(rawTransaction);
+            if (!(transaction instanceof SignedRawTransaction)) {
+                throw new SignatureException("Transaction is not signed");
+            }
+            return ((SignedRawTransaction) transaction).getFrom();
+        }
+
+        RlpList values = (RlpList) RlpDecoder.decode(getRawTransactionNoType(rawTransactionBytes)).getValues().get(0);
+        RlpString from = (RlpString) values.getValues().get(getSenderIndex(type));
+        return Numeric.toHexString(from.getBytes());
+    }
+
+    private static int getSenderIndex(TxType.Type type) {
+        switch (type) {
+            case ACCOUNT_UPDATE:
+            case FEE_DELEGATED_ACCOUNT_UPDATE:
+            case FEE_DELEGATED_ACCOUNT_UPDATE_WITH_RATIO:
+            case CANCEL:
+            case FEE_DELEGATED_CANCEL:
+            case FEE_DELEGATED_CANCEL_WITH_RATIO:
+            case CHAIN_DATA_ANCHORING:
+                // nonce, gasPrice, gas, from
+                return 3;
+            default:
+                // nonce, gasPrice, gas, to, value, from
+                return 5;
+        }
+    }
 }
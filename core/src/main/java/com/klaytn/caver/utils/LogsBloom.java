@@ -0,0 +1,362 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.utils;
+
+import com.klaytn.caver.methods.request.Filter;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tests addresses and topics against the logsBloom of a block or a receipt.
+ *
+ * <p>The bloom is 2048 bits wide. Each address and topic of a log sets three bits, taken from the first six
+ * bytes of its keccak256 hash. A value whose bits are not all set is certainly absent, while a value whose
+ * bits are set may be present, so a bloom allows skipping the receipts of a block but never replaces
+ * checking its logs.
+ */
+public final class LogsBloom {
+
+    public static final int BLOOM_BYTES = 256;
+
+    private static final int BITS_PER_VALUE = 3;
+    private static final int HEX_LENGTH = 2 + BLOOM_BYTES * 2;
+
+    private LogsBloom() {
+    }
+
+    /**
+     * Decodes a logsBloom hex string.
+     *
+     * @param logsBloom 256 bytes bloom in hex
+     * @return bloom bytes
+     */
+    public static byte[] parse(String logsBloom) {
+        byte[] bloom = Numeric.hexStringToByteArray(logsBloom);
+        if (bloom.length != BLOOM_BYTES) {
+            throw new IllegalArgumentException("logsBloom must be " + BLOOM_BYTES + " bytes long: " + logsBloom);
+        }
+        return bloom;
+    }
+
+    /**
+     * Returns the bloom of the given addresses and topics, as set by a log holding them.
+     *
+     * @param values addresses or topics in hex
+     * @return bloom bytes
+     */
+    public static byte[] of(String... values) {
+        byte[] bloom = new byte[BLOOM_BYTES];
+        for (String value : values) {
+            for (int bit : bits(value)) {
+                bloom[byteIndex(bit)] |= bitMask(bit);
+            }
+        }
+        return bloom;
+    }
+
+    /**
+     * Tests whether an address or a topic may be set in a bloom.
+     *
+     * @param bloom bloom bytes
+     * @param value address or topic in hex
+     * @return false if the value is certainly absent
+     */
+    public static boolean mayContain(byte[] bloom, String value) {
+        return Query.Value.of(value).isSetIn(bloom);
+    }
+
+    /**
+     * Tests whether an address or a topic may be set in a logsBloom hex string.
+     *
+     * @param logsBloom bloom in hex
+     * @param value     address or topic in hex
+     * @return false if the value is certainly absent
+     */
+    public static boolean mayContain(String logsBloom, String value) {
+        return Query.Value.of(value).isSetIn(logsBloom);
+    }
+
+    private static int[] bits(String value) {
+        byte[] hash = Hash.sha3(Numeric.hexStringToByteArray(value));
+        int[] bits = new int[BITS_PER_VALUE];
+        for (int i = 0; i < BITS_PER_VALUE; i++) {
+            bits[i] = (((hash[2 * i] & 0xff) << 8) | (hash[2 * i + 1] & 0xff)) & (BLOOM_BYTES * 8 - 1);
+        }
+        return bits;
+    }
+
+    private static int byteIndex(int bit) {
+        return BLOOM_BYTES - 1 - bit / 8;
+    }
+
+    private static int bitMask(int bit) {
+        return 1 << (bit % 8);
+    }
+
+    /**
+     * Addresses and topics of interest, hashed once and tested against many blooms.
+     *
+     * <p>Like a log filter, a log matches if it was emitted by one of the addresses, or any address when
+     * none is given, and if each topic position holds one of the alternatives given for it, or anything
+     * when the position is a wildcard.
+     *
+     * <pre>
+     * LogsBloom.Query query = new LogsBloom.Query.Builder()
+     *         .addAddress(tokenAddress)
+     *         .addTopic(transferTopic)
+     *         .addTopic()
+     *         .addTopic(accountTopic)
+     *         .build();
+     * </pre>
+     */
+    public static class Query {
+
+        private final Set<String> addresses;
+        private final List<Set<String>> topics;
+        private final Value[] addressValues;
+        private final Value[][] topicValues;
+
+        private Query(Builder builder) {
+            this.addresses = Collections.unmodifiableSet(new HashSet<>(builder.addresses));
+            this.topics = Collections.unmodifiableList(new ArrayList<>(builder.topics));
+            this.addressValues = addresses.stream().map(Value::of).toArray(Value[]::new);
+            this.topicValues = new Value[topics.size()][];
+            for (int i = 0; i < topics.size(); i++) {
+                topicValues[i] = topics.get(i).stream().map(Value::of).toArray(Value[]::new);
+            }
+        }
+
+        /**
+         * Creates a query matching the addresses and topics of a log filter.
+         *
+         * @param filter log filter
+         * @return query
+         */
+        public static Query from(KlayFilter filter) {
+            Builder builder = new Builder();
+            if (filter.getAddress() != null) {
+                filter.getAddress().forEach(builder::addAddress);
+            }
+            for (Filter.FilterTopic<?> topic : filter.getTopics()) {
+                Object value = topic.getValue();
+                List<String> alternatives = new ArrayList<>();
+                if (value instanceof String) {
+                    alternatives.add((String) value);
+                } else if (value instanceof List) {
+                    for (Object single : (List<?>) value) {
+                        Object singleValue = ((Filter.FilterTopic<?>) single).getValue();
+                        if (singleValue == null) {
+                            alternatives.clear();
+                            break;
+                        }
+                        alternatives.add((String) singleValue);
+                    }
+                }
+                builder.addTopic(alternatives.toArray(new String[0]));
+            }
+            return builder.build();
+        }
+
+        public Set<String> getAddresses() {
+            return addresses;
+        }
+
+        public List<Set<String>> getTopics() {
+            return topics;
+        }
+
+        /**
+         * Tests whether a bloom may hold a matching log.
+         *
+         * @param bloom bloom bytes
+         * @return false if no log behind the bloom matches
+         */
+        public boolean mayMatch(byte[] bloom) {
+            if (addressValues.length > 0 && !anySetIn(addressValues, bloom)) {
+                return false;
+            }
+            for (Value[] alternatives : topicValues) {
+                if (alternatives.length > 0 && !anySetIn(alternatives, bloom)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Tests whether a logsBloom hex string may hold a matching log. The string is read in place, without
+         * decoding it.
+         *
+         * @param logsBloom bloom in hex, null when unknown
+         * @return false if no log behind the bloom matches
+         */
+        public boolean mayMatch(String logsBloom) {
+            if (logsBloom == null) {
+                return true;
+            }
+            if (logsBloom.length() != HEX_LENGTH || !Numeric.containsHexPrefix(logsBloom)) {
+                throw new IllegalArgumentException(
+                        "logsBloom must be " + BLOOM_BYTES + " bytes long: " + logsBloom);
+            }
+            if (addressValues.length > 0 && !anySetIn(addressValues, logsBloom)) {
+                return false;
+            }
+            for (Value[] alternatives : topicValues) {
+                if (alternatives.length > 0 && !anySetIn(alternatives, logsBloom)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Tests whether a log matches exactly.
+         *
+         * @param log log
+         * @return true if the log matches
+         */
+        public boolean matches(KlayLogs.Log log) {
+            if (!addresses.isEmpty()
+                    && (log.getAddress() == null || !addresses.contains(normalize(log.getAddress())))) {
+                return false;
+            }
+            List<String> logTopics = log.getTopics() != null ? log.getTopics() : Collections.emptyList();
+            for (int i = 0; i < topics.size(); i++) {
+                Set<String> alternatives = topics.get(i);
+                if (alternatives.isEmpty()) {
+                    continue;
+                }
+                if (i >= logTopics.size() || !alternatives.contains(normalize(logTopics.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean anySetIn(Value[] values, byte[] bloom) {
+            for (Value value : values) {
+                if (value.isSetIn(bloom)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean anySetIn(Value[] values, String logsBloom) {
+            for (Value value : values) {
+                if (value.isSetIn(logsBloom)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String normalize(String value) {
+            return Numeric.prependHexPrefix(value).toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Bloom positions of one address or topic.
+         */
+        static class Value {
+
+            private final int[] byteIndexes = new int[BITS_PER_VALUE];
+            private final int[] masks = new int[BITS_PER_VALUE];
+
+            static Value of(String value) {
+                Value bloomValue = new Value();
+                int[] bits = bits(value);
+                for (int i = 0; i < BITS_PER_VALUE; i++) {
+                    bloomValue.byteIndexes[i] = byteIndex(bits[i]);
+                    bloomValue.masks[i] = bitMask(bits[i]);
+                }
+                return bloomValue;
+            }
+
+            boolean isSetIn(byte[] bloom) {
+                for (int i = 0; i < BITS_PER_VALUE; i++) {
+                    if ((bloom[byteIndexes[i]] & masks[i]) == 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            boolean isSetIn(String logsBloom) {
+                for (int i = 0; i < BITS_PER_VALUE; i++) {
+                    // Byte n is written at 2 + 2n, high nibble first.
+                    int mask = masks[i];
+                    int offset = 2 + 2 * byteIndexes[i];
+                    if (mask > 0x0f) {
+                        mask >>= 4;
+                    } else {
+                        offset++;
+                    }
+                    if ((Character.digit(logsBloom.charAt(offset), 16) & mask) == 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+
+        public static class Builder {
+            private final Set<String> addresses = new HashSet<>();
+            private final List<Set<String>> topics = new ArrayList<>();
+
+            /**
+             * Adds an address; logs of any of the added addresses match.
+             *
+             * @param address contract address
+             * @return builder
+             */
+            public Builder addAddress(String address) {
+                addresses.add(normalize(address));
+                return this;
+            }
+
+            /**
+             * Adds the next topic position. Logs match if the position holds any of the alternatives; without
+             * alternatives the position is a wildcard.
+             *
+             * @param alternatives topics accepted at this position
+             * @return builder
+             */
+            public Builder addTopic(String... alternatives) {
+                Set<String> position = new HashSet<>();
+                Arrays.stream(alternatives).map(Query::normalize).forEach(position::add);
+                topics.add(position);
+                return this;
+            }
+
+            public Query build() {
+                return new Query(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.base;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for a WebSocket connection: besides the requests answered by
+ * {@link StubWeb3jService}, it accepts klay_subscribe subscriptions and pushes notifications to them.
+ * Closing it fails the open subscriptions the way a dropped WebSocket does.
+ */
+public class StubSubscriptionService extends StubWeb3jService {
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger subscriptionIds = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile String subscriptionError;
+
+    /**
+     * Sends a notification carrying {@code resultJson} to every open subscription of {@code subscriptionType}.
+     */
+    public void notify(String subscriptionType, String resultJson) {
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.type.equals(subscriptionType)) {
+                subscription.emit(resultJson);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open subscriptions of {@code subscriptionType}.
+     */
+    public int subscriptionCount(String subscriptionType) {
+        int count = 0;
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.type.equals(subscriptionType)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Answers klay_subscribe with a JSON-RPC error carrying {@code message}, the way WebSocketService reports it.
+     */
+    public StubSubscriptionService onSubscriptionError(String message) {
+        subscriptionError = message;
+        return this;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        if (closed) {
+            return Flowable.error(new IOException("Connection was closed"));
+        }
+        if (subscriptionError != null) {
+            return Flowable.error(new IOException("Subscription request failed with error: " + subscriptionError));
+        }
+        Subscription<T> subscription = new Subscription<>(
+                (String) request.getParams().get(0), "0x" + subscriptionIds.incrementAndGet(), responseType);
+        subscriptions.add(subscription);
+        return subscription.processor.doOnCancel(() -> subscriptions.remove(subscription));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription<?> subscription : subscriptions) {
+            subscriptions.remove(subscription);
+            subscription.processor.onError(new IOException("Connection was closed"));
+        }
+    }
+
+    private static class Subscription<T extends Notification<?>> {
+        private final String type;
+        private final String id;
+        private final Class<T> responseType;
+        private final PublishProcessor<T> processor = PublishProcessor.create();
+
+        Subscription(String type, String id, Class<T> responseType) {
+            this.type = type;
+            this.id = id;
+            this.responseType = responseType;
+        }
+
+        void emit(String resultJson) {
+            String json = "{\"jsonrpc\":\"2.0\",\"method\":\"klay_subscription\","
+                    + "\"params\":{\"subscription\":\"" + id + "\",\"result\":" + resultJson + "}}";
+            try {
+                processor.onNext(ObjectMapperFactory.getObjectMapper().readValue(json, responseType));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
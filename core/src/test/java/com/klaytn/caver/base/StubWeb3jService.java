@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.base;
+
+import io.reactivex.Flowable;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-process Web3jService answering requests from registered handlers, so that
+ * feature tests can run without a Klaytn node.
+ */
+public class StubWeb3jService implements Web3jService {
+
+    private final Map<String, Function<List<?>, String>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, String> errors = new ConcurrentHashMap<>();
+    private volatile boolean includeRawResponses;
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a handler returning the JSON text of the "result" field for {@code method}.
+     */
+    public StubWeb3jService on(String method, Function<List<?>, String> handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * Answers {@code method} with a JSON-RPC error carrying {@code message}.
+     */
+    public StubWeb3jService onError(String method, String message) {
+        errors.put(method, message);
+        return this;
+    }
+
+    /**
+     * Answers {@code method} from its handler again after {@link #onError(String, String)}.
+     */
+    public StubWeb3jService clearError(String method) {
+        errors.remove(method);
+        return this;
+    }
+
+    /**
+     * Makes responses carry their JSON text, like an HttpService created with includeRawResponses.
+     */
+    public StubWeb3jService includeRawResponses() {
+        includeRawResponses = true;
+        return this;
+    }
+
+    public int count(String method) {
+        AtomicInteger count = counts.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String method = request.getMethod();
+        counts.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+
+        String json;
+        Function<List<?>, String> handler = handlers.get(method);
+        if (errors.containsKey(method)) {
+            json = "{\"jsonrpc\":\"2.0\",\"id\":" + request.getId()
+                    + ",\"error\":{\"code\":-32000,\"message\":\"" + errors.get(method) + "\"}}";
+        } else if (handler == null) {
+            throw new IOException("No stub registered for " + method);
+        } else {
+            String result;
+            try {
+                result = handler.apply(request.getParams());
+            } catch (UncheckedIOException e) {
+                // lets handlers simulate transport failures such as timeouts
+                throw e.getCause();
+            }
+            json = "{\"jsonrpc\":\"2.0\",\"id\":" + request.getId() + ",\"result\":" + result + "}";
+        }
+        T response = ObjectMapperFactory.getObjectMapper().readValue(json, responseType);
+        if (includeRawResponses) {
+            response.setRawResponse(json);
+        }
+        return response;
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.BatchResponse;
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.Klay;
+import com.klaytn.caver.Net;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.protocol.RequestInterceptor;
+import com.klaytn.caver.protocol.Requests;
+import org.junit.Test;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static org.junit.Assert.assertEquals;
+
+public class BatchRequestTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    public void testBatchResponseIsMatchedById() throws IOException {
+        Caver caver = Caver.build(new StubWeb3jService());
+        Request<?, Quantity> balance = caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameterName.LATEST);
+        Request<?, KlayTransactionReceipt> receipt = caver.klay().getTransactionReceipt("0x1234");
+
+        String reply = "[{\"jsonrpc\":\"2.0\",\"id\":" + receipt.getId()
+                + ",\"result\":{\"transactionHash\":\"0x1234\",\"status\":\"0x1\"}},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":" + balance.getId() + ",\"result\":\"0x10\"}]";
+        List<Response<?>> responses = Requests.readBatchResponse(
+                objectMapper, objectMapper.readTree(reply), Arrays.asList(balance, receipt),
+                Arrays.asList(Quantity.class, KlayTransactionReceipt.class));
+
+        assertEquals(BigInteger.valueOf(16), ((Quantity) responses.get(0)).getValue());
+        assertEquals("0x1", ((KlayTransactionReceipt) responses.get(1)).getResult().getStatus());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingResponseFails() throws IOException {
+        Caver caver = Caver.build(new StubWeb3jService());
+        Request<?, Quantity> blockNumber = caver.klay().getBlockNumber();
+
+        Requests.readBatchResponse(objectMapper, objectMapper.readTree("[]"),
+                Arrays.asList(blockNumber), Arrays.asList(Quantity.class));
+    }
+
+    @Test
+    public void testBatchIsSplitAndTyped() throws Exception {
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x2a\"")
+                .on("klay_gasPrice", params -> "\"0x5d21dba00\"");
+        Caver caver = Caver.build(service);
+
+        Request<?, Quantity> blockNumber = caver.klay().getBlockNumber();
+        Request<?, Quantity> gasPrice = caver.klay().getGasPrice();
+        BatchResponse response = caver.batch()
+                .maxBatchSize(1)
+                .add(blockNumber, Quantity.class)
+                .add(gasPrice, Quantity.class)
+                .sendAsync()
+                .get();
+
+        assertEquals(2, response.size());
+        assertEquals(BigInteger.valueOf(42), response.get(blockNumber).getValue());
+        assertEquals(new BigInteger("25000000000"), response.get(gasPrice).getValue());
+    }
+
+    @Test
+    public void testDefaultBatchSendsRequestsOneByOne() throws Exception {
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x2a\"");
+        Caver delegate = Caver.build(service);
+        Caver caver = new Caver() {
+            @Override
+            public Klay klay() {
+                return delegate.klay();
+            }
+
+            @Override
+            public Net net() {
+                return delegate.net();
+            }
+
+            @Override
+            public Caver addInterceptor(RequestInterceptor interceptor) {
+                delegate.addInterceptor(interceptor);
+                return this;
+            }
+
+            @Override
+            public boolean removeInterceptor(RequestInterceptor interceptor) {
+                return delegate.removeInterceptor(interceptor);
+            }
+        };
+
+        Request<?, Quantity> blockNumber = caver.klay().getBlockNumber();
+        BatchResponse response = caver.batch()
+                .add(blockNumber, Quantity.class)
+                .send();
+
+        assertEquals(BigInteger.valueOf(42), response.get(blockNumber).getValue());
+        assertEquals(1, service.count("klay_blockNumber"));
+    }
+}
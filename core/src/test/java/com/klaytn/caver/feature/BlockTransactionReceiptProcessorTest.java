@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.manager.BlockTransactionReceiptProcessor;
+import io.reactivex.processors.PublishProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BlockTransactionReceiptProcessorTest {
+
+    private static final String TX_HASH = "0x6c1a4ac6cd24b1b2a3d26f8c92a6b7f6b0f6f3e7b2a9b9cbf0f4c7a3b8f1d2e3";
+
+    private ScheduledExecutorService scheduler;
+    private StubWeb3jService service;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0xa\"")
+                .on("klay_getBlockByNumber", params -> {
+                    String number = ((DefaultBlockParameter) params.get(0)).getValue();
+                    String transactions = number.equals("0xa") ? "[\"" + TX_HASH + "\"]" : "[]";
+                    return "{\"number\":\"" + number + "\",\"hash\":\"0xb" + number.substring(2)
+                            + "\",\"transactions\":" + transactions + "}";
+                })
+                .on("klay_getBlockReceipts", params ->
+                        "[{\"transactionHash\":\"" + TX_HASH + "\",\"status\":\"0x1\"}]")
+                .on("klay_getTransactionReceipt", params -> "null");
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testReceiptIsMatchedFromBlockReceipts() throws Exception {
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 5, 15, scheduler);
+
+        KlayTransactionReceipt.TransactionReceipt receipt =
+                processor.waitForTransactionReceiptAsync(TX_HASH.toUpperCase().replace("0X", "0x"))
+                        .get(5, TimeUnit.SECONDS);
+
+        assertEquals(TX_HASH, receipt.getTransactionHash());
+        assertEquals("0x1", receipt.getStatus());
+        assertEquals(1, service.count("klay_getBlockReceipts"));
+        assertEquals(0, service.count("klay_getTransactionReceipt"));
+        assertEquals(0, processor.getPendingTransactionCount());
+        processor.shutdown();
+    }
+
+    @Test
+    public void testUnknownTransactionFailsAfterBlockAttempts() throws Exception {
+        int[] head = {10};
+        service.on("klay_blockNumber", params -> "\"0x" + Integer.toHexString(head[0]++) + "\"");
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 2, 4, scheduler);
+
+        try {
+            processor.waitForTransactionReceiptAsync("0x1234").get(5, TimeUnit.SECONDS);
+            fail("Expected the transaction to time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().getMessage().contains("0x1234"));
+        }
+        assertTrue(service.count("klay_getTransactionReceipt") > 0);
+        processor.shutdown();
+    }
+
+    @Test
+    public void testRegistrationAfterShutdownFailsRightAway() throws Exception {
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 5, 15, scheduler);
+        processor.shutdown();
+
+        try {
+            processor.waitForTransactionReceiptAsync(TX_HASH).get(5, TimeUnit.SECONDS);
+            fail("Expected the registration to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionException);
+        }
+        assertEquals(0, processor.getPendingTransactionCount());
+    }
+
+    @Test
+    public void testRegistrationAfterBlockStreamEndsFailsRightAway() throws Exception {
+        PublishProcessor<Object> newBlocks = PublishProcessor.create();
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), newBlocks, 5, 15, scheduler);
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> pending =
+                processor.waitForTransactionReceiptAsync("0x1234");
+
+        IOException streamError = new IOException("Connection was closed");
+        newBlocks.onError(streamError);
+        try {
+            pending.get(5, TimeUnit.SECONDS);
+            fail("Expected the pending transaction to fail");
+        } catch (ExecutionException e) {
+            assertEquals(streamError, e.getCause());
+        }
+
+        try {
+            processor.waitForTransactionReceiptAsync(TX_HASH).get(5, TimeUnit.SECONDS);
+            fail("Expected the registration to fail");
+        } catch (ExecutionException e) {
+            assertEquals(streamError, e.getCause());
+        }
+        assertEquals(0, processor.getPendingTransactionCount());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayBlockView;
+import com.klaytn.caver.methods.response.compact.CompactKlay;
+import com.klaytn.caver.methods.response.compact.CompactKlayBlock;
+import com.klaytn.caver.protocol.CachingService;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+
+import java.math.BigInteger;
+
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingServiceTest {
+
+    private static final String BLOCK_HASH = "0x8b3ec7cce05e7c1eaacf1a4e1ac1fe2e4e6b2c6c0a8c4c5df3cbb67a1cbe0b5d";
+    private static final String TX_HASH = "0x4e1b4c7f2e5d8a3cd20f60fcd2c2fa0f8e1c1b0db3ec9a4c7dd4a81ab31e96d4";
+
+    private StubWeb3jService service;
+
+    @Before
+    public void setUp() {
+        service = new StubWeb3jService()
+                .includeRawResponses()
+                .on("klay_getBlockByHash", params ->
+                        "{\"hash\":\"" + params.get(0) + "\",\"number\":\"0x1\",\"transactions\":[]}")
+                .on("klay_getBalance", params -> "\"0x64\"")
+                .on("klay_getTransactionReceipt", params -> "null");
+    }
+
+    @Test
+    public void testImmutableResponseIsCached() throws Exception {
+        CachingService cachingService = new CachingService.Builder(service).setOffHeap(true).build();
+        Caver caver = Caver.build(cachingService);
+
+        KlayBlock first = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+        KlayBlock second = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+
+        assertEquals(1, service.count("klay_getBlockByHash"));
+        assertNotSame(first, second);
+        assertEquals(BLOCK_HASH, second.getBlock().getHash());
+        assertEquals(1, cachingService.getMetrics().getHitCount());
+        assertEquals(1, cachingService.getMetrics().getMissCount());
+    }
+
+    @Test
+    public void testHitCarriesRequestId() throws Exception {
+        Caver caver = Caver.build(new CachingService.Builder(service).build());
+
+        KlayBlock first = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+        Request<?, KlayBlock> request = caver.klay().getBlockByHash(BLOCK_HASH, false);
+        KlayBlock second = request.send();
+
+        assertEquals(1, service.count("klay_getBlockByHash"));
+        assertEquals(request.getId(), second.getId());
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    public void testCachedResponseObjectIsCopied() throws Exception {
+        StubWeb3jService objectService = new StubWeb3jService()
+                .on("klay_getBlockByHash", params -> "{\"hash\":\"" + params.get(0) + "\",\"transactions\":[]}");
+        Caver caver = Caver.build(new CachingService.Builder(objectService).build());
+
+        KlayBlock first = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+        Request<?, KlayBlock> request = caver.klay().getBlockByHash(BLOCK_HASH, false);
+        KlayBlock second = request.send();
+        first.setId(-1);
+
+        assertEquals(1, objectService.count("klay_getBlockByHash"));
+        assertNotSame(first, second);
+        assertEquals(request.getId(), second.getId());
+        assertEquals(BLOCK_HASH, second.getBlock().getHash());
+    }
+
+    @Test
+    public void testResponseTypesAreCachedSeparately() throws Exception {
+        CachingService cachingService = new CachingService.Builder(service).build();
+        Caver caver = Caver.build(cachingService);
+
+        KlayBlock block = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+        CompactKlayBlock compactBlock = new CompactKlay(cachingService).getBlockByHash(BLOCK_HASH, false).send();
+        new CompactKlay(cachingService).getBlockByHash(BLOCK_HASH, false).send();
+
+        assertEquals(2, service.count("klay_getBlockByHash"));
+        assertEquals(block.getBlock().getHash(), compactBlock.getCompactBlock().get().getHash().toString());
+    }
+
+    @Test
+    public void testBlockViewsAreCachedSeparately() throws Exception {
+        Caver caver = Caver.build(new CachingService.Builder(service).build());
+
+        KlayBlock block = caver.klay().getBlockByHash(BLOCK_HASH, false).send();
+        KlayBlockView blockView = caver.klay().getBlockViewByHash(BLOCK_HASH, false).send();
+        caver.klay().getBlockViewByHash(BLOCK_HASH, false).send();
+
+        assertEquals(2, service.count("klay_getBlockByHash"));
+        assertEquals(block.getBlock().getHash(), blockView.getBlockView().get().getHash());
+    }
+
+    @Test
+    public void testStateIsOnlyCachedAtBlockNumber() throws Exception {
+        Caver caver = Caver.build(new CachingService.Builder(service).build());
+
+        for (int i = 0; i < 3; i++) {
+            caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameterName.LATEST).send();
+        }
+        assertEquals(3, service.count("klay_getBalance"));
+
+        for (int i = 0; i < 3; i++) {
+            caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameter.valueOf(BigInteger.TEN)).send();
+        }
+        assertEquals(4, service.count("klay_getBalance"));
+    }
+
+    @Test
+    public void testMissingReceiptIsNotCached() throws Exception {
+        Caver caver = Caver.build(new CachingService.Builder(service).build());
+
+        caver.klay().getTransactionReceipt(TX_HASH).send();
+        caver.klay().getTransactionReceipt(TX_HASH).send();
+
+        assertEquals(2, service.count("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void testPendingTransactionIsNotCached() throws Exception {
+        service.on("klay_getTransactionByHash", params -> "{\"hash\":\"" + params.get(0) + "\"}");
+        Caver caver = Caver.build(new CachingService.Builder(service).build());
+
+        caver.klay().getTransactionByHash(TX_HASH).send();
+        caver.klay().getTransactionByHash(TX_HASH).send();
+
+        assertEquals(2, service.count("klay_getTransactionByHash"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        CachingService cachingService = new CachingService.Builder(service).setMaxEntries(2).build();
+        Caver caver = Caver.build(cachingService);
+
+        caver.klay().getBlockByHash("0x01", false).send();
+        caver.klay().getBlockByHash("0x02", false).send();
+        caver.klay().getBlockByHash("0x01", false).send();
+        caver.klay().getBlockByHash("0x03", false).send();
+        caver.klay().getBlockByHash("0x01", false).send();
+        caver.klay().getBlockByHash("0x02", false).send();
+
+        assertEquals(4, service.count("klay_getBlockByHash"));
+        assertEquals(2, cachingService.getMetrics().getEntryCount());
+        assertTrue(cachingService.getMetrics().getEvictionCount() >= 1);
+        assertTrue(cachingService.getMetrics().getWeight() > 0);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.protocol.CaverHttpTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CaverHttpTransportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger gzipRequests = new AtomicInteger();
+    private ExecutorService executor;
+    private HttpServer server;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            gzipRequests.incrementAndGet();
+            body = new GZIPInputStream(body);
+        }
+        JsonNode request = objectMapper.readTree(body);
+        String method = request.get("method").asText();
+        if (method.equals("klay_gasPrice")) {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] response = ("{\"jsonrpc\":\"2.0\",\"id\":" + request.get("id") + ",\"result\":\"0x64\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+
+    @Test
+    public void testGzipRequestsAndMetrics() throws Exception {
+        CaverHttpTransport transport = new CaverHttpTransport.Builder(url).setGzipRequests(0).build();
+        Caver caver = Caver.build(transport);
+
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().sendAsync().get().getValue());
+
+        assertEquals(2, gzipRequests.get());
+        assertEquals(2, transport.getMetrics().getRequestCount());
+        assertTrue(transport.getMetrics().getAverageWireTimeMillis() > 0);
+        transport.close();
+    }
+
+    @Test
+    public void testReadTimeoutPerMethod() throws Exception {
+        CaverHttpTransport transport = new CaverHttpTransport.Builder(url)
+                .setReadTimeout("klay_gasPrice", 100)
+                .build();
+        Caver caver = Caver.build(transport);
+
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        try {
+            caver.klay().getGasPrice().send();
+            fail("klay_gasPrice should time out");
+        } catch (IOException expected) {
+            // the node answers after 300ms
+        }
+        transport.close();
+    }
+
+    @Test
+    public void testAsyncRequestsWaitForDispatcherLimit() throws Exception {
+        CaverHttpTransport transport = new CaverHttpTransport.Builder(url).setMaxRequestsPerHost(1).build();
+        Caver caver = Caver.build(transport);
+
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(caver.klay().getGasPrice().sendAsync());
+        }
+        for (CompletableFuture<Quantity> future : futures) {
+            assertEquals(BigInteger.valueOf(100), future.get(5, TimeUnit.SECONDS).getValue());
+        }
+
+        assertEquals(3, transport.getMetrics().getRequestCount());
+        assertTrue(transport.getMetrics().getMaxQueueWaitMillis() >= 400);
+        transport.close();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.protocol.CoalescingService;
+import org.junit.Test;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CoalescingServiceTest {
+
+    @Test
+    public void testConcurrentIdenticalRequestsAreSentOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\"0x64\"";
+        });
+        CoalescingService coalescingService = new CoalescingService.Builder(service).build();
+        Caver caver = Caver.build(coalescingService);
+
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(caver.klay().getBlockNumber().sendAsync());
+        }
+        release.countDown();
+
+        for (CompletableFuture<Quantity> future : futures) {
+            assertEquals(BigInteger.valueOf(100), future.get(5, TimeUnit.SECONDS).getValue());
+        }
+        assertEquals(1, service.count("klay_blockNumber"));
+        assertEquals(19, coalescingService.getCoalescedRequestCount());
+    }
+
+    @Test
+    public void testCompletedRequestIsReusedWithinTtl() throws Exception {
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x64\"")
+                .on("klay_gasPrice", params -> "\"0x5d21dba00\"");
+        Caver caver = Caver.build(new CoalescingService.Builder(service)
+                .setTtl("klay_blockNumber", 60_000)
+                .build());
+
+        for (int i = 0; i < 3; i++) {
+            caver.klay().getBlockNumber().send();
+            caver.klay().getGasPrice().send();
+        }
+
+        assertEquals(1, service.count("klay_blockNumber"));
+        assertEquals(3, service.count("klay_gasPrice"));
+    }
+
+    @Test
+    public void testErrorIsNotKept() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().onError("klay_blockNumber", "unavailable");
+        Caver caver = Caver.build(new CoalescingService.Builder(service).setTtl(60_000).build());
+
+        assertTrue(caver.klay().getBlockNumber().send().hasError());
+        assertTrue(caver.klay().getBlockNumber().send().hasError());
+
+        assertEquals(2, service.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testSynchronousFailureReleasesFlight() throws Exception {
+        AtomicInteger failures = new AtomicInteger(1);
+        StubWeb3jService service = new StubWeb3jService() {
+            @Override
+            public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("closed");
+                }
+                return super.sendAsync(request, responseType);
+            }
+        }.on("klay_blockNumber", params -> "\"0x64\"");
+        Caver caver = Caver.build(new CoalescingService.Builder(service).build());
+
+        try {
+            caver.klay().getBlockNumber().sendAsync().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(BigInteger.valueOf(100),
+                caver.klay().getBlockNumber().sendAsync().get(5, TimeUnit.SECONDS).getValue());
+    }
+
+    @Test
+    public void testEachCallerGetsItsOwnResponse() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\"0x64\"";
+        });
+        Caver caver = Caver.build(new CoalescingService.Builder(service)
+                .setTtl("klay_blockNumber", 60_000)
+                .build());
+
+        List<Request<?, Quantity>> requests = new ArrayList<>();
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Request<?, Quantity> request = caver.klay().getBlockNumber();
+            requests.add(request);
+            futures.add(request.sendAsync());
+        }
+        release.countDown();
+
+        Set<Quantity> responses = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < futures.size(); i++) {
+            Quantity response = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(requests.get(i).getId(), response.getId());
+            responses.add(response);
+        }
+        // answered within the TTL
+        Request<?, Quantity> request = caver.klay().getBlockNumber();
+        Quantity response = request.send();
+        assertEquals(request.getId(), response.getId());
+        assertEquals(BigInteger.valueOf(100), response.getValue());
+        responses.add(response);
+
+        assertEquals(4, responses.size());
+        assertEquals(1, service.count("klay_blockNumber"));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.methods.response.compact.Address20;
+import com.klaytn.caver.methods.response.compact.AddressPool;
+import com.klaytn.caver.methods.response.compact.CompactBlock;
+import com.klaytn.caver.methods.response.compact.CompactKlay;
+import com.klaytn.caver.methods.response.compact.CompactTransactionReceipt;
+import com.klaytn.caver.methods.response.compact.Hash32;
+import org.junit.Test;
+import org.web3j.protocol.ObjectMapperFactory;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactModelTest {
+
+    private static final String SENDER = "0x90b3e9a3770481345a7f17f22f16d020bccfd33e";
+    private static final String CONTRACT = "0xbc5951f055a85f41a3b62fd6f68ab7de76d299b2";
+    private static final String BLOCK_HASH = "0x4a9e3bdd2bd5a1f4a1b17f7e8a22ef3d2d74b9a2b8e5e1b0b0f3a5c5b8a1e7d2";
+    private static final String EMPTY_BLOOM = "0x" + new String(new char[512]).replace('\0', '0');
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private static String receipt(String transactionHash) {
+        return "{\"blockHash\":\"" + BLOCK_HASH + "\",\"blockNumber\":\"0x1b4\","
+                + "\"contractAddress\":null,\"from\":\"" + SENDER + "\",\"gas\":\"0x30d40\","
+                + "\"gasPrice\":\"0x5d21dba00\",\"gasUsed\":\"0x7a1d\",\"input\":\"0xa9059cbb\","
+                + "\"logs\":[{\"address\":\"" + CONTRACT + "\",\"blockHash\":\"" + BLOCK_HASH + "\","
+                + "\"blockNumber\":\"0x1b4\",\"data\":\"0x01\",\"logIndex\":\"0x0\","
+                + "\"topics\":[\"0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef\"],"
+                + "\"transactionHash\":\"" + transactionHash + "\",\"transactionIndex\":\"0x2\"}],"
+                + "\"logsBloom\":\"" + EMPTY_BLOOM + "\",\"nonce\":\"0x7\","
+                + "\"senderTxHash\":\"" + transactionHash + "\","
+                + "\"signatures\":[{\"V\":\"0xfea\",\"R\":\"0x01\",\"S\":\"0x02\"}],\"status\":\"0x1\","
+                + "\"to\":\"" + CONTRACT + "\",\"transactionIndex\":\"0x2\","
+                + "\"transactionHash\":\"" + transactionHash + "\",\"type\":\"TxTypeSmartContractExecution\","
+                + "\"typeInt\":48,\"value\":\"0x0\"}";
+    }
+
+    @Test
+    public void testReceiptRoundTrip() throws Exception {
+        String json = receipt("0x0ba0c5e5b0c1e8a8b8e2d9e7f3c1a4b5d6e7f8091a2b3c4d5e6f708192a3b4c5");
+        KlayTransactionReceipt.TransactionReceipt receipt =
+                objectMapper.readValue(json, KlayTransactionReceipt.TransactionReceipt.class);
+        CompactTransactionReceipt compactReceipt = objectMapper.readValue(json, CompactTransactionReceipt.class);
+
+        assertEquals(0x1b4, compactReceipt.getBlockNumber());
+        assertEquals(0x7a1d, compactReceipt.getGasUsed());
+        assertEquals(48, compactReceipt.getTypeInt());
+        assertEquals(1, compactReceipt.getStatus());
+        assertEquals(-1, compactReceipt.getTxError());
+        assertEquals(BigInteger.ZERO, compactReceipt.getValue());
+        assertEquals(CONTRACT, compactReceipt.getLogs().get(0).getAddress().toString());
+        assertEquals(receipt, compactReceipt.toTransactionReceipt());
+        assertEquals(receipt, CompactTransactionReceipt.from(receipt, new AddressPool()).toTransactionReceipt());
+    }
+
+    @Test
+    public void testAddressesAreShared() throws Exception {
+        CompactTransactionReceipt first = objectMapper.readValue(
+                receipt("0x1111111111111111111111111111111111111111111111111111111111111111"),
+                CompactTransactionReceipt.class);
+        CompactTransactionReceipt second = objectMapper.readValue(
+                receipt("0x2222222222222222222222222222222222222222222222222222222222222222"),
+                CompactTransactionReceipt.class);
+
+        assertSame(first.getFrom(), second.getFrom());
+        assertSame(first.getTo(), first.getLogs().get(0).getAddress());
+        assertSame(first.getTo(), second.getTo());
+    }
+
+    @Test
+    public void testAddressPoolIsBounded() {
+        AddressPool addressPool = new AddressPool(2);
+        Address20 sender = addressPool.intern(SENDER);
+
+        assertSame(sender, addressPool.intern(SENDER));
+        addressPool.intern(CONTRACT);
+        addressPool.intern("0x0000000000000000000000000000000000000001");
+
+        assertEquals(1, addressPool.size());
+        assertEquals(sender, addressPool.intern(SENDER));
+        assertTrue(AddressPool.getDefault().size() <= AddressPool.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    public void testFixedWidthValues() {
+        Hash32 hash = Hash32.of(BLOCK_HASH);
+        Address20 address = Address20.of(SENDER);
+
+        assertEquals(BLOCK_HASH, hash.toString());
+        assertEquals(SENDER, address.toString());
+        assertEquals(hash, Hash32.of(hash.toBytes()));
+        assertEquals(address, Address20.of(address.toBytes()));
+        assertArrayEquals(address.toBytes(), Address20.of(SENDER.toUpperCase().replace("0X", "0x")).toBytes());
+    }
+
+    @Test
+    public void testBlockReceiptsRequest() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_getBlockReceipts", params -> "["
+                + receipt("0x1111111111111111111111111111111111111111111111111111111111111111") + ","
+                + receipt("0x2222222222222222222222222222222222222222222222222222222222222222") + "]");
+
+        List<CompactTransactionReceipt> receipts = new CompactKlay(service).getBlockReceipts(BLOCK_HASH).send().getResult();
+
+        assertEquals(2, receipts.size());
+        assertEquals(Hash32.of("0x2222222222222222222222222222222222222222222222222222222222222222"),
+                receipts.get(1).getTransactionHash());
+    }
+
+    @Test
+    public void testBlockWithTransactionHashes() throws Exception {
+        String json = "{\"number\":\"0x1b4\",\"hash\":\"" + BLOCK_HASH + "\",\"parentHash\":\"" + BLOCK_HASH + "\","
+                + "\"logsBloom\":\"" + EMPTY_BLOOM + "\",\"gasUsed\":\"0x0\",\"timestamp\":\"0x5d1dd1b9\","
+                + "\"timestampFoS\":\"0x0\",\"reward\":\"" + SENDER + "\",\"extraData\":\"0x\","
+                + "\"transactions\":[\"0x1111111111111111111111111111111111111111111111111111111111111111\"]}";
+        KlayBlock.Block block = objectMapper.readValue(json, KlayBlock.Block.class);
+        CompactBlock compactBlock = objectMapper.readValue(json, CompactBlock.class);
+
+        assertEquals(0x5d1dd1b9, compactBlock.getTimestamp());
+        assertEquals(1, compactBlock.getTransactions().size());
+        assertEquals(block, compactBlock.toBlock());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.tx.manager.ConcurrentGetNonceProcessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static com.klaytn.caver.base.Accounts.BRANDON;
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentGetNonceProcessorTest {
+
+    private StubWeb3jService service;
+    private ConcurrentGetNonceProcessor nonceProcessor;
+
+    @Before
+    public void setUp() {
+        service = new StubWeb3jService()
+                .on("klay_getTransactionCount", params ->
+                        params.get(0).equals(LUMAN.getAddress()) ? "\"0x5\"" : "\"0x64\"");
+        nonceProcessor = new ConcurrentGetNonceProcessor(Caver.build(service));
+    }
+
+    @Test
+    public void testNonceIsTrackedPerSender() throws Exception {
+        assertEquals(BigInteger.valueOf(5), nonceProcessor.getNonce(LUMAN));
+        assertEquals(BigInteger.valueOf(100), nonceProcessor.getNonce(BRANDON));
+        assertEquals(BigInteger.valueOf(6), nonceProcessor.getNonce(LUMAN));
+        assertEquals(BigInteger.valueOf(101), nonceProcessor.getNonce(BRANDON));
+        assertEquals(2, service.count("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void testReclaimedNonceIsReused() throws Exception {
+        nonceProcessor.getNonce(LUMAN);
+        BigInteger second = nonceProcessor.getNonce(LUMAN);
+        nonceProcessor.getNonce(LUMAN);
+
+        nonceProcessor.reclaimNonce(LUMAN.getAddress(), second);
+        assertEquals(second, nonceProcessor.getNonce(LUMAN));
+        assertEquals(BigInteger.valueOf(8), nonceProcessor.getNonce(LUMAN));
+    }
+
+    @Test
+    public void testReclaimedTopNonceRewindsCounter() throws Exception {
+        nonceProcessor.getNonce(LUMAN);
+        BigInteger last = nonceProcessor.getNonce(LUMAN);
+
+        nonceProcessor.reclaimNonce(LUMAN.getAddress(), last);
+        assertEquals(last, nonceProcessor.getNonce(LUMAN));
+        assertEquals(BigInteger.valueOf(7), nonceProcessor.getNonce(LUMAN));
+    }
+
+    @Test
+    public void testResetReseedsFromNode() throws Exception {
+        nonceProcessor.getNonce(LUMAN);
+        nonceProcessor.getNonce(LUMAN);
+
+        nonceProcessor.resetNonce(LUMAN.getAddress());
+        assertEquals(BigInteger.valueOf(5), nonceProcessor.getNonce(LUMAN));
+        assertEquals(2, service.count("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void testNonceError() {
+        assertTrue(ConcurrentGetNonceProcessor.isNonceError("nonce too low"));
+        assertFalse(ConcurrentGetNonceProcessor.isNonceError("known transaction: 0x1234"));
+        assertTrue(ConcurrentGetNonceProcessor.isKnownTransaction("known transaction: 0x1234"));
+        assertFalse(ConcurrentGetNonceProcessor.isKnownTransaction("nonce too low"));
+        assertFalse(ConcurrentGetNonceProcessor.isNonceError("insufficient funds"));
+        assertFalse(ConcurrentGetNonceProcessor.isNonceError(null));
+    }
+}
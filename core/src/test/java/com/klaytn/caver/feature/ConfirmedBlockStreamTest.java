@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.logs.ConfirmedBlockStream;
+import com.klaytn.caver.methods.response.KlayBlock;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.utils.Numeric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConfirmedBlockStreamTest {
+
+    private final TreeMap<Long, String> canonical = new TreeMap<>();
+    private final Map<String, String> blocksByHash = new ConcurrentHashMap<>();
+
+    private final List<Long> confirmed = new ArrayList<>();
+    private final List<String> confirmedHashes = new ArrayList<>();
+    private final List<String> rollbacks = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+
+    private static String hash(char branch, long number) {
+        return "0x" + branch + String.format("%063x", number);
+    }
+
+    /**
+     * Makes blocks {@code from} to {@code to} of {@code branch} canonical, {@code from} being built on the
+     * current canonical block {@code from - 1}.
+     */
+    private synchronized void build(char branch, long from, long to) {
+        canonical.keySet().removeIf(number -> number >= from);
+        for (long number = from; number <= to; number++) {
+            String parentHash = canonical.getOrDefault(number - 1, hash('0', 0));
+            String hash = hash(branch, number);
+            blocksByHash.put(hash, "{\"number\":\"0x" + Long.toHexString(number) + "\",\"hash\":\"" + hash
+                    + "\",\"parentHash\":\"" + parentHash + "\",\"logsBloom\":\""
+                    + Numeric.toHexString(new byte[256]) + "\",\"transactions\":[]}");
+            canonical.put(number, hash);
+        }
+    }
+
+    private synchronized long head() {
+        return canonical.lastKey();
+    }
+
+    private synchronized String canonicalBlock(long number) {
+        String hash = canonical.get(number);
+        return hash == null ? "null" : blocksByHash.get(hash);
+    }
+
+    private ConfirmedBlockStream stream() {
+        StubWeb3jService node = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x" + Long.toHexString(head()) + "\"")
+                .on("klay_getBlockByNumber", params -> canonicalBlock(Numeric.decodeQuantity(
+                        ((DefaultBlockParameter) params.get(0)).getValue()).longValue()))
+                .on("klay_getBlockByHash", params -> blocksByHash.getOrDefault((String) params.get(0), "null"));
+        return new ConfirmedBlockStream.Builder(Caver.build(node).klay(), new ConfirmedBlockStream.Listener() {
+            @Override
+            public void onRollback(KlayBlock.Block block) {
+                rollbacks.add(block.getHash());
+            }
+
+            @Override
+            public void onConfirmed(ConfirmedBlockStream.ConfirmedBlock block) {
+                confirmed.add(block.getNumber());
+                confirmedHashes.add(block.getBlock().getHash());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+        }).setConfirmations(2).setWindowSize(8).setStartBlock(1).setPollingInterval(0).build();
+    }
+
+    @Test
+    public void testBlocksAreReleasedAfterConfirmationsAndReorgsRollBack() {
+        build('a', 0, 5);
+        ConfirmedBlockStream stream = stream();
+
+        stream.poll();
+        assertEquals(5, stream.getHeadBlockNumber());
+        assertEquals(3, stream.getReleasedBlockNumber());
+        assertEquals(3, confirmed.size());
+
+        // block 5 is replaced while two blocks are built on its replacement
+        build('b', 5, 7);
+        stream.poll();
+        assertEquals(1, rollbacks.size());
+        assertEquals(hash('a', 5), rollbacks.get(0));
+        assertEquals(7, stream.getHeadBlockNumber());
+        assertEquals(5, confirmed.size());
+        assertEquals(hash('a', 4), confirmedHashes.get(3));
+        assertEquals(hash('b', 5), confirmedHashes.get(4));
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testReorgOfReleasedBlocksIsReported() {
+        build('a', 0, 5);
+        ConfirmedBlockStream stream = stream();
+        stream.poll();
+
+        build('c', 2, 8);
+        stream.poll();
+        assertEquals(1, errors.size());
+        // the unreleased blocks are rolled back, newest first
+        assertEquals(2, rollbacks.size());
+        assertEquals(hash('a', 5), rollbacks.get(0));
+        assertEquals(hash('a', 4), rollbacks.get(1));
+
+        // the stream continues on the new chain after the last released block
+        stream.poll();
+        assertEquals(8, stream.getHeadBlockNumber());
+        assertEquals(6, stream.getReleasedBlockNumber());
+        assertEquals(hash('c', 4), confirmedHashes.get(3));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.tx.EventDecoder;
+import com.klaytn.caver.tx.EventDecoderRegistry;
+import com.klaytn.caver.tx.SmartContract;
+import org.junit.Test;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Int64;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EventDecoderTest {
+
+    private static final Address FROM = new Address("0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a");
+    private static final Address TO = new Address("0xe97f27e9a5765ce36a7b919b1cb6004c7209217e");
+
+    private static final Event TRANSFER_EVENT = new Event("Transfer", Arrays.asList(
+            new TypeReference<Address>(true) {},
+            new TypeReference<Address>(true) {},
+            new TypeReference<Uint256>() {}));
+
+    private static final Event MIXED_EVENT = new Event("Mixed", Arrays.asList(
+            new TypeReference<Utf8String>(true) {},
+            new TypeReference<Int64>() {},
+            new TypeReference<Utf8String>() {},
+            new TypeReference<Bool>() {},
+            new TypeReference<Bytes32>() {},
+            new TypeReference<DynamicBytes>() {},
+            new TypeReference<Uint8>() {}));
+
+    private static KlayLogs.Log log(Event event, List<Type> indexedValues, List<Type> nonIndexedValues) {
+        List<String> topics = new ArrayList<>();
+        topics.add(EventEncoder.encode(event));
+        for (Type value : indexedValues) {
+            topics.add("0x" + TypeEncoder.encode(value));
+        }
+        KlayLogs.Log log = new KlayLogs.Log();
+        log.setTopics(topics);
+        log.setData("0x" + FunctionEncoder.encodeConstructor(nonIndexedValues));
+        return log;
+    }
+
+    private static void assertSameValues(Event event, KlayLogs.Log log) {
+        EventValues expected = SmartContract.staticExtractEventParameters(event, log);
+        EventValues actual = new EventDecoder(event).decode(log);
+        assertEquals(expected.getIndexedValues(), actual.getIndexedValues());
+        assertEquals(expected.getNonIndexedValues(), actual.getNonIndexedValues());
+    }
+
+    @Test
+    public void testDecodesLikeFunctionReturnDecoder() {
+        assertSameValues(TRANSFER_EVENT, log(TRANSFER_EVENT, Arrays.asList(FROM, TO),
+                Collections.singletonList(new Uint256(BigInteger.TEN.pow(20)))));
+
+        Bytes32 hash = new Bytes32(new byte[32]);
+        assertSameValues(MIXED_EVENT, log(MIXED_EVENT, Collections.singletonList(hash), Arrays.asList(
+                new Int64(-42),
+                new Utf8String("klaytn 🚀"),
+                new Bool(true),
+                new Bytes32(Numeric.hexStringToByteArray(EventEncoder.encode(TRANSFER_EVENT))),
+                new DynamicBytes(new byte[]{1, 2, 3}),
+                new Uint8(255))));
+    }
+
+    @Test
+    public void testEventWithArrayFallsBack() {
+        Event event = new Event("Batch", Collections.singletonList(new TypeReference<DynamicArray<Uint256>>() {}));
+        KlayLogs.Log log = log(event, Collections.emptyList(), Collections.singletonList(
+                new DynamicArray<>(new Uint256(BigInteger.ONE), new Uint256(BigInteger.TEN))));
+
+        assertSameValues(event, log);
+    }
+
+    @Test
+    public void testRegistryDispatchesByTopic0() {
+        EventDecoderRegistry registry = new EventDecoderRegistry().register(TRANSFER_EVENT).register(MIXED_EVENT);
+        KlayLogs.Log transfer = log(TRANSFER_EVENT, Arrays.asList(FROM, TO),
+                Collections.singletonList(new Uint256(BigInteger.ONE)));
+
+        EventDecoderRegistry.DecodedEvent decoded = registry.decode(transfer);
+        assertNotNull(decoded);
+        assertSame(TRANSFER_EVENT, decoded.getEvent());
+        assertEquals(TO, decoded.getEventValues().getIndexedValues().get(1));
+        assertEquals(new Uint256(BigInteger.ONE), decoded.getEventValues().getNonIndexedValues().get(0));
+
+        Event unknown = new Event("Unknown", Collections.singletonList(new TypeReference<Uint256>() {}));
+        assertNull(registry.decode(log(unknown, Collections.emptyList(),
+                Collections.singletonList(new Uint256(BigInteger.ONE)))));
+        assertNull(new EventDecoder(TRANSFER_EVENT).decode(log(unknown, Collections.emptyList(),
+                Collections.singletonList(new Uint256(BigInteger.ONE)))));
+    }
+
+    @Test
+    public void testErc20AndErc721TransfersAreToldApart() {
+        Event nftTransfer = new Event("Transfer", Arrays.asList(
+                new TypeReference<Address>(true) {},
+                new TypeReference<Address>(true) {},
+                new TypeReference<Uint256>(true) {}));
+        KlayLogs.Log tokenLog = log(TRANSFER_EVENT, Arrays.asList(FROM, TO),
+                Collections.singletonList(new Uint256(BigInteger.TEN)));
+        KlayLogs.Log nftLog = log(nftTransfer, Arrays.asList(FROM, TO, new Uint256(BigInteger.ONE)),
+                Collections.emptyList());
+
+        assertNull(new EventDecoder(TRANSFER_EVENT).decode(nftLog));
+        assertNull(new EventDecoder(nftTransfer).decode(tokenLog));
+
+        EventDecoderRegistry registry = new EventDecoderRegistry().register(TRANSFER_EVENT).register(nftTransfer);
+        assertSame(TRANSFER_EVENT, registry.decode(tokenLog).getEvent());
+        assertSame(nftTransfer, registry.decode(nftLog).getEvent());
+        assertEquals(new Uint256(BigInteger.ONE),
+                registry.decode(nftLog).getEventValues().getIndexedValues().get(2));
+    }
+
+    @Test
+    public void testTruncatedDataIsNotDecoded() {
+        KlayLogs.Log log = log(MIXED_EVENT, Collections.singletonList(new Bytes32(new byte[32])), Arrays.asList(
+                new Int64(1),
+                new Utf8String("klaytn"),
+                new Bool(true),
+                new Bytes32(new byte[32]),
+                new DynamicBytes(new byte[]{1, 2, 3}),
+                new Uint8(1)));
+        log.setData(log.getData().substring(0, log.getData().length() - 64));
+
+        assertNull(new EventDecoder(MIXED_EVENT).decode(log));
+    }
+}
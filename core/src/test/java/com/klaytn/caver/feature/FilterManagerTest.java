@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.logs.FilterManager;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import org.junit.Test;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FilterManagerTest {
+
+    private static final String CONTRACT = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+    private static final String OTHER_CONTRACT = "0x9d3e1f8a2bd66a6f7ad3f6c1c8a6d9c6c1a3b1e2";
+    private static final String TRANSFER = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String APPROVAL = "0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925";
+
+    private final AtomicLong head = new AtomicLong(10);
+    private final AtomicLong filterIds = new AtomicLong();
+    private final Map<Long, List<String>> logsByBlock = new TreeMap<>();
+    private final Map<Long, Long> filterCursors = new ConcurrentHashMap<>();
+
+    /**
+     * Node returning every log to every filter; a new filter also reports the block it was installed in.
+     */
+    private StubWeb3jService node() {
+        return new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x" + Long.toHexString(head.get()) + "\"")
+                .on("klay_newFilter", params -> {
+                    long id = filterIds.incrementAndGet();
+                    filterCursors.put(id, head.get() - 1);
+                    return "\"0x" + Long.toHexString(id) + "\"";
+                })
+                .on("klay_getFilterChanges", params -> {
+                    long id = Numeric.decodeQuantity((String) params.get(0)).longValue();
+                    long from = filterCursors.get(id) + 1;
+                    filterCursors.put(id, head.get());
+                    return logs(from, head.get());
+                })
+                .on("klay_getLogs", params -> {
+                    KlayLogFilter filter = (KlayLogFilter) params.get(0);
+                    return logs(Numeric.decodeQuantity(filter.getFromBlock().getValue()).longValue(),
+                            Numeric.decodeQuantity(filter.getToBlock().getValue()).longValue());
+                })
+                .on("klay_uninstallFilter", params -> "true");
+    }
+
+    private synchronized String logs(long from, long to) {
+        List<String> logs = new ArrayList<>();
+        for (long block = from; block <= to; block++) {
+            logs.addAll(logsByBlock.getOrDefault(block, new ArrayList<>()));
+        }
+        return "[" + String.join(",", logs) + "]";
+    }
+
+    private synchronized void mine(String address, String topic) {
+        long block = head.incrementAndGet();
+        logsByBlock.computeIfAbsent(block, key -> new ArrayList<>()).add(
+                "{\"address\":\"" + address + "\",\"blockNumber\":\"0x" + Long.toHexString(block)
+                        + "\",\"logIndex\":\"0x0\",\"data\":\"0x\",\"topics\":[\"" + topic + "\"]}");
+    }
+
+    @Test
+    public void testSubscriptionsShareFiltersAndSurviveDroppedFilters() {
+        StubWeb3jService node = node();
+        FilterManager filterManager = new FilterManager.Builder(Caver.build(node).klay())
+                .setPollingInterval(0)
+                .build();
+        List<KlayLogs.Log> transfers = new ArrayList<>();
+        List<KlayLogs.Log> otherTransfers = new ArrayList<>();
+        List<KlayLogs.Log> approvals = new ArrayList<>();
+        filterManager.subscribe(new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER), transfers::add);
+        filterManager.subscribe(
+                new KlayFilter(null, null, OTHER_CONTRACT).addSingleTopic(TRANSFER), otherTransfers::add);
+        FilterManager.Subscription approvalSubscription = filterManager.subscribe(
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(APPROVAL), approvals::add);
+
+        assertEquals(3, filterManager.getSubscriptionCount());
+        assertEquals(2, filterManager.getNodeFilterCount());
+
+        filterManager.poll();
+        assertEquals(2, node.count("klay_newFilter"));
+
+        mine(CONTRACT, TRANSFER);
+        mine(OTHER_CONTRACT, TRANSFER);
+        mine(CONTRACT, APPROVAL);
+        filterManager.poll();
+        assertEquals(1, transfers.size());
+        assertEquals(1, otherTransfers.size());
+        assertEquals(1, approvals.size());
+
+        // the node forgets its filters while a transfer is mined
+        node.onError("klay_getFilterChanges", "filter not found");
+        mine(CONTRACT, TRANSFER);
+        filterManager.poll();
+        node.clearError("klay_getFilterChanges");
+        assertEquals(2, filterManager.getReinstallCount());
+        assertEquals(4, node.count("klay_newFilter"));
+        assertEquals(2, transfers.size());
+
+        // the new filter reports the block of the backfill again
+        mine(CONTRACT, TRANSFER);
+        filterManager.poll();
+        assertEquals(3, transfers.size());
+        assertEquals(BigInteger.valueOf(14), transfers.get(1).getBlockNumber());
+        assertEquals(BigInteger.valueOf(15), transfers.get(2).getBlockNumber());
+
+        approvalSubscription.cancel();
+        assertEquals(1, filterManager.getNodeFilterCount());
+        assertEquals(1, node.count("klay_uninstallFilter"));
+
+        filterManager.close();
+        assertEquals(2, node.count("klay_uninstallFilter"));
+    }
+
+    @Test
+    public void testFailureAfterNewFilterUninstallsIt() {
+        AtomicInteger blockNumberCalls = new AtomicInteger();
+        StubWeb3jService node = node().on("klay_blockNumber", params -> {
+            // the call made right after the first klay_newFilter
+            if (blockNumberCalls.incrementAndGet() == 2) {
+                throw new UncheckedIOException(new SocketTimeoutException("timeout"));
+            }
+            return "\"0x" + Long.toHexString(head.get()) + "\"";
+        });
+        FilterManager filterManager = new FilterManager.Builder(Caver.build(node).klay())
+                .setPollingInterval(0)
+                .build();
+        List<KlayLogs.Log> transfers = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        filterManager.subscribe(
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER), transfers::add, errors::add);
+
+        filterManager.poll();
+        assertEquals(1, errors.size());
+        assertEquals(1, node.count("klay_newFilter"));
+        assertEquals(1, node.count("klay_uninstallFilter"));
+
+        filterManager.poll();
+        assertEquals(2, node.count("klay_newFilter"));
+        mine(CONTRACT, TRANSFER);
+        filterManager.poll();
+        assertEquals(1, transfers.size());
+        assertEquals(1, node.count("klay_uninstallFilter"));
+
+        filterManager.close();
+        assertEquals(2, node.count("klay_uninstallFilter"));
+    }
+
+    @Test
+    public void testDroppedFilterOfCancelledSubscriptionIsNotInstalledAgain() throws IOException {
+        AtomicReference<FilterManager.Subscription> subscription = new AtomicReference<>();
+        StubWeb3jService node = new StubWeb3jService() {
+            @Override
+            public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+                if (request.getMethod().equals("klay_getFilterChanges")) {
+                    // cancelled while the node is asked for the changes
+                    subscription.get().cancel();
+                }
+                return super.send(request, responseType);
+            }
+        };
+        node.on("klay_blockNumber", params -> "\"0x" + Long.toHexString(head.get()) + "\"")
+                .on("klay_newFilter", params -> "\"0x" + Long.toHexString(filterIds.incrementAndGet()) + "\"")
+                .on("klay_uninstallFilter", params -> "true")
+                .onError("klay_getFilterChanges", "filter not found");
+        FilterManager filterManager = new FilterManager.Builder(Caver.build(node).klay())
+                .setPollingInterval(0)
+                .build();
+        subscription.set(filterManager.subscribe(
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER), log -> { }));
+
+        filterManager.poll();
+        mine(CONTRACT, TRANSFER);
+        filterManager.poll();
+
+        assertEquals(0, filterManager.getReinstallCount());
+        assertEquals(1, node.count("klay_newFilter"));
+        assertEquals(0, filterManager.getNodeFilterCount());
+        filterManager.close();
+    }
+
+    @Test
+    public void testCloseCancelsSubscriptions() {
+        StubWeb3jService node = node();
+        FilterManager filterManager = new FilterManager.Builder(Caver.build(node).klay())
+                .setPollingInterval(0)
+                .build();
+        FilterManager.Subscription subscription = filterManager.subscribe(
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER), log -> { });
+        filterManager.poll();
+
+        filterManager.close();
+        assertTrue(subscription.isCancelled());
+        assertEquals(0, filterManager.getSubscriptionCount());
+    }
+
+    @Test
+    public void testSubscribingDoesNotWaitForPoll() {
+        AtomicReference<FilterManager> filterManager = new AtomicReference<>();
+        StubWeb3jService node = node();
+        node.on("klay_newFilter", params -> {
+            // another thread subscribes while the filter is installed
+            try {
+                CompletableFuture.runAsync(() -> filterManager.get().subscribe(
+                        new KlayFilter(null, null, OTHER_CONTRACT).addSingleTopic(TRANSFER), log -> { }))
+                        .get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            return "\"0x" + Long.toHexString(filterIds.incrementAndGet()) + "\"";
+        });
+        filterManager.set(new FilterManager.Builder(Caver.build(node).klay())
+                .setPollingInterval(0)
+                .build());
+
+        filterManager.get().subscribe(new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER), log -> { });
+        filterManager.get().poll();
+
+        assertEquals(2, filterManager.get().getSubscriptionCount());
+        assertEquals(1, node.count("klay_newFilter"));
+        filterManager.get().close();
+    }
+}
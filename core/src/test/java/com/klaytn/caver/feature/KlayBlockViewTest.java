@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayBlockView;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.methods.response.KlayTransactionReceiptView;
+import org.junit.Test;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.DefaultBlockParameter;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class KlayBlockViewTest {
+
+    private static final String TX_HASH_1 = "0x1111111111111111111111111111111111111111111111111111111111111111";
+    private static final String TX_HASH_2 = "0x2222222222222222222222222222222222222222222222222222222222222222";
+    private static final String SIGNATURES = "[{\"V\":\"0xfea\",\"R\":\"0x01\",\"S\":\"0x02\"}]";
+
+    private static final String BLOCK = "{\"number\":\"0x1b4\",\"hash\":\"0xabcd\",\"timestamp\":\"0x5d1dd1b9\","
+            + "\"transactions\":["
+            + "{\"from\":\"0x90b3e9a3770481345a7f17f22f16d020bccfd33e\",\"hash\":\"" + TX_HASH_1 + "\","
+            + "\"signatures\":" + SIGNATURES + "},"
+            + "{\"hash\":\"" + TX_HASH_2 + "\",\"input\":\"0x\",\"signatures\":" + SIGNATURES + "}]}";
+
+    private static final String RECEIPT = "{\"status\":\"0x1\",\"transactionHash\":\"" + TX_HASH_1 + "\","
+            + "\"signatures\":" + SIGNATURES + ",\"feePayerSignatures\":" + SIGNATURES + ","
+            + "\"logs\":[{\"logIndex\":\"0x0\",\"data\":\"0x01\",\"topics\":[]}]}";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    public void testBlockHeaderAndTransactionHashes() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_getBlockByNumber", params -> BLOCK);
+
+        KlayBlockView.BlockView block = Caver.build(service).klay()
+                .getBlockViewByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(436)), true)
+                .send().getBlockView().get();
+
+        assertEquals("0x1b4", block.getNumber());
+        assertEquals("0x5d1dd1b9", block.getTimestamp());
+        assertNull(block.getParentHash());
+        assertEquals(Arrays.asList(TX_HASH_1, TX_HASH_2), block.getTransactionHashes());
+    }
+
+    @Test
+    public void testTransactionHashesOfBlockWithoutFullTransactions() throws Exception {
+        KlayBlockView blockView = objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"transactions\":[\"" + TX_HASH_1 + "\"]}}",
+                KlayBlockView.class);
+
+        assertEquals(Arrays.asList(TX_HASH_1), blockView.getResult().getTransactionHashes());
+    }
+
+    @Test
+    public void testFieldsDecodeLikeTheEagerModel() throws Exception {
+        KlayBlock.Block eager = objectMapper.readValue(BLOCK, KlayBlock.Block.class);
+        KlayBlockView.BlockView lazy = objectMapper.readValue(BLOCK, KlayBlockView.BlockView.class);
+
+        List<?> transactions = lazy.getTransactions();
+        assertEquals(eager.getTransactions(), transactions);
+        assertSame(transactions, lazy.getTransactions());
+        assertEquals(eager, lazy.toBlock());
+    }
+
+    @Test
+    public void testReceiptView() throws Exception {
+        KlayTransactionReceipt.TransactionReceipt eager =
+                objectMapper.readValue(RECEIPT, KlayTransactionReceipt.TransactionReceipt.class);
+        KlayTransactionReceiptView.TransactionReceiptView lazy =
+                objectMapper.readValue(RECEIPT, KlayTransactionReceiptView.TransactionReceiptView.class);
+
+        assertEquals("0x1", lazy.getStatus());
+        assertEquals(eager.getLogs(), lazy.getLogs());
+        assertEquals(eager, lazy.toTransactionReceipt());
+    }
+
+    @Test
+    public void testMissingBlock() throws Exception {
+        KlayBlockView blockView = objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}", KlayBlockView.class);
+
+        assertEquals(false, blockView.getBlockView().isPresent());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.JsonRpc2_0Klay;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayBlock;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.admin.Admin;
+import org.web3j.protocol.core.DefaultBlockParameter;
+
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KlayFlowableTest {
+
+    private static final long POLLING_INTERVAL = 10;
+
+    private StubWeb3jService service;
+    private ScheduledExecutorService scheduler;
+    private AtomicInteger nextHash;
+
+    @Before
+    public void setUp() {
+        nextHash = new AtomicInteger();
+        service = new StubWeb3jService()
+                .on("klay_newBlockFilter", params -> "\"0x1\"")
+                .on("klay_uninstallFilter", params -> "true")
+                .on("klay_getFilterChanges", params -> {
+                    StringBuilder hashes = new StringBuilder("[");
+                    for (int i = 0; i < 5; i++) {
+                        hashes.append(i == 0 ? "" : ",").append("\"0x").append(nextHash.incrementAndGet()).append("\"");
+                    }
+                    return hashes.append("]").toString();
+                })
+                .on("klay_getBlockByHash", params ->
+                        "{\"hash\":\"" + params.get(0) + "\",\"number\":\"" + params.get(0) + "\",\"transactions\":[]}")
+                .on("klay_getBlockByNumber", params -> "{\"hash\":\"0xabcd\",\"number\":\""
+                        + ((DefaultBlockParameter) params.get(0)).getValue() + "\",\"transactions\":[]}");
+        scheduler = Executors.newScheduledThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private JsonRpc2_0Klay klay(int prefetch) {
+        return new JsonRpc2_0Klay(service, POLLING_INTERVAL, scheduler, prefetch, Admin.build(service));
+    }
+
+    @Test
+    public void testBlockFlowableEmitsBlocksInOrder() {
+        TestSubscriber<KlayBlock> subscriber = klay(16).blockFlowable(false).take(7).test();
+
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertComplete().assertValueCount(7);
+        for (int i = 0; i < 7; i++) {
+            assertEquals("0x" + (i + 1), subscriber.values().get(i).getBlock().getHash());
+        }
+    }
+
+    @Test
+    public void testSubscribersShareOneFilter() throws Exception {
+        JsonRpc2_0Klay klay = klay(16);
+        TestSubscriber<String> first = klay.blockHashFlowable().test();
+        TestSubscriber<String> second = klay.blockHashFlowable().test();
+
+        first.awaitCount(10, () -> { }, 5000);
+        second.awaitCount(10, () -> { }, 5000);
+        assertEquals(1, service.count("klay_newBlockFilter"));
+
+        first.cancel();
+        second.cancel();
+        Thread.sleep(POLLING_INTERVAL * 10);
+        assertEquals(1, service.count("klay_uninstallFilter"));
+    }
+
+    @Test
+    public void testCancelDuringInstallUninstallsFilter() throws Exception {
+        CountDownLatch installing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.on("klay_newBlockFilter", params -> {
+            installing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\"0x1\"";
+        });
+        TestSubscriber<String> subscriber = klay(16).blockHashFlowable().test();
+
+        assertTrue(installing.await(5, TimeUnit.SECONDS));
+        subscriber.cancel();
+        release.countDown();
+        Thread.sleep(POLLING_INTERVAL * 10);
+
+        assertEquals(1, service.count("klay_uninstallFilter"));
+    }
+
+    @Test
+    public void testPollingStopsWithoutDemand() throws Exception {
+        TestSubscriber<String> subscriber = klay(2).blockHashFlowable().test(0);
+
+        Thread.sleep(POLLING_INTERVAL * 20);
+        assertEquals(1, service.count("klay_getFilterChanges"));
+        subscriber.assertValueCount(0);
+
+        subscriber.request(12);
+        subscriber.awaitCount(12, () -> { }, 5000).assertValueCount(12);
+        Thread.sleep(POLLING_INTERVAL * 20);
+        subscriber.assertValueCount(12);
+    }
+
+    @Test
+    public void testReplayPastBlocksFlowableKeepsOrder() {
+        TestSubscriber<KlayBlock> subscriber = klay(4).replayPastBlocksFlowable(
+                DefaultBlockParameter.valueOf(BigInteger.ONE),
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(20)),
+                false).test();
+
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertComplete().assertValueCount(20);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("0x" + Integer.toHexString(i + 1), subscriber.values().get(i).getBlock().getNumber());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubSubscriptionService;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.protocol.ReconnectingWebSocketService;
+import com.klaytn.caver.tx.manager.BlockTransactionReceiptProcessor;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class KlaySubscriptionTest {
+
+    private static final String CONTRACT = "0xbc5951f055a85f41a3b62fd6f68ab7de76d299b2";
+    private static final String TRANSFER_TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    private final List<StubSubscriptionService> connections = new CopyOnWriteArrayList<>();
+    private Caver caver;
+
+    @Before
+    public void setUp() {
+        caver = Caver.build(new ReconnectingWebSocketService(() -> {
+            StubSubscriptionService connection = new StubSubscriptionService();
+            connection
+                    .on("klay_getBlockByNumber", params -> "{\"number\":\""
+                            + ((DefaultBlockParameter) params.get(0)).getValue() + "\",\"hash\":\"0xabcd\",\"transactions\":[]}")
+                    .on("klay_getLogs", params -> "[" + log(1, 0) + "," + log(2, 0) + "]");
+            connections.add(connection);
+            return connection;
+        }));
+    }
+
+    private static String head(int number) {
+        return "{\"number\":\"0x" + Integer.toHexString(number) + "\",\"hash\":\"0xabcd\"}";
+    }
+
+    private static String log(int blockNumber, int logIndex) {
+        return "{\"address\":\"" + CONTRACT + "\",\"blockNumber\":\"0x" + Integer.toHexString(blockNumber) + "\","
+                + "\"logIndex\":\"0x" + Integer.toHexString(logIndex) + "\",\"data\":\"0x\","
+                + "\"topics\":[\"" + TRANSFER_TOPIC + "\"]}";
+    }
+
+    private StubSubscriptionService awaitConnection(int index, String subscriptionType) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (connections.size() > index && connections.get(index).subscriptionCount(subscriptionType) > 0) {
+                return connections.get(index);
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No subscription to " + subscriptionType + " on connection " + index);
+    }
+
+    private static List<String> numbers(List<KlayBlock.Block> blocks) {
+        List<String> numbers = new ArrayList<>();
+        for (KlayBlock.Block block : blocks) {
+            numbers.add(block.getNumber());
+        }
+        return numbers;
+    }
+
+    @Test
+    public void testSubscribersShareOneSubscription() throws Exception {
+        TestSubscriber<KlayBlock.Block> first = caver.klay().newHeadsNotifications().test();
+        TestSubscriber<KlayBlock.Block> second = caver.klay().newHeadsNotifications().test();
+
+        StubSubscriptionService connection = awaitConnection(0, "newHeads");
+        connection.notify("newHeads", head(1));
+        connection.notify("newHeads", head(2));
+
+        first.awaitCount(2, () -> { }, 5000).assertValueCount(2);
+        second.awaitCount(2, () -> { }, 5000).assertValueCount(2);
+        assertEquals(1, connection.subscriptionCount("newHeads"));
+
+        first.cancel();
+        second.cancel();
+        assertEquals(0, connection.subscriptionCount("newHeads"));
+    }
+
+    @Test
+    public void testReconnectFillsMissedHeads() throws Exception {
+        TestSubscriber<KlayBlock.Block> subscriber = caver.klay().newHeadsNotifications().test();
+
+        awaitConnection(0, "newHeads").notify("newHeads", head(1));
+        subscriber.awaitCount(1, () -> { }, 5000);
+        connections.get(0).close();
+
+        StubSubscriptionService reconnected = awaitConnection(1, "newHeads");
+        reconnected.notify("newHeads", head(1));
+        reconnected.notify("newHeads", head(4));
+        subscriber.awaitCount(4, () -> { }, 5000);
+
+        subscriber.assertNoErrors();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            expected.add("0x" + i);
+        }
+        assertEquals(expected, numbers(subscriber.values()));
+    }
+
+    @Test
+    public void testReconnectBackfillsLogs() throws Exception {
+        KlayFilter filter = new KlayFilter(DefaultBlockParameterName.LATEST, DefaultBlockParameterName.LATEST, CONTRACT)
+                .addSingleTopic(TRANSFER_TOPIC);
+        TestSubscriber<KlayLogs.Log> subscriber = caver.klay().logsNotifications(filter).test();
+
+        awaitConnection(0, "logs").notify("logs", log(1, 0));
+        subscriber.awaitCount(1, () -> { }, 5000);
+        connections.get(0).close();
+
+        awaitConnection(1, "logs").notify("logs", log(3, 0));
+        subscriber.awaitCount(3, () -> { }, 5000);
+
+        subscriber.assertNoErrors().assertValueCount(3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, subscriber.values().get(i).getBlockNumber().intValue());
+        }
+        assertEquals(1, connections.get(1).count("klay_getLogs"));
+    }
+
+    @Test
+    public void testSubscriptionErrorIsFinal() throws Exception {
+        caver.klay().getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.ONE), false).send();
+        connections.get(0).onSubscriptionError("no notifications");
+
+        TestSubscriber<KlayBlock.Block> subscriber = caver.klay().newHeadsNotifications().test();
+
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertError(IOException.class);
+        assertEquals(1, connections.size());
+        assertFalse(connections.get(0).isClosed());
+    }
+
+    @Test
+    public void testRequestTimeoutKeepsConnection() throws Exception {
+        caver.klay().getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.ONE), false).send();
+        connections.get(0).on("klay_blockNumber", params -> {
+            throw new UncheckedIOException(new IOException("Request with id 2 timed out"));
+        });
+
+        try {
+            caver.klay().getBlockNumber().send();
+            fail();
+        } catch (IOException e) {
+            assertFalse(connections.get(0).isClosed());
+        }
+        caver.klay().getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.ONE), false).send();
+        assertEquals(1, connections.size());
+    }
+
+    @Test
+    public void testPendingTransactions() throws Exception {
+        TestSubscriber<String> subscriber = caver.klay().newPendingTransactionsNotifications().test();
+
+        awaitConnection(0, "newPendingTransactions").notify("newPendingTransactions", "\"0x1234\"");
+
+        subscriber.awaitCount(1, () -> { }, 5000).assertValue("0x1234");
+    }
+
+    @Test
+    public void testReceiptProcessorFollowsNewBlocks() throws Exception {
+        String transactionHash = "0x1111111111111111111111111111111111111111111111111111111111111111";
+        AtomicInteger head = new AtomicInteger(1);
+        StubSubscriptionService service = new StubSubscriptionService();
+        service.on("klay_blockNumber", params -> "\"0x" + Integer.toHexString(head.get()) + "\"")
+                .on("klay_getBlockByNumber", params -> "{\"number\":\""
+                        + ((DefaultBlockParameter) params.get(0)).getValue() + "\",\"hash\":\"0xabcd\","
+                        + "\"transactions\":[\"" + transactionHash + "\"]}")
+                .on("klay_getBlockReceipts", params ->
+                        "[{\"transactionHash\":\"" + transactionHash + "\",\"status\":\"0x1\"}]");
+        PublishProcessor<Object> newBlocks = PublishProcessor.create();
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), newBlocks, 5, 15, null);
+
+        CompletableFuture<KlayTransactionReceipt.TransactionReceipt> receipt =
+                processor.waitForTransactionReceiptAsync(transactionHash);
+        head.set(2);
+        newBlocks.onNext(new Object());
+
+        assertEquals(transactionHash, receipt.get(5, TimeUnit.SECONDS).getTransactionHash());
+        assertEquals(0, processor.getPendingTransactionCount());
+        processor.shutdown();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.protocol.Endpoint;
+import com.klaytn.caver.protocol.HedgingPolicy;
+import com.klaytn.caver.protocol.LoadBalancedService;
+import com.klaytn.caver.tx.type.TxTypeLegacyTransaction;
+import com.klaytn.caver.tx.type.TxTypeValueTransfer;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.klaytn.caver.base.Accounts.BRANDON;
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static com.klaytn.caver.base.Accounts.WAYNE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LoadBalancedServiceTest {
+
+    private static StubWeb3jService node(String blockNumber, long delayMillis) {
+        return new StubWeb3jService()
+                .on("klay_blockNumber", params -> {
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "\"" + blockNumber + "\"";
+                })
+                .on("klay_sendRawTransaction", params -> "\"0x1\"")
+                .on("klay_getTransactionCount", params -> "\"0x0\"");
+    }
+
+    private static LoadBalancedService.Builder builder() {
+        return new LoadBalancedService.Builder().setHealthCheckInterval(0);
+    }
+
+    @Test
+    public void testReadsGoToFastestEndpoint() throws Exception {
+        StubWeb3jService slow = node("0x64", 50);
+        StubWeb3jService fast = node("0x64", 0);
+        Caver caver = Caver.build(builder().addEndpoint("slow", slow).addEndpoint("fast", fast).build());
+
+        for (int i = 0; i < 10; i++) {
+            caver.klay().getBlockNumber().send();
+        }
+
+        assertTrue(slow.count("klay_blockNumber") <= 2);
+        assertTrue(fast.count("klay_blockNumber") >= 8);
+    }
+
+    @Test
+    public void testLaggingEndpointLeavesRotation() throws Exception {
+        StubWeb3jService lagging = node("0x10", 0);
+        StubWeb3jService synced = node("0x64", 0);
+        LoadBalancedService service = builder()
+                .addEndpoint("lagging", lagging)
+                .addEndpoint("synced", synced)
+                .setMaxBlockLag(5)
+                .build();
+
+        service.checkHealth().get();
+
+        Endpoint laggingEndpoint = service.getEndpoints().get(0);
+        assertFalse(laggingEndpoint.isHealthy());
+        assertEquals(16, laggingEndpoint.getBlockNumber());
+        assertTrue(service.getEndpoints().get(1).isHealthy());
+
+        Caver.build(service).klay().getBlockNumber().send();
+        assertEquals(1, lagging.count("klay_blockNumber"));
+        assertEquals(2, synced.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testFailingEndpointIsEjectedAndReadsFailOver() throws Exception {
+        StubWeb3jService broken = new StubWeb3jService();
+        StubWeb3jService healthy = node("0x64", 0);
+        LoadBalancedService service = builder()
+                .addEndpoint("broken", broken)
+                .addEndpoint("healthy", healthy)
+                .setMaxConsecutiveErrors(2)
+                .build();
+        Caver caver = Caver.build(service);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        }
+
+        Endpoint brokenEndpoint = service.getEndpoints().get(0);
+        assertFalse(brokenEndpoint.isHealthy());
+        assertEquals(2, broken.count("klay_blockNumber"));
+        assertTrue(brokenEndpoint.getErrorRate() > 0);
+    }
+
+    @Test
+    public void testWritesOfSenderStickToOneEndpoint() throws Exception {
+        StubWeb3jService[] nodes = {node("0x64", 0), node("0x64", 0), node("0x64", 0)};
+        LoadBalancedService.Builder builder = builder();
+        for (int i = 0; i < nodes.length; i++) {
+            builder.addEndpoint("node" + i, nodes[i]);
+        }
+        Caver caver = Caver.build(builder.build());
+
+        for (int nonce = 0; nonce < 5; nonce++) {
+            caver.klay().getTransactionCount(LUMAN.getAddress(), DefaultBlockParameterName.PENDING).send();
+            caver.klay().sendSignedTransaction(valueTransfer(nonce)).send();
+            caver.klay().sendSignedTransaction(legacyTransaction(nonce)).send();
+        }
+
+        int owners = 0;
+        for (StubWeb3jService node : nodes) {
+            if (node.count("klay_sendRawTransaction") > 0) {
+                owners++;
+                assertEquals(10, node.count("klay_sendRawTransaction"));
+                assertEquals(5, node.count("klay_getTransactionCount"));
+            }
+        }
+        assertEquals(1, owners);
+    }
+
+    @Test
+    public void testSlowReadIsHedgedToSecondEndpoint() throws Exception {
+        StubWeb3jService slow = balanceNode("0x1", 1000);
+        StubWeb3jService fast = balanceNode("0x2", 0);
+        LoadBalancedService service = builder()
+                .addEndpoint("slow", slow)
+                .addEndpoint("fast", fast)
+                .setHedgingPolicy(new HedgingPolicy.Builder().setDelayBounds(20, 20).setMaxExtraLoad(1).build())
+                .build();
+        Caver caver = Caver.build(service);
+
+        long startedAt = System.nanoTime();
+        BigInteger balance = caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameterName.LATEST)
+                .send().getValue();
+
+        assertEquals(BigInteger.valueOf(2), balance);
+        assertTrue(System.nanoTime() - startedAt < 500_000_000L);
+        HedgingPolicy policy = service.getHedgingPolicy();
+        assertEquals(1, policy.getHedgeCount());
+        assertEquals(1, policy.getHedgeWinCount());
+        assertEquals(1, slow.count("klay_getBalance"));
+        assertEquals(1, fast.count("klay_getBalance"));
+    }
+
+    @Test
+    public void testHedgesStayWithinBudget() throws Exception {
+        StubWeb3jService slow = balanceNode("0x1", 100);
+        StubWeb3jService fast = balanceNode("0x2", 0);
+        LoadBalancedService service = builder()
+                .addEndpoint("slow", slow)
+                .addEndpoint("fast", fast)
+                .setHedgingPolicy(new HedgingPolicy.Builder().setDelayBounds(10, 10).setMaxExtraLoad(0).build())
+                .build();
+        Caver caver = Caver.build(service);
+
+        assertEquals(BigInteger.ONE, caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameterName.LATEST)
+                .send().getValue());
+
+        HedgingPolicy policy = service.getHedgingPolicy();
+        assertEquals(0, policy.getHedgeCount());
+        assertEquals(1, policy.getSkippedHedgeCount());
+        assertEquals(0, fast.count("klay_getBalance"));
+    }
+
+    @Test
+    public void testFailoverTakesTheHedgeSlot() throws Exception {
+        StubWeb3jService broken = new StubWeb3jService();
+        StubWeb3jService slow = balanceNode("0x1", 100);
+        LoadBalancedService service = builder()
+                .addEndpoint("broken", broken)
+                .addEndpoint("slow", slow)
+                .setHedgingPolicy(new HedgingPolicy.Builder().setDelayBounds(10, 10).setMaxExtraLoad(1).build())
+                .build();
+        Caver caver = Caver.build(service);
+
+        assertEquals(BigInteger.ONE, caver.klay().getBalance(LUMAN.getAddress(), DefaultBlockParameterName.LATEST)
+                .send().getValue());
+
+        assertEquals(0, service.getHedgingPolicy().getHedgeCount());
+        assertEquals(1, broken.count("klay_getBalance"));
+        assertEquals(1, slow.count("klay_getBalance"));
+    }
+
+    @Test
+    public void testSynchronousFailureOfEndpointCompletesRequest() throws Exception {
+        StubWeb3jService closed = new StubWeb3jService() {
+            @Override
+            public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+                throw new IllegalStateException("closed");
+            }
+        };
+        LoadBalancedService service = builder().addEndpoint("closed", closed).build();
+
+        try {
+            Caver.build(service).klay().getBlockNumber().sendAsync().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Endpoint endpoint = service.getEndpoints().get(0);
+        assertEquals(0, endpoint.getInFlightRequests());
+        assertEquals(1, endpoint.getConsecutiveErrors());
+    }
+
+    private static StubWeb3jService balanceNode(String balance, long delayMillis) {
+        return new StubWeb3jService().on("klay_getBalance", params -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\"" + balance + "\"";
+        });
+    }
+
+    private static String valueTransfer(int nonce) {
+        return TxTypeValueTransfer.createTransaction(
+                BigInteger.valueOf(nonce), BigInteger.valueOf(25000000000L), BigInteger.valueOf(21000),
+                WAYNE.getAddress(), BigInteger.ONE, LUMAN.getAddress())
+                .sign(LUMAN, 1).getValueAsString();
+    }
+
+    private static String legacyTransaction(int nonce) {
+        return TxTypeLegacyTransaction.createTransaction(
+                BigInteger.valueOf(nonce), BigInteger.valueOf(25000000000L), BigInteger.valueOf(21000),
+                BRANDON.getAddress(), BigInteger.ONE, "0x")
+                .sign(LUMAN, 1).getValueAsString();
+    }
+}
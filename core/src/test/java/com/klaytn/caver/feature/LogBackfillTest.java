@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.logs.LogBackfill;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import org.junit.Test;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LogBackfillTest {
+
+    private static final String CONTRACT = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+
+    private final AtomicInteger timeouts = new AtomicInteger();
+
+    /**
+     * Node with one log every 10 blocks, timing out on ranges over 200 blocks.
+     */
+    private StubWeb3jService node() {
+        return new StubWeb3jService().on("klay_getLogs", params -> {
+            KlayLogFilter filter = (KlayLogFilter) params.get(0);
+            long from = Numeric.decodeQuantity(filter.getFromBlock().getValue()).longValue();
+            long to = Numeric.decodeQuantity(filter.getToBlock().getValue()).longValue();
+            if (to - from + 1 > 200) {
+                timeouts.incrementAndGet();
+                throw new UncheckedIOException(new SocketTimeoutException("timeout"));
+            }
+            StringBuilder logs = new StringBuilder("[");
+            for (long block = (from + 9) / 10 * 10; block <= to; block += 10) {
+                if (logs.length() > 1) {
+                    logs.append(',');
+                }
+                logs.append("{\"address\":\"").append(CONTRACT)
+                        .append("\",\"blockNumber\":\"0x").append(Long.toHexString(block))
+                        .append("\",\"logIndex\":\"0x0\",\"data\":\"0x\",\"topics\":[]}");
+            }
+            return logs.append(']').toString();
+        });
+    }
+
+    private static LogBackfill.Checkpoint memoryCheckpoint(AtomicLong saved) {
+        return new LogBackfill.Checkpoint() {
+            @Override
+            public long load() {
+                return saved.get();
+            }
+
+            @Override
+            public void save(long nextBlock) {
+                saved.set(nextBlock);
+            }
+        };
+    }
+
+    @Test
+    public void testLogsArriveInOrderWhileChunksAdapt() throws Exception {
+        StubWeb3jService node = node();
+        LogBackfill backfill = new LogBackfill.Builder(
+                Caver.build(node).klay(), new KlayFilter(null, null, CONTRACT), 0, 4999)
+                .setChunkSize(50, 1, 1000)
+                .setMaxInFlight(4)
+                .setTargetLogs(100)
+                .build();
+
+        List<Long> blocks = new ArrayList<>();
+        long count = backfill.run(log -> blocks.add(log.getBlockNumber().longValue()));
+
+        assertEquals(500, count);
+        for (int i = 0; i < blocks.size(); i++) {
+            assertEquals(i * 10L, (long) blocks.get(i));
+        }
+        assertTrue(timeouts.get() > 0);
+        assertTrue(node.count("klay_getLogs") < 100);
+    }
+
+    @Test
+    public void testRestartResumesFromCheckpoint() throws Exception {
+        StubWeb3jService node = node();
+        AtomicLong saved = new AtomicLong(-1);
+        KlayFilter filter = new KlayFilter(null, null, CONTRACT);
+
+        List<Long> firstRun = new ArrayList<>();
+        try {
+            new LogBackfill.Builder(Caver.build(node).klay(), filter, 0, 999)
+                    .setChunkSize(100, 1, 100)
+                    .setCheckpoint(memoryCheckpoint(saved))
+                    .build()
+                    .run(log -> {
+                        if (log.getBlockNumber().longValue() >= 500) {
+                            throw new IllegalStateException("crash");
+                        }
+                        firstRun.add(log.getBlockNumber().longValue());
+                    });
+            fail("the consumer should have stopped the backfill");
+        } catch (IllegalStateException expected) {
+            // simulated crash
+        }
+        assertEquals(500, saved.get());
+
+        List<Long> secondRun = new ArrayList<>();
+        new LogBackfill.Builder(Caver.build(node).klay(), filter, 0, 999)
+                .setChunkSize(100, 1, 100)
+                .setCheckpoint(memoryCheckpoint(saved))
+                .build()
+                .run(log -> secondRun.add(log.getBlockNumber().longValue()));
+
+        assertEquals(50, firstRun.size());
+        assertEquals(50, secondRun.size());
+        assertEquals(500L, (long) secondRun.get(0));
+        assertEquals(1000, saved.get());
+    }
+
+    @Test
+    public void testQueryTimeoutOfNodeSplitsChunks() throws Exception {
+        StubWeb3jService node = new StubWeb3jService() {
+            @Override
+            public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+                KlayLogFilter filter = (KlayLogFilter) request.getParams().get(0);
+                long from = Numeric.decodeQuantity(filter.getFromBlock().getValue()).longValue();
+                long to = Numeric.decodeQuantity(filter.getToBlock().getValue()).longValue();
+                if (to - from + 1 > 200) {
+                    timeouts.incrementAndGet();
+                    KlayLogs logs = new KlayLogs();
+                    logs.setError(new Response.Error(-32000, "query timeout exceeded"));
+                    return responseType.cast(logs);
+                }
+                return super.send(request, responseType);
+            }
+        };
+        node.on("klay_getLogs", params -> "[]");
+
+        long count = new LogBackfill.Builder(
+                Caver.build(node).klay(), new KlayFilter(null, null, CONTRACT), 0, 999)
+                .setChunkSize(500, 1, 1000)
+                .build()
+                .run(log -> { });
+
+        assertEquals(0, count);
+        assertTrue(timeouts.get() > 0);
+    }
+
+    @Test
+    public void testOtherNodeErrorsAreNotRetried() throws Exception {
+        StubWeb3jService node = node().onError("klay_getLogs", "invalid block range params");
+
+        try {
+            new LogBackfill.Builder(Caver.build(node).klay(), new KlayFilter(null, null, CONTRACT), 0, 999)
+                    .setChunkSize(500, 1, 1000)
+                    .setMaxInFlight(1)
+                    .build()
+                    .run(log -> { });
+            fail("the node error should have stopped the backfill");
+        } catch (PlatformErrorException expected) {
+            assertEquals(1, node.count("klay_getLogs"));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.logs.BloomBlockScanner;
+import com.klaytn.caver.methods.request.KlayFilter;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.utils.LogsBloom;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.utils.Numeric;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogsBloomTest {
+
+    private static final String CONTRACT = "0x2c8ad0ea2e0781db8b8c9242e07de3a5beabb71a";
+    private static final String OTHER_CONTRACT = "0x9d3e1f8a2bd66a6f7ad3f6c1c8a6d9c6c1a3b1e2";
+    private static final String TRANSFER = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String APPROVAL = "0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925";
+
+    @Test
+    public void testBloomHoldsItsValues() {
+        byte[] bloom = LogsBloom.of(CONTRACT, TRANSFER);
+        String logsBloom = Numeric.toHexString(bloom);
+
+        assertTrue(LogsBloom.mayContain(bloom, CONTRACT));
+        assertTrue(LogsBloom.mayContain(bloom, TRANSFER));
+        assertTrue(LogsBloom.mayContain(logsBloom, CONTRACT));
+        assertTrue(LogsBloom.mayContain(logsBloom, TRANSFER));
+        assertFalse(LogsBloom.mayContain(bloom, APPROVAL));
+        assertFalse(LogsBloom.mayContain(logsBloom, APPROVAL));
+        assertEquals(256, LogsBloom.parse(logsBloom).length);
+    }
+
+    @Test
+    public void testQueryFollowsFilterSemantics() {
+        LogsBloom.Query query = LogsBloom.Query.from(
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER));
+
+        assertTrue(query.mayMatch(LogsBloom.of(CONTRACT, TRANSFER)));
+        assertTrue(query.mayMatch(Numeric.toHexString(LogsBloom.of(CONTRACT, TRANSFER))));
+        assertFalse(query.mayMatch(LogsBloom.of(CONTRACT, APPROVAL)));
+        assertFalse(query.mayMatch(Numeric.toHexString(LogsBloom.of(OTHER_CONTRACT, TRANSFER))));
+        assertFalse(query.mayMatch(new byte[LogsBloom.BLOOM_BYTES]));
+
+        LogsBloom.Query anyEvent = new LogsBloom.Query.Builder()
+                .addTopic()
+                .addTopic(TRANSFER, APPROVAL)
+                .build();
+        assertTrue(anyEvent.mayMatch(LogsBloom.of(OTHER_CONTRACT, APPROVAL)));
+        assertTrue(anyEvent.matches(log(OTHER_CONTRACT, CONTRACT, APPROVAL.toUpperCase().replace("0X", "0x"))));
+        assertFalse(anyEvent.matches(log(OTHER_CONTRACT, CONTRACT)));
+    }
+
+    @Test
+    public void testScannerOnlyFetchesReceiptsOfMatchingBlocks() throws Exception {
+        StubWeb3jService node = new StubWeb3jService()
+                .on("klay_getBlockByNumber", params -> {
+                    long number = Numeric.decodeQuantity(
+                            ((DefaultBlockParameter) params.get(0)).getValue()).longValue();
+                    String bloom = number % 50 == 0
+                            ? Numeric.toHexString(LogsBloom.of(CONTRACT, TRANSFER))
+                            : number % 7 == 0
+                            ? Numeric.toHexString(LogsBloom.of(OTHER_CONTRACT, TRANSFER))
+                            : Numeric.toHexString(new byte[LogsBloom.BLOOM_BYTES]);
+                    return "{\"number\":\"0x" + Long.toHexString(number) + "\",\"hash\":\"0x"
+                            + String.format("%064x", number) + "\",\"logsBloom\":\"" + bloom + "\"}";
+                })
+                .on("klay_getBlockReceipts", params -> "[{\"status\":\"0x1\",\"logs\":["
+                        + logJson(CONTRACT, TRANSFER) + "," + logJson(OTHER_CONTRACT, TRANSFER) + "]}]");
+        BloomBlockScanner scanner = new BloomBlockScanner(Caver.build(node).klay(),
+                new KlayFilter(null, null, CONTRACT).addSingleTopic(TRANSFER));
+
+        List<KlayLogs.Log> logs = new ArrayList<>();
+        long count = scanner.scan(1, 500, logs::add);
+
+        assertEquals(10, count);
+        assertEquals(10, logs.size());
+        assertEquals(CONTRACT, logs.get(0).getAddress());
+        assertEquals(500, scanner.getScannedBlockCount());
+        assertEquals(10, scanner.getReceiptRequestCount());
+        assertEquals(10, node.count("klay_getBlockReceipts"));
+        assertEquals(0, scanner.getFalsePositiveCount());
+    }
+
+    private static KlayLogs.Log log(String address, String... topics) {
+        KlayLogs.Log log = new KlayLogs.Log();
+        log.setAddress(address);
+        List<String> topicList = new ArrayList<>();
+        for (String topic : topics) {
+            topicList.add(topic);
+        }
+        log.setTopics(topicList);
+        return log;
+    }
+
+    private static String logJson(String address, String topic) {
+        return "{\"address\":\"" + address + "\",\"logIndex\":\"0x0\",\"data\":\"0x\",\"topics\":[\""
+                + topic + "\"]}";
+    }
+}
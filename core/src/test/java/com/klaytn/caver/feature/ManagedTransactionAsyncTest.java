@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.crpyto.KlayCredentials;
+import com.klaytn.caver.fee.FeePayerManager;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.Account;
+import com.klaytn.caver.tx.SmartContract;
+import com.klaytn.caver.tx.ValueTransfer;
+import com.klaytn.caver.tx.account.AccountKeyPublic;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import com.klaytn.caver.tx.manager.ErrorHandler;
+import com.klaytn.caver.tx.manager.PollingTransactionReceiptProcessor;
+import com.klaytn.caver.tx.manager.TransactionManager;
+import com.klaytn.caver.tx.model.AccountUpdateTransaction;
+import com.klaytn.caver.tx.model.SmartContractDeployTransaction;
+import com.klaytn.caver.tx.model.SmartContractExecutionTransaction;
+import com.klaytn.caver.tx.type.TxTypeFeeDelegatedValueTransfer;
+import com.klaytn.caver.utils.CodeFormat;
+import com.klaytn.caver.utils.Convert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.klaytn.caver.base.Accounts.FEE_PAYER;
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static com.klaytn.caver.base.Accounts.WAYNE;
+import static com.klaytn.caver.base.LocalValues.LOCAL_CHAIN_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Async variants of the managed transactions, against a node stub that mines every transaction at once.
+ */
+public class ManagedTransactionAsyncTest {
+
+    private static final BigInteger GAS_PRICE = Convert.toPeb("25", Convert.Unit.STON).toBigInteger();
+    private static final BigInteger GAS_LIMIT = BigInteger.valueOf(4_300_000);
+    private static final byte[] PAYLOAD = Numeric.hexStringToByteArray("0x6080604052348015600f57600080fd5b50");
+
+    private ScheduledExecutorService scheduler;
+    private StubWeb3jService service;
+    private Caver caver;
+    private List<String> sentRawTransactions;
+    private List<Exception> errors;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        sentRawTransactions = new CopyOnWriteArrayList<>();
+        errors = new CopyOnWriteArrayList<>();
+        service = new StubWeb3jService()
+                .on("klay_getTransactionCount", params -> "\"0x0\"")
+                .on("klay_sendRawTransaction", params -> {
+                    String rawTransaction = (String) params.get(0);
+                    sentRawTransactions.add(rawTransaction);
+                    return "\"" + localHash(rawTransaction) + "\"";
+                })
+                .on("klay_getTransactionReceipt", params ->
+                        "{\"transactionHash\":\"" + params.get(0) + "\",\"status\":\"0x1\"}");
+        caver = Caver.build(service);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testValueTransferAsync() throws Exception {
+        KlayTransactionReceipt.TransactionReceipt receipt = ValueTransfer.create(caver, transactionManager(LUMAN))
+                .sendFundsAsync(LUMAN.getAddress(), WAYNE.getAddress(), BigDecimal.ONE, Convert.Unit.PEB, GAS_LIMIT)
+                .get(5, TimeUnit.SECONDS);
+
+        assertSentAndMined(receipt);
+    }
+
+    @Test
+    public void testSmartContractDeployAsync() throws Exception {
+        KlayTransactionReceipt.TransactionReceipt receipt = SmartContract.create(caver, transactionManager(LUMAN))
+                .sendDeployTransactionAsync(SmartContractDeployTransaction.create(
+                        LUMAN.getAddress(), BigInteger.ZERO, PAYLOAD, GAS_LIMIT, CodeFormat.EVM))
+                .get(5, TimeUnit.SECONDS);
+
+        assertSentAndMined(receipt);
+    }
+
+    @Test
+    public void testSmartContractExecutionAsync() throws Exception {
+        KlayTransactionReceipt.TransactionReceipt receipt = SmartContract.create(caver, transactionManager(LUMAN))
+                .sendExecutionTransactionAsync(SmartContractExecutionTransaction.create(
+                        LUMAN.getAddress(), WAYNE.getAddress(), BigInteger.ZERO, PAYLOAD, GAS_LIMIT))
+                .get(5, TimeUnit.SECONDS);
+
+        assertSentAndMined(receipt);
+    }
+
+    @Test
+    public void testAccountUpdateAsync() throws Exception {
+        KlayCredentials credentials = KlayCredentials.create(Keys.createEcKeyPair());
+        KlayCredentials updateCredentials = KlayCredentials.create(Keys.createEcKeyPair());
+
+        KlayTransactionReceipt.TransactionReceipt receipt = Account.create(caver, transactionManager(credentials))
+                .sendUpdateTransactionAsync(AccountUpdateTransaction.create(
+                        credentials.getAddress(),
+                        AccountKeyPublic.create(updateCredentials.getEcKeyPair().getPublicKey()),
+                        GAS_LIMIT))
+                .get(5, TimeUnit.SECONDS);
+
+        assertSentAndMined(receipt);
+    }
+
+    @Test
+    public void testRejectedTransactionFailsTheFuture() throws Exception {
+        service.onError("klay_sendRawTransaction", "insufficient funds of the sender for value");
+
+        ValueTransfer valueTransfer = ValueTransfer.create(caver, transactionManager(LUMAN));
+        try {
+            valueTransfer.sendFundsAsync(
+                    LUMAN.getAddress(), WAYNE.getAddress(), BigDecimal.ONE, Convert.Unit.PEB, GAS_LIMIT)
+                    .get(5, TimeUnit.SECONDS);
+            fail("Expected the transaction to be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PlatformErrorException);
+        }
+        assertEquals(1, errors.size());
+        assertEquals(0, service.count("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void testFeePayerManagerAsync() throws Exception {
+        TxTypeFeeDelegatedValueTransfer tx = TxTypeFeeDelegatedValueTransfer.createTransaction(
+                BigInteger.ZERO,
+                GAS_PRICE,
+                GAS_LIMIT,
+                WAYNE.getAddress(),
+                BigInteger.ONE,
+                LUMAN.getAddress());
+        String senderRawTransaction = tx.sign(LUMAN, LOCAL_CHAIN_ID).getValueAsString();
+        FeePayerManager feePayerManager = new FeePayerManager.Builder(caver, FEE_PAYER)
+                .setTransactionReceiptProcessor(new PollingTransactionReceiptProcessor(caver, 10, 5, scheduler))
+                .setChainId(LOCAL_CHAIN_ID)
+                .setErrorHandler(errorHandler())
+                .build();
+
+        KlayTransactionReceipt.TransactionReceipt receipt =
+                feePayerManager.executeTransactionAsync(senderRawTransaction).get(5, TimeUnit.SECONDS);
+
+        assertSentAndMined(receipt);
+        assertEquals(feePayerManager.sign(senderRawTransaction).getTransactionHash(), receipt.getTransactionHash());
+    }
+
+    private TransactionManager transactionManager(KlayCredentials credentials) {
+        return new TransactionManager.Builder(caver, credentials)
+                .setChaindId(LOCAL_CHAIN_ID)
+                .setTransactionReceiptProcessor(new PollingTransactionReceiptProcessor(caver, 10, 5, scheduler))
+                .setErrorHandler(errorHandler())
+                .build();
+    }
+
+    private ErrorHandler errorHandler() {
+        return new ErrorHandler() {
+            @Override
+            public void exception(Exception exception) {
+                errors.add(exception);
+            }
+        };
+    }
+
+    private void assertSentAndMined(KlayTransactionReceipt.TransactionReceipt receipt) {
+        assertEquals(1, sentRawTransactions.size());
+        assertEquals(localHash(sentRawTransactions.get(0)), receipt.getTransactionHash());
+        assertEquals("0x1", receipt.getStatus());
+        assertTrue(errors.isEmpty());
+    }
+
+    private static String localHash(String rawTransaction) {
+        return Numeric.toHexString(Hash.sha3(Numeric.hexStringToByteArray(rawTransaction)));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.tx.manager.ParallelTransactionSigner;
+import com.klaytn.caver.tx.manager.TransactionManager;
+import com.klaytn.caver.tx.model.KlayRawTransaction;
+import com.klaytn.caver.tx.model.ValueTransferTransaction;
+import com.klaytn.caver.wallet.WalletManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.klaytn.caver.base.Accounts.BRANDON;
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static com.klaytn.caver.base.Accounts.WAYNE;
+import static com.klaytn.caver.base.LocalValues.LOCAL_CHAIN_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ParallelTransactionSignerTest {
+
+    private ParallelTransactionSigner signer;
+
+    @Before
+    public void setUp() {
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_getTransactionCount", params ->
+                        params.get(0).equals(LUMAN.getAddress()) ? "\"0x5\"" : "\"0x64\"");
+        WalletManager walletManager = new WalletManager();
+        walletManager.add(LUMAN);
+        walletManager.add(BRANDON);
+        TransactionManager transactionManager = new TransactionManager.Builder(Caver.build(service), walletManager)
+                .setChaindId(LOCAL_CHAIN_ID)
+                .build();
+        signer = new ParallelTransactionSigner(transactionManager, 4);
+    }
+
+    @After
+    public void tearDown() {
+        signer.shutdown();
+    }
+
+    @Test
+    public void testNoncesFollowSubmissionOrderPerSender() throws Exception {
+        List<ValueTransferTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String from = i % 2 == 0 ? LUMAN.getAddress() : BRANDON.getAddress();
+            transactions.add(ValueTransferTransaction.create(
+                    from, WAYNE.getAddress(), BigInteger.ONE, BigInteger.valueOf(21000)));
+        }
+
+        List<KlayRawTransaction> rawTransactions = signer.sign(transactions, false);
+
+        assertEquals(6, rawTransactions.size());
+        for (int i = 0; i < 6; i++) {
+            BigInteger base = i % 2 == 0 ? BigInteger.valueOf(5) : BigInteger.valueOf(100);
+            assertEquals(base.add(BigInteger.valueOf(i / 2)), transactions.get(i).getNonce());
+            assertNotNull(rawTransactions.get(i).getValue());
+        }
+
+        long signed = signer.getWorkerMetrics().stream()
+                .mapToLong(ParallelTransactionSigner.WorkerMetrics::getSignedCount)
+                .sum();
+        assertEquals(6, signed);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.manager.PollingTransactionReceiptProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PollingTransactionReceiptProcessorTest {
+
+    private static final String TX_HASH = "0x6c1a4ac6cd24b1b2a3d26f8c92a6b7f6b0f6f3e7b2a9b9cbf0f4c7a3b8f1d2e3";
+
+    private ScheduledExecutorService scheduler;
+    private StubWeb3jService service;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        service = new StubWeb3jService();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testReceiptIsPolledUntilAvailable() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        service.on("klay_getTransactionReceipt", params -> queries.incrementAndGet() < 3
+                ? "null"
+                : "{\"transactionHash\":\"" + params.get(0) + "\",\"status\":\"0x1\"}");
+        PollingTransactionReceiptProcessor processor =
+                new PollingTransactionReceiptProcessor(Caver.build(service), 10, 5, scheduler);
+
+        KlayTransactionReceipt.TransactionReceipt receipt =
+                processor.waitForTransactionReceiptAsync(TX_HASH).get(5, TimeUnit.SECONDS);
+
+        assertEquals(TX_HASH, receipt.getTransactionHash());
+        assertEquals(3, service.count("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void testFailsOnceAttemptsAreExhausted() throws Exception {
+        service.on("klay_getTransactionReceipt", params -> "null");
+        PollingTransactionReceiptProcessor processor =
+                new PollingTransactionReceiptProcessor(Caver.build(service), 10, 3, scheduler);
+
+        try {
+            processor.waitForTransactionReceiptAsync(TX_HASH).get(5, TimeUnit.SECONDS);
+            fail("Expected the receipt to time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionException);
+            assertEquals(TX_HASH, ((TransactionException) e.getCause()).getTransactionHash().get());
+        }
+        // the first query and one per attempt
+        assertEquals(4, service.count("klay_getTransactionReceipt"));
+    }
+
+    @Test
+    public void testErrorResponseFailsTheFuture() throws Exception {
+        service.onError("klay_getTransactionReceipt", "internal error");
+        PollingTransactionReceiptProcessor processor =
+                new PollingTransactionReceiptProcessor(Caver.build(service), 10, 5, scheduler);
+
+        try {
+            processor.waitForTransactionReceiptAsync(TX_HASH).get(5, TimeUnit.SECONDS);
+            fail("Expected the receipt request to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionException);
+            assertTrue(e.getCause().getMessage().contains("internal error"));
+        }
+        assertEquals(1, service.count("klay_getTransactionReceipt"));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.Callback;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.protocol.BatchWeb3jService;
+import com.klaytn.caver.tx.manager.QueuingTransactionReceiptProcessor;
+import org.junit.Test;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class QueuingTransactionReceiptProcessorTest {
+
+    /**
+     * Stub counting the JSON-RPC batches it receives.
+     */
+    private static class BatchStub extends StubWeb3jService implements BatchWeb3jService {
+
+        private final AtomicInteger batchCount = new AtomicInteger();
+
+        @Override
+        public List<Response<?>> sendBatch(
+                List<Request<?, ? extends Response>> requests, List<Class<? extends Response>> responseTypes)
+                throws IOException {
+            batchCount.incrementAndGet();
+            List<Response<?>> responses = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                responses.add(send(requests.get(i), responseTypes.get(i)));
+            }
+            return responses;
+        }
+    }
+
+    private static class QueueCallback implements Callback<KlayTransactionReceipt.TransactionReceipt> {
+
+        private final BlockingQueue<KlayTransactionReceipt.TransactionReceipt> receipts = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Exception> exceptions = new LinkedBlockingQueue<>();
+
+        @Override
+        public void accept(KlayTransactionReceipt.TransactionReceipt result) {
+            receipts.add(result);
+        }
+
+        @Override
+        public void exception(Exception exception) {
+            exceptions.add(exception);
+        }
+    }
+
+    private static String hash(int i) {
+        return "0x" + String.format("%064x", i);
+    }
+
+    @Test
+    public void testPendingHashesArePolledInBatches() throws Exception {
+        BatchStub service = new BatchStub();
+        service.on("klay_getTransactionReceipt", params ->
+                "{\"transactionHash\":\"" + params.get(0) + "\",\"status\":\"0x1\"}");
+        QueueCallback callback = new QueueCallback();
+        QueuingTransactionReceiptProcessor processor = new QueuingTransactionReceiptProcessor(
+                Caver.build(service), callback, 3, 50, 2);
+        BlockingQueue<QueuingTransactionReceiptProcessor.TickMetrics> ticks = new LinkedBlockingQueue<>();
+        processor.setTickListener(ticks::add);
+
+        for (int i = 0; i < 5; i++) {
+            processor.waitForTransactionReceiptAsync(hash(i));
+        }
+
+        QueuingTransactionReceiptProcessor.TickMetrics tick = ticks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(tick);
+        assertEquals(5, tick.getPendingTransactionCount());
+        assertEquals(3, tick.getBatchCount());
+        assertEquals(3, service.batchCount.get());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(callback.receipts.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, processor.getPendingTransactionCount());
+        assertTrue(callback.exceptions.isEmpty());
+    }
+
+    @Test
+    public void testTicksAreSkippedWhileBatchesAreOutstanding() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchStub service = new BatchStub();
+        service.on("klay_getTransactionReceipt", params -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{\"transactionHash\":\"" + params.get(0) + "\",\"status\":\"0x1\"}";
+        });
+        QueueCallback callback = new QueueCallback();
+        QueuingTransactionReceiptProcessor processor = new QueuingTransactionReceiptProcessor(
+                Caver.build(service), callback, 3, 20, 10);
+
+        processor.waitForTransactionReceiptAsync(hash(1));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (processor.getSkippedTicks() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertTrue(processor.getSkippedTicks() >= 3);
+        assertNotNull(callback.receipts.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, service.batchCount.get());
+    }
+
+    @Test
+    public void testHashFailsOnceAttemptsAreExhausted() throws Exception {
+        BatchStub service = new BatchStub();
+        service.on("klay_getTransactionReceipt", params -> "null");
+        QueueCallback callback = new QueueCallback();
+        QueuingTransactionReceiptProcessor processor = new QueuingTransactionReceiptProcessor(
+                Caver.build(service), callback, 2, 20, 10);
+
+        processor.waitForTransactionReceiptAsync(hash(1));
+
+        Exception exception = callback.exceptions.poll(5, TimeUnit.SECONDS);
+        assertTrue(exception instanceof TransactionException);
+        assertEquals("No transaction receipt for txHash: " + hash(1) + " received after 2 attempts",
+                exception.getMessage());
+        assertEquals(3, service.count("klay_getTransactionReceipt"));
+        assertEquals(0, processor.getPendingTransactionCount());
+        assertTrue(callback.receipts.isEmpty());
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.Quantity;
+import com.klaytn.caver.protocol.RateLimitedService;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RateLimitedServiceTest {
+
+    @Test
+    public void testMethodRateLimitDelaysBursts() throws Exception {
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> "\"0x64\"")
+                .on("klay_gasPrice", params -> "\"0x5d21dba00\"");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setRateLimit("klay_blockNumber", 20, 1)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            caver.klay().getBlockNumber().send();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue(elapsedMillis >= 150);
+        assertEquals(4, rateLimitedService.getDelayedRequestCount());
+
+        for (int i = 0; i < 5; i++) {
+            caver.klay().getGasPrice().send();
+        }
+        assertEquals(4, rateLimitedService.getDelayedRequestCount());
+    }
+
+    @Test
+    public void testAsyncRequestsAreDelayedWithoutBlocking() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> "\"0x64\"");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setRateLimit("klay_blockNumber", 20, 1)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(caver.klay().getBlockNumber().sendAsync());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 100);
+
+        for (CompletableFuture<Quantity> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) >= 150);
+        assertEquals(4, rateLimitedService.getDelayedRequestCount());
+        assertEquals(0, rateLimitedService.getInFlightRequestCount());
+        rateLimitedService.close();
+    }
+
+    @Test
+    public void testInFlightRequestsStayWithinLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return "\"0x64\"";
+        });
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setConcurrencyLimit(2, 2)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        List<CompletableFuture<Quantity>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(caver.klay().getBlockNumber().sendAsync());
+        }
+        Thread.sleep(200);
+        assertEquals(2, rateLimitedService.getInFlightRequestCount());
+        release.countDown();
+
+        for (CompletableFuture<Quantity> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, maxInFlight.get());
+        assertEquals(6, service.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testCloseFailsWaitingRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubWeb3jService service = new StubWeb3jService()
+                .on("klay_blockNumber", params -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "\"0x64\"";
+                })
+                .on("klay_gasPrice", params -> "\"0x5d21dba00\"");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setConcurrencyLimit(1, 1)
+                .setRateLimit("klay_gasPrice", 0.1, 1)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        CompletableFuture<Quantity> sent = caver.klay().getBlockNumber().sendAsync();
+        List<CompletableFuture<Quantity>> waiting = new ArrayList<>();
+        // waiting for the slot
+        waiting.add(caver.klay().getBlockNumber().sendAsync());
+        caver.klay().getGasPrice().sendAsync();
+        // waiting for a token
+        waiting.add(caver.klay().getGasPrice().sendAsync());
+        rateLimitedService.close();
+
+        for (CompletableFuture<Quantity> future : waiting) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+                assertEquals("Rate limited service is closed", e.getCause().getMessage());
+            }
+        }
+        release.countDown();
+        sent.get(5, TimeUnit.SECONDS);
+        assertEquals(1, service.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testOverloadErrorsShrinkLimit() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().onError("klay_gasPrice", "rate limit exceeded");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setConcurrencyLimit(10, 10)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(caver.klay().getGasPrice().send().hasError());
+        }
+
+        assertEquals(7, rateLimitedService.getConcurrencyLimit());
+    }
+
+    @Test
+    public void testRequestErrorsKeepLimit() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().onError("klay_gasPrice", "exceeds block gas limit");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setConcurrencyLimit(10, 10)
+                .setLatencyTolerance(1000)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(caver.klay().getGasPrice().send().hasError());
+        }
+
+        assertEquals(10, rateLimitedService.getConcurrencyLimit());
+    }
+
+    @Test
+    public void testLimitGrowsOnlyWhileUsed() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> "\"0x64\"");
+        RateLimitedService rateLimitedService = new RateLimitedService.Builder(service)
+                .setConcurrencyLimit(1, 10)
+                .setLatencyTolerance(1000)
+                .build();
+        Caver caver = Caver.build(rateLimitedService);
+
+        for (int i = 0; i < 20; i++) {
+            caver.klay().getBlockNumber().send();
+        }
+
+        assertEquals(2, rateLimitedService.getConcurrencyLimit());
+    }
+}
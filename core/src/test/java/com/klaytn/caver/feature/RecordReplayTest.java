@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.protocol.RecordingService;
+import com.klaytn.caver.protocol.ReplayService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.web3j.protocol.core.DefaultBlockParameter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RecordReplayTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path record(long delayMillis) throws IOException {
+        AtomicInteger blockNumber = new AtomicInteger(100);
+        StubWeb3jService node = new StubWeb3jService().includeRawResponses()
+                .on("klay_blockNumber", params -> {
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "\"0x" + Integer.toHexString(blockNumber.getAndIncrement()) + "\"";
+                })
+                .on("klay_getBlockByNumber", params -> "{\"number\":\"0x64\",\"hash\":\"0xabc\",\"transactions\":[]}")
+                .on("klay_gasPrice", params -> {
+                    throw new UncheckedIOException(new IOException("connection reset"));
+                });
+
+        Path file = temporaryFolder.getRoot().toPath().resolve("traffic.json.gz");
+        RecordingService recordingService = new RecordingService(node, file);
+        Caver caver = Caver.build(recordingService);
+        caver.klay().getBlockNumber().send();
+        caver.klay().getBlockNumber().sendAsync().join();
+        caver.klay().getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(100)), false).send();
+        try {
+            caver.klay().getGasPrice().send();
+        } catch (IOException expected) {
+            // recorded as a failure
+        }
+        recordingService.close();
+        return file;
+    }
+
+    @Test
+    public void testReplayAnswersAsRecorded() throws Exception {
+        ReplayService replayService = new ReplayService(record(0));
+        Caver caver = Caver.build(replayService);
+
+        assertEquals(3, replayService.getRecordedRequestCount());
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(BigInteger.valueOf(101), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(BigInteger.valueOf(101), caver.klay().getBlockNumber().send().getValue());
+
+        KlayBlock.Block block = caver.klay()
+                .getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(100)), false).send().getBlock();
+        assertEquals("0xabc", block.getHash());
+
+        try {
+            caver.klay().getGasPrice().send();
+            fail("the recorded failure should be replayed");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+        try {
+            caver.klay().getBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.ONE), false).send();
+            fail("a request which was not recorded cannot be answered");
+        } catch (IOException expected) {
+            // no recorded response
+        }
+    }
+
+    @Test
+    public void testReplayAtRecordedSpeed() throws Exception {
+        Path file = record(100);
+
+        Caver recordedSpeed = Caver.build(new ReplayService(file, 1));
+        long start = System.nanoTime();
+        recordedSpeed.klay().getBlockNumber().send();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+
+        Caver fastest = Caver.build(new ReplayService(file));
+        start = System.nanoTime();
+        fastest.klay().getBlockNumber().send();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 90);
+    }
+
+    @Test
+    public void testRecordingCutShortIsReplayed() throws Exception {
+        StubWeb3jService node = new StubWeb3jService().includeRawResponses()
+                .on("klay_blockNumber", params -> "\"0x64\"")
+                .on("klay_gasPrice", params -> "\"0x5d21dba00\"");
+        Path file = temporaryFolder.getRoot().toPath().resolve("unfinished.json.gz");
+        RecordingService recordingService = new RecordingService(node, file);
+        Caver recorded = Caver.build(recordingService);
+        recorded.klay().getBlockNumber().send();
+        recorded.klay().getGasPrice().send();
+
+        // read while the gzip stream is still open, as after a crash
+        ReplayService replayService = new ReplayService(file);
+        recordingService.close();
+
+        assertEquals(2, replayService.getRecordedRequestCount());
+        assertEquals(BigInteger.valueOf(100),
+                Caver.build(replayService).klay().getBlockNumber().send().getValue());
+    }
+
+    @Test
+    public void testFailedRecordDoesNotFailRequest() throws Exception {
+        StubWeb3jService node = new StubWeb3jService().includeRawResponses()
+                .on("klay_blockNumber", params -> "\"0x64\"");
+        RecordingService recordingService = new RecordingService(
+                node, temporaryFolder.getRoot().toPath().resolve("closed.json.gz"));
+        Caver caver = Caver.build(recordingService);
+        // the file cannot be written anymore, the wrapped stub still answers
+        recordingService.close();
+
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().sendAsync().get().getValue());
+        assertEquals(2, recordingService.getRecordingErrorCount());
+    }
+}
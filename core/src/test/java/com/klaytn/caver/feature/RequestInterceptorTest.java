@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.protocol.RequestInterceptor;
+import org.junit.Test;
+import org.web3j.protocol.core.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestInterceptorTest {
+
+    private static RequestInterceptor recording(String name, List<String> events) {
+        return chain -> {
+            events.add(name + " " + chain.getMethod());
+            return chain.proceed().whenComplete((response, throwable) -> events.add(name + " done"));
+        };
+    }
+
+    @Test
+    public void testInterceptorsRunInOrder() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> "\"0x64\"");
+        List<String> events = new CopyOnWriteArrayList<>();
+        Caver caver = Caver.build(service)
+                .addInterceptor(recording("outer", events))
+                .addInterceptor(recording("inner", events));
+
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(Arrays.asList("outer klay_blockNumber", "inner klay_blockNumber", "inner done", "outer done"),
+                events);
+
+        events.clear();
+        caver.klay().getBlockNumber().sendAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(4, events.size());
+    }
+
+    @Test
+    public void testInterceptorCanAnswerWithoutSending() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> "\"0x64\"");
+        AtomicReference<Response<?>> cached = new AtomicReference<>();
+        Caver caver = Caver.build(service).addInterceptor(chain -> {
+            Response<?> hit = cached.get();
+            if (hit != null) {
+                return CompletableFuture.completedFuture(hit);
+            }
+            return chain.proceed().thenApply(response -> {
+                cached.set(response);
+                return response;
+            });
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        }
+        assertEquals(1, service.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testInterceptorCanRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new IOException("connection reset"));
+            }
+            return "\"0x64\"";
+        });
+        Caver caver = Caver.build(service).addInterceptor(chain -> chain.proceed()
+                .handle((response, throwable) -> throwable == null
+                        ? CompletableFuture.completedFuture(response) : chain.proceed())
+                .thenCompose(response -> response));
+
+        assertEquals(BigInteger.valueOf(100), caver.klay().getBlockNumber().send().getValue());
+        assertEquals(2, service.count("klay_blockNumber"));
+    }
+
+    @Test
+    public void testRemovedInterceptorIsSkipped() throws Exception {
+        StubWeb3jService service = new StubWeb3jService().on("klay_blockNumber", params -> "\"0x64\"");
+        List<String> events = new CopyOnWriteArrayList<>();
+        RequestInterceptor interceptor = recording("only", events);
+        Caver caver = Caver.build(service).addInterceptor(interceptor);
+
+        assertTrue(caver.removeInterceptor(interceptor));
+        assertFalse(caver.removeInterceptor(interceptor));
+        caver.klay().getBlockNumber().send();
+
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.methods.request.KlayLogFilter;
+import com.klaytn.caver.methods.response.KlayBlock;
+import com.klaytn.caver.methods.response.KlayLogs;
+import com.klaytn.caver.methods.response.KlayTransaction;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.protocol.ResultIterator;
+import com.klaytn.caver.protocol.StreamingKlay;
+import com.klaytn.caver.protocol.StreamingWeb3jService;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import org.junit.Test;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingKlayTest {
+
+    private static final KlayLogFilter FILTER = new KlayLogFilter(
+            DefaultBlockParameterName.EARLIEST, DefaultBlockParameterName.LATEST,
+            "0xbc5951f055a85f41a3b62fd6f68ab7de76d299b2", null);
+
+    private static class StreamingStub extends StubWeb3jService implements StreamingWeb3jService {
+
+        private final String body;
+        private int requests;
+
+        StreamingStub(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public InputStream sendStreaming(Request<?, ?> request) {
+            requests++;
+            return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String log(int index) {
+        return "{\"logIndex\":\"0x" + Integer.toHexString(index) + "\",\"blockNumber\":\"0x1\","
+                + "\"address\":\"0xbc5951f055a85f41a3b62fd6f68ab7de76d299b2\",\"data\":\"0x\",\"topics\":[]}";
+    }
+
+    @Test
+    public void testGetLogsDeliversEachLog() throws Exception {
+        StringBuilder body = new StringBuilder("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[");
+        for (int i = 0; i < 100; i++) {
+            body.append(i == 0 ? "" : ",").append(log(i));
+        }
+        body.append("]}");
+
+        List<KlayLogs.Log> logs = new ArrayList<>();
+        new StreamingKlay(new StreamingStub(body.toString())).getLogs(FILTER, logs::add);
+
+        assertEquals(100, logs.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(BigInteger.valueOf(i), logs.get(i).getLogIndex());
+        }
+    }
+
+    @Test
+    public void testGetBlockReceiptsIterator() throws Exception {
+        String body = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":["
+                + "{\"transactionHash\":\"0x01\",\"status\":\"0x1\"},"
+                + "{\"transactionHash\":\"0x02\",\"status\":\"0x1\"}]}";
+
+        try (ResultIterator<KlayTransactionReceipt.TransactionReceipt> receipts =
+                     new StreamingKlay(new StreamingStub(body)).getBlockReceipts("0xabcd")) {
+            assertTrue(receipts.hasNext());
+            assertEquals("0x01", receipts.next().getTransactionHash());
+            assertEquals("0x02", receipts.next().getTransactionHash());
+            assertFalse(receipts.hasNext());
+        }
+    }
+
+    @Test
+    public void testGetBlockByNumberStreamsTransactions() throws Exception {
+        String body = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"number\":\"0x10\",\"hash\":\"0xabcd\","
+                + "\"transactions\":[{\"hash\":\"0x01\"},{\"hash\":\"0x02\"},{\"hash\":\"0x03\"}],"
+                + "\"gasUsed\":\"0x5208\"}}";
+
+        List<KlayTransaction.Transaction> transactions = new ArrayList<>();
+        KlayBlock.Block block = new StreamingKlay(new StreamingStub(body)).getBlockByNumber(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(16)), true, transactions::add);
+
+        assertEquals("0x10", block.getNumber());
+        assertEquals("0x5208", block.getGasUsed());
+        assertTrue(block.getTransactions().isEmpty());
+        assertEquals(3, transactions.size());
+        assertEquals("0x03", transactions.get(2).getHash());
+    }
+
+    @Test
+    public void testMissingBlockReturnsNull() throws Exception {
+        StreamingStub service = new StreamingStub("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}");
+
+        assertNull(new StreamingKlay(service).getBlockByNumber(DefaultBlockParameterName.LATEST, false, tx -> {
+            fail();
+        }));
+    }
+
+    @Test
+    public void testErrorResponseThrows() throws Exception {
+        StreamingStub service = new StreamingStub(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32000,\"message\":\"query timeout exceeded\"}}");
+
+        try {
+            new StreamingKlay(service).getLogs(FILTER, log -> fail());
+            fail();
+        } catch (PlatformErrorException e) {
+            assertEquals("query timeout exceeded", e.getMessage());
+        }
+    }
+}
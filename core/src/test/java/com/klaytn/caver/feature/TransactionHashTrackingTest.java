@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 The caver-java Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the “License”);
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an “AS IS” BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.klaytn.caver.feature;
+
+import com.klaytn.caver.Caver;
+import com.klaytn.caver.base.StubWeb3jService;
+import com.klaytn.caver.crpyto.KlayCredentials;
+import com.klaytn.caver.fee.FeePayer;
+import com.klaytn.caver.methods.response.KlayTransactionReceipt;
+import com.klaytn.caver.tx.exception.PlatformErrorException;
+import com.klaytn.caver.tx.manager.BlockTransactionReceiptProcessor;
+import com.klaytn.caver.tx.manager.ErrorHandler;
+import com.klaytn.caver.tx.manager.PollingTransactionReceiptProcessor;
+import com.klaytn.caver.tx.manager.TransactionManager;
+import com.klaytn.caver.tx.manager.TransactionReceiptProcessor;
+import com.klaytn.caver.tx.model.KlayRawTransaction;
+import com.klaytn.caver.tx.model.ValueTransferTransaction;
+import com.klaytn.caver.tx.type.TxTypeFeeDelegatedValueTransfer;
+import com.klaytn.caver.tx.type.TxTypeValueTransfer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Numeric;
+
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.klaytn.caver.base.Accounts.LUMAN;
+import static com.klaytn.caver.base.Accounts.WAYNE;
+import static com.klaytn.caver.base.LocalValues.LOCAL_CHAIN_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransactionHashTrackingTest {
+
+    private static final KlayCredentials SENDER = KlayCredentials.create(
+            "0x45a915e4d060149eb4365960e6a7a45f334393093061116b197e3240065ff2d8"
+    );
+
+    private static final KlayCredentials TX_FEE_PAYER = KlayCredentials.create(
+            "0xb9d5558443585bca6f225b935950e3f6e69f9da8a5809a83f51c3365dff53936",
+            "0x5A0043070275d9f6054307Ee7348bD660849D90f"
+    );
+
+    private ScheduledExecutorService scheduler;
+    private StubWeb3jService service;
+    private AtomicReference<String> sentRawTransaction;
+    private List<Exception> errors;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        sentRawTransaction = new AtomicReference<>();
+        errors = new CopyOnWriteArrayList<>();
+        service = new StubWeb3jService()
+                .on("klay_getTransactionCount", params -> "\"0x0\"")
+                .on("klay_getTransactionReceipt", params ->
+                        "{\"transactionHash\":\"" + params.get(0) + "\",\"status\":\"0x1\"}");
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testSendTimeoutKeepsWatchingLocalHash() {
+        service.on("klay_sendRawTransaction", params -> {
+            sentRawTransaction.set((String) params.get(0));
+            throw new UncheckedIOException(new SocketTimeoutException("timeout"));
+        });
+        TransactionManager transactionManager = transactionManager(
+                new PollingTransactionReceiptProcessor(Caver.build(service), 10, 5, scheduler));
+
+        KlayTransactionReceipt.TransactionReceipt receipt = transactionManager.executeTransaction(transaction());
+
+        assertNotNull(receipt);
+        assertEquals(localHash(sentRawTransaction.get()), receipt.getTransactionHash());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void testSendTimeoutIsAttachedToReceiptFailure() {
+        service.on("klay_sendRawTransaction", params -> {
+            throw new UncheckedIOException(new SocketTimeoutException("timeout"));
+        }).on("klay_getTransactionReceipt", params -> "null");
+        TransactionManager transactionManager = transactionManager(
+                new PollingTransactionReceiptProcessor(Caver.build(service), 10, 2, scheduler));
+
+        assertNull(transactionManager.executeTransaction(transaction()));
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof TransactionException);
+        assertTrue(errors.get(0).getSuppressed()[0] instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testRefusedSendFailsRightAway() throws Exception {
+        service.on("klay_sendRawTransaction", params -> {
+            throw new UncheckedIOException(new ConnectException("Connection refused"));
+        });
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 1, 5, scheduler);
+        TransactionManager transactionManager = transactionManager(processor);
+
+        assertNull(transactionManager.executeTransaction(transaction()));
+        assertEquals(0, processor.getPendingTransactionCount());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof ConnectException);
+
+        try {
+            transactionManager.executeTransactionAsync(transaction()).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConnectException);
+        }
+        assertEquals(0, processor.getPendingTransactionCount());
+        // the nonce is fetched again after each failed send
+        assertEquals(2, service.count("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void testHashIsRegisteredBeforeSending() throws Exception {
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 1, 5, scheduler);
+        AtomicInteger pendingAtSend = new AtomicInteger(-1);
+        service.on("klay_sendRawTransaction", params -> {
+            pendingAtSend.set(processor.getPendingTransactionCount());
+            return "\"" + localHash((String) params.get(0)) + "\"";
+        });
+        AtomicInteger blockNumber = new AtomicInteger();
+        service.on("klay_blockNumber", params -> "\"0x" + Integer.toHexString(blockNumber.incrementAndGet()) + "\"")
+                .on("klay_getBlockByNumber", params -> "{\"transactions\":[]}");
+
+        KlayTransactionReceipt.TransactionReceipt receipt = transactionManager(processor)
+                .executeTransactionAsync(transaction())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, pendingAtSend.get());
+        assertNotNull(receipt);
+        assertEquals(0, processor.getPendingTransactionCount());
+    }
+
+    @Test
+    public void testKnownTransactionKeepsWatchingLocalHash() {
+        service.onError("klay_sendRawTransaction", "known transaction: 0x1234");
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 1, 5, scheduler);
+        AtomicInteger blockNumber = new AtomicInteger();
+        service.on("klay_blockNumber", params -> "\"0x" + Integer.toHexString(blockNumber.incrementAndGet()) + "\"")
+                .on("klay_getBlockByNumber", params -> "{\"transactions\":[]}");
+
+        KlayTransactionReceipt.TransactionReceipt receipt = transactionManager(processor)
+                .executeTransaction(transaction());
+
+        assertNotNull(receipt);
+        assertEquals(0, processor.getPendingTransactionCount());
+        assertTrue(errors.isEmpty());
+        assertEquals(1, service.count("klay_getTransactionCount"));
+    }
+
+    @Test
+    public void testRejectedSendStopsWatching() {
+        service.onError("klay_sendRawTransaction", "insufficient funds of the sender for value");
+        BlockTransactionReceiptProcessor processor = new BlockTransactionReceiptProcessor(
+                Caver.build(service), 10, 1, 5, scheduler);
+
+        KlayTransactionReceipt.TransactionReceipt receipt = transactionManager(processor)
+                .executeTransaction(transaction());
+
+        assertNull(receipt);
+        assertEquals(0, processor.getPendingTransactionCount());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof PlatformErrorException);
+    }
+
+    @Test
+    public void testValueTransferHash() {
+        TxTypeValueTransfer tx = TxTypeValueTransfer.createTransaction(
+                BigInteger.valueOf(1234),
+                BigInteger.valueOf(0x19),
+                BigInteger.valueOf(0xf4240),
+                "7b65b75d204abed71587c9e519a89277766ee1d0",
+                BigInteger.valueOf(0xa),
+                SENDER.getAddress());
+
+        assertEquals("0x762f130342569e9669a4d8547f1248bd2554fbbf3062d63a97ce28bfa97aa9d7",
+                tx.sign(SENDER, 1).getTransactionHash());
+    }
+
+    @Test
+    public void testFeeDelegatedSenderHashDoesNotDependOnFeePayer() {
+        TxTypeFeeDelegatedValueTransfer tx = TxTypeFeeDelegatedValueTransfer.createTransaction(
+                BigInteger.valueOf(1234),
+                BigInteger.valueOf(0x19),
+                BigInteger.valueOf(0xf4240),
+                "7b65b75d204abed71587c9e519a89277766ee1d0",
+                BigInteger.valueOf(0xa),
+                SENDER.getAddress());
+        String rawTx = tx.sign(SENDER, 1).getValueAsString();
+
+        KlayRawTransaction payerTx = new FeePayer(TX_FEE_PAYER, 1)
+                .sign(TxTypeFeeDelegatedValueTransfer.decodeFromRawTransaction(rawTx));
+
+        assertEquals("0xe1e07f9971153499fc8c7bafcdaf7abc20b37aa4c18fb1e53a9bfcc259e3644c",
+                payerTx.getTransactionHash());
+        assertEquals("0x40f8c94e01e07eb5353f6cd4cd3eabd5893215dd53a50ba4b8ff9a447ac51731",
+                payerTx.getSenderTransactionHash());
+        assertEquals(payerTx.getSenderTransactionHash(), tx.sign(SENDER, 1).getSenderTransactionHash());
+    }
+
+    private TransactionManager transactionManager(TransactionReceiptProcessor processor) {
+        return new TransactionManager.Builder(Caver.build(service), LUMAN)
+                .setChaindId(LOCAL_CHAIN_ID)
+                .setTransactionReceiptProcessor(processor)
+                .setErrorHandler(new ErrorHandler() {
+                    @Override
+                    public void exception(Exception exception) {
+                        errors.add(exception);
+                    }
+                })
+                .build();
+    }
+
+    private ValueTransferTransaction transaction() {
+        return ValueTransferTransaction.create(
+                LUMAN.getAddress(), WAYNE.getAddress(), BigInteger.ONE, BigInteger.valueOf(21000));
+    }
+
+    private static String localHash(String rawTransaction) {
+        return Numeric.toHexString(Hash.sha3(Numeric.hexStringToByteArray(rawTransaction)));
+    }
+}